@@ -7,7 +7,10 @@ import Controlador.dialogs.SettingsDialog;
 import Controlador.utils.GameSettings;
 import Controlador.utils.SessionManager;
 import Controlador.navigation.NavigationManager;
+import Modelo.dao.PartidaDAO;
+import Modelo.dto.EventosPartida;
 import Modelo.dto.Player;
+import Modelo.repositorio.Repositorios;
 import java.io.IOException;
 import javafx.animation.AnimationTimer;
 import javafx.fxml.FXML;
@@ -105,6 +108,15 @@ public class GameController {
     /** Indica si se están mostrando las configuraciones */
     private boolean showingSettings = false;
     
+    /** Capacidad del registro de eventos; una partida normal produce unos cientos */
+    private static final int CAPACIDAD_EVENTOS = 8192;
+    
+    /** Registro de eventos de la partida en curso */
+    private EventosPartida eventosPartida;
+    
+    /** Indica si los eventos de la partida ya se enviaron a guardar */
+    private boolean eventosGuardados = false;
+    
     // ===================================
     // MÉTODOS DE INICIALIZACIÓN
     // ===================================
@@ -198,6 +210,18 @@ public class GameController {
             appleManager = new AppleManager(GAME_WIDTH, GAME_HEIGHT, FLOOR_Y, 1500, 2.0, 5.0);
             potionManager = new PotionManager(GAME_WIDTH, GAME_HEIGHT, FLOOR_Y, 5000, 1.5, 4.0);
             
+            // Registro de eventos preasignado: el bucle de juego no reserva memoria al registrar
+            eventosPartida = new EventosPartida(CAPACIDAD_EVENTOS);
+            levelManager.setRegistroEventos(eventosPartida);
+            scoreManager.setRegistroEventos(eventosPartida);
+            appleManager.setRegistroEventos(eventosPartida);
+            potionManager.setRegistroEventos(eventosPartida);
+            
+            // Efectos de sonido (normalmente ya cargados durante el login)
+            EfectosSonidoManager efectosSonido = EfectosSonidoManager.getInstance();
+            appleManager.setEfectosSonido(efectosSonido);
+            potionManager.setEfectosSonido(efectosSonido);
+            
             if (gameCanvas != null && gameCanvas.getScene() != null) {
                 visualEffectsManager = new VisualEffectsManager(gameCanvas.getScene());
             }
@@ -207,7 +231,7 @@ public class GameController {
             
             String currentUsername = Controlador.LoginController.getCurrentUsername();
             if (currentUsername != null && !currentUsername.isEmpty()) {
-                int userId = Modelo.dao.UsuarioDAO.obtenerIdUsuario(currentUsername);
+                int userId = Repositorios.usuarios().obtenerIdUsuario(currentUsername);
                 rankingManager.setCurrentUser(userId, currentUsername);
             }
             
@@ -491,7 +515,7 @@ public class GameController {
             try {
                 int currentUserId = Controlador.utils.SessionManager.getInstance().getCurrentUserId();
                 if (currentUserId != -1) {
-                    boolean progressSaved = Modelo.dao.UsuarioDAO.actualizarProgresoUsuario(
+                    boolean progressSaved = Repositorios.usuarios().actualizarProgresoUsuario(
                         currentUserId, 
                         scoreManager.getScore(), 
                         formulasCount
@@ -516,6 +540,38 @@ public class GameController {
                 );
             }
         }
+        
+        guardarEventosPartida();
+    }
+    
+    /**
+     * Guarda la partida y sus eventos en el historial, una sola vez por partida.
+     * La escritura se hace en un hilo de fondo para no detener el juego.
+     */
+    private void guardarEventosPartida() {
+        if (eventosGuardados || eventosPartida == null || levelManager == null || scoreManager == null) {
+            return;
+        }
+        eventosGuardados = true;
+        
+        // El historial de partidas solo se guarda en MySQL
+        int currentUserId = SessionManager.getInstance().getCurrentUserId();
+        if (currentUserId == -1 || eventosPartida.getCantidad() == 0 || !Repositorios.usaBaseDeDatos()) {
+            return;
+        }
+        
+        int formulasCount = 0;
+        for (boolean unlocked : levelManager.getUnlockedFormulas()) {
+            if (unlocked) formulasCount++;
+        }
+        
+        EventosPartida eventos = eventosPartida;
+        int puntajeFinal = scoreManager.getScore();
+        int formulas = formulasCount;
+        Thread hilo = new Thread(() -> PartidaDAO.guardarPartida(currentUserId, eventos, puntajeFinal, formulas),
+                                 "GuardarPartida");
+        hilo.setDaemon(true);
+        hilo.start();
     }
     
     // ===================================
@@ -625,10 +681,11 @@ public class GameController {
                 gameLoop.stop();
             }
             
-            // Detener la música
-            if (audioManager != null) {
-                audioManager.stopBackgroundMusic();
-            }
+            // Guardar la partida abandonada (si terminó por game over ya se guardó)
+            guardarEventosPartida();
+            
+            // Detener los efectos; la música no se corta, la pantalla siguiente pasa a su pista
+            EfectosSonidoManager.getInstance().detenerTodos();
             
             // Usar el NavigationManager para volver al menú principal con el usuario configurado
             Stage stage = (Stage) gameCanvas.getScene().getWindow();
@@ -812,10 +869,11 @@ public class GameController {
                 gameLoop.stop();
             }
             
-            // Detener la música
-            if (audioManager != null) {
-                audioManager.stopBackgroundMusic();
-            }
+            // Guardar la partida si aún no se guardó
+            guardarEventosPartida();
+            
+            // Detener los efectos; la música no se corta, la pantalla siguiente pasa a su pista
+            EfectosSonidoManager.getInstance().detenerTodos();
             
             // Obtener el stage actual y navegar al mapa con actualización del estado
             Stage currentStage = (Stage) gameCanvas.getScene().getWindow();
@@ -1,13 +1,15 @@
 package Controlador;
 
-import Modelo.dao.UsuarioDAO;
 import Modelo.ConexionDB;
+import Modelo.PaqueteRecursos;
+import Modelo.dto.ResultadoAutenticacion;
+import Modelo.repositorio.Repositorios;
+import Controlador.componentes.MusicaManager;
 import Controlador.componentes.RankingManager;
+import Controlador.navigation.NavigationManager;
+import Controlador.utils.AssetPreloader;
 import Controlador.utils.SessionManager;
-import java.io.File;
 import java.io.IOException;
-import java.sql.Connection;
-import java.sql.SQLException;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -16,6 +18,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 
@@ -57,25 +60,33 @@ public class LoginController {
     @FXML private Button loginButton;
     @FXML private Button registerButton;
     @FXML private Label errorLabel;
+    @FXML private ProgressBar preloadProgress;
 
     // Variable para almacenar el nombre de usuario actual
     private static String currentUsername;
 
     public void initialize() {
-        // Probar la conexión a la base de datos al iniciar
-        Platform.runLater(() -> {
-            Connection conn = ConexionDB.getConnection();
-            if (conn == null) {
-                showError("Error de conexión a la base de datos. Contacta al administrador.");
-                loginButton.setDisable(true); // Deshabilitar el botón de login si no hay conexión
-            } else {
-                try {
-                    conn.close();
-                } catch (SQLException e) {
-                    // Error silencioso al cerrar conexión
-                }
+        // Decodificar imágenes, audio y vistas del juego mientras el usuario escribe sus datos
+        AssetPreloader preloader = AssetPreloader.getInstance();
+        preloader.setOnProgreso(this::updatePreloadProgress);
+        preloader.iniciar();
+        updatePreloadProgress(preloader.getProgreso());
+
+        // Sin música en el acceso: al cerrar sesión se apaga la de la sesión anterior
+        MusicaManager.getInstance().detener();
+
+        // Reaccionar a caídas y recuperaciones de la base de datos mientras se muestra el login
+        ConexionDB.setOnEstadoCambiado(estado -> Platform.runLater(() -> updateConnectionState(estado)));
+
+        // Probar la conexión a la base de datos al iniciar, fuera del hilo de JavaFX:
+        // con la base de datos caída la prueba espera el timeout de conexión completo
+        Thread verificacion = new Thread(() -> {
+            if (!Repositorios.verificarDisponibilidad()) {
+                Platform.runLater(() -> updateConnectionState(ConexionDB.EstadoCircuito.ABIERTO));
             }
-        });
+        }, "VerificarConexionDB");
+        verificacion.setDaemon(true);
+        verificacion.start();
 
         // Configurar el botón de inicio de sesión
         loginButton.setOnAction(event -> handleLogin());
@@ -110,33 +121,38 @@ public class LoginController {
             return;
         }
 
-        // Verificar si el usuario existe
-        if (!UsuarioDAO.existeUsuario(username)) {
-            showError("El usuario no está registrado");
+        // Evitar consultas mientras la base de datos está fuera de línea
+        if (!Repositorios.isDisponible()) {
+            updateConnectionState(ConexionDB.EstadoCircuito.ABIERTO);
             return;
         }
 
-        // Verificar si la contraseña es correcta
-        if (!UsuarioDAO.validarCredenciales(username, password)) {
-            passwordField.clear();
-            showError("Contraseña incorrecta");
-            return;
+        // Verificar existencia y contraseña, y obtener el ID, en una sola consulta
+        ResultadoAutenticacion resultado = Repositorios.usuarios().authenticate(username, password);
+        switch (resultado.getEstado()) {
+            case USUARIO_NO_EXISTE:
+                showError("El usuario no está registrado");
+                return;
+            case PASSWORD_INCORRECTA:
+                passwordField.clear();
+                showError("Contraseña incorrecta");
+                return;
+            case SIN_CONEXION:
+                showError("Error de conexión a la base de datos. Inténtalo de nuevo.");
+                return;
+            default:
+                break;
         }
         
         // Si llegamos aquí, las credenciales son válidas
         currentUsername = username;
+        int userId = resultado.getUserId();
         
         // Iniciar sesión en el SessionManager
-        SessionManager.getInstance().login(username);
+        SessionManager.getInstance().login(username, userId);
         
         // Configurar el usuario actual en el RankingManager
-        int userId = UsuarioDAO.obtenerIdUsuario(username);
-        if (userId != -1) {
-            RankingManager.getInstance().setCurrentUser(userId, username);
-        } else {
-            showError("Error: No se pudo obtener el ID del usuario");
-            return;
-        }
+        RankingManager.getInstance().setCurrentUser(userId, username);
 
         // Abrir el menú principal
         try {
@@ -146,6 +162,25 @@ public class LoginController {
         }
     }
 
+    // Muestra u oculta el aviso de base de datos fuera de línea según el estado del circuito
+    private void updateConnectionState(ConexionDB.EstadoCircuito estado) {
+        if (estado == ConexionDB.EstadoCircuito.ABIERTO) {
+            showError("Sin conexión a la base de datos. Reintentando automáticamente...");
+            loginButton.setDisable(true); // Deshabilitar el botón de login si no hay conexión
+        } else {
+            loginButton.setDisable(false);
+            errorLabel.setVisible(false);
+        }
+    }
+
+    // Muestra el avance de la precarga de recursos y oculta la barra al terminar
+    private void updatePreloadProgress(double progreso) {
+        boolean completada = AssetPreloader.getInstance().isCompletada();
+        preloadProgress.setProgress(progreso);
+        preloadProgress.setVisible(!completada);
+        preloadProgress.setManaged(!completada);
+    }
+
     // Método para mostrar mensajes de error
     private void showError(String message) {
         // Configurar el texto del mensaje de error
@@ -166,12 +201,12 @@ public class LoginController {
             String registerFxmlPath = "src/Vista/Register.fxml";
             String registerCssPath = "src/Vista/resources/Register.css";
 
-            // Cargar directamente desde archivo en modo desarrollo
-            FXMLLoader loader = new FXMLLoader(new File(registerFxmlPath).toURI().toURL());
-            String cssPath = new File(registerCssPath).toURI().toURL().toExternalForm();
+            // Cargar desde el paquete de recursos, o desde archivo en modo desarrollo
+            FXMLLoader loader = new FXMLLoader(PaqueteRecursos.localizar(registerFxmlPath));
+            String cssPath = PaqueteRecursos.localizar(registerCssPath).toExternalForm();
 
             // Cargar la pantalla de registro
-            Parent root = loader.load();
+            Parent root = AssetPreloader.getInstance().cargarVista(loader);
 
             // Crear una nueva escena con mayor altura para acomodar todos los campos
             Scene scene = new Scene(root, 900, 700);
@@ -182,6 +217,10 @@ public class LoginController {
             // Obtener el stage actual
             Stage stage = (Stage) registerButton.getScene().getWindow();
 
+            // La pantalla de login deja de escuchar el estado de la conexión y de la precarga
+            ConexionDB.setOnEstadoCambiado(null);
+            AssetPreloader.getInstance().setOnProgreso(null);
+
             // Cambiar la escena y ajustar el tamaño de la ventana
             stage.setScene(scene);
             stage.setWidth(900);
@@ -196,37 +235,17 @@ public class LoginController {
 
     private void openMainMenu() throws IOException {
         try {
-            // Obtener la ruta del archivo FXML
-            String mainFxmlPath = "src/Vista/Main.fxml";
-            String mainCssPath = "src/Vista/resources/main.css";
-
-            // Cargar directamente desde archivo en modo desarrollo
-            FXMLLoader loader = new FXMLLoader(new File(mainFxmlPath).toURI().toURL());
-            String cssPath = new File(mainCssPath).toURI().toURL().toExternalForm();
-
-            // Cargar el menú principal
-            Parent root = loader.load();
-
-            // Obtener el controlador del menú principal
-            MainController mainController = loader.getController();
-
-            // Pasar el nombre de usuario al controlador del menú principal
-            mainController.setUsername(currentUsername);
-
-            // Crear una nueva escena
-            Scene scene = new Scene(root, 900, 700);
-
-            // Añadir el CSS específico para el menú principal
-            scene.getStylesheets().add(cssPath);
-
             // Obtener el stage actual
             Stage stage = (Stage) loginButton.getScene().getWindow();
 
-            // Cambiar la escena
-            stage.setScene(scene);
+            // La pantalla de login deja de escuchar el estado de la conexión y de la precarga
+            ConexionDB.setOnEstadoCambiado(null);
+            AssetPreloader.getInstance().setOnProgreso(null);
+
+            // Cargar el menú principal con el usuario de la sesión recién iniciada
+            NavigationManager.navigateToMainWithUser(stage);
             stage.setWidth(900);
             stage.setHeight(700);
-            stage.setTitle("Newton's Apple Quest - Menú Principal");
 
         } catch (IOException e) {
             // Error al cargar menú principal
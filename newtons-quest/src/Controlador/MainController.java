@@ -1,5 +1,7 @@
 package Controlador;
 
+import Controlador.componentes.MusicaManager;
+import Controlador.componentes.RankingManager;
 import Controlador.componentes.VideoManager;
 import Controlador.componentes.VideoPlayer;
 import Controlador.dialogs.RulesDialog;
@@ -7,15 +9,17 @@ import Controlador.dialogs.SettingsDialog;
 import Controlador.dialogs.UserProfileDialog;
 import Controlador.dialogs.RankingDialog;
 import Controlador.navigation.NavigationManager;
+import Controlador.navigation.ReusableView;
 import Controlador.constants.GameConstants;
 import Controlador.utils.CertificateGenerator;
 import Controlador.utils.ErrorHandler;
 import Controlador.utils.SessionManager;
-import Modelo.dao.UsuarioDAO;
 import Modelo.dto.QuizResult;
+import Modelo.dto.RankingEntry;
 import Modelo.dto.Player;
-import Modelo.dao.QuizDAO;
+import Modelo.repositorio.Repositorios;
 import java.io.IOException;
+import java.util.List;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -24,7 +28,7 @@ import javafx.stage.Stage;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 
-public class MainController {
+public class MainController implements ReusableView {
     
     @FXML private Button startButton;
     @FXML private Button rulesButton;
@@ -35,6 +39,7 @@ public class MainController {
     @FXML private Button biographyButton; // Botón de biografía
     @FXML private Button certificateButton; // Botón para descargar certificado
     @FXML private Label welcomeLabel;
+    @FXML private Label rankingLeaderLabel; // Líder actual del ranking
     @FXML private Tooltip certificateTooltip; // Tooltip para el botón de certificado
     
     private String username;
@@ -58,13 +63,37 @@ public class MainController {
         if (sessionManager.isLoggedIn()) {
             setUsername(sessionManager.getCurrentUsername());
         }
-       
+        
         // MainController inicializado
     }
+    
+    /**
+     * Se llama cada vez que se muestra el menú, que NavigationManager conserva en caché.
+     */
+    @Override
+    public void onShow() {
+        // El menú comparte la música del mapa: al volver de una partida entra con fundido
+        MusicaManager.getInstance().reproducir(MusicaManager.Pista.MAPA);
+        
+        // Mostrar el líder del ranking y actualizarlo cuando cambie
+        updateRankingLeader();
+        RankingManager.getInstance().setOnRankingUpdated(this::updateRankingLeader);
+        
+        // El último quiz pudo cambiar la elegibilidad para el certificado
+        checkCertificateEligibility();
+    }
       // Método para establecer el nombre de usuario
     public void setUsername(String username) {
         this.username = username;
-        this.userId = UsuarioDAO.obtenerIdUsuario(username);
+        
+        // Reutilizar el ID de la sesión si corresponde al mismo usuario
+        SessionManager sessionManager = SessionManager.getInstance();
+        if (username != null && username.equals(sessionManager.getCurrentUsername())
+                && sessionManager.getCurrentUserId() > 0) {
+            this.userId = sessionManager.getCurrentUserId();
+        } else {
+            this.userId = Repositorios.usuarios().obtenerIdUsuario(username);
+        }
         
         // Actualizar la etiqueta de bienvenida si existe
         if (welcomeLabel != null) {
@@ -79,7 +108,35 @@ public class MainController {
         checkCertificateEligibility();
     }
     
+    /**
+     * Muestra el primer puesto del ranking compartido; se llama al iniciar
+     * y cada vez que el RankingManager detecta un cambio.
+     */
+    private void updateRankingLeader() {
+        if (rankingLeaderLabel == null) {
+            return;
+        }
+        
+        List<RankingEntry> top = RankingManager.getInstance().getTopRanking(1);
+        boolean hayLider = !top.isEmpty();
+        if (hayLider) {
+            RankingEntry lider = top.get(0);
+            rankingLeaderLabel.setText(String.format("🏆 Líder del ranking: %s (%d pts)",
+                                                     lider.getUsername(), lider.getScore()));
+        }
+        rankingLeaderLabel.setVisible(hayLider);
+        rankingLeaderLabel.setManaged(hayLider);
+    }
+    
+    /**
+     * Deja de escuchar cambios del ranking antes de salir del menú principal.
+     */
+    private void stopRankingUpdates() {
+        RankingManager.getInstance().setOnRankingUpdated(null);
+    }
+    
     private void startGame() {
+        stopRankingUpdates();
         try {
             // Cargando mapa
             Stage stage = (Stage) startButton.getScene().getWindow();
@@ -116,6 +173,7 @@ public class MainController {
             
             // Cerrar sesión en el SessionManager
             SessionManager.getInstance().logout();
+            stopRankingUpdates();
             
             Stage stage = (Stage) logoutButton.getScene().getWindow();
             NavigationManager.navigateToLogin(stage);
@@ -214,7 +272,7 @@ public class MainController {
         
         try {
             // Obtener el último resultado de quiz del usuario
-            QuizResult latestResult = QuizDAO.obtenerUltimoResultadoQuiz(userId);
+            QuizResult latestResult = Repositorios.quiz().obtenerUltimoResultadoQuiz(userId);
             
             if (latestResult != null && CertificateGenerator.isEligibleForCertificate(latestResult)) {
                 // El usuario es elegible para un certificado
@@ -256,7 +314,7 @@ public class MainController {
             }
             
             // Obtener el último resultado de quiz del usuario
-            QuizResult latestResult = QuizDAO.obtenerUltimoResultadoQuiz(userId);
+            QuizResult latestResult = Repositorios.quiz().obtenerUltimoResultadoQuiz(userId);
             
             if (latestResult == null || !CertificateGenerator.isEligibleForCertificate(latestResult)) {
                 // Si el usuario no es elegible, mostrar un mensaje informativo
@@ -270,7 +328,7 @@ public class MainController {
             }
             
             // Obtener los datos del jugador
-            Player player = UsuarioDAO.obtenerDatosJugador(userId);
+            Player player = Repositorios.usuarios().obtenerDatosJugador(userId);
             
             if (player == null) {
                 showCertificateAlert(false, "No se pudieron recuperar los datos del jugador.");
@@ -1,14 +1,19 @@
 package Controlador;
 
 import Controlador.componentes.LevelManager;
+import Controlador.componentes.MusicaManager;
 import Controlador.componentes.RankingManager;
 import Controlador.componentes.VideoManager;
+import Controlador.constants.GameConstants;
 import Controlador.dialogs.VideoSelectionDialog;
 import Controlador.navigation.NavigationManager;
+import Controlador.navigation.ReusableView;
+import Controlador.utils.AssetPreloader;
 import Controlador.utils.ErrorHandler;
 import Controlador.utils.SessionManager;
-import java.io.File;
-import java.io.FileInputStream;
+import Modelo.CargadorImagenes;
+import Modelo.PaqueteRecursos;
+import Modelo.repositorio.Repositorios;
 import java.io.IOException;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -44,7 +49,7 @@ import javafx.stage.Stage;
  * - El acceso al quiz está condicionado al desbloqueo de todas las fórmulas físicas
  * - El usuario puede regresar al menú principal desde esta pantalla
  */
-public class MapController {
+public class MapController implements ReusableView {
     
     @FXML private Button btnJugar;
     @FXML private Button btnVideo;
@@ -121,11 +126,12 @@ public class MapController {
      */
     private void loadBackgroundImage() {
         try {
-            // Ruta de la imagen
-            String imagePath = "src/recursos/imagenes/map_background.jpg";
-            
-            // Cargar imagen directamente desde archivo (modo desarrollo)
-            Image backgroundImage = new Image(new FileInputStream(new File(imagePath)));
+            // Imagen compartida al alto de la ventana, normalmente ya decodificada durante el login
+            Image backgroundImage = CargadorImagenes.obtener(GameConstants.MAP_BACKGROUND_IMAGE, 0,
+                                                             GameConstants.MAIN_WINDOW_HEIGHT);
+            if (backgroundImage == null) {
+                throw new IOException("imagen no encontrada");
+            }
             
             // Crear el objeto BackgroundImage
             BackgroundImage bgImage = new BackgroundImage(
@@ -152,12 +158,12 @@ public class MapController {
             String gameFxmlPath = "src/Vista/Game.fxml";
             String gameCssPath = "src/Vista/resources/game.css";
             
-            // Cargar en modo desarrollo
-            FXMLLoader loader = new FXMLLoader(new File(gameFxmlPath).toURI().toURL());
-            String cssPath = new File(gameCssPath).toURI().toURL().toExternalForm();
+            // Cargar desde el paquete de recursos, o desde archivo en modo desarrollo
+            FXMLLoader loader = new FXMLLoader(PaqueteRecursos.localizar(gameFxmlPath));
+            String cssPath = PaqueteRecursos.localizar(gameCssPath).toExternalForm();
             
-            // Cargar la pantalla del juego
-            Parent root = loader.load();
+            // Cargar la pantalla del juego (documento ya leído durante el login)
+            Parent root = AssetPreloader.getInstance().cargarVista(loader);
             
             // Crear una nueva escena
             Scene scene = new Scene(root, 900, 700);
@@ -368,7 +374,7 @@ public class MapController {
                 int currentUserId = sessionManager.getCurrentUserId();
                 
                 // Obtener el número de fórmulas completadas desde la tabla usuarios
-                int formulasCompletadas = Modelo.dao.UsuarioDAO.obtenerFormulasCompletadasUsuario(currentUserId);
+                int formulasCompletadas = Repositorios.usuarios().obtenerFormulasCompletadasUsuario(currentUserId);
                 
                 // Desbloquear fórmulas basándose en el progreso guardado
                 for (int i = 0; i < 5; i++) {
@@ -413,4 +419,15 @@ public class MapController {
     public void refreshMapState() {
         updateQuizButtonState();
     }
+    
+    /**
+     * Se llama cada vez que se muestra el mapa, que NavigationManager conserva en
+     * caché (y puede haber construido antes de mostrarlo, al precargarlo).
+     */
+    @Override
+    public void onShow() {
+        // Música del mapa (sigue sonando si se viene del menú principal)
+        MusicaManager.getInstance().reproducir(MusicaManager.Pista.MAPA);
+        refreshMapState();
+    }
 }
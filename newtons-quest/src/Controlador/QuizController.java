@@ -1,11 +1,12 @@
 package Controlador;
 
+import Controlador.componentes.MusicaManager;
 import Controlador.navigation.NavigationManager;
 import Controlador.utils.SessionManager;
-import Modelo.dao.QuizDAO;
+import Modelo.dao.BancoPreguntas;
 import Modelo.dto.QuizQuestion;
 import Modelo.dto.QuizResult;
-import java.io.File;
+import Modelo.repositorio.Repositorios;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.List;
@@ -14,9 +15,6 @@ import java.util.TimerTask;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
@@ -92,6 +90,8 @@ public class QuizController {
             // Inicializando QuizController
             System.out.println("Inicializando QuizController...");
             
+            MusicaManager.getInstance().reproducir(MusicaManager.Pista.QUIZ);
+            
             // Verificar que los botones estén correctamente inicializados
             if (btnPista == null || btnResponder == null || btnVolver == null) {
                 System.err.println("Error: Componentes FXML no inicializados correctamente");
@@ -105,7 +105,7 @@ public class QuizController {
             loadBackgroundImage();
             
             // Obtener las preguntas
-            preguntas = QuizDAO.obtenerTodasLasPreguntas();
+            preguntas = BancoPreguntas.getInstance().getPreguntas();
             
             // Inicializar el timer
             iniciarTimer();
@@ -466,7 +466,7 @@ public class QuizController {
         
         // Guardar resultado si hay usuario logueado
         if (userId != -1) {
-            boolean guardado = QuizDAO.guardarResultadoQuiz(resultado);
+            boolean guardado = Repositorios.quiz().guardarResultadoQuiz(resultado);
             if (!guardado) {
                 // Error silencioso al guardar resultado del quiz
             }
@@ -481,39 +481,9 @@ public class QuizController {
      */
     private void mostrarResultados(QuizResult resultado) {
         try {
-            String resultFxmlPath = "src/Vista/QuizResult.fxml";
-            File resultFxmlFile = new File(resultFxmlPath);
-            
-            FXMLLoader loader;
-            if (resultFxmlFile.exists()) {
-                loader = new FXMLLoader(resultFxmlFile.toURI().toURL());
-            } else {
-                loader = new FXMLLoader(getClass().getResource("/Vista/QuizResult.fxml"));
-            }
-            
-            Parent root = loader.load();
-            
-            // Obtener el controlador de resultados y pasarle los datos
-            QuizResultController resultController = loader.getController();
-            resultController.setResultado(resultado);
-            
-            // Cambiar la escena
-            Scene scene = new Scene(root, 900, 700);
-            
-            // Añadir CSS si existe
-            try {
-                String cssPath = "src/Vista/resources/quiz.css";
-                File cssFile = new File(cssPath);
-                if (cssFile.exists()) {
-                    scene.getStylesheets().add(cssFile.toURI().toURL().toExternalForm());
-                }
-            } catch (Exception e) {
-                // Error silencioso al cargar CSS
-            }
-            
+            // La pantalla de resultados se precargó mientras se respondía el quiz
             Stage stage = (Stage) btnVolver.getScene().getWindow();
-            stage.setScene(scene);
-            stage.setTitle("Newton's Apple Quest - Resultados del Quiz");
+            NavigationManager.navigateToQuizResult(stage, resultado);
             
         } catch (Exception e) {
             // Error silencioso al mostrar resultados
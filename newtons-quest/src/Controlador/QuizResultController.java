@@ -1,15 +1,13 @@
 package Controlador;
 
+import Controlador.componentes.MusicaManager;
+import Controlador.constants.GameConstants;
 import Controlador.navigation.NavigationManager;
+import Modelo.CargadorImagenes;
 import Modelo.dto.QuizResult;
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
@@ -77,16 +75,12 @@ public class QuizResultController {
      */
     private void loadBackgroundImage() {
         try {
-            String imagePath = "src/recursos/imagenes/quiz_result_background.jpg";
-            File imageFile = new File(imagePath);
-            
-            Image backgroundImage;
-            
-            if (imageFile.exists()) {
-                backgroundImage = new Image(new FileInputStream(imageFile));
-            } else {
-                // Usar imagen por defecto del mapa
-                backgroundImage = new Image(getClass().getResourceAsStream("/recursos/imagenes/map_background.jpg"));
+            // Usar el fondo propio si existe o, si no, la imagen compartida del mapa
+            Image backgroundImage = CargadorImagenes.obtener(GameConstants.QUIZ_RESULT_BACKGROUND_IMAGE, 0,
+                                                             GameConstants.MAIN_WINDOW_HEIGHT);
+            if (backgroundImage == null) {
+                backgroundImage = CargadorImagenes.obtener(GameConstants.MAP_BACKGROUND_IMAGE, 0,
+                                                           GameConstants.MAIN_WINDOW_HEIGHT);
             }
             
             BackgroundImage bgImage = new BackgroundImage(
@@ -134,6 +128,8 @@ public class QuizResultController {
      * @param resultado Resultado del quiz a mostrar
      */
     public void setResultado(QuizResult resultado) {
+        // Aquí y no en initialize(): la vista puede haberse construido mientras se respondía el quiz
+        MusicaManager.getInstance().reproducir(MusicaManager.Pista.QUIZ);
         this.resultado = resultado;
         actualizarInterfaz();
     }
@@ -245,35 +241,8 @@ public class QuizResultController {
     public void onRepetirButtonClick(ActionEvent event) {
         try {
             // Cargar nuevamente la pantalla del quiz
-            String quizFxmlPath = "src/Vista/Quiz.fxml";
-            File quizFxmlFile = new File(quizFxmlPath);
-            
-            FXMLLoader loader;
-            if (quizFxmlFile.exists()) {
-                loader = new FXMLLoader(quizFxmlFile.toURI().toURL());
-            } else {
-                loader = new FXMLLoader(getClass().getResource("/Vista/Quiz.fxml"));
-            }
-            
-            Parent root = loader.load();
-            
-            // Crear nueva escena
-            Scene scene = new Scene(root, 900, 700);
-            
-            // Añadir CSS si existe
-            try {
-                String cssPath = "src/Vista/resources/quiz.css";
-                File cssFile = new File(cssPath);
-                if (cssFile.exists()) {
-                    scene.getStylesheets().add(cssFile.toURI().toURL().toExternalForm());
-                }
-            } catch (Exception e) {
-                // Error silencioso al cargar CSS
-            }
-            
             Stage stage = (Stage) btnRepetir.getScene().getWindow();
-            stage.setScene(scene);
-            stage.setTitle("Newton's Apple Quest - Quiz");
+            NavigationManager.navigateToQuiz(stage);
             
         } catch (Exception e) {
             // Error silencioso
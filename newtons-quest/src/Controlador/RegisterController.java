@@ -1,8 +1,11 @@
 package Controlador;
 
-import Modelo.dao.UsuarioDAO;
-import java.io.File;
+import Modelo.PaqueteRecursos;
+import Modelo.repositorio.Repositorios;
+import Controlador.componentes.DisponibilidadUsuarioManager;
+import Controlador.utils.ValidationUtils;
 import java.io.IOException;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -12,13 +15,14 @@ import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 /**
  * Controlador para la pantalla de registro de nuevos usuarios.
  * 
  * Esta clase gestiona toda la lógica de registro de usuarios incluyendo:
  * - Validación de datos de entrada (nombre, usuario, email, contraseña)
- * - Verificación de disponibilidad de nombre de usuario
+ * - Verificación de disponibilidad de nombre de usuario mientras se escribe
  * - Confirmación de contraseña
  * - Registro en la base de datos
  * - Manejo de errores y feedback al usuario
@@ -53,6 +57,22 @@ public class RegisterController {
     
     /** Etiqueta para mostrar errores */
     @FXML private Label errorLabel;
+    
+    /** Etiqueta con la disponibilidad del nombre de usuario */
+    @FXML private Label usernameStatusLabel;
+    
+    // ===================================
+    // VERIFICACIÓN DE DISPONIBILIDAD
+    // ===================================
+    
+    /** Milisegundos sin escribir antes de verificar el nombre de usuario */
+    private static final double ESPERA_VERIFICACION_MS = 300;
+    
+    /** Gestor que responde la disponibilidad con el filtro local o la base de datos */
+    private final DisponibilidadUsuarioManager disponibilidad = DisponibilidadUsuarioManager.getInstance();
+    
+    /** Retardo que agrupa las pulsaciones antes de verificar */
+    private final PauseTransition esperaVerificacion = new PauseTransition(Duration.millis(ESPERA_VERIFICACION_MS));
 
     /**
      * Inicializa el controlador y configura los eventos.
@@ -72,13 +92,66 @@ public class RegisterController {
 
         // Ocultar mensaje de error cuando el usuario escribe
         fullNameField.textProperty().addListener((obs, oldText, newText) -> errorLabel.setVisible(false));
-        usernameField.textProperty().addListener((obs, oldText, newText) -> errorLabel.setVisible(false));
+        usernameField.textProperty().addListener((obs, oldText, newText) -> {
+            errorLabel.setVisible(false);
+            esperaVerificacion.playFromStart();
+        });
         emailField.textProperty().addListener((obs, oldText, newText) -> errorLabel.setVisible(false));
         passwordField.textProperty().addListener((obs, oldText, newText) -> errorLabel.setVisible(false));
         confirmPasswordField.textProperty().addListener((obs, oldText, newText) -> errorLabel.setVisible(false));
         
         // Asegurarse de que el errorLabel esté inicialmente oculto
         errorLabel.setVisible(false);
+        
+        // Verificar la disponibilidad del usuario cuando se deja de escribir
+        esperaVerificacion.setOnFinished(event -> verificarDisponibilidadUsuario());
+        disponibilidad.iniciar();
+    }
+
+    /**
+     * Verifica el nombre de usuario escrito y muestra si está disponible.
+     * Los nombres con formato inválido no se consultan.
+     */
+    private void verificarDisponibilidadUsuario() {
+        String username = usernameField.getText().trim();
+        if (!ValidationUtils.validateUsername(username).isValid()) {
+            mostrarDisponibilidad(null, "");
+            return;
+        }
+
+        mostrarDisponibilidad(null, "Comprobando disponibilidad...");
+        disponibilidad.verificar(username, resultado -> {
+            // Ignorar respuestas de un texto que el usuario ya cambió
+            if (!username.equals(usernameField.getText().trim())) {
+                return;
+            }
+            switch (resultado) {
+                case DISPONIBLE:
+                    mostrarDisponibilidad("disponible", "✓ Nombre de usuario disponible");
+                    break;
+                case OCUPADO:
+                    mostrarDisponibilidad("ocupado", "✗ El nombre de usuario ya está en uso");
+                    break;
+                default:
+                    mostrarDisponibilidad(null, "");
+                    break;
+            }
+        });
+    }
+
+    /**
+     * Actualiza la etiqueta de disponibilidad.
+     * @param estilo Clase CSS adicional ("disponible", "ocupado") o null
+     * @param mensaje Texto a mostrar; si está vacío se oculta la etiqueta
+     */
+    private void mostrarDisponibilidad(String estilo, String mensaje) {
+        usernameStatusLabel.getStyleClass().removeAll("disponible", "ocupado");
+        if (estilo != null) {
+            usernameStatusLabel.getStyleClass().add(estilo);
+        }
+        usernameStatusLabel.setText(mensaje);
+        usernameStatusLabel.setVisible(!mensaje.isEmpty());
+        usernameStatusLabel.setManaged(!mensaje.isEmpty());
     }
 
     private void handleRegister() {
@@ -96,7 +169,7 @@ public class RegisterController {
         }
 
         // Validar que el nombre de usuario no exista
-        if (UsuarioDAO.existeUsuario(username)) {
+        if (Repositorios.usuarios().existeUsuario(username)) {
             showError("El nombre de usuario ya está en uso");
             return;
         }
@@ -118,9 +191,11 @@ public class RegisterController {
             showError("La contraseña debe tener al menos 6 caracteres");
             return;
         }        // Registrar al usuario en la base de datos con toda la información
-        boolean registroExitoso = UsuarioDAO.registrarUsuario(username, password, fullName, email);
+        boolean registroExitoso = Repositorios.usuarios().registrarUsuario(username, password, fullName, email);
 
         if (registroExitoso) {
+            disponibilidad.registrarNuevoUsuario(username);
+            
             // Mostrar mensaje de éxito y volver a la pantalla de login
             try {
                 goBackToLogin();
@@ -149,24 +224,16 @@ public class RegisterController {
         
         // Mostrando mensaje de error en el registro
     }    private void goBackToLogin() throws IOException {
+        esperaVerificacion.stop();
+        disponibilidad.detener();
+        
         try {            // Obtener la ruta del archivo FXML
             String loginFxmlPath = "src/Vista/Login.fxml";
             String loginCssPath = "src/Vista/resources/login.css";
 
-            // Verificar si estamos en desarrollo o en producción
-            File loginFxmlFile = new File(loginFxmlPath);
-            File loginCssFile = new File(loginCssPath);
-
-            FXMLLoader loader;
-            String cssPath;
-
-            if (loginFxmlFile.exists()) {
-                // Estamos en desarrollo, usar ruta de archivo
-                loader = new FXMLLoader(loginFxmlFile.toURI().toURL());
-                cssPath = loginCssFile.toURI().toURL().toExternalForm();            } else {                // Estamos en producción, usar getResource
-                loader = new FXMLLoader(getClass().getResource("/Vista/Login.fxml"));
-                cssPath = getClass().getResource("/Vista/resources/login.css").toExternalForm();
-            }
+            // Paquete de recursos en producción, archivo en desarrollo o classpath
+            FXMLLoader loader = new FXMLLoader(PaqueteRecursos.localizar(loginFxmlPath));
+            String cssPath = PaqueteRecursos.localizar(loginCssPath).toExternalForm();
 
             // Cargar la pantalla de login
             Parent root = loader.load();
@@ -1,7 +1,9 @@
 package Controlador.componentes;
 
 import Modelo.dto.Apple;
+import Modelo.dto.EventosPartida;
 import Modelo.dto.Player;
+import Modelo.dto.TipoEventoPartida;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -91,6 +93,12 @@ public class AppleManager {
     /** Callback para notificar pérdida de una vida */
     private Runnable onLifeLost;
     
+    /** Registro de eventos de la partida, o null si no se registran */
+    private EventosPartida eventos;
+    
+    /** Motor de efectos de sonido, o null para jugar sin efectos */
+    private EfectosSonidoManager efectosSonido;
+    
     // =====================================
     // CONSTRUCTOR
     // =====================================
@@ -137,6 +145,24 @@ public class AppleManager {
         this.onLifeLost = onLifeLost;
     }
     
+    /**
+     * Establece el registro donde se anotan las manzanas atrapadas y perdidas.
+     * 
+     * @param eventos Registro de la partida en curso, o null para no registrar
+     */
+    public void setRegistroEventos(EventosPartida eventos) {
+        this.eventos = eventos;
+    }
+    
+    /**
+     * Establece el motor con el que suenan las manzanas atrapadas y perdidas.
+     * 
+     * @param efectosSonido Motor de efectos, o null para no reproducir sonidos
+     */
+    public void setEfectosSonido(EfectosSonidoManager efectosSonido) {
+        this.efectosSonido = efectosSonido;
+    }
+    
     /**
      * Controla el estado de pausa para la generación de manzanas.
      * 
@@ -287,16 +313,28 @@ public class AppleManager {
     private void processAppleCollected(Apple apple, Player player) {
         if (apple.isRed()) {
             // Manzana roja: puntos positivos
+            int points = RED_APPLE_POINTS;
+            // Aplicar multiplicador de puntos dobles si está activo
+            if (player.hasPointsEffect()) {
+                points *= 2;
+            }
+            if (eventos != null) {
+                eventos.registrar(TipoEventoPartida.MANZANA_ROJA_ATRAPADA, points);
+            }
+            if (efectosSonido != null) {
+                efectosSonido.reproducir(EfectosSonidoManager.Efecto.MANZANA_ATRAPADA);
+            }
             if (onScoreChange != null) {
-                int points = RED_APPLE_POINTS;
-                // Aplicar multiplicador de puntos dobles si está activo
-                if (player.hasPointsEffect()) {
-                    points *= 2;
-                }
                 onScoreChange.accept(points);
             }
         } else {
             // Manzana verde: puntos negativos y pérdida de vida
+            if (eventos != null) {
+                eventos.registrar(TipoEventoPartida.MANZANA_VERDE_ATRAPADA, GREEN_APPLE_POINTS);
+            }
+            if (efectosSonido != null) {
+                efectosSonido.reproducir(EfectosSonidoManager.Efecto.MANZANA_VERDE);
+            }
             if (onScoreChange != null) {
                 onScoreChange.accept(GREEN_APPLE_POINTS);
             }
@@ -322,6 +360,12 @@ public class AppleManager {
     private void processAppleReachedFloor(Apple apple) {
         // Solo penalizar si era una manzana roja perdida
         if (apple.isRed()) {
+            if (eventos != null) {
+                eventos.registrar(TipoEventoPartida.MANZANA_ROJA_PERDIDA, MISSED_APPLE_POINTS);
+            }
+            if (efectosSonido != null) {
+                efectosSonido.reproducir(EfectosSonidoManager.Efecto.MANZANA_PERDIDA);
+            }
             if (onScoreChange != null) {
                 onScoreChange.accept(MISSED_APPLE_POINTS);
             }
@@ -1,10 +1,5 @@
 package Controlador.componentes;
 
-import Controlador.utils.GameSettings;
-import java.io.File;
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
-
 /**
  * Gestor de audio.
  * 
@@ -15,9 +10,9 @@ import javafx.scene.media.MediaPlayer;
  *   - Control de volumen independiente para música y efectos
  *   - Gestión de estados de reproducción (play, pause, stop)
  * 
- * El gestor utiliza JavaFX MediaPlayer para la reproducción de audio
- * y se integra con el sistema de configuración del juego para mantener
- * los niveles de volumen preferidos por el usuario.
+ * La música la reproduce MusicaManager, que vive toda la aplicación y no se
+ * corta al cambiar de pantalla; los efectos, EfectosSonidoManager. Este gestor
+ * es la fachada que usa la partida para ambos.
  */
 public class AudioManager {
     
@@ -25,21 +20,18 @@ public class AudioManager {
     // ATRIBUTOS DE INSTANCIA
     // =====================================
     
-    /** Reproductor para música de fondo */
-    private MediaPlayer musicPlayer;
+    /** Servicio de música de la aplicación */
+    private final MusicaManager music = MusicaManager.getInstance();
     
-    /** Reproductor para efectos de sonido */
-    private MediaPlayer effectPlayer;
+    /** Motor de efectos de sonido, con los clips ya cargados en memoria */
+    private final EfectosSonidoManager effects = EfectosSonidoManager.getInstance();
     
     // =====================================
     // RUTAS DE RECURSOS
     // =====================================
     
-    /** Ruta local de la música de fondo del juego */
-    private final String MUSIC_PATH = "src/recursos/musica/musica_juego.mp3";
-    
     /** Ruta local del sonido de desbloqueo de fórmulas */
-    private final String UNLOCK_SOUND_PATH = "src/recursos/sonidos/unlock.mp3";
+    public static final String UNLOCK_SOUND_PATH = "src/recursos/sonidos/unlock.mp3";
     
     // =====================================
     // CONSTRUCTOR
@@ -49,7 +41,8 @@ public class AudioManager {
      * Constructor por defecto del gestor de audio.
      * 
      * Inicializa el gestor sin cargar ningún archivo de audio.
-     * Los recursos se cargan bajo demanda cuando se solicita su reproducción.
+     * Los audios los prepara AssetPreloader durante el login, o se preparan
+     * bajo demanda cuando se solicita su reproducción.
      */
     public AudioManager() {
         // Gestor de audio inicializado y listo para usar
@@ -60,69 +53,33 @@ public class AudioManager {
     // =====================================
     
     /**
-     * Inicia la reproducción de música de fondo del juego.
+     * Inicia la música de la partida.
      * 
-     * Carga y reproduce el archivo de música en bucle infinito,
-     * aplicando el volumen configurado en las preferencias del usuario.
-     * Si ya hay música reproduciéndose, la detiene antes de iniciar la nueva.
+     * Si venía sonando otra pista (la del mapa), la de la partida entra con
+     * un fundido cruzado; si ya sonaba, continúa sin reiniciarse.
      *
      * Comportamiento:
      * - Reproducción en bucle continuo
      * - Volumen según configuración del usuario
      */
     public void playBackgroundMusic() {
-        try {
-            // Detener música anterior si existe
-            if (musicPlayer != null) {
-                musicPlayer.stop();
-            }
-            
-            // Cargar archivo de música desde ruta de desarrollo
-            File musicFile = new File(MUSIC_PATH);
-            Media media = new Media(musicFile.toURI().toString());
-            
-            // Configurar reproductor
-            musicPlayer = new MediaPlayer(media);
-            musicPlayer.setCycleCount(MediaPlayer.INDEFINITE); // Reproducción en bucle
-            musicPlayer.setVolume(GameSettings.getInstance().getMusicVolume());
-            musicPlayer.play();
-            
-        } catch (Exception e) {
-            // Manejar errores en desarrollo
-        }
+        music.reproducir(MusicaManager.Pista.JUEGO);
     }
     
     /**
      * Reproduce el efecto de sonido de desbloqueo de fórmula.
      *
      * Se reproduce cuando el jugador alcanza suficientes puntos para
-     * desbloquear una nueva fórmula de Newton. Si hay otro efecto
-     * reproduciéndose, lo detiene antes de iniciar el nuevo.
+     * desbloquear una nueva fórmula de Newton. El clip ya está cargado en
+     * el motor de efectos, así que suena sin latencia de apertura.
      *
      * Características:
      * - Reproducción única (no en bucle)
      * - Volumen según configuración de efectos
-     * - Interrupción de efectos previos
+     * - Puede sonar junto con otros efectos
      */
     public void playUnlockSound() {
-        try {
-            // Detener efecto anterior si existe
-            if (effectPlayer != null) {
-                effectPlayer.stop();
-            }
-            
-            // Cargar archivo de sonido desde ruta de desarrollo
-            File soundFile = new File(UNLOCK_SOUND_PATH);
-            Media media = new Media(soundFile.toURI().toString());
-            
-            // Configurar y reproducir efecto
-            effectPlayer = new MediaPlayer(media);
-            effectPlayer.setVolume(GameSettings.getInstance().getEffectVolume());
-            effectPlayer.play();
-            
-        } catch (Exception e) {
-            // Manejar errores silenciosamente en desarrollo
-        }
+        effects.reproducir(EfectosSonidoManager.Efecto.DESBLOQUEO);
     }
     
     // =====================================
@@ -136,9 +93,7 @@ public class AudioManager {
      * completamente el audio.
      */
     public void stopBackgroundMusic() {
-        if (musicPlayer != null) {
-            musicPlayer.stop();
-        }
+        music.detener();
     }
     
     /**
@@ -147,9 +102,7 @@ public class AudioManager {
      * {@link #resumeBackgroundMusic()}.
      */
     public void pauseBackgroundMusic() {
-        if (musicPlayer != null) {
-            musicPlayer.pause();
-        }
+        music.pausar();
     }
     
     /**
@@ -158,9 +111,7 @@ public class AudioManager {
      * Continúa la reproducción desde el punto donde fue pausada.
      */
     public void resumeBackgroundMusic() {
-        if (musicPlayer != null) {
-            musicPlayer.play();
-        }
+        music.reanudar();
     }
     
     // =====================================
@@ -176,9 +127,7 @@ public class AudioManager {
      * @param volume Nivel de volumen entre 0.0 (silencio) y 1.0 (máximo)
      */
     public void setMusicVolume(double volume) {
-        if (musicPlayer != null) {
-            musicPlayer.setVolume(Math.max(0.0, Math.min(1.0, volume)));
-        }
+        music.setVolumen(volume);
     }
     
     /**
@@ -190,26 +139,24 @@ public class AudioManager {
      * @param volume Nivel de volumen entre 0.0 (silencio) y 1.0 (máximo)
      */
     public void setEffectVolume(double volume) {
-        if (effectPlayer != null) {
-            effectPlayer.setVolume(Math.max(0.0, Math.min(1.0, volume)));
-        }
+        effects.setVolumen(volume);
     }
     
     /**
      * Obtiene el nivel de volumen actual de la música de fondo.
      * 
-     * @return Volumen actual entre 0.0 y 1.0, o 0.0 si no hay música cargada
+     * @return Volumen actual entre 0.0 y 1.0
      */
     public double getMusicVolume() {
-        return musicPlayer != null ? musicPlayer.getVolume() : 0.0;
+        return music.getVolumen();
     }
     
     /**
      * Obtiene el nivel de volumen actual de los efectos de sonido.
      * 
-     * @return Volumen actual entre 0.0 y 1.0, o 0.0 si no hay efectos cargados
+     * @return Volumen actual entre 0.0 y 1.0
      */
     public double getEffectVolume() {
-        return effectPlayer != null ? effectPlayer.getVolume() : 0.0;
+        return effects.getVolumen();
     }
 }
@@ -0,0 +1,452 @@
+package Controlador.componentes;
+
+import Controlador.constants.GameConstants;
+import Controlador.utils.ErrorHandler;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import javafx.scene.media.MediaView;
+import javafx.util.Duration;
+
+/**
+ * Catálogo de los videos educativos con sus metadatos y fotogramas de portada.
+ *
+ * Cada video de GameConstants.VIDEOS_PATH se examina una sola vez en un hilo
+ * de fondo: existencia, tamaño, fecha de modificación, duración, si JavaFX
+ * puede decodificarlo y un fotograma de portada. El resultado se guarda en
+ * disco (GameConstants.VIDEO_CACHE_PATH) y en las siguientes ejecuciones solo
+ * se vuelve a examinar un video si cambió su tamaño o su fecha de modificación.
+ * Solo se guardan veredictos definitivos: si el examen no terminó (el video
+ * tardó demasiado en abrirse o se interrumpió), el video queda fuera del
+ * catálogo en esta ejecución y se vuelve a examinar en la siguiente. Un video
+ * válido cuya portada no se pudo capturar a tiempo sí se publica, pero no se
+ * guarda, para volver a intentar la portada en la siguiente ejecución.
+ *
+ * Las pantallas consultan el catálogo en memoria con getEntrada(), que nunca
+ * toca el disco (y si un video no tiene entrada lo verifican por su cuenta), y reciben en el hilo de JavaFX cada entrada que termina de
+ * prepararse mediante el callback setOnActualizado().
+ *
+ * Implementa el patrón Singleton para examinar cada video una sola vez.
+ */
+public class CatalogoVideos {
+
+    // ================================================================================================
+    // CONSTANTES DE CONFIGURACIÓN
+    // ================================================================================================
+
+    /** Archivo con los metadatos guardados, dentro de VIDEO_CACHE_PATH */
+    private static final String ARCHIVO_CATALOGO = "catalogo.properties";
+
+    /** Ancho de los fotogramas de portada */
+    public static final int ANCHO_PORTADA = 128;
+
+    /** Archivos menores a este tamaño no pueden ser un video válido */
+    private static final long TAMANO_MINIMO = 1024;
+
+    /** Espera máxima a que JavaFX abra un video */
+    private static final long ESPERA_APERTURA_MS = 10_000;
+
+    /** Espera máxima a que el video llegue al instante de la portada */
+    private static final long ESPERA_PORTADA_MS = 5_000;
+
+    // ================================================================================================
+    // ENTRADAS DEL CATÁLOGO
+    // ================================================================================================
+
+    /**
+     * Metadatos de un video. Es inmutable: cada actualización crea una entrada nueva.
+     */
+    public static final class Entrada {
+        private final String ruta;
+        private final boolean existe;
+        private final long tamano;
+        private final long modificado;
+        private final long duracionMs;
+        private final boolean valido;
+        private final String motivo;
+        private final Image portada;
+
+        Entrada(String ruta, boolean existe, long tamano, long modificado, long duracionMs,
+                boolean valido, String motivo, Image portada) {
+            this.ruta = ruta;
+            this.existe = existe;
+            this.tamano = tamano;
+            this.modificado = modificado;
+            this.duracionMs = duracionMs;
+            this.valido = valido;
+            this.motivo = motivo;
+            this.portada = portada;
+        }
+
+        public String getRuta() { return ruta; }
+        public boolean isExiste() { return existe; }
+        public long getTamano() { return tamano; }
+        public long getModificado() { return modificado; }
+        public long getDuracionMs() { return duracionMs; }
+        /** true si el archivo existe y JavaFX pudo abrirlo */
+        public boolean isValido() { return valido; }
+        /** Motivo por el que el video no es válido, o null */
+        public String getMotivo() { return motivo; }
+        /** Fotograma de portada, o null si no se pudo obtener */
+        public Image getPortada() { return portada; }
+
+        /**
+         * Duración en formato m:ss, o cadena vacía si no se conoce.
+         */
+        public String getDuracionTexto() {
+            if (duracionMs <= 0) return "";
+            long segundos = duracionMs / 1000;
+            return String.format("%d:%02d", segundos / 60, segundos % 60);
+        }
+    }
+
+    // ================================================================================================
+    // INSTANCIA SINGLETON Y ESTADO
+    // ================================================================================================
+
+    /** Instancia única del catálogo */
+    private static CatalogoVideos instance;
+
+    /** Entradas preparadas, por ruta de desarrollo del video */
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    /** Hilo de fondo que examina los videos uno a uno */
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "CatalogoVideos");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    /** Carpeta de la caché en disco */
+    private final File carpetaCache = new File(GameConstants.VIDEO_CACHE_PATH);
+
+    /** Indica si ya se programó la construcción del catálogo */
+    private boolean iniciado;
+
+    /** Callback que recibe cada entrada preparada, en el hilo de JavaFX */
+    private volatile Consumer<Entrada> onActualizado;
+
+    /** Constructor privado para implementar patrón Singleton */
+    private CatalogoVideos() {
+    }
+
+    /**
+     * Obtiene la instancia única del catálogo.
+     * @return Instancia única del CatalogoVideos
+     */
+    public static synchronized CatalogoVideos getInstance() {
+        if (instance == null) {
+            instance = new CatalogoVideos();
+        }
+        return instance;
+    }
+
+    // ================================================================================================
+    // CONSULTA
+    // ================================================================================================
+
+    /**
+     * Programa la construcción del catálogo en segundo plano. Las llamadas
+     * siguientes no hacen nada.
+     */
+    public synchronized void iniciar() {
+        if (iniciado) return;
+        iniciado = true;
+        ejecutor.execute(this::construir);
+    }
+
+    /**
+     * Obtiene la entrada de un video sin tocar el disco.
+     * @param ruta Ruta de desarrollo del video (GameConstants.VIDEOS_PATH + archivo)
+     * @return Entrada del catálogo, o null si todavía no se examinó
+     */
+    public Entrada getEntrada(String ruta) {
+        return ruta == null ? null : entradas.get(ruta);
+    }
+
+    /**
+     * Establece el callback que recibe, en el hilo de JavaFX, cada entrada que
+     * termina de prepararse. Se admite un solo callback; null lo elimina.
+     */
+    public void setOnActualizado(Consumer<Entrada> callback) {
+        this.onActualizado = callback;
+    }
+
+    // ================================================================================================
+    // CONSTRUCCIÓN
+    // ================================================================================================
+
+    /**
+     * Examina todos los videos, reutilizando lo guardado en disco cuando el
+     * archivo no cambió, y guarda el catálogo actualizado.
+     */
+    private void construir() {
+        long inicio = System.nanoTime();
+        Properties guardado = leerCatalogo();
+        Properties actualizado = new Properties();
+        int examinados = 0;
+
+        for (String archivo : archivosVideo()) {
+            String ruta = GameConstants.VIDEOS_PATH + archivo;
+            Entrada entrada = desdeCache(archivo, ruta, guardado);
+            if (entrada == null) {
+                entrada = examinar(archivo, ruta);
+                examinados++;
+            }
+            if (entrada == null) {
+                // Examen sin veredicto: ni se guarda ni se publica
+                continue;
+            }
+            if (!entrada.valido || entrada.portada != null) {
+                guardar(archivo, entrada, actualizado);
+            }
+            publicar(entrada);
+        }
+
+        if (examinados > 0) {
+            escribirCatalogo(actualizado);
+        }
+        ErrorHandler.logInfo(String.format("Catálogo de videos listo: %d videos (%d examinados) en %.0f ms",
+                             entradas.size(), examinados, (System.nanoTime() - inicio) / 1e6));
+    }
+
+    /**
+     * Videos conocidos por el juego: la biografía y uno por fórmula.
+     */
+    private static List<String> archivosVideo() {
+        List<String> archivos = new ArrayList<>();
+        archivos.add(GameConstants.VIDEO_BIOGRAFIA);
+        for (String archivo : GameConstants.VIDEO_FORMULA_FILES) {
+            archivos.add(archivo);
+        }
+        return archivos;
+    }
+
+    private void publicar(Entrada entrada) {
+        entradas.put(entrada.ruta, entrada);
+        Consumer<Entrada> callback = onActualizado;
+        if (callback != null) {
+            Platform.runLater(() -> callback.accept(entrada));
+        }
+    }
+
+    /**
+     * Reconstruye una entrada guardada si el archivo conserva tamaño y fecha y,
+     * si es válido, su portada sigue en disco.
+     * @return Entrada vigente, o null si hay que volver a examinar el video
+     */
+    private Entrada desdeCache(String archivo, String ruta, Properties guardado) {
+        File video = new File(ruta);
+        boolean existe = video.isFile();
+        String tamano = guardado.getProperty(archivo + ".tamano");
+        String modificado = guardado.getProperty(archivo + ".modificado");
+        if (tamano == null || modificado == null) {
+            return null;
+        }
+        try {
+            if (Long.parseLong(tamano) != (existe ? video.length() : -1)
+                    || Long.parseLong(modificado) != (existe ? video.lastModified() : -1)) {
+                return null;
+            }
+            boolean valido = Boolean.parseBoolean(guardado.getProperty(archivo + ".valido"));
+            long duracion = Long.parseLong(guardado.getProperty(archivo + ".duracion", "0"));
+            Image portada = valido ? leerPortada(archivo) : null;
+            if (valido && portada == null) {
+                return null;
+            }
+            return new Entrada(ruta, existe, existe ? video.length() : 0, existe ? video.lastModified() : 0,
+                               duracion, valido, guardado.getProperty(archivo + ".motivo"), portada);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void guardar(String archivo, Entrada entrada, Properties destino) {
+        destino.setProperty(archivo + ".tamano", String.valueOf(entrada.existe ? entrada.tamano : -1));
+        destino.setProperty(archivo + ".modificado", String.valueOf(entrada.existe ? entrada.modificado : -1));
+        destino.setProperty(archivo + ".duracion", String.valueOf(entrada.duracionMs));
+        destino.setProperty(archivo + ".valido", String.valueOf(entrada.valido));
+        if (entrada.motivo != null) {
+            destino.setProperty(archivo + ".motivo", entrada.motivo);
+        }
+    }
+
+    // ================================================================================================
+    // EXAMEN DE UN VIDEO
+    // ================================================================================================
+
+    /**
+     * Abre el video con JavaFX para saber si se puede decodificar, leer su
+     * duración y capturar un fotograma de portada.
+     * @return Entrada con el veredicto, o null si el examen no terminó y el
+     *         video debe examinarse otra vez en la próxima ejecución
+     */
+    private Entrada examinar(String archivo, String ruta) {
+        File video = new File(ruta);
+        if (!video.isFile()) {
+            return new Entrada(ruta, false, 0, 0, 0, false, "El archivo de video no se encuentra disponible", null);
+        }
+        long tamano = video.length();
+        long modificado = video.lastModified();
+        if (tamano < TAMANO_MINIMO) {
+            return new Entrada(ruta, true, tamano, modificado, 0, false,
+                               "El archivo de video parece estar corrupto o vacío", null);
+        }
+
+        MediaPlayer reproductor = null;
+        try {
+            Media media = new Media(video.toURI().toString());
+            reproductor = new MediaPlayer(media);
+            CountDownLatch abierto = new CountDownLatch(1);
+            reproductor.setOnReady(abierto::countDown);
+            reproductor.setOnError(abierto::countDown);
+            if (!abierto.await(ESPERA_APERTURA_MS, TimeUnit.MILLISECONDS)) {
+                // Puede ser un disco lento o un equipo ocupado, no un video defectuoso
+                ErrorHandler.logWarning("El video " + archivo + " tardó demasiado en abrirse; se examinará de nuevo");
+                return null;
+            }
+            if (reproductor.getError() != null) {
+                return new Entrada(ruta, true, tamano, modificado, 0, false,
+                                   "El formato del video no es compatible: " + reproductor.getError().getType(), null);
+            }
+
+            Duration duracion = media.getDuration();
+            long duracionMs = duracion == null || duracion.isUnknown() || duracion.isIndefinite()
+                              ? 0 : (long) duracion.toMillis();
+            Image portada = capturarPortada(reproductor, duracionMs);
+            if (portada != null) {
+                escribirPortada(archivo, portada);
+            } else {
+                ErrorHandler.logWarning("No se obtuvo a tiempo la portada de " + archivo + "; se intentará de nuevo");
+            }
+            return new Entrada(ruta, true, tamano, modificado, duracionMs, true, null, portada);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (RuntimeException e) {
+            return new Entrada(ruta, true, tamano, modificado, 0, false,
+                               "El formato del video no es compatible: " + e.getMessage(), null);
+        } finally {
+            if (reproductor != null) {
+                Platform.runLater(reproductor::dispose);
+            }
+        }
+    }
+
+    /**
+     * Reproduce el video en silencio hasta un instante representativo (el 10 %
+     * de la duración, como mucho 5 s) y toma una instantánea de ese fotograma.
+     * @return Portada, o null si no se obtuvo a tiempo
+     */
+    private static Image capturarPortada(MediaPlayer reproductor, long duracionMs) {
+        Duration instante = Duration.millis(Math.min(duracionMs / 10, 5_000));
+        CompletableFuture<Image> resultado = new CompletableFuture<>();
+
+        Platform.runLater(() -> {
+            MediaView vista = new MediaView(reproductor);
+            vista.setFitWidth(ANCHO_PORTADA);
+            vista.setPreserveRatio(true);
+            reproductor.setMute(true);
+            reproductor.currentTimeProperty().addListener((obs, anterior, actual) -> {
+                if (!resultado.isDone() && actual.greaterThanOrEqualTo(instante)) {
+                    reproductor.pause();
+                    resultado.complete(vista.snapshot(null, null));
+                }
+            });
+            reproductor.seek(instante);
+            reproductor.play();
+        });
+
+        try {
+            return resultado.get(ESPERA_PORTADA_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ================================================================================================
+    // CACHÉ EN DISCO
+    // ================================================================================================
+
+    private Properties leerCatalogo() {
+        Properties propiedades = new Properties();
+        File archivo = new File(carpetaCache, ARCHIVO_CATALOGO);
+        if (archivo.isFile()) {
+            try (InputStream entrada = new FileInputStream(archivo)) {
+                propiedades.load(entrada);
+            } catch (IOException e) {
+                // Catálogo ilegible: se vuelven a examinar todos los videos
+            }
+        }
+        return propiedades;
+    }
+
+    private void escribirCatalogo(Properties propiedades) {
+        try {
+            carpetaCache.mkdirs();
+            try (OutputStream salida = new FileOutputStream(new File(carpetaCache, ARCHIVO_CATALOGO))) {
+                propiedades.store(salida, "Newton's Apple Quest - Catálogo de videos");
+            }
+        } catch (IOException e) {
+            ErrorHandler.logWarning("No se pudo guardar el catálogo de videos: " + e.getMessage());
+        }
+    }
+
+    private Image leerPortada(String archivo) {
+        File portada = new File(carpetaCache, archivo + ".png");
+        if (!portada.isFile()) {
+            return null;
+        }
+        try (InputStream entrada = new FileInputStream(portada)) {
+            Image imagen = new Image(entrada);
+            return imagen.isError() ? null : imagen;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Guarda la portada como PNG, copiando los píxeles sin depender de javafx.swing.
+     */
+    private void escribirPortada(String archivo, Image portada) {
+        int ancho = (int) portada.getWidth();
+        int alto = (int) portada.getHeight();
+        PixelReader lector = portada.getPixelReader();
+        if (lector == null || ancho == 0 || alto == 0) {
+            return;
+        }
+        int[] pixeles = new int[ancho * alto];
+        lector.getPixels(0, 0, ancho, alto, PixelFormat.getIntArgbInstance(), pixeles, 0, ancho);
+        BufferedImage imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+        imagen.setRGB(0, 0, ancho, alto, pixeles, 0, ancho);
+        try {
+            carpetaCache.mkdirs();
+            ImageIO.write(imagen, "png", new File(carpetaCache, archivo + ".png"));
+        } catch (IOException e) {
+            ErrorHandler.logWarning("No se pudo guardar la portada de " + archivo + ": " + e.getMessage());
+        }
+    }
+}
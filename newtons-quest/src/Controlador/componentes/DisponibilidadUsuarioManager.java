@@ -0,0 +1,216 @@
+package Controlador.componentes;
+
+import Controlador.utils.ErrorHandler;
+import Controlador.utils.FiltroBloom;
+import Modelo.repositorio.Repositorios;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+
+/**
+ * Gestor de la verificación de disponibilidad de nombres de usuario.
+ *
+ * Permite mostrar en la pantalla de registro si un nombre ya está en uso
+ * mientras el usuario escribe, sin consultar la base de datos en cada tecla:
+ *
+ *   - Mantiene un filtro de Bloom con todos los usernames existentes,
+ *     cargado en una sola pasada en streaming sobre la tabla usuarios
+ *   - Si el filtro responde "seguro que no está", el nombre está libre y
+ *     se contesta localmente, sin ninguna consulta
+ *   - Solo los posibles positivos se confirman con existeUsuario del repositorio,
+ *     en un hilo de fondo
+ *   - El filtro se recarga periódicamente mientras la pantalla está activa
+ *
+ * La respuesta es orientativa: el registro vuelve a comprobar el nombre en la
+ * base de datos antes de insertar. Los métodos públicos deben llamarse desde el
+ * hilo de JavaFX, y los callbacks se ejecutan también en él.
+ *
+ * Implementa el patrón Singleton para conservar el filtro entre visitas
+ * a la pantalla de registro.
+ */
+public class DisponibilidadUsuarioManager {
+
+    // ================================================================================================
+    // CONSTANTES DE CONFIGURACIÓN
+    // ================================================================================================
+
+    /** Resultado de una verificación de disponibilidad */
+    public enum Disponibilidad {
+        /** Nadie usa ese nombre */
+        DISPONIBLE,
+        /** El nombre ya está registrado */
+        OCUPADO,
+        /** No se pudo consultar la base de datos */
+        DESCONOCIDO
+    }
+
+    /** Minutos entre recargas del filtro */
+    private static final long INTERVALO_RECARGA_MINUTOS = 5;
+
+    /** Tasa de falsos positivos del filtro (fracción de nombres libres que van a la BD) */
+    private static final double TASA_FALSOS_POSITIVOS = 0.01;
+
+    /** Holgura sobre el número de usuarios para los registros posteriores a la carga */
+    private static final double MARGEN_CRECIMIENTO = 1.25;
+
+    /** Capacidad mínima del filtro */
+    private static final int CAPACIDAD_MINIMA = 1024;
+
+    // ================================================================================================
+    // INSTANCIA SINGLETON Y ESTADO
+    // ================================================================================================
+
+    /** Instancia única del gestor */
+    private static DisponibilidadUsuarioManager instance;
+
+    /** Hilo de fondo para cargar el filtro y confirmar posibles positivos */
+    private final ScheduledExecutorService ejecutor;
+
+    /** Filtro vigente, o null mientras no se haya cargado */
+    private volatile FiltroBloom filtro;
+
+    /** Momento (System.nanoTime) de la última carga exitosa */
+    private volatile long ultimaCarga;
+
+    /** Tarea de recarga periódica, o null si está detenida */
+    private ScheduledFuture<?> recargaPeriodica;
+
+    /** Verificaciones contestadas sin consultar la base de datos */
+    private long consultasLocales;
+
+    /** Verificaciones que necesitaron consultar la base de datos */
+    private long consultasBD;
+
+    /** Constructor privado para implementar patrón Singleton */
+    private DisponibilidadUsuarioManager() {
+        ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "DisponibilidadUsuario");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Obtiene la instancia única del gestor.
+     * @return Instancia única del DisponibilidadUsuarioManager
+     */
+    public static DisponibilidadUsuarioManager getInstance() {
+        if (instance == null) {
+            instance = new DisponibilidadUsuarioManager();
+        }
+        return instance;
+    }
+
+    // ================================================================================================
+    // CICLO DE VIDA
+    // ================================================================================================
+
+    /**
+     * Inicia la recarga periódica del filtro. Si el filtro no existe o está
+     * vencido se carga de inmediato. Llamar al entrar a la pantalla de registro.
+     */
+    public void iniciar() {
+        if (recargaPeriodica != null) return;
+
+        long intervalo = TimeUnit.MINUTES.toNanos(INTERVALO_RECARGA_MINUTOS);
+        long demora = filtro == null ? 0 : Math.max(0, intervalo - (System.nanoTime() - ultimaCarga));
+        recargaPeriodica = ejecutor.scheduleWithFixedDelay(this::recargarFiltro, demora, intervalo,
+                                                           TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Detiene la recarga periódica conservando el filtro en memoria.
+     * Llamar al salir de la pantalla de registro.
+     */
+    public void detener() {
+        if (recargaPeriodica != null) {
+            recargaPeriodica.cancel(false);
+            recargaPeriodica = null;
+        }
+    }
+
+    // ================================================================================================
+    // VERIFICACIÓN
+    // ================================================================================================
+
+    /**
+     * Verifica si un nombre de usuario está disponible.
+     *
+     * Si el filtro descarta el nombre, el callback se ejecuta de inmediato;
+     * si no, se confirma en la base de datos y el callback se ejecuta más tarde
+     * en el hilo de JavaFX.
+     *
+     * @param username Nombre de usuario ya validado en formato
+     * @param callback Recibe el resultado de la verificación
+     */
+    public void verificar(String username, Consumer<Disponibilidad> callback) {
+        FiltroBloom actual = filtro;
+        if (actual != null && !actual.podriaContener(username)) {
+            consultasLocales++;
+            callback.accept(Disponibilidad.DISPONIBLE);
+            return;
+        }
+
+        consultasBD++;
+        ejecutor.execute(() -> {
+            Disponibilidad resultado;
+            if (!Repositorios.isDisponible()) {
+                resultado = Disponibilidad.DESCONOCIDO;
+            } else {
+                resultado = Repositorios.usuarios().existeUsuario(username) ? Disponibilidad.OCUPADO : Disponibilidad.DISPONIBLE;
+            }
+            Platform.runLater(() -> callback.accept(resultado));
+        });
+    }
+
+    /**
+     * Agrega al filtro un usuario recién registrado, para que no se reporte
+     * como disponible hasta la próxima recarga.
+     * @param username Nombre del usuario registrado
+     */
+    public void registrarNuevoUsuario(String username) {
+        FiltroBloom actual = filtro;
+        if (actual != null) {
+            actual.agregar(username);
+        }
+    }
+
+    // Getters
+    public long getConsultasLocales() {
+        return consultasLocales;
+    }
+
+    public long getConsultasBD() {
+        return consultasBD;
+    }
+
+    // ================================================================================================
+    // CARGA DEL FILTRO
+    // ================================================================================================
+
+    /**
+     * Construye un filtro nuevo con todos los usernames y lo publica.
+     * Si la base de datos no responde se conserva el filtro anterior.
+     */
+    private void recargarFiltro() {
+        int usuarios = Repositorios.usuarios().contarUsuarios();
+        if (usuarios < 0) return;
+
+        long inicio = System.nanoTime();
+        int capacidad = Math.max(CAPACIDAD_MINIMA, (int) (usuarios * MARGEN_CRECIMIENTO));
+        FiltroBloom nuevo = new FiltroBloom(capacidad, TASA_FALSOS_POSITIVOS);
+        int cargados = Repositorios.usuarios().recorrerUsernames(nuevo::agregar);
+        if (cargados < 0) return;
+
+        // Publicar en el hilo de JavaFX, que es el único que consulta y amplía el filtro
+        Platform.runLater(() -> {
+            filtro = nuevo;
+            ultimaCarga = System.nanoTime();
+        });
+        ErrorHandler.logInfo(String.format("Filtro de usernames recargado: %d usuarios, %d KB, %.0f ms",
+                             cargados, nuevo.getTamanoBytes() / 1024, (System.nanoTime() - inicio) / 1e6));
+    }
+}
@@ -0,0 +1,265 @@
+package Controlador.componentes;
+
+import Controlador.constants.GameConstants;
+import Controlador.utils.ErrorHandler;
+import Controlador.utils.GameSettings;
+import java.io.File;
+import javafx.scene.media.AudioClip;
+
+/**
+ * Motor de efectos de sonido de baja latencia.
+ *
+ * Los efectos son sonidos cortos que pueden dispararse muchas veces por segundo
+ * desde el bucle del juego (manzanas atrapadas o perdidas, pociones). En lugar
+ * de crear un Media y un MediaPlayer en cada reproducción:
+ *
+ *   - Cada efecto se carga una sola vez como AudioClip, que queda decodificado
+ *     en memoria y se reproduce sin latencia de apertura
+ *   - Hay un número máximo de voces simultáneas; si están todas ocupadas se
+ *     roba la voz más antigua
+ *   - Un mismo efecto no se repite dentro de un intervalo mínimo, para que varios
+ *     disparos en el mismo frame no se sumen en un solo sonido saturado
+ *   - reproducir() solo usa arreglos preasignados: no crea objetos por disparo
+ *
+ * Como AudioClip no expone la duración ni un identificador por reproducción,
+ * cada efecto declara una duración aproximada para saber cuándo queda libre su
+ * voz, y robar una voz detiene todas las reproducciones en curso de ese efecto.
+ *
+ * Los archivos que no existen o están vacíos se omiten: ese efecto simplemente
+ * no suena. reproducir() debe llamarse desde el hilo de JavaFX.
+ *
+ * Implementa el patrón Singleton para cargar los efectos una sola vez.
+ */
+public class EfectosSonidoManager {
+
+    // ================================================================================================
+    // EFECTOS DISPONIBLES
+    // ================================================================================================
+
+    /** Efectos de sonido del juego */
+    public enum Efecto {
+        /** Desbloqueo de una fórmula de Newton */
+        DESBLOQUEO(AudioManager.UNLOCK_SOUND_PATH, 1500),
+        /** Manzana roja atrapada */
+        MANZANA_ATRAPADA(GameConstants.SOUNDS_PATH + "manzana.wav", 200),
+        /** Manzana verde atrapada */
+        MANZANA_VERDE(GameConstants.SOUNDS_PATH + "manzana_verde.wav", 300),
+        /** Manzana roja que llegó al suelo */
+        MANZANA_PERDIDA(GameConstants.SOUNDS_PATH + "manzana_perdida.wav", 300),
+        /** Poción recogida */
+        POCION(GameConstants.SOUNDS_PATH + "pocion.wav", 400);
+
+        /** Ruta de desarrollo del archivo de sonido */
+        private final String ruta;
+
+        /** Duración aproximada en nanosegundos, para liberar la voz */
+        private final long duracionNanos;
+
+        Efecto(String ruta, long duracionMs) {
+            this.ruta = ruta;
+            this.duracionNanos = duracionMs * 1_000_000L;
+        }
+
+        public String getRuta() {
+            return ruta;
+        }
+    }
+
+    // ================================================================================================
+    // CONSTANTES DE CONFIGURACIÓN
+    // ================================================================================================
+
+    /** Voces que pueden sonar a la vez */
+    private static final int MAXIMO_VOCES = 8;
+
+    /** Intervalo mínimo entre dos disparos del mismo efecto */
+    private static final long INTERVALO_MINIMO_NANOS = 40_000_000L;
+
+    /** Efectos en orden de ordinal, sin copiar el arreglo de values() en cada disparo */
+    private static final Efecto[] EFECTOS = Efecto.values();
+
+    // ================================================================================================
+    // INSTANCIA SINGLETON Y ESTADO
+    // ================================================================================================
+
+    /** Instancia única del motor */
+    private static EfectosSonidoManager instance;
+
+    /** Clip de cada efecto por ordinal, o null si no se pudo cargar */
+    private final AudioClip[] clips = new AudioClip[EFECTOS.length];
+
+    /** Indica si los clips ya se cargaron */
+    private volatile boolean cargado;
+
+    /** Efecto (ordinal) que ocupa cada voz */
+    private final int[] efectoVoz = new int[MAXIMO_VOCES];
+
+    /** Momento (System.nanoTime) en que empezó cada voz */
+    private final long[] inicioVoz = new long[MAXIMO_VOCES];
+
+    /** Momento en que termina cada voz; una voz terminada está libre */
+    private final long[] finVoz = new long[MAXIMO_VOCES];
+
+    /** Último disparo de cada efecto */
+    private final long[] ultimoDisparo = new long[EFECTOS.length];
+
+    /** Volumen de los efectos (0.0 a 1.0) */
+    private volatile double volumen;
+
+    // Estadísticas
+    private long reproducidos;
+    private long descartados;
+    private long vocesRobadas;
+
+    /** Constructor privado para implementar patrón Singleton */
+    private EfectosSonidoManager() {
+        GameSettings settings = GameSettings.getInstance();
+        volumen = settings.getEffectVolume();
+        settings.setOnEffectVolumeChanged(this::setVolumen);
+    }
+
+    /**
+     * Obtiene la instancia única del motor de efectos.
+     * @return Instancia única del EfectosSonidoManager
+     */
+    public static synchronized EfectosSonidoManager getInstance() {
+        if (instance == null) {
+            instance = new EfectosSonidoManager();
+        }
+        return instance;
+    }
+
+    // ================================================================================================
+    // CARGA
+    // ================================================================================================
+
+    /**
+     * Carga y decodifica todos los efectos. Puede llamarse desde cualquier hilo;
+     * las llamadas posteriores a la primera no hacen nada.
+     */
+    public synchronized void precargar() {
+        if (cargado) return;
+
+        int disponibles = 0;
+        for (Efecto efecto : EFECTOS) {
+            File archivo = new File(efecto.ruta);
+            if (!archivo.isFile() || archivo.length() == 0) {
+                continue;
+            }
+            try {
+                clips[efecto.ordinal()] = new AudioClip(archivo.toURI().toString());
+                disponibles++;
+            } catch (RuntimeException e) {
+                ErrorHandler.logWarning("No se pudo cargar el efecto " + efecto + ": " + e.getMessage());
+            }
+        }
+        cargado = true;
+        ErrorHandler.logInfo("Efectos de sonido cargados: " + disponibles + " de " + EFECTOS.length);
+    }
+
+    // ================================================================================================
+    // REPRODUCCIÓN
+    // ================================================================================================
+
+    /**
+     * Dispara un efecto de sonido. Si los efectos aún no terminaron de cargarse,
+     * el disparo se ignora en lugar de bloquear el bucle del juego.
+     *
+     * @param efecto Efecto a reproducir
+     */
+    public void reproducir(Efecto efecto) {
+        if (!cargado) return;
+
+        int indice = efecto.ordinal();
+        AudioClip clip = clips[indice];
+        double volumenActual = volumen;
+        if (clip == null || volumenActual <= 0.0) return;
+
+        long ahora = System.nanoTime();
+        if (ultimoDisparo[indice] != 0 && ahora - ultimoDisparo[indice] < INTERVALO_MINIMO_NANOS) {
+            descartados++;
+            return;
+        }
+        ultimoDisparo[indice] = ahora;
+
+        // Buscar una voz libre, recordando la más antigua por si hay que robarla
+        int voz = -1;
+        int masAntigua = 0;
+        for (int i = 0; i < MAXIMO_VOCES; i++) {
+            if (finVoz[i] - ahora <= 0) {
+                voz = i;
+                break;
+            }
+            if (inicioVoz[i] - inicioVoz[masAntigua] < 0) {
+                masAntigua = i;
+            }
+        }
+        if (voz == -1) {
+            voz = masAntigua;
+            robarVoces(efectoVoz[voz], ahora);
+        }
+
+        efectoVoz[voz] = indice;
+        inicioVoz[voz] = ahora;
+        finVoz[voz] = ahora + efecto.duracionNanos;
+        reproducidos++;
+        clip.play(volumenActual);
+    }
+
+    /**
+     * Detiene un efecto y libera todas sus voces, ya que AudioClip.stop()
+     * corta todas las reproducciones en curso de ese clip.
+     */
+    private void robarVoces(int indiceEfecto, long ahora) {
+        clips[indiceEfecto].stop();
+        for (int i = 0; i < MAXIMO_VOCES; i++) {
+            if (efectoVoz[i] == indiceEfecto && finVoz[i] - ahora > 0) {
+                finVoz[i] = 0;
+                vocesRobadas++;
+            }
+        }
+    }
+
+    /**
+     * Detiene todos los efectos en curso, por ejemplo al salir de la partida.
+     */
+    public void detenerTodos() {
+        if (!cargado) return;
+        for (AudioClip clip : clips) {
+            if (clip != null) {
+                clip.stop();
+            }
+        }
+        for (int i = 0; i < MAXIMO_VOCES; i++) {
+            finVoz[i] = 0;
+        }
+    }
+
+    // ================================================================================================
+    // VOLUMEN Y ESTADÍSTICAS
+    // ================================================================================================
+
+    /**
+     * Ajusta el volumen de los próximos efectos.
+     * @param volumen Nivel entre 0.0 (silencio) y 1.0 (máximo)
+     */
+    public void setVolumen(double volumen) {
+        this.volumen = Math.max(0.0, Math.min(1.0, volumen));
+    }
+
+    public double getVolumen() {
+        return volumen;
+    }
+
+    public long getReproducidos() {
+        return reproducidos;
+    }
+
+    public long getDescartados() {
+        return descartados;
+    }
+
+    public long getVocesRobadas() {
+        return vocesRobadas;
+    }
+}
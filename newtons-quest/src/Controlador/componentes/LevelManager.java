@@ -1,5 +1,8 @@
 package Controlador.componentes;
 
+import Modelo.dto.EventosPartida;
+import Modelo.dto.TipoEventoPartida;
+
 /**
  * Gestor de niveles y progresión.
  * 
@@ -92,6 +95,9 @@ public class LevelManager {
     
     /** Callback ejecutado cuando se completan todas las fórmulas */
     private Runnable onAllFormulasCompleted;
+
+    /** Registro de eventos de la partida, o null si no se registran */
+    private EventosPartida eventos;
     
     // ================================================================================================
     // CONSTRUCTORES
@@ -127,6 +133,14 @@ public class LevelManager {
     public void setOnAllFormulasCompleted(Runnable onAllFormulasCompleted) {
         this.onAllFormulasCompleted = onAllFormulasCompleted;
     }
+
+    /**
+     * Establece el registro donde se anotan las fórmulas desbloqueadas.
+     * @param eventos Registro de la partida en curso, o null para no registrar
+     */
+    public void setRegistroEventos(EventosPartida eventos) {
+        this.eventos = eventos;
+    }
     
     // ================================================================================================
     // GESTIÓN DE PROGRESIÓN DE NIVELES
@@ -180,6 +194,9 @@ public class LevelManager {
      */
     private void unlockFormula(int formulaIndex) {
         unlockedFormulas[formulaIndex] = true;
+        if (eventos != null) {
+            eventos.registrar(TipoEventoPartida.FORMULA_DESBLOQUEADA, formulaIndex);
+        }
         
         // Iniciar efecto visual de desbloqueo
         showingUnlockEffect = true;
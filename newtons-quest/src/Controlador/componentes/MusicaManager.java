@@ -0,0 +1,323 @@
+package Controlador.componentes;
+
+import Controlador.constants.GameConstants;
+import Controlador.utils.AssetPreloader;
+import Controlador.utils.ErrorHandler;
+import Controlador.utils.GameSettings;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
+
+/**
+ * Servicio de música de fondo con la misma vida que la aplicación.
+ *
+ * A diferencia de un reproductor por pantalla, el servicio sobrevive a los
+ * cambios de escena de NavigationManager: cada pantalla solo indica qué pista
+ * le corresponde y, si ya es la que suena, la música continúa sin cortes.
+ *
+ *   - Al cambiar de pista, la nueva entra con un fundido cruzado sobre la anterior,
+ *     que se libera (dispose) al terminar
+ *   - Mientras suena una pista se prepara en pausa el reproductor de la pista
+ *     siguiente más probable (del mapa al juego y de vuelta), para que empiece
+ *     sin esperar la apertura del archivo
+ *   - El volumen sigue a GameSettings en vivo, también durante un fundido
+ *
+ * Las pistas que no existen se tratan como silencio y se avisa una sola vez por
+ * pista en el log. El repositorio aún no incluye los archivos de música: basta
+ * con colocar musica_mapa.mp3, musica_juego.mp3 y musica_quiz.mp3 en
+ * src/recursos/musica/. Todos los métodos deben llamarse desde el hilo de JavaFX.
+ *
+ * Implementa el patrón Singleton: hay una sola música para toda la aplicación.
+ */
+public class MusicaManager {
+
+    // ================================================================================================
+    // PISTAS
+    // ================================================================================================
+
+    /** Pistas de música de la aplicación */
+    public enum Pista {
+        /** Menú principal y mapa de aventuras */
+        MAPA("musica_mapa.mp3"),
+        /** Partida en curso */
+        JUEGO("musica_juego.mp3"),
+        /** Quiz y sus resultados */
+        QUIZ("musica_quiz.mp3");
+
+        /** Ruta de desarrollo del archivo */
+        private final String ruta;
+
+        Pista(String archivo) {
+            this.ruta = GameConstants.MUSIC_PATH + archivo;
+        }
+
+        public String getRuta() {
+            return ruta;
+        }
+
+        /** Pista que probablemente sonará después de esta */
+        Pista siguiente() {
+            return this == MAPA ? JUEGO : MAPA;
+        }
+    }
+
+    /** Reproductor de una pista junto con su ganancia para los fundidos */
+    private static final class Canal {
+        final Pista pista;
+        final MediaPlayer reproductor;
+        final DoubleProperty ganancia = new SimpleDoubleProperty(0.0);
+
+        Canal(Pista pista, MediaPlayer reproductor) {
+            this.pista = pista;
+            this.reproductor = reproductor;
+        }
+    }
+
+    // ================================================================================================
+    // CONSTANTES DE CONFIGURACIÓN
+    // ================================================================================================
+
+    /** Duración del fundido cruzado entre pistas */
+    private static final Duration DURACION_FUNDIDO = Duration.millis(1200);
+
+    // ================================================================================================
+    // INSTANCIA SINGLETON Y ESTADO
+    // ================================================================================================
+
+    /** Instancia única del servicio */
+    private static MusicaManager instance;
+
+    /** Volumen general de la música, enlazado a GameSettings */
+    private final DoubleProperty volumen = new SimpleDoubleProperty();
+
+    /** Pista pedida por la pantalla actual, aunque no tenga archivo */
+    private Pista pistaActual;
+
+    /** Canal que suena, o null si hay silencio */
+    private Canal actual;
+
+    /** Canal que se está apagando durante un fundido, o null */
+    private Canal saliente;
+
+    /** Canal preparado en pausa para la pista siguiente, o null */
+    private Canal preparado;
+
+    /** Fundido en curso, o null */
+    private Timeline fundido;
+
+    /** Indica si la música está en pausa */
+    private boolean pausada;
+    
+    /** Pistas sin archivo ya avisadas en el log */
+    private final Set<Pista> pistasAusentes = EnumSet.noneOf(Pista.class);
+
+    /** Constructor privado para implementar patrón Singleton */
+    private MusicaManager() {
+        GameSettings settings = GameSettings.getInstance();
+        volumen.set(settings.getMusicVolume());
+        settings.setOnMusicVolumeChanged(volumen::set);
+    }
+
+    /**
+     * Obtiene la instancia única del servicio de música.
+     * @return Instancia única del MusicaManager
+     */
+    public static MusicaManager getInstance() {
+        if (instance == null) {
+            instance = new MusicaManager();
+        }
+        return instance;
+    }
+
+    // ================================================================================================
+    // REPRODUCCIÓN
+    // ================================================================================================
+
+    /**
+     * Hace sonar una pista. Si ya es la actual no hace nada (solo reanuda si
+     * estaba en pausa); si no, entra con un fundido cruzado.
+     *
+     * @param pista Pista de la pantalla que se está mostrando
+     */
+    public void reproducir(Pista pista) {
+        if (pista == pistaActual) {
+            if (pausada) {
+                reanudar();
+            }
+            return;
+        }
+        pistaActual = pista;
+        pausada = false;
+
+        Canal entrante = tomarCanal(pista);
+        fundir(entrante);
+        if (entrante != null) {
+            entrante.reproductor.play();
+        }
+        preparar(pista.siguiente());
+    }
+
+    /**
+     * Apaga la música con un fundido y libera el reproductor preparado.
+     */
+    public void detener() {
+        pistaActual = null;
+        pausada = false;
+        fundir(null);
+        liberar(preparado);
+        preparado = null;
+    }
+
+    /**
+     * Pausa la música conservando la posición.
+     */
+    public void pausar() {
+        if (actual != null) {
+            actual.reproductor.pause();
+        }
+        pausada = true;
+    }
+
+    /**
+     * Reanuda la música pausada.
+     */
+    public void reanudar() {
+        if (actual != null) {
+            actual.reproductor.play();
+        }
+        pausada = false;
+    }
+
+    // ================================================================================================
+    // VOLUMEN
+    // ================================================================================================
+
+    /**
+     * Ajusta el volumen general. Normalmente lo actualiza GameSettings.
+     * @param volumen Nivel entre 0.0 (silencio) y 1.0 (máximo)
+     */
+    public void setVolumen(double volumen) {
+        this.volumen.set(Math.max(0.0, Math.min(1.0, volumen)));
+    }
+
+    public double getVolumen() {
+        return volumen.get();
+    }
+
+    public Pista getPistaActual() {
+        return pistaActual;
+    }
+
+    // ================================================================================================
+    // FUNDIDOS Y PRECARGA
+    // ================================================================================================
+
+    /**
+     * Fundido cruzado del canal actual al entrante (null para silencio).
+     * Si había un fundido a medias, el canal que ya salía se libera de inmediato
+     * y el actual se apaga desde la ganancia en que quedó.
+     */
+    private void fundir(Canal entrante) {
+        if (fundido != null) {
+            fundido.stop();
+            fundido = null;
+        }
+        liberar(saliente);
+        saliente = actual;
+        actual = entrante;
+
+        KeyValue[] inicio = new KeyValue[2];
+        KeyValue[] fin = new KeyValue[2];
+        int valores = 0;
+        if (entrante != null) {
+            inicio[valores] = new KeyValue(entrante.ganancia, 0.0);
+            fin[valores++] = new KeyValue(entrante.ganancia, 1.0);
+        }
+        if (saliente != null) {
+            inicio[valores] = new KeyValue(saliente.ganancia, saliente.ganancia.get());
+            fin[valores++] = new KeyValue(saliente.ganancia, 0.0);
+        }
+        if (valores == 0) return;
+
+        Timeline nuevo = new Timeline(
+            new KeyFrame(Duration.ZERO, Arrays.copyOf(inicio, valores)),
+            new KeyFrame(DURACION_FUNDIDO, Arrays.copyOf(fin, valores))
+        );
+        nuevo.setOnFinished(e -> {
+            liberar(saliente);
+            saliente = null;
+            fundido = null;
+        });
+        fundido = nuevo;
+        nuevo.play();
+    }
+
+    /**
+     * Prepara en pausa el reproductor de una pista, reemplazando el anterior.
+     */
+    private void preparar(Pista pista) {
+        if (preparado != null && preparado.pista == pista) return;
+        liberar(preparado);
+        preparado = pista == pistaActual ? null : crearCanal(pista);
+    }
+
+    /**
+     * Obtiene el canal de una pista: el preparado si coincide o uno nuevo.
+     * @return Canal listo para reproducir, o null si la pista no tiene archivo
+     */
+    private Canal tomarCanal(Pista pista) {
+        if (preparado != null && preparado.pista == pista) {
+            Canal canal = preparado;
+            preparado = null;
+            return canal;
+        }
+        return crearCanal(pista);
+    }
+
+    /**
+     * Crea un reproductor en bucle para una pista, con el volumen enlazado al general.
+     * @return Canal nuevo, o null si la pista no existe
+     */
+    private Canal crearCanal(Pista pista) {
+        Media media = AssetPreloader.getInstance().getMedia(pista.ruta);
+        if (media == null) {
+            if (pistasAusentes.add(pista)) {
+                ErrorHandler.logWarning("Música " + pista + " no disponible (" + pista.ruta + "): se reproducirá silencio");
+            }
+            return null;
+        }
+        try {
+            MediaPlayer reproductor = new MediaPlayer(media);
+            reproductor.setCycleCount(MediaPlayer.INDEFINITE);
+            Canal canal = new Canal(pista, reproductor);
+            reproductor.volumeProperty().bind(volumen.multiply(canal.ganancia));
+            reproductor.setOnError(() -> {
+                ErrorHandler.logWarning("Error en la música " + pista + ": " + reproductor.getError());
+                reproductor.dispose();
+            });
+            return canal;
+        } catch (RuntimeException e) {
+            ErrorHandler.logWarning("No se pudo preparar la música " + pista + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Detiene y libera los recursos nativos de un canal.
+     */
+    private static void liberar(Canal canal) {
+        if (canal != null) {
+            canal.reproductor.volumeProperty().unbind();
+            canal.reproductor.stop();
+            canal.reproductor.dispose();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package Controlador.componentes;
+
+import Modelo.dto.RankingEntry;
+import Modelo.repositorio.Repositorios;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javafx.application.Platform;
+
+/**
+ * Cargador por páginas del ranking histórico completo para listas virtualizadas.
+ *
+ * La lista del diálogo de ranking solo pide las filas visibles; este paginador
+ * las resuelve por páginas de tamaño fijo que se leen en un hilo de fondo:
+ *
+ *   - Cada página se lee por keyset a partir de la última entrada de la página
+ *     anterior, así que recorrer el ranking hacia abajo cuesta lo mismo en la
+ *     página 1 que en la 2000. Solo un salto a una zona no recorrida usa OFFSET
+ *   - Al mostrar el último tramo de una página se pide ya la siguiente
+ *   - Se conservan como máximo MAX_PAGINAS_EN_CACHE páginas (las de uso más
+ *     reciente); de las descartadas solo queda su última entrada como cursor
+ *   - Cuando el ranking cambia, invalidar() olvida las páginas sin que la lista
+ *     tenga que reemplazar sus elementos, así que conserva el desplazamiento. De
+ *     los cursores solo conserva los que anclan la zona que se estaba viendo,
+ *     para releerla por keyset y no con un OFFSET tan profundo como el scroll
+ *
+ * Los métodos públicos de instancia deben llamarse desde el hilo de JavaFX, y el
+ * aviso de página cargada llega también en ese hilo. El mismo hilo de lectura
+ * sirve, con consultar(), para las demás consultas del diálogo de ranking.
+ */
+public class PaginadorRanking {
+
+    // ================================================================================================
+    // CONSTANTES DE CONFIGURACIÓN
+    // ================================================================================================
+
+    /** Filas por página */
+    public static final int TAMANO_PAGINA = 50;
+
+    /** Páginas conservadas en memoria */
+    private static final int MAX_PAGINAS_EN_CACHE = 12;
+
+    /** Filas antes del final de una página a partir de las que se pide la siguiente */
+    private static final int MARGEN_PRECARGA = TAMANO_PAGINA / 4;
+
+    /** Hilo único de lectura, compartido por todos los paginadores */
+    private static final ExecutorService ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "PaginadorRanking");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    // ================================================================================================
+    // ESTADO
+    // ================================================================================================
+
+    /** Número total de filas del ranking (solo hilo de JavaFX) */
+    private int total;
+
+    /** Aviso al llegar una página */
+    private final Runnable onPaginaCargada;
+
+    /** Páginas cargadas, en orden de uso (LRU) */
+    private final Map<Integer, List<RankingEntry>> paginas =
+        new LinkedHashMap<Integer, List<RankingEntry>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<RankingEntry>> eldest) {
+                return size() > MAX_PAGINAS_EN_CACHE;
+            }
+        };
+
+    /** Última entrada de cada página leída, para seguir por keyset */
+    private final Map<Integer, RankingEntry> cursores = new HashMap<>();
+
+    /** Páginas pedidas que aún no llegan */
+    private final Set<Integer> pendientes = new HashSet<>();
+
+    /** Página de la última fila pedida, para saber qué zona se está viendo */
+    private int ultimaPagina;
+
+    /** Indica si el paginador fue reemplazado y debe ignorar las lecturas pendientes */
+    private volatile boolean descartado;
+
+    /** Se incrementa al invalidar; las lecturas pedidas con otra generación se ignoran */
+    private volatile int generacion;
+
+    /**
+     * @param total Número total de filas del ranking
+     * @param onPaginaCargada Acción a ejecutar en el hilo de JavaFX al llegar cada página
+     */
+    public PaginadorRanking(int total, Runnable onPaginaCargada) {
+        this.total = Math.max(0, total);
+        this.onPaginaCargada = onPaginaCargada;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    // ================================================================================================
+    // CONSULTAS EN SEGUNDO PLANO
+    // ================================================================================================
+
+    /**
+     * Ejecuta una consulta en el hilo de lectura del ranking y entrega su
+     * resultado en el hilo de JavaFX. Al compartir el hilo con las páginas, la
+     * consulta nunca compite con ellas por una conexión.
+     *
+     * @param consulta Consulta a ejecutar en segundo plano
+     * @param alTerminar Acción que recibe el resultado en el hilo de JavaFX
+     */
+    public static <T> void consultar(Supplier<T> consulta, Consumer<T> alTerminar) {
+        ejecutor.execute(() -> {
+            T resultado = consulta.get();
+            Platform.runLater(() -> alTerminar.accept(resultado));
+        });
+    }
+
+    // ================================================================================================
+    // ACCESO A FILAS
+    // ================================================================================================
+
+    /**
+     * Obtiene la fila de un índice si su página ya está cargada; si no, la pide.
+     * Cerca del final de una página pide también la siguiente.
+     *
+     * @param indice Índice de la fila (0-based; la posición es indice + 1)
+     * @return Entrada de la fila, o null mientras su página se está leyendo
+     */
+    public RankingEntry obtener(int indice) {
+        if (indice < 0 || indice >= total) {
+            return null;
+        }
+        int pagina = indice / TAMANO_PAGINA;
+        int desplazamiento = indice % TAMANO_PAGINA;
+        ultimaPagina = pagina;
+
+        // Primero la página de la fila, para que deje su cursor antes de leer la siguiente
+        List<RankingEntry> filas = paginas.get(pagina);
+        if (filas == null) {
+            solicitar(pagina);
+        }
+        if (desplazamiento >= TAMANO_PAGINA - MARGEN_PRECARGA) {
+            solicitar(pagina + 1);
+        }
+        return filas != null && desplazamiento < filas.size() ? filas.get(desplazamiento) : null;
+    }
+
+    /**
+     * Olvida las páginas leídas tras un cambio en el ranking y adopta el nuevo
+     * total. Las lecturas en curso se ignoran al llegar; las filas visibles se
+     * vuelven a pedir en cuanto la lista las muestre de nuevo.
+     *
+     * Se conservan como anclas los cursores de las dos páginas anteriores a la
+     * última pedida: la zona visible ocupa como mucho dos páginas, así que la
+     * primera de ellas se relee por keyset desde su ancla, y las siguientes
+     * desde los cursores que deja esa lectura. Un ancla sigue siendo un punto
+     * válido del orden aunque el ranking haya cambiado; solo su número de fila
+     * puede quedar desfasado en los jugadores que la cruzaron, hasta que la
+     * lista vuelva a recorrerse desde arriba.
+     *
+     * @param nuevoTotal Número total de filas del ranking tras el cambio
+     */
+    public void invalidar(int nuevoTotal) {
+        generacion++;
+        total = Math.max(0, nuevoTotal);
+        paginas.clear();
+        pendientes.clear();
+        synchronized (cursores) {
+            cursores.keySet().removeIf(pagina -> pagina < ultimaPagina - 2 || pagina >= ultimaPagina);
+        }
+    }
+
+    /**
+     * Deja de atender las lecturas pendientes. Se usa al cerrar el diálogo o al
+     * reemplazar el paginador tras un cambio en el ranking.
+     */
+    public void descartar() {
+        descartado = true;
+        paginas.clear();
+        pendientes.clear();
+    }
+
+    // ================================================================================================
+    // LECTURA EN SEGUNDO PLANO
+    // ================================================================================================
+
+    /**
+     * Encola la lectura de una página si no está cargada ni pedida.
+     */
+    private void solicitar(int pagina) {
+        if (descartado || pagina * TAMANO_PAGINA >= total
+                || paginas.containsKey(pagina) || !pendientes.add(pagina)) {
+            return;
+        }
+        int generacionPedida = generacion;
+        ejecutor.execute(() -> leer(pagina, generacionPedida));
+    }
+
+    /**
+     * Lee una página en el hilo de fondo. El cursor se toma al empezar la lectura
+     * y no al pedirla: como las lecturas van en orden y obtener() pide la página
+     * de la fila antes que la siguiente, la página anterior ya dejó su cursor.
+     */
+    private void leer(int pagina, int generacionPedida) {
+        if (descartado || generacionPedida != generacion) return;
+
+        RankingEntry despuesDe;
+        synchronized (cursores) {
+            despuesDe = cursores.get(pagina - 1);
+        }
+        List<RankingEntry> filas = Repositorios.ranking()
+            .obtenerPaginaRanking(despuesDe, pagina * TAMANO_PAGINA + 1, TAMANO_PAGINA);
+        boolean fallo = filas == null;
+        if (!fallo && !filas.isEmpty()) {
+            synchronized (cursores) {
+                // Una invalidación durante la lectura deja este cursor obsoleto
+                if (generacionPedida == generacion) {
+                    cursores.put(pagina, filas.get(filas.size() - 1));
+                }
+            }
+        }
+
+        Platform.runLater(() -> {
+            if (descartado || generacionPedida != generacion) return;
+            pendientes.remove(pagina);
+            if (fallo) {
+                // Se vuelve a pedir cuando la lista muestre la fila otra vez
+                return;
+            }
+            paginas.put(pagina, filas);
+            if (onPaginaCargada != null) {
+                onPaginaCargada.run();
+            }
+        });
+    }
+}
@@ -1,7 +1,9 @@
 package Controlador.componentes;
 
+import Modelo.dto.EventosPartida;
 import Modelo.dto.Potion;
 import Modelo.dto.Player;
+import Modelo.dto.TipoEventoPartida;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -85,6 +87,12 @@ public class PotionManager {
     /** Callback para ganar vida (retorna true si tuvo éxito) */
     private java.util.function.Function<String, Boolean> onGainLife;
     
+    /** Registro de eventos de la partida, o null si no se registran */
+    private EventosPartida eventos;
+    
+    /** Motor de efectos de sonido, o null para jugar sin efectos */
+    private EfectosSonidoManager efectosSonido;
+    
     // ================================================================================================
     // CONSTRUCTORES
     // ================================================================================================
@@ -126,6 +134,23 @@ public class PotionManager {
         this.onGainLife = onGainLife;
     }
     
+    /**
+     * Establece el registro donde se anotan las pociones usadas y perdidas.
+     * @param eventos Registro de la partida en curso, o null para no registrar
+     */
+    public void setRegistroEventos(EventosPartida eventos) {
+        this.eventos = eventos;
+    }
+    
+    /**
+     * Establece el motor con el que suenan las pociones recogidas.
+     * 
+     * @param efectosSonido Motor de efectos, o null para no reproducir sonidos
+     */
+    public void setEfectosSonido(EfectosSonidoManager efectosSonido) {
+        this.efectosSonido = efectosSonido;
+    }
+    
     // ================================================================================================
     // CONTROL DE ESTADO
     // ================================================================================================
@@ -209,9 +234,16 @@ public class PotionManager {
             if (potion.checkCollision(player.getX(), player.getY(), player.getWidth(), player.getHeight())) {
                 boolean effectApplied = false;
                 
+                if (efectosSonido != null) {
+                    efectosSonido.reproducir(EfectosSonidoManager.Efecto.POCION);
+                }
+                
                 switch (potion.getType()) {
                     case LENTITUD:
                         player.applySlownessEffect();
+                        if (eventos != null) {
+                            eventos.registrar(TipoEventoPartida.POCION_LENTITUD, 0);
+                        }
                         if (onPotionEffect != null) {
                             onPotionEffect.accept("¡Poción de lentitud activada!");
                         }
@@ -220,6 +252,9 @@ public class PotionManager {
                         
                     case PUNTOS:
                         player.applyPointsEffect();
+                        if (eventos != null) {
+                            eventos.registrar(TipoEventoPartida.POCION_PUNTOS, 0);
+                        }
                         if (onPotionEffect != null) {
                             onPotionEffect.accept("¡Puntos dobles por 10 segundos!");
                         }
@@ -229,7 +264,11 @@ public class PotionManager {
                     case SALUD:
                         player.applyHealthEffect();
                         
-                        if (onGainLife != null && onGainLife.apply("Poción de salud")) {
+                        boolean vidaGanada = onGainLife != null && onGainLife.apply("Poción de salud");
+                        if (eventos != null) {
+                            eventos.registrar(TipoEventoPartida.POCION_SALUD, vidaGanada ? 1 : 0);
+                        }
+                        if (vidaGanada) {
                             if (onPotionEffect != null) {
                                 onPotionEffect.accept("¡Vida extra obtenida!");
                             }
@@ -248,6 +287,9 @@ public class PotionManager {
             }
             // Comprobar si ha llegado al suelo
             else if (potion.hasReachedFloor(FLOOR_Y)) {
+                if (eventos != null) {
+                    eventos.registrar(TipoEventoPartida.POCION_PERDIDA, 0);
+                }
                 potion.deactivate();
                 potionsToRemove.add(potion);
             }
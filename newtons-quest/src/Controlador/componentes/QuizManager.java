@@ -1,8 +1,9 @@
 package Controlador.componentes;
 
-import Modelo.dao.QuizDAO;
+import Modelo.dao.BancoPreguntas;
 import Modelo.dto.QuizQuestion;
 import Modelo.dto.QuizResult;
+import Modelo.repositorio.Repositorios;
 import Controlador.utils.SessionManager;
 import java.util.Collections;
 import java.util.List;
@@ -55,20 +56,30 @@ public class QuizManager {
     
     /**
      * Obtiene todas las preguntas del quiz.
-     * @return Lista completa de preguntas del quiz
+     * @return Lista completa de preguntas del quiz (solo lectura)
      */
     public List<QuizQuestion> obtenerPreguntas() {
-        return QuizDAO.obtenerTodasLasPreguntas();
+        return BancoPreguntas.getInstance().getPreguntas();
     }
     
     /**
      * Obtiene las preguntas del quiz mezcladas aleatoriamente.
-     * @return Lista de preguntas en orden aleatorio
+     * @return Lista de preguntas en orden aleatorio (solo lectura)
      */
     public List<QuizQuestion> obtenerPreguntasMezcladas() {
-        List<QuizQuestion> preguntas = QuizDAO.obtenerTodasLasPreguntas();
-        Collections.shuffle(preguntas);
-        return preguntas;
+        return obtenerPreguntasAleatorias(BancoPreguntas.getInstance().getTamano());
+    }
+    
+    /**
+     * Obtiene una selección aleatoria de preguntas sin repetir.
+     * La lista es una vista sobre una permutación de índices del banco,
+     * por lo que no se copian ni se mezclan objetos.
+     * @param cantidad Número de preguntas (se limita al tamaño del banco)
+     * @return Lista de preguntas en orden aleatorio (solo lectura)
+     */
+    public List<QuizQuestion> obtenerPreguntasAleatorias(int cantidad) {
+        BancoPreguntas banco = BancoPreguntas.getInstance();
+        return banco.vistaPorIndices(banco.permutacionAleatoria(cantidad));
     }
     
     // ================================================================================================
@@ -92,7 +103,7 @@ public class QuizManager {
         int userId = sessionManager.getCurrentUserId();
         QuizResult resultado = new QuizResult(userId, totalPreguntas, correctas, tiempoSegundos);
         
-        return QuizDAO.guardarResultadoQuiz(resultado);
+        return Repositorios.quiz().guardarResultadoQuiz(resultado);
     }
     
     /**
@@ -107,7 +118,7 @@ public class QuizManager {
         }
         
         int userId = sessionManager.getCurrentUserId();
-        return QuizDAO.obtenerMejorResultadoUsuario(userId);
+        return Repositorios.quiz().obtenerMejorResultadoUsuario(userId);
     }
     
     /**
@@ -122,7 +133,28 @@ public class QuizManager {
         }
         
         int userId = sessionManager.getCurrentUserId();
-        return QuizDAO.obtenerResultadosUsuario(userId);
+        return Repositorios.quiz().obtenerResultadosUsuario(userId);
+    }
+    
+    /**
+     * Obtiene una página del historial de quiz del usuario actual.
+     * @param ultimoMostrado Último resultado de la página anterior, o null para la primera página
+     * @param tamanoPagina Número máximo de resultados a retornar
+     * @return Página de resultados (más recientes primero) o lista vacía si no está logueado
+     */
+    public List<QuizResult> obtenerPaginaResultadosUsuarioActual(QuizResult ultimoMostrado, int tamanoPagina) {
+        SessionManager sessionManager = SessionManager.getInstance();
+        
+        if (!sessionManager.isLoggedIn()) {
+            return Collections.emptyList();
+        }
+        
+        int userId = sessionManager.getCurrentUserId();
+        if (ultimoMostrado == null) {
+            return Repositorios.quiz().obtenerPaginaResultadosUsuario(userId, null, 0, tamanoPagina);
+        }
+        return Repositorios.quiz().obtenerPaginaResultadosUsuario(userId, ultimoMostrado.getCreatedAt(),
+                                                      ultimoMostrado.getId(), tamanoPagina);
     }
     
     // ================================================================================================
@@ -141,7 +173,7 @@ public class QuizManager {
         }
         
         int userId = sessionManager.getCurrentUserId();
-        return QuizDAO.usuarioHaAprobado(userId);
+        return Repositorios.quiz().usuarioHaAprobado(userId);
     }
     
     // ================================================================================================
@@ -153,30 +185,34 @@ public class QuizManager {
      * @return Estadísticas del quiz o estadísticas vacías si no hay resultados
      */
     public QuizStats obtenerEstadisticasUsuarioActual() {
-        List<QuizResult> resultados = obtenerResultadosUsuarioActual();
+        SessionManager sessionManager = SessionManager.getInstance();
         
-        if (resultados.isEmpty()) {
+        if (!sessionManager.isLoggedIn()) {
             return new QuizStats(0, 0, 0, 0, false);
         }
         
-        int totalQuizzes = resultados.size();
-        int aprobados = 0;
-        double mejorPorcentaje = 0;
-        long tiempoTotal = 0;
+        // Acumular en streaming para no cargar todo el historial en memoria
+        int[] aprobados = {0};
+        double[] mejorPorcentaje = {0};
+        long[] tiempoTotal = {0};
         
-        for (QuizResult resultado : resultados) {
+        int totalQuizzes = Repositorios.quiz().recorrerResultadosUsuario(sessionManager.getCurrentUserId(), resultado -> {
             if (resultado.isPassed()) {
-                aprobados++;
+                aprobados[0]++;
             }
-            if (resultado.getPercentage() > mejorPorcentaje) {
-                mejorPorcentaje = resultado.getPercentage();
+            if (resultado.getPercentage() > mejorPorcentaje[0]) {
+                mejorPorcentaje[0] = resultado.getPercentage();
             }
-            tiempoTotal += resultado.getTimeSpent();
+            tiempoTotal[0] += resultado.getTimeSpent();
+        });
+        
+        if (totalQuizzes == 0) {
+            return new QuizStats(0, 0, 0, 0, false);
         }
         
-        double tiempoPromedio = (double) tiempoTotal / totalQuizzes;
+        double tiempoPromedio = (double) tiempoTotal[0] / totalQuizzes;
         
-        return new QuizStats(totalQuizzes, aprobados, mejorPorcentaje, tiempoPromedio, aprobados > 0);
+        return new QuizStats(totalQuizzes, aprobados[0], mejorPorcentaje[0], tiempoPromedio, aprobados[0] > 0);
     }
     
     // ================================================================================================
@@ -1,8 +1,15 @@
 package Controlador.componentes;
 
-import Modelo.dao.RankingDAO;
+import Modelo.dto.PeriodoRanking;
 import Modelo.dto.RankingEntry;
+import Modelo.repositorio.Repositorios;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
 
 /**
  * Gestor del sistema de rankings y logros.
@@ -15,6 +22,14 @@ import java.util.List;
  *   - Generación de mensajes de felicitación personalizados
  *   - Cálculo de posiciones y logros especiales
  *   - Gestión de récords y hitos significativos
+ *   - Detección de cambios del ranking compartido entre varios clientes
+ *   - Rankings del día, de la semana e histórico
+ * 
+ * Mientras haya un callback registrado con setOnRankingUpdated, el gestor
+ * sondea cada pocos segundos la versión del ranking (una lectura por clave
+ * primaria) y solo vuelve a consultar el top cuando esa versión cambia.
+ * El top se guarda en caché por versión, así que varias pantallas pueden
+ * pedirlo sin multiplicar las consultas.
  * 
  * Implementa el patrón Singleton para mantener la consistencia
  * del usuario actual y los datos del ranking durante la sesión.
@@ -39,8 +54,31 @@ public class RankingManager {
     // CALLBACKS Y EVENTOS
     // ================================================================================================
     
-    /** Callback ejecutado cuando se actualiza el ranking */
-    private Runnable onRankingUpdated;
+    /** Callback ejecutado en el hilo de JavaFX cuando cambia el ranking */
+    private volatile Runnable onRankingUpdated;
+    
+    // ================================================================================================
+    // SONDEO DE VERSIÓN Y CACHÉ DEL TOP
+    // ================================================================================================
+    
+    /** Segundos entre consultas de la versión del ranking */
+    private static final long INTERVALO_SONDEO_SEGUNDOS = 5;
+    
+    /** Número de posiciones del top que se mantienen en caché */
+    private static final int TAMANO_TOP_CACHEADO = 20;
+    
+    /** Hilo de fondo para el sondeo, creado con el primer callback */
+    private ScheduledExecutorService ejecutorSondeo;
+    
+    /** Tarea de sondeo activa, o null si no hay callback registrado */
+    private volatile ScheduledFuture<?> sondeo;
+    
+    /** Última versión del ranking observada por el sondeo (-1 si se desconoce) */
+    private volatile long versionConocida = -1;
+    
+    /** Top en caché y la versión del ranking con la que se leyó */
+    private List<RankingEntry> topCacheado = new ArrayList<>();
+    private long versionTopCacheado = -1;
     
     // ================================================================================================
     // CONSTRUCTORES Y PATRÓN SINGLETON
@@ -76,11 +114,38 @@ public class RankingManager {
     }
     
     /**
-     * Establece el callback para cuando se actualiza el ranking.
-     * @param callback Acción a ejecutar cuando se actualiza el ranking
+     * Establece el callback para cuando se actualiza el ranking, sea por este
+     * cliente o por otro que comparta la base de datos. Mientras haya un callback
+     * se sondea la versión del ranking; con null el sondeo se detiene.
+     * @param callback Acción a ejecutar en el hilo de JavaFX, o null para dejar de escuchar
      */
-    public void setOnRankingUpdated(Runnable callback) {
+    public synchronized void setOnRankingUpdated(Runnable callback) {
         this.onRankingUpdated = callback;
+        
+        if (callback != null && sondeo == null) {
+            if (ejecutorSondeo == null) {
+                ejecutorSondeo = Executors.newSingleThreadScheduledExecutor(tarea -> {
+                    Thread hilo = new Thread(tarea, "RankingManager-sondeo");
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+            }
+            sondeo = ejecutorSondeo.scheduleWithFixedDelay(this::sondearVersion, 0,
+                                                           INTERVALO_SONDEO_SEGUNDOS, TimeUnit.SECONDS);
+        } else if (callback == null && sondeo != null) {
+            sondeo.cancel(false);
+            sondeo = null;
+            versionConocida = -1;
+        }
+    }
+    
+    /**
+     * Obtiene el callback de actualización registrado, para que una pantalla
+     * pueda restaurarlo después de reemplazarlo temporalmente.
+     * @return Callback actual o null
+     */
+    public Runnable getOnRankingUpdated() {
+        return onRankingUpdated;
     }
     
     // ================================================================================================
@@ -108,10 +173,11 @@ public class RankingManager {
         
         // Verificar si completó todas las fórmulas
         if (formulasCompletadas >= 5) {
-            boolean saved = RankingDAO.guardarPuntajeCompleto(currentUserId, score, formulasCompletadas);
+            boolean saved = Repositorios.ranking().guardarPuntajeCompleto(currentUserId, score, formulasCompletadas);
             
-            if (saved && onRankingUpdated != null) {
-                onRankingUpdated.run();
+            // Avisar sin esperar al siguiente ciclo de sondeo
+            if (saved) {
+                sondearAhora();
             }
             
             return true;
@@ -130,7 +196,39 @@ public class RankingManager {
      * @return Lista de entradas del ranking ordenadas por puntaje
      */
     public List<RankingEntry> getTopRanking(int limite) {
-        return RankingDAO.obtenerTopRanking(limite);
+        // Con el sondeo activo la versión ya es conocida; si no, leerla es mucho más barato que el top
+        long version = sondeo != null && versionConocida >= 0 ? versionConocida : Repositorios.ranking().obtenerVersionRanking();
+        
+        synchronized (this) {
+            if (version >= 0 && version == versionTopCacheado
+                    && (limite <= topCacheado.size() || topCacheado.size() < TAMANO_TOP_CACHEADO)) {
+                return new ArrayList<>(topCacheado.subList(0, Math.min(limite, topCacheado.size())));
+            }
+        }
+        
+        List<RankingEntry> top = Repositorios.ranking().obtenerTopRanking(Math.max(limite, TAMANO_TOP_CACHEADO));
+        if (version >= 0) {
+            synchronized (this) {
+                topCacheado = top;
+                versionTopCacheado = version;
+            }
+        }
+        return new ArrayList<>(top.subList(0, Math.min(limite, top.size())));
+    }
+    
+    /**
+     * Obtiene el top N de un periodo. El histórico se sirve desde la caché por
+     * versión; el diario y el semanal se consultan cada vez porque su periodo
+     * cambia con la fecha aunque la versión no cambie.
+     * @param periodo Periodo del ranking
+     * @param limite Número máximo de jugadores a retornar
+     * @return Lista de entradas del ranking ordenadas por puntaje
+     */
+    public List<RankingEntry> getTopRanking(PeriodoRanking periodo, int limite) {
+        if (periodo == PeriodoRanking.HISTORICO) {
+            return getTopRanking(limite);
+        }
+        return Repositorios.ranking().obtenerTopRankingPeriodo(periodo, limite);
     }
     
     /**
@@ -139,7 +237,7 @@ public class RankingManager {
      * @return Lista de entradas del ranking o lista vacía si hay error
      */
     public List<RankingEntry> getTopPlayers(int limit) {
-        return RankingDAO.obtenerTopRanking(limit);
+        return getTopRanking(limit);
     }
     
     /**
@@ -150,7 +248,21 @@ public class RankingManager {
         if (currentUserId == -1) {
             return -1;
         }
-        return RankingDAO.obtenerPosicionUsuario(currentUserId);
+        return Repositorios.ranking().obtenerPosicionUsuario(currentUserId);
+    }
+    
+    /**
+     * Obtiene la fila que ocupa el usuario actual en el ranking histórico completo.
+     * A diferencia de getCurrentUserPosition, los empates de puntaje no comparten
+     * posición: coincide con la numeración de las páginas del ranking. Su costo
+     * crece con la posición, así que no debe pedirse en cada refresco.
+     * @return Posición única (1-based) o -1 si no hay usuario actual o no está en el ranking
+     */
+    public int getCurrentUserUniquePosition() {
+        if (currentUserId == -1) {
+            return -1;
+        }
+        return Repositorios.ranking().obtenerPosicionUnicaUsuario(currentUserId);
     }
     
     /**
@@ -158,7 +270,44 @@ public class RankingManager {
      * @return Número total de jugadores que completaron todas las fórmulas
      */
     public int getTotalCompletedPlayers() {
-        return RankingDAO.obtenerTotalJugadoresCompletos();
+        return Repositorios.ranking().obtenerTotalJugadoresCompletos();
+    }
+    
+    // ================================================================================================
+    // SONDEO DE CAMBIOS
+    // ================================================================================================
+    
+    /**
+     * Lee la versión del ranking y, si cambió desde la última lectura, recarga
+     * el top en caché y notifica al callback. La primera lectura solo fija la
+     * versión de referencia, porque quien registra el callback ya muestra el top.
+     */
+    private void sondearVersion() {
+        long version = Repositorios.ranking().obtenerVersionRanking();
+        if (version < 0 || version == versionConocida) {
+            return;
+        }
+        
+        boolean primeraLectura = versionConocida < 0;
+        versionConocida = version;
+        if (primeraLectura) {
+            return;
+        }
+        
+        getTopRanking(TAMANO_TOP_CACHEADO);
+        Runnable callback = onRankingUpdated;
+        if (callback != null) {
+            Platform.runLater(callback);
+        }
+    }
+    
+    /**
+     * Ejecuta un sondeo inmediato si hay un callback registrado.
+     */
+    private synchronized void sondearAhora() {
+        if (sondeo != null) {
+            ejecutorSondeo.execute(this::sondearVersion);
+        }
     }
     
     // ================================================================================================
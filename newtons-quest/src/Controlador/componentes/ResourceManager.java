@@ -1,7 +1,7 @@
 package Controlador.componentes;
 
-import java.io.File;
-import java.io.FileInputStream;
+import Controlador.constants.GameConstants;
+import Modelo.CargadorImagenes;
 import javafx.scene.image.Image;
 
 /**
@@ -22,17 +22,23 @@ import javafx.scene.image.Image;
 public class ResourceManager {
     
     // ================================================================================================
-    // RUTAS DE RECURSOS (ENTORNO DE DESARROLLO)
+    // RUTAS DE RECURSOS (RELATIVAS A src/ O AL CLASSPATH)
     // ================================================================================================
     
     /** Ruta de la imagen de fondo del juego */
-    private final String BACKGROUND_IMAGE_PATH = "src/recursos/imagenes/fondo_juego.jpg";
+    public static final String BACKGROUND_IMAGE_PATH = "recursos/imagenes/fondo_juego.jpg";
+    
+    /** Ancho al que se decodifica el fondo: el del canvas del juego */
+    public static final int BACKGROUND_WIDTH = GameConstants.MAIN_WINDOW_WIDTH;
+    
+    /** Alto al que se decodifica el fondo: el del canvas del juego */
+    public static final int BACKGROUND_HEIGHT = GameConstants.MAIN_WINDOW_HEIGHT;
     
     /** Ruta de la imagen de corazón lleno */
-    private final String HEART_IMAGE_PATH = "src/recursos/sprites/corazon/corazon_lleno.png";
+    public static final String HEART_IMAGE_PATH = "recursos/sprites/corazon/corazon_lleno.png";
     
     /** Ruta de la imagen de corazón vacío */
-    private final String EMPTY_HEART_IMAGE_PATH = "src/recursos/sprites/corazon/corazon_vacio.png";
+    public static final String EMPTY_HEART_IMAGE_PATH = "recursos/sprites/corazon/corazon_vacio.png";
     
     // ================================================================================================
     // RECURSOS CARGADOS
@@ -70,49 +76,23 @@ public class ResourceManager {
     }
     
     /**
-     * Carga la imagen de fondo del juego.
+     * Carga la imagen de fondo del juego, ya escalada al tamaño del canvas
+     * para no mantener en memoria la resolución original.
      */
     private void loadBackgroundImage() {
-        File backgroundFile = new File(BACKGROUND_IMAGE_PATH);
-        
-        if (backgroundFile.exists()) {
-            try {
-                backgroundImage = new Image(new FileInputStream(backgroundFile));
-            } catch (Exception e) {
-                backgroundImage = null;
-            }
-        } else {
-            try {
-                backgroundImage = new Image(getClass().getResourceAsStream("/recursos/imagenes/fondo_juego.jpg"));
-            } catch (Exception e) {
-                backgroundImage = null;
-            }
-        }
+        backgroundImage = CargadorImagenes.obtener(BACKGROUND_IMAGE_PATH, BACKGROUND_WIDTH, BACKGROUND_HEIGHT);
     }
     
     /**
      * Carga las imágenes de corazones para el sistema de vidas
      */
     private void loadHeartImages() {
-        try {
-            // Intentar cargar las imágenes de corazones
-            File heartFile = new File(HEART_IMAGE_PATH);
-            File emptyHeartFile = new File(EMPTY_HEART_IMAGE_PATH);
-            
-            if (heartFile.exists() && emptyHeartFile.exists()) {
-                // Estamos en desarrollo, usar ruta de archivo
-                heartImage = new Image(new FileInputStream(heartFile));
-                emptyHeartImage = new Image(new FileInputStream(emptyHeartFile));
-                // Imágenes de corazones cargadas correctamente
-            } else {
-                // Estamos en producción, usar getResource
-                heartImage = new Image(getClass().getResourceAsStream("/recursos/sprites/corazon/corazon_lleno.png"));
-                emptyHeartImage = new Image(getClass().getResourceAsStream("/recursos/sprites/corazon/corazon_vacio.png"));
-                // Imágenes de corazones cargadas desde recursos
-            }
-        } catch (Exception e) {
-            System.err.println("Error al cargar imágenes de corazones: " + e.getMessage());
-            e.printStackTrace();
+        // Normalmente ya están decodificadas por AssetPreloader durante el login
+        heartImage = CargadorImagenes.obtener(HEART_IMAGE_PATH);
+        emptyHeartImage = CargadorImagenes.obtener(EMPTY_HEART_IMAGE_PATH);
+        
+        if (heartImage == null || emptyHeartImage == null) {
+            System.err.println("Error al cargar imágenes de corazones");
             
             // Crear imágenes predeterminadas en caso de error
             heartImage = new Image("data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAABgAAAAYCAYAAADgdz34AAAAwklEQVR42mNgGAWDFDAwEAv+E4WB6kkCxFnw/z9RGJNF/0nCJFvwnygMNXAUjFpAClDdAnAMgxNTCkiyADkpiY4jKAApAIrDxQmJw8nRLPhPKIHBxeHkqAXYYkKyRwSRYsR6TGwgLYvIPgkSKptJLkpItoC8ooQUD0jyALGAJA8QC4j2AKmAaA+QCoj2AKmAaA+QCoj2AKmAaA+QCoj2AKkAJOc/kZhoC5ATNrUt+A8WIw6Ta8F/sC7iMNkW/EcOjILBAwAZMkztv9sLSwAAAABJRU5ErkJggg==");
@@ -1,5 +1,8 @@
 package Controlador.componentes;
 
+import Modelo.dto.EventosPartida;
+import Modelo.dto.TipoEventoPartida;
+
 /**
  * Gestor de puntuación y sistema de vidas.
  * 
@@ -39,6 +42,9 @@ public class ScoreManager {
     
     /** Callback ejecutado cuando cambia la puntuación */
     private java.util.function.Consumer<Integer> onScoreChange;
+
+    /** Registro de eventos de la partida, o null si no se registran */
+    private EventosPartida eventos;
     
     // ================================================================================================
     // CONSTRUCTORES
@@ -66,6 +72,14 @@ public class ScoreManager {
         this.onGameOver = onGameOver;
         this.onScoreChange = onScoreChange;
     }
+
+    /**
+     * Establece el registro donde se anotan las vidas ganadas y perdidas y el fin de la partida.
+     * @param eventos Registro de la partida en curso, o null para no registrar
+     */
+    public void setRegistroEventos(EventosPartida eventos) {
+        this.eventos = eventos;
+    }
     
     // ================================================================================================
     // GESTIÓN DE PUNTUACIÓN
@@ -99,8 +113,14 @@ public class ScoreManager {
     public boolean loseLife(String reason) {
         if (lives > 0) {
             lives--;
+            if (eventos != null) {
+                eventos.registrar(TipoEventoPartida.VIDA_PERDIDA, lives);
+            }
             
             if (lives <= 0) {
+                if (eventos != null) {
+                    eventos.registrar(TipoEventoPartida.FIN_PARTIDA, score);
+                }
                 if (onGameOver != null) {
                     onGameOver.run();
                 }
@@ -121,6 +141,9 @@ public class ScoreManager {
     public boolean gainLife(String reason) {
         if (lives < MAX_LIVES) {
             lives++;
+            if (eventos != null) {
+                eventos.registrar(TipoEventoPartida.VIDA_GANADA, lives);
+            }
             return true;
         } else {
             return false;
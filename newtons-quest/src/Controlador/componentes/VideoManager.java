@@ -2,6 +2,7 @@ package Controlador.componentes;
 
 import Controlador.constants.GameConstants;
 import Controlador.utils.SessionManager;
+import Modelo.repositorio.Repositorios;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
@@ -80,7 +81,7 @@ public class VideoManager {
         try {
             int currentUserId = SessionManager.getInstance().getCurrentUserId();
             if (currentUserId != -1) {
-                int formulasCompletadas = Modelo.dao.UsuarioDAO.obtenerFormulasCompletadasUsuario(currentUserId);
+                int formulasCompletadas = Repositorios.usuarios().obtenerFormulasCompletadasUsuario(currentUserId);
                 
                 // Desbloquear videos basándose en el número de fórmulas completadas
                 for (int i = 0; i < MAX_VIDEOS; i++) {
@@ -124,6 +125,18 @@ public class VideoManager {
         return count;
     }
     
+    /**
+     * Obtiene el índice del último video desbloqueado, el que el jugador
+     * probablemente quiera ver a continuación
+     * @return Índice del video (0-4), o -1 si no hay videos desbloqueados
+     */
+    public int getLatestUnlockedVideo() {
+        for (int i = MAX_VIDEOS - 1; i >= 0; i--) {
+            if (unlockedVideos[i]) return i;
+        }
+        return -1;
+    }
+    
     /**
      * Obtiene la lista de videos disponibles para mostrar en la interfaz
      * @return Lista de información de videos disponibles
@@ -165,11 +178,16 @@ public class VideoManager {
     }
     
     /**
-     * Verifica si un archivo de video existe
+     * Verifica si un archivo de video existe, consultando primero CatalogoVideos
+     * para no tocar el disco si el video ya fue examinado
      * @param videoPath Ruta del video
      * @return true si el archivo existe
      */
     public boolean videoFileExists(String videoPath) {
+        CatalogoVideos.Entrada entrada = CatalogoVideos.getInstance().getEntrada(videoPath);
+        if (entrada != null) {
+            return entrada.isExiste();
+        }
         File videoFile = new File(videoPath);
         return videoFile.exists() && videoFile.isFile();
     }
@@ -28,6 +28,12 @@ import javafx.stage.Stage;
  * 
  * El reproductor se muestra en una ventana modal independiente y
  * ofrece una interfaz intuitiva con controles básicos.
+ * 
+ * Para acortar la espera hasta el primer fotograma, se puede preparar con
+ * {@link #prepareVideo(String)} el video que probablemente se elija después:
+ * su MediaPlayer se crea por adelantado y queda en pausa en el fotograma 0,
+ * cargando el búfer. Solo hay un reproductor preparado a la vez; al preparar
+ * otro video, o con {@link #discardPreparedVideo()}, el anterior se libera.
  */
 
 public class VideoPlayer {
@@ -36,6 +42,9 @@ public class VideoPlayer {
     private MediaPlayer mediaPlayer; // Reproductor multimedia
     private MediaView mediaView;     // Componente visual que muestra el video
     
+    private MediaPlayer preparedPlayer; // Reproductor precargado en pausa, o null
+    private String preparedPath;        // Ruta del video precargado
+    
     /**
      * Reproduce un video educativo en una nueva ventana modal.
      * 
@@ -48,41 +57,31 @@ public class VideoPlayer {
      */
     public void playVideo(String videoPath, String title, Stage parentStage) {
         try {
-            // Verificar que el archivo existe
+            // Si el catálogo ya examinó el video, no hace falta volver a revisar el archivo
+            CatalogoVideos.Entrada entrada = CatalogoVideos.getInstance().getEntrada(videoPath);
             File videoFile = new File(videoPath);
-            if (!videoFile.exists()) {
-                showErrorDialog("Video no encontrado", 
-                              "El archivo de video no se encuentra en la ruta especificada:\n" + videoPath);
-                ErrorHandler.logWarning("Video no encontrado: " + videoPath);
+            if (entrada != null && !entrada.isValido()) {
+                showErrorDialog("Video no disponible", entrada.getMotivo() + ":\n" + videoPath);
+                ErrorHandler.logWarning("Video no disponible según el catálogo: " + videoPath);
                 return;
             }
-            
-            // Verificar tamaño del archivo para asegurarse de que no está vacío o corrupto
-            if (videoFile.length() < 1024) { // Menos de 1KB probablemente no es un video válido
-                showErrorDialog("Video inválido", 
-                              "El archivo de video parece estar corrupto o vacío:\n" + videoPath);
-                ErrorHandler.logWarning("Archivo de video inválido o vacío: " + videoPath + " (Tamaño: " + videoFile.length() + " bytes)");
+            if (entrada == null && !verificarArchivo(videoFile, videoPath)) {
                 return;
             }
             
-            // Verificar que la extensión del archivo es adecuada
-            String fileName = videoFile.getName().toLowerCase();
-            if (!fileName.endsWith(".mp4") && !fileName.endsWith(".m4v") && 
-                !fileName.endsWith(".flv") && !fileName.endsWith(".fxm")) {
-                showErrorDialog("Formato de video no compatible", 
-                              "El formato del archivo no es compatible con el reproductor.\n" +
-                              "Formatos soportados: MP4, M4V, FLV, FXM\n" +
-                              "Archivo: " + videoFile.getName());
-                ErrorHandler.logWarning("Formato de video potencialmente no compatible: " + fileName);
-                // Continuamos a pesar del aviso, ya que podría ser un problema solo de extensión
-            }
-            
             ErrorHandler.logInfo("Intentando reproducir video: " + title + " desde: " + videoPath);
             
             try {
-                // Crear el Media y MediaPlayer
-                Media media = new Media(videoFile.toURI().toString());
-                mediaPlayer = new MediaPlayer(media);
+                // Usar el reproductor precargado si es este video; si no, crear el Media y MediaPlayer
+                if (preparedPlayer != null && videoPath.equals(preparedPath)) {
+                    mediaPlayer = preparedPlayer;
+                    preparedPlayer = null;
+                    preparedPath = null;
+                    ErrorHandler.logInfo("Usando reproductor precargado para: " + title);
+                } else {
+                    Media media = new Media(videoFile.toURI().toString());
+                    mediaPlayer = new MediaPlayer(media);
+                }
                 mediaView = new MediaView(mediaPlayer);
             
             // Configurar MediaView
@@ -139,6 +138,89 @@ public class VideoPlayer {
         }
     }
     
+    /**
+     * Prepara el reproductor de un video en segundo plano, en pausa en el
+     * fotograma 0, para que {@link #playVideo} lo muestre sin esperar el búfer.
+     * 
+     * Solo se preparan videos que CatalogoVideos ya confirmó como válidos, así
+     * que este método no toca el disco. El reproductor preparado anteriormente,
+     * si era de otro video, se libera.
+     * 
+     * @param videoPath Ruta del video que probablemente se reproducirá
+     */
+    public void prepareVideo(String videoPath) {
+        if (videoPath == null || videoPath.equals(preparedPath)) {
+            return;
+        }
+        CatalogoVideos.Entrada entrada = CatalogoVideos.getInstance().getEntrada(videoPath);
+        if (entrada == null || !entrada.isValido()) {
+            return;
+        }
+        
+        discardPreparedVideo();
+        try {
+            MediaPlayer player = new MediaPlayer(new Media(new File(videoPath).toURI().toString()));
+            player.setOnError(() -> {
+                if (player == preparedPlayer) {
+                    discardPreparedVideo();
+                }
+            });
+            preparedPlayer = player;
+            preparedPath = videoPath;
+        } catch (MediaException e) {
+            ErrorHandler.logWarning("No se pudo precargar el video " + videoPath + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Libera el reproductor preparado, si lo hay.
+     */
+    public void discardPreparedVideo() {
+        if (preparedPlayer != null) {
+            preparedPlayer.dispose();
+            preparedPlayer = null;
+            preparedPath = null;
+        }
+    }
+    
+    /**
+     * Revisa en disco que el video exista, no esté vacío y tenga una extensión
+     * conocida. Solo se usa si CatalogoVideos todavía no examinó el archivo.
+     * 
+     * @return true si se puede intentar la reproducción
+     */
+    private boolean verificarArchivo(File videoFile, String videoPath) {
+        // Verificar que el archivo existe
+        if (!videoFile.exists()) {
+            showErrorDialog("Video no encontrado", 
+                          "El archivo de video no se encuentra en la ruta especificada:\n" + videoPath);
+            ErrorHandler.logWarning("Video no encontrado: " + videoPath);
+            return false;
+        }
+        
+        // Verificar tamaño del archivo para asegurarse de que no está vacío o corrupto
+        if (videoFile.length() < 1024) { // Menos de 1KB probablemente no es un video válido
+            showErrorDialog("Video inválido", 
+                          "El archivo de video parece estar corrupto o vacío:\n" + videoPath);
+            ErrorHandler.logWarning("Archivo de video inválido o vacío: " + videoPath + " (Tamaño: " + videoFile.length() + " bytes)");
+            return false;
+        }
+        
+        // Verificar que la extensión del archivo es adecuada
+        String fileName = videoFile.getName().toLowerCase();
+        if (!fileName.endsWith(".mp4") && !fileName.endsWith(".m4v") && 
+            !fileName.endsWith(".flv") && !fileName.endsWith(".fxm")) {
+            showErrorDialog("Formato de video no compatible", 
+                          "El formato del archivo no es compatible con el reproductor.\n" +
+                          "Formatos soportados: MP4, M4V, FLV, FXM\n" +
+                          "Archivo: " + videoFile.getName());
+            ErrorHandler.logWarning("Formato de video potencialmente no compatible: " + fileName);
+            // Continuamos a pesar del aviso, ya que podría ser un problema solo de extensión
+        }
+        
+        return true;
+    }
+    
     /**
      * Crea los controles de reproducción para el player de video.
      * 
@@ -128,6 +128,15 @@ public final class GameConstants {
     /** Ruta base para archivos de video educativos */
     public static final String VIDEOS_PATH = "src/recursos/videos/";
     
+    /** Carpeta de la caché de metadatos y portadas de los videos (CatalogoVideos) */
+    public static final String VIDEO_CACHE_PATH = "cache/videos/";
+    
+    /** Imagen de fondo del mapa, relativa a src/ o al classpath (para CargadorImagenes) */
+    public static final String MAP_BACKGROUND_IMAGE = "recursos/imagenes/map_background.jpg";
+    
+    /** Imagen de fondo de los resultados del quiz, relativa a src/ o al classpath (opcional) */
+    public static final String QUIZ_RESULT_BACKGROUND_IMAGE = "recursos/imagenes/quiz_result_background.jpg";
+    
     // ===============================================
     // === NOMBRES DE ARCHIVOS FXML ===
     // ===============================================
@@ -1,7 +1,11 @@
 package Controlador.dialogs;
 
+import Controlador.componentes.PaginadorRanking;
 import Controlador.componentes.RankingManager;
+import Modelo.PaqueteRecursos;
+import Modelo.dto.PeriodoRanking;
 import Modelo.dto.RankingEntry;
+import javafx.collections.ObservableListBase;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -14,7 +18,10 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
+import java.io.FileNotFoundException;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Diálogo de ranking de jugadores.
@@ -24,10 +31,16 @@ import java.util.List;
  * una tabla clasificatoria con información detallada de cada jugador.
  * 
  * Características:
- * - Top 20 mejores jugadores
+ * - Ranking histórico completo en una lista virtualizada que lee por páginas
+ *   solo las filas que se van mostrando
+ * - Top 20 del día y de la semana
  * - Medallas especiales para los primeros 3 puestos
  * - Destacado especial para el usuario actual
  * - Información de puntaje y fecha de logro
+ * - Actualización automática cuando otro jugador cambia el ranking, sin perder
+ *   el punto de la lista que se estaba viendo
+ * - Acceso directo a la posición del usuario actual
+ * - Pestañas para el ranking del día, de la semana e histórico
  * - Interfaz visual atractiva con gradientes y efectos
  */
 public class RankingDialog {
@@ -38,6 +51,48 @@ public class RankingDialog {
     /** Gestor de ranking para obtener datos de jugadores */
     private RankingManager rankingManager;
     
+    /** Encabezado de columnas de la tabla */
+    private HBox rankingHeader;
+    
+    /** Lista virtualizada de filas; sus elementos son solo los índices */
+    private ListView<Integer> rankingList;
+    
+    /** Elementos de la lista; se conservan mientras el diálogo existe y solo cambia su tamaño */
+    private final ListaIndices indices = new ListaIndices();
+    
+    /** Mensaje de la lista cuando no hay jugadores */
+    private Label noDataLabel;
+    
+    /** Botón que desplaza la lista hasta el usuario actual */
+    private Button miPosicionButton;
+    
+    /** Paginador del ranking histórico, o null en los rankings de periodo */
+    private PaginadorRanking paginador;
+    
+    /** Top del ranking del día o de la semana, o null en el histórico */
+    private List<RankingEntry> entradasPeriodo;
+    
+    /** Posición única del usuario actual en el histórico (la fila que ocupa en la lista), o -1 */
+    private int posicionUsuario = -1;
+    
+    /** Número de la última carga pedida; los resultados de cargas anteriores se ignoran */
+    private int cargaActual;
+    
+    /** Callback de ranking que estaba registrado antes de abrir el diálogo */
+    private Runnable callbackAnterior;
+    
+    /** Jugadores que quedan a la vista por encima del usuario al ir a su posición */
+    private static final int VECINOS_USUARIO = 3;
+    
+    /** Jugadores mostrados en los rankings del día y de la semana */
+    private static final int TOP_PERIODO = 20;
+    
+    /** Alto fijo de cada fila, para que la lista no tenga que medir celdas */
+    private static final double ALTO_FILA = 42;
+    
+    /** Periodo del ranking mostrado actualmente */
+    private PeriodoRanking periodoSeleccionado = PeriodoRanking.HISTORICO;
+    
     /**
      * Constructor del diálogo de ranking.
      * 
@@ -65,8 +120,12 @@ public class RankingDialog {
         VBox mainContent = createMainContent();
         
         // === Configuración de la escena ===
-        Scene scene = new Scene(mainContent, 650, 500);
-        scene.getStylesheets().add("file:src/Vista/resources/main.css");
+        Scene scene = new Scene(mainContent, 650, 540);
+        try {
+            scene.getStylesheets().add(PaqueteRecursos.localizar("Vista/resources/main.css").toExternalForm());
+        } catch (FileNotFoundException e) {
+            // Sin hoja de estilos el diálogo se muestra con el estilo por defecto
+        }
         
         dialogStage.setScene(scene);
         
@@ -75,6 +134,15 @@ public class RankingDialog {
             dialogStage.setX(parentStage.getX() + (parentStage.getWidth() - dialogStage.getWidth()) / 2);
             dialogStage.setY(parentStage.getY() + (parentStage.getHeight() - dialogStage.getHeight()) / 2);
         });
+        
+        // === Ranking en vivo mientras el diálogo está abierto ===
+        callbackAnterior = rankingManager.getOnRankingUpdated();
+        rankingManager.setOnRankingUpdated(this::actualizarRanking);
+        dialogStage.setOnHidden(e -> {
+            rankingManager.setOnRankingUpdated(callbackAnterior);
+            cargaActual++;
+            descartarPaginador();
+        });
     }
     
     /**
@@ -99,8 +167,11 @@ public class RankingDialog {
         subtitleLabel.setTextFill(Color.LIGHTGRAY);
         subtitleLabel.setAlignment(Pos.CENTER);
         
-        // === Tabla de ranking con scroll ===
-        ScrollPane rankingScrollPane = createRankingTable();
+        // === Pestañas de periodo ===
+        HBox periodTabs = createPeriodTabs();
+        
+        // === Tabla de ranking ===
+        VBox rankingTable = createRankingTable();
         
         // === Botón de cierre ===
         Button closeButton = new Button("Cerrar");
@@ -120,62 +191,324 @@ public class RankingDialog {
         buttonBox.setAlignment(Pos.CENTER);
         buttonBox.getChildren().add(closeButton);
         
-        mainContent.getChildren().addAll(titleLabel, subtitleLabel, rankingScrollPane, buttonBox);
+        mainContent.getChildren().addAll(titleLabel, subtitleLabel, periodTabs, rankingTable, buttonBox);
         
         return mainContent;
     }
     
     /**
-     * Crea la tabla de ranking con scroll y datos de los mejores jugadores.
+     * Crea las pestañas para cambiar entre el ranking del día, de la semana e histórico.
      * 
-     * @return ScrollPane conteniendo la tabla de ranking
+     * @return HBox con un botón por periodo
      */
-    private ScrollPane createRankingTable() {
-        VBox rankingContent = new VBox(5);
-        rankingContent.setPadding(new Insets(10));
-        
-        // === Obtención de datos del ranking ===
-        List<RankingEntry> rankingEntries = rankingManager.getTopPlayers(20); // Top 20
-        
-        if (rankingEntries.isEmpty()) {
-            // === Mensaje cuando no hay datos ===
-            Label noDataLabel = new Label("😔 Aún no hay maestros en el ranking");
-            noDataLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
-            noDataLabel.setTextFill(Color.LIGHTGRAY);
-            noDataLabel.setAlignment(Pos.CENTER);
-            rankingContent.getChildren().add(noDataLabel);
-        } else {
-            // === Construcción de la tabla ===
-            HBox header = createRankingHeader();
-            rankingContent.getChildren().add(header);
-            
-            // Separador visual
-            Separator separator = new Separator();
-            separator.setStyle("-fx-background-color: #34495e;");
-            rankingContent.getChildren().add(separator);
-            
-            // Filas de datos del ranking
-            for (int i = 0; i < rankingEntries.size(); i++) {
-                RankingEntry entry = rankingEntries.get(i);
-                HBox rankingRow = createRankingRow(i + 1, entry);
-                rankingContent.getChildren().add(rankingRow);
+    private HBox createPeriodTabs() {
+        HBox tabs = new HBox(10);
+        tabs.setAlignment(Pos.CENTER);
+        ToggleGroup group = new ToggleGroup();
+        
+        for (PeriodoRanking periodo : PeriodoRanking.values()) {
+            ToggleButton tab = new ToggleButton(periodo.getNombre());
+            tab.setToggleGroup(group);
+            tab.setUserData(periodo);
+            tab.setFont(Font.font("Arial", FontWeight.BOLD, 13));
+            tab.setPrefWidth(130);
+            tab.setSelected(periodo == periodoSeleccionado);
+            tabs.getChildren().add(tab);
+        }
+        
+        updateTabStyles(group);
+        group.selectedToggleProperty().addListener((obs, anterior, nuevo) -> {
+            if (nuevo == null) {
+                // Mantener siempre una pestaña seleccionada
+                group.selectToggle(anterior);
+                return;
             }
+            periodoSeleccionado = (PeriodoRanking) nuevo.getUserData();
+            updateTabStyles(group);
+            cargarRanking();
+        });
+        
+        return tabs;
+    }
+    
+    /**
+     * Resalta la pestaña seleccionada.
+     */
+    private void updateTabStyles(ToggleGroup group) {
+        for (Toggle toggle : group.getToggles()) {
+            ToggleButton tab = (ToggleButton) toggle;
+            tab.setStyle(
+                "-fx-background-color: " + (tab.isSelected() ? "#f39c12" : "rgba(255,255,255,0.1)") + "; " +
+                "-fx-text-fill: white; " +
+                "-fx-background-radius: 10; " +
+                "-fx-cursor: hand;"
+            );
         }
+    }
+    
+    /**
+     * Crea la tabla de ranking: encabezado fijo y lista virtualizada de filas.
+     * 
+     * @return VBox conteniendo la tabla de ranking
+     */
+    private VBox createRankingTable() {
+        rankingHeader = createRankingHeader();
         
-        // === Configuración del ScrollPane ===
-        ScrollPane scrollPane = new ScrollPane(rankingContent);
-        scrollPane.setFitToWidth(true);
-        scrollPane.setFitToHeight(true);
-        scrollPane.setPrefHeight(300);
-        scrollPane.setStyle(
-            "-fx-background: transparent; " +
+        // === Lista virtualizada: solo existen las celdas visibles ===
+        rankingList = new ListView<>();
+        rankingList.setFixedCellSize(ALTO_FILA);
+        rankingList.setPrefHeight(300);
+        rankingList.setFocusTraversable(false);
+        rankingList.setCellFactory(lista -> new CeldaRanking());
+        rankingList.setItems(indices);
+        rankingList.setStyle(
+            "-fx-background-color: transparent; " +
+            "-fx-control-inner-background: transparent; " +
+            "-fx-padding: 5;"
+        );
+        
+        noDataLabel = new Label();
+        noDataLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
+        noDataLabel.setTextFill(Color.LIGHTGRAY);
+        rankingList.setPlaceholder(noDataLabel);
+        
+        // === Acceso directo a la posición del usuario actual ===
+        miPosicionButton = new Button();
+        miPosicionButton.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+        miPosicionButton.setStyle(
+            "-fx-background-color: transparent; " +
+            "-fx-text-fill: #3498db; " +
+            "-fx-cursor: hand;"
+        );
+        miPosicionButton.setOnAction(e -> irAMiPosicion());
+        
+        cargarRanking();
+        
+        VBox table = new VBox(5, rankingHeader, rankingList, miPosicionButton);
+        table.setAlignment(Pos.CENTER);
+        table.setPadding(new Insets(10));
+        table.setStyle(
             "-fx-background-color: rgba(255,255,255,0.1); " +
             "-fx-border-color: #34495e; " +
             "-fx-border-radius: 10; " +
             "-fx-background-radius: 10;"
         );
         
-        return scrollPane;
+        return table;
+    }
+    
+    /**
+     * Muestra desde el principio el ranking del periodo seleccionado. Se llama al
+     * crear el diálogo y al cambiar de pestaña.
+     * 
+     * El histórico se muestra completo: la lista solo conoce el total de filas y
+     * el paginador lee por páginas, en segundo plano, las que se van mostrando.
+     * Los rankings del día y de la semana siguen mostrando su top.
+     */
+    private void cargarRanking() {
+        descartarPaginador();
+        entradasPeriodo = null;
+        posicionUsuario = -1;
+        indices.setTamano(0);
+        rankingHeader.setVisible(false);
+        noDataLabel.setText("Cargando ranking...");
+        actualizarMiPosicion();
+        leerRanking(true);
+    }
+    
+    /**
+     * Vuelve a leer el ranking mostrado. Se llama también cada vez que el
+     * RankingManager detecta un cambio: la lista conserva sus elementos y su
+     * desplazamiento, y solo se olvidan las filas ya leídas.
+     * 
+     * La posición del usuario no se vuelve a contar aquí: cuesta O(posición), así
+     * que se lee al cargar la pestaña y al pulsar "Ir a tu posición".
+     */
+    private void actualizarRanking() {
+        leerRanking(false);
+    }
+    
+    /**
+     * Lee el ranking del periodo seleccionado. Las consultas corren en el hilo del
+     * paginador y sus resultados se aplican en el hilo de JavaFX, salvo que
+     * entretanto se haya pedido otra carga.
+     * 
+     * @param conPosicion Si se cuenta también la posición del usuario en el histórico
+     */
+    private void leerRanking(boolean conPosicion) {
+        int carga = ++cargaActual;
+        PeriodoRanking periodo = periodoSeleccionado;
+        
+        if (periodo == PeriodoRanking.HISTORICO) {
+            PaginadorRanking.consultar(
+                () -> new ResumenHistorico(rankingManager.getTotalCompletedPlayers(),
+                                           conPosicion ? rankingManager.getCurrentUserUniquePosition() : null),
+                resumen -> {
+                    if (carga == cargaActual) {
+                        mostrarHistorico(resumen);
+                    }
+                });
+        } else {
+            PaginadorRanking.consultar(
+                () -> rankingManager.getTopRanking(periodo, TOP_PERIODO),
+                top -> {
+                    if (carga == cargaActual) {
+                        mostrarPeriodo(top);
+                    }
+                });
+        }
+    }
+    
+    /**
+     * Aplica a la lista el total del histórico y, si se contó, la posición del usuario.
+     */
+    private void mostrarHistorico(ResumenHistorico resumen) {
+        if (paginador == null) {
+            paginador = new PaginadorRanking(resumen.total, rankingList::refresh);
+        } else {
+            paginador.invalidar(resumen.total);
+        }
+        if (resumen.posicionUsuario != null) {
+            posicionUsuario = resumen.posicionUsuario;
+        }
+        mostrarFilas(paginador.getTotal());
+    }
+    
+    /**
+     * Aplica a la lista el top de un periodo.
+     */
+    private void mostrarPeriodo(List<RankingEntry> top) {
+        entradasPeriodo = top;
+        posicionUsuario = -1;
+        mostrarFilas(top.size());
+    }
+    
+    private void mostrarFilas(int totalFilas) {
+        indices.setTamano(totalFilas);
+        rankingList.refresh();
+        rankingHeader.setVisible(totalFilas > 0);
+        noDataLabel.setText(getMensajeSinDatos());
+        actualizarMiPosicion();
+    }
+    
+    /**
+     * Entrada de una fila de la tabla, o null si su página aún se está leyendo.
+     */
+    private RankingEntry getEntrada(int indice) {
+        if (paginador != null) {
+            return paginador.obtener(indice);
+        }
+        return entradasPeriodo != null && indice < entradasPeriodo.size() ? entradasPeriodo.get(indice) : null;
+    }
+    
+    private String getMensajeSinDatos() {
+        switch (periodoSeleccionado) {
+            case DIARIO:
+                return "😔 Aún no hay maestros hoy. ¡Sé el primero!";
+            case SEMANAL:
+                return "😔 Aún no hay maestros esta semana. ¡Sé el primero!";
+            default:
+                return "😔 Aún no hay maestros en el ranking";
+        }
+    }
+    
+    /**
+     * Muestra el acceso a la posición del usuario actual en el histórico.
+     */
+    private void actualizarMiPosicion() {
+        boolean visible = posicionUsuario > 0;
+        miPosicionButton.setText(visible ? "Ir a tu posición (#" + posicionUsuario + ")" : "");
+        miPosicionButton.setVisible(visible);
+        miPosicionButton.setManaged(visible);
+    }
+    
+    /**
+     * Desplaza la lista hasta el usuario actual dejando vecinos por encima. La
+     * posición se vuelve a contar, porque otros jugadores pudieron adelantarlo
+     * desde que se cargó la pestaña.
+     */
+    private void irAMiPosicion() {
+        PaginadorRanking.consultar(rankingManager::getCurrentUserUniquePosition, posicion -> {
+            if (paginador == null) {
+                // Se cambió de pestaña o se cerró el diálogo mientras se contaba
+                return;
+            }
+            posicionUsuario = posicion;
+            actualizarMiPosicion();
+            if (posicionUsuario > 0) {
+                rankingList.scrollTo(Math.max(0, posicionUsuario - 1 - VECINOS_USUARIO));
+            }
+        });
+    }
+    
+    /**
+     * Detiene el paginador actual para que sus lecturas pendientes no lleguen a la tabla.
+     */
+    private void descartarPaginador() {
+        if (paginador != null) {
+            paginador.descartar();
+            paginador = null;
+        }
+    }
+    
+    /**
+     * Total del histórico y posición del usuario, leídos juntos en segundo plano.
+     * La posición es null si no se volvió a contar.
+     */
+    private static final class ResumenHistorico {
+        final int total;
+        final Integer posicionUsuario;
+        
+        ResumenHistorico(int total, Integer posicionUsuario) {
+            this.total = total;
+            this.posicionUsuario = posicionUsuario;
+        }
+    }
+    
+    /**
+     * Lista de índices sin contenido: el tamaño es lo único que necesita la
+     * ListView. Cambiarlo avisa solo de las filas añadidas o quitadas al final,
+     * así la lista no pierde el desplazamiento.
+     */
+    private static final class ListaIndices extends ObservableListBase<Integer> {
+        
+        private int tamano;
+        
+        @Override
+        public Integer get(int index) {
+            Objects.checkIndex(index, tamano);
+            return index;
+        }
+        
+        @Override
+        public int size() {
+            return tamano;
+        }
+        
+        void setTamano(int nuevoTamano) {
+            int anterior = tamano;
+            if (nuevoTamano == anterior) {
+                return;
+            }
+            beginChange();
+            tamano = nuevoTamano;
+            if (nuevoTamano > anterior) {
+                nextAdd(anterior, nuevoTamano);
+            } else {
+                nextRemove(nuevoTamano, new AbstractList<Integer>() {
+                    @Override
+                    public Integer get(int index) {
+                        return nuevoTamano + index;
+                    }
+                    
+                    @Override
+                    public int size() {
+                        return anterior - nuevoTamano;
+                    }
+                });
+            }
+            endChange();
+        }
     }
     
     private HBox createRankingHeader() {
@@ -187,7 +520,7 @@ public class RankingDialog {
         Label positionLabel = new Label("Pos");
         positionLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         positionLabel.setTextFill(Color.WHITE);
-        positionLabel.setPrefWidth(50);
+        positionLabel.setPrefWidth(70);
         
         Label usernameLabel = new Label("Usuario");
         usernameLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
@@ -209,64 +542,106 @@ public class RankingDialog {
         return header;
     }
     
-    private HBox createRankingRow(int position, RankingEntry entry) {
-        HBox row = new HBox();
-        row.setAlignment(Pos.CENTER_LEFT);
-        row.setPadding(new Insets(8, 10, 8, 10));
-        
-        // Estilo especial para los primeros 3 puestos
-        String backgroundColor;
-        String textColor;
-        String medal = "";
-        
-        if (position == 1) {
-            backgroundColor = "rgba(255, 215, 0, 0.3)"; // Dorado
-            textColor = "#FFD700";
-            medal = "🥇 ";
-        } else if (position == 2) {
-            backgroundColor = "rgba(192, 192, 192, 0.3)"; // Plateado
-            textColor = "#C0C0C0";
-            medal = "🥈 ";
-        } else if (position == 3) {
-            backgroundColor = "rgba(205, 127, 50, 0.3)"; // Bronce
-            textColor = "#CD7F32";
-            medal = "🥉 ";
-        } else {
-            backgroundColor = "rgba(255, 255, 255, 0.1)";
-            textColor = "#FFFFFF";
-        }
+    /**
+     * Celda reutilizable de la tabla. La ListView crea solo las celdas visibles y
+     * las recicla al desplazarse, cambiando únicamente el texto y el estilo.
+     */
+    private class CeldaRanking extends ListCell<Integer> {
         
-        row.setStyle("-fx-background-color: " + backgroundColor + "; -fx-background-radius: 3;");
+        private final HBox row = new HBox();
+        private final Label positionLabel = new Label();
+        private final Label usernameLabel = new Label();
+        private final Label scoreLabel = new Label();
+        private final Label dateLabel = new Label();
         
-        // Verificar si es el usuario actual
-        boolean isCurrentUser = rankingManager.getCurrentUserId() == entry.getUserId();
-        if (isCurrentUser) {
-            row.setStyle(row.getStyle() + " -fx-border-color: #3498db; -fx-border-width: 2; -fx-border-radius: 3;");
+        CeldaRanking() {
+            row.setAlignment(Pos.CENTER_LEFT);
+            row.setPadding(new Insets(8, 10, 8, 10));
+            positionLabel.setPrefWidth(70);
+            usernameLabel.setPrefWidth(200);
+            scoreLabel.setPrefWidth(100);
+            dateLabel.setPrefWidth(150);
+            row.getChildren().addAll(positionLabel, usernameLabel, scoreLabel, dateLabel);
+            
+            setStyle("-fx-background-color: transparent; -fx-padding: 2 0 2 0;");
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
         }
         
-        Label positionLabel = new Label(medal + position);
-        positionLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
-        positionLabel.setTextFill(Color.web(textColor));
-        positionLabel.setPrefWidth(50);
-        
-        Label usernameLabel = new Label(entry.getUsername() + (isCurrentUser ? " (Tú)" : ""));
-        usernameLabel.setFont(Font.font("Arial", isCurrentUser ? FontWeight.BOLD : FontWeight.NORMAL, 14));
-        usernameLabel.setTextFill(Color.web(isCurrentUser ? "#3498db" : textColor));
-        usernameLabel.setPrefWidth(200);
-        
-        Label scoreLabel = new Label(String.valueOf(entry.getScore()));
-        scoreLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 14));
-        scoreLabel.setTextFill(Color.web(textColor));
-        scoreLabel.setPrefWidth(100);
-        
-        Label dateLabel = new Label(entry.getFormattedCompletionDate());
-        dateLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 12));
-        dateLabel.setTextFill(Color.web(textColor));
-        dateLabel.setPrefWidth(150);
-        
-        row.getChildren().addAll(positionLabel, usernameLabel, scoreLabel, dateLabel);
+        @Override
+        protected void updateItem(Integer indice, boolean empty) {
+            super.updateItem(indice, empty);
+            if (empty || indice == null) {
+                setGraphic(null);
+                return;
+            }
+            mostrar(indice + 1, getEntrada(indice));
+            setGraphic(row);
+        }
         
-        return row;
+        /**
+         * Aplica a la fila el contenido y el estilo de una posición.
+         * 
+         * @param position Posición en el ranking
+         * @param entry Entrada de la posición, o null mientras se lee
+         */
+        private void mostrar(int position, RankingEntry entry) {
+            // Estilo especial para los primeros 3 puestos
+            String backgroundColor;
+            String textColor;
+            String medal = "";
+            
+            if (position == 1) {
+                backgroundColor = "rgba(255, 215, 0, 0.3)"; // Dorado
+                textColor = "#FFD700";
+                medal = "🥇 ";
+            } else if (position == 2) {
+                backgroundColor = "rgba(192, 192, 192, 0.3)"; // Plateado
+                textColor = "#C0C0C0";
+                medal = "🥈 ";
+            } else if (position == 3) {
+                backgroundColor = "rgba(205, 127, 50, 0.3)"; // Bronce
+                textColor = "#CD7F32";
+                medal = "🥉 ";
+            } else {
+                backgroundColor = "rgba(255, 255, 255, 0.1)";
+                textColor = "#FFFFFF";
+            }
+            
+            String style = "-fx-background-color: " + backgroundColor + "; -fx-background-radius: 3;";
+            
+            // Verificar si es el usuario actual
+            boolean isCurrentUser = entry != null && rankingManager.getCurrentUserId() == entry.getUserId();
+            if (isCurrentUser) {
+                style += " -fx-border-color: #3498db; -fx-border-width: 2; -fx-border-radius: 3;";
+            }
+            row.setStyle(style);
+            
+            positionLabel.setText(medal + position);
+            positionLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+            positionLabel.setTextFill(Color.web(textColor));
+            
+            if (entry == null) {
+                // Página aún en lectura
+                usernameLabel.setText("Cargando...");
+                usernameLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 14));
+                usernameLabel.setTextFill(Color.LIGHTGRAY);
+                scoreLabel.setText("");
+                dateLabel.setText("");
+                return;
+            }
+            
+            usernameLabel.setText(entry.getUsername() + (isCurrentUser ? " (Tú)" : ""));
+            usernameLabel.setFont(Font.font("Arial", isCurrentUser ? FontWeight.BOLD : FontWeight.NORMAL, 14));
+            usernameLabel.setTextFill(Color.web(isCurrentUser ? "#3498db" : textColor));
+            
+            scoreLabel.setText(String.valueOf(entry.getScore()));
+            scoreLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 14));
+            scoreLabel.setTextFill(Color.web(textColor));
+            
+            dateLabel.setText(entry.getFormattedCompletionDate());
+            dateLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 12));
+            dateLabel.setTextFill(Color.web(textColor));
+        }
     }
     
     /**
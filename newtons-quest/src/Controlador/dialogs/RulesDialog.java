@@ -2,7 +2,8 @@ package Controlador.dialogs;
 
 import Controlador.constants.GameConstants;
 import Controlador.utils.StyleUtils;
-import java.io.File;
+import Modelo.PaqueteRecursos;
+import java.io.FileNotFoundException;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -145,10 +146,11 @@ public class RulesDialog {
      * @param rulesScene Escena donde aplicar los estilos
      */
     private void applyCSSStyles(Scene rulesScene) {
-        // === Aplicación de estilos CSS desde directorio de desarrollo ===
-        File mainCssFile = new File("src/Vista/resources/main.css");
-        if (mainCssFile.exists()) {
-            rulesScene.getStylesheets().add(mainCssFile.toURI().toString());
+        // === Aplicación de estilos CSS desde el paquete de recursos o el directorio de desarrollo ===
+        try {
+            rulesScene.getStylesheets().add(PaqueteRecursos.localizar("Vista/resources/main.css").toExternalForm());
+        } catch (FileNotFoundException e) {
+            // Sin hoja de estilos el diálogo se muestra con el estilo por defecto
         }
     }
     
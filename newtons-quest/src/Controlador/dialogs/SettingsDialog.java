@@ -3,7 +3,8 @@ package Controlador.dialogs;
 import Controlador.utils.GameSettings;
 import Controlador.utils.StyleUtils;
 import Controlador.constants.GameConstants;
-import java.io.File;
+import Modelo.PaqueteRecursos;
+import java.io.FileNotFoundException;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -309,10 +310,11 @@ public class SettingsDialog {
      * @param scene Escena donde aplicar los estilos CSS
      */
     private void applyCSSStyles(Scene scene) {
-        // === Aplicación de estilos CSS desde directorio de desarrollo ===
-        File mainCssFile = new File("src/Vista/resources/main.css");
-        if (mainCssFile.exists()) {
-            scene.getStylesheets().add(mainCssFile.toURI().toString());
+        // === Aplicación de estilos CSS desde el paquete de recursos o el directorio de desarrollo ===
+        try {
+            scene.getStylesheets().add(PaqueteRecursos.localizar("Vista/resources/main.css").toExternalForm());
+        } catch (FileNotFoundException e) {
+            // Sin hoja de estilos el diálogo se muestra con el estilo por defecto
         }
     }    private void centerWindow() {
         if (parentStage != null) {
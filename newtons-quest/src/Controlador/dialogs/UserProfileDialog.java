@@ -1,7 +1,8 @@
 package Controlador.dialogs;
 
+import Modelo.PaqueteRecursos;
+import Modelo.repositorio.Repositorios;
 import Controlador.componentes.RankingManager;
-import Modelo.dao.UsuarioDAO;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -14,6 +15,8 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
+import java.io.FileNotFoundException;
+
 /**
  * Diálogo de perfil de usuario en Newton's Quest.
  * 
@@ -84,7 +87,11 @@ public class UserProfileDialog {
         
         // Crear la escena con dimensiones más grandes
         Scene scene = new Scene(mainContent, 520, 700);
-        scene.getStylesheets().add(getClass().getResource("/Vista/resources/main.css").toExternalForm());
+        try {
+            scene.getStylesheets().add(PaqueteRecursos.localizar("Vista/resources/main.css").toExternalForm());
+        } catch (FileNotFoundException e) {
+            // Sin hoja de estilos el diálogo se muestra con el estilo por defecto
+        }
         
         dialogStage.setScene(scene);
         
@@ -283,9 +290,9 @@ public class UserProfileDialog {
     private String[] getUserData() {
         try {
             // Obtener datos del usuario desde la base de datos
-            String nombreCompleto = UsuarioDAO.obtenerNombreCompleto(currentUserId);
-            String correo = UsuarioDAO.obtenerCorreo(currentUserId);
-            String fechaRegistro = UsuarioDAO.obtenerFechaRegistro(currentUserId);
+            String nombreCompleto = Repositorios.usuarios().obtenerNombreCompleto(currentUserId);
+            String correo = Repositorios.usuarios().obtenerCorreo(currentUserId);
+            String fechaRegistro = Repositorios.usuarios().obtenerFechaRegistro(currentUserId);
             
             return new String[]{
                 nombreCompleto != null ? nombreCompleto : "",
@@ -316,18 +323,18 @@ public class UserProfileDialog {
             // Obtener estadísticas básicas desde la tabla usuarios
             try {
                 // Primero intentar sincronizar datos del ranking si existen
-                UsuarioDAO.sincronizarDatosRankingAUsuarios(currentUserId);
+                Repositorios.usuarios().sincronizarDatosRankingAUsuarios(currentUserId);
                 
-                int puntaje = UsuarioDAO.obtenerMejorPuntajeUsuario(currentUserId);
+                int puntaje = Repositorios.usuarios().obtenerMejorPuntajeUsuario(currentUserId);
                 mejorPuntaje = String.valueOf(puntaje);
                 
-                int formulas = UsuarioDAO.obtenerFormulasCompletadasUsuario(currentUserId);
+                int formulas = Repositorios.usuarios().obtenerFormulasCompletadasUsuario(currentUserId);
                 formulasCompletadas = formulas + "/5";
                 if (formulas >= 5) {
                     formulasCompletadas += " ✅";
                 }
                 
-                ultimaPartida = UsuarioDAO.obtenerUltimaPartidaUsuario(currentUserId);
+                ultimaPartida = Repositorios.usuarios().obtenerUltimaPartidaUsuario(currentUserId);
                 
             } catch (Exception e) {
                 // Continuar con valores por defecto en caso de error
@@ -1,18 +1,27 @@
 package Controlador.dialogs;
 
+import Controlador.componentes.CatalogoVideos;
 import Controlador.componentes.VideoManager;
 import Controlador.componentes.VideoPlayer;
+import Controlador.constants.GameConstants;
+import javafx.animation.PauseTransition;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Diálogo modal para la selección y reproducción de videos educativos.
@@ -26,7 +35,8 @@ import java.util.List;
  * - Sistema de desbloqueo progresivo basado en el avance del jugador
  * - Reproductor de video integrado con controles intuitivos
  * - Interfaz visual moderna con indicadores de estado claros
- * - Gestión eficiente de recursos multimedia
+ * - Gestión eficiente de recursos multimedia: portadas, duración y validez de
+ *   cada video vienen de CatalogoVideos, sin leer archivos al abrir el diálogo
  * 
  * Elementos visuales:
  * - Lista scrolleable de videos con información detallada
@@ -50,6 +60,15 @@ public class VideoSelectionDialog {
     /** Componente encargado de la reproducción de videos seleccionados */
     private VideoPlayer videoPlayer;
     
+    /** Catálogo con los metadatos y portadas de los videos */
+    private CatalogoVideos catalogo;
+    
+    /** Espera antes de precargar el video bajo el cursor, para no precargar al pasar de largo */
+    private final PauseTransition hoverDelay = new PauseTransition(Duration.millis(250));
+    
+    /** Actualizador de cada elemento de la lista, por ruta del video */
+    private final Map<String, Consumer<CatalogoVideos.Entrada>> elementosVideo = new HashMap<>();
+    
     // =====================================
     // CONSTRUCTOR
     // =====================================
@@ -67,6 +86,7 @@ public class VideoSelectionDialog {
     public VideoSelectionDialog() {
         this.videoManager = VideoManager.getInstance();
         this.videoPlayer = new VideoPlayer();
+        this.catalogo = CatalogoVideos.getInstance();
     }
     
     // =====================================
@@ -96,6 +116,10 @@ public class VideoSelectionDialog {
         // Actualizar acceso a videos basándose en fórmulas desbloqueadas
         videoManager.updateVideoAccess(unlockedFormulas);
         
+        // Los videos que el catálogo termine de examinar con el diálogo abierto se actualizan solos
+        catalogo.iniciar();
+        catalogo.setOnActualizado(this::actualizarElemento);
+        
         // Crear la ventana del diálogo
         dialogStage = new Stage();
         dialogStage.setTitle("Videos Educativos - Newton's Apple Quest");
@@ -111,7 +135,15 @@ public class VideoSelectionDialog {
         scene.getStylesheets().add("data:text/css," + getDialogCSS());
         
         dialogStage.setScene(scene);
+        dialogStage.setOnHidden(e -> {
+            catalogo.setOnActualizado(null);
+            hoverDelay.stop();
+            videoPlayer.discardPreparedVideo();
+        });
         dialogStage.show();
+        
+        // Precargar el video que probablemente se elija: la última fórmula desbloqueada
+        prepareLatestVideo();
     }
     
     /**
@@ -130,6 +162,9 @@ public class VideoSelectionDialog {
         if (videoPlayer != null && videoPlayer.isVideoPlaying()) {
             videoPlayer.closeVideo();
         }
+        if (videoPlayer != null) {
+            videoPlayer.discardPreparedVideo();
+        }
         
         if (dialogStage != null) {
             dialogStage.close();
@@ -269,6 +304,16 @@ public class VideoSelectionDialog {
                          "-fx-border-width: 1; -fx-border-radius: 8;");
         }
         
+        // Portada del video (se completa cuando el catálogo la tenga)
+        ImageView poster = new ImageView();
+        poster.setFitWidth(CatalogoVideos.ANCHO_PORTADA * 3 / 4);
+        poster.setPreserveRatio(true);
+        Label posterPlaceholder = new Label("🎬");
+        posterPlaceholder.setStyle("-fx-text-fill: #888888; -fx-font-size: 22px;");
+        StackPane posterBox = new StackPane(posterPlaceholder, poster);
+        posterBox.setMinSize(CatalogoVideos.ANCHO_PORTADA * 3 / 4, 54);
+        posterBox.setStyle("-fx-background-color: rgba(0, 0, 0, 0.4); -fx-background-radius: 4;");
+        
         // Crear sección de información del video
         VBox info = new VBox(5);
         
@@ -301,9 +346,40 @@ public class VideoSelectionDialog {
         }
         
         // Ensamblar el elemento
-        item.getChildren().addAll(info, playButton);
+        item.getChildren().addAll(posterBox, info, playButton);
         HBox.setHgrow(info, javafx.scene.layout.Priority.ALWAYS);
         
+        // Aplicar los datos del catálogo ahora y cuando lleguen
+        String videoPath = GameConstants.VIDEOS_PATH + video.getFilename();
+        Consumer<CatalogoVideos.Entrada> actualizador = entrada -> {
+            poster.setImage(entrada.getPortada());
+            posterPlaceholder.setVisible(entrada.getPortada() == null);
+            if (!video.isUnlocked()) {
+                return;
+            }
+            if (entrada.isValido()) {
+                String duracion = entrada.getDuracionTexto();
+                statusLabel.setText(duracion.isEmpty() ? "✅ Disponible" : "✅ Disponible  ·  ⏱ " + duracion);
+            } else {
+                statusLabel.setText("⚠️ " + entrada.getMotivo());
+                statusLabel.setStyle("-fx-text-fill: #ffb347; -fx-font-size: 12px;");
+            }
+        };
+        elementosVideo.put(videoPath, actualizador);
+        
+        // Al detenerse sobre un video desbloqueado, precargarlo en lugar del previsto
+        if (video.isUnlocked()) {
+            item.setOnMouseEntered(e -> {
+                hoverDelay.setOnFinished(done -> videoPlayer.prepareVideo(videoPath));
+                hoverDelay.playFromStart();
+            });
+            item.setOnMouseExited(e -> hoverDelay.stop());
+        }
+        CatalogoVideos.Entrada entrada = catalogo.getEntrada(videoPath);
+        if (entrada != null) {
+            actualizador.accept(entrada);
+        }
+        
         return item;
     }
     
@@ -316,7 +392,7 @@ public class VideoSelectionDialog {
      * 
      * Este método gestiona el proceso completo de reproducción:
      * 1. Obtiene la ruta del archivo de video seleccionado
-     * 2. Verifica que el archivo exista físicamente
+     * 2. Comprueba en CatalogoVideos que el video exista y se pueda reproducir
      * 3. Utiliza el VideoPlayer para reproducir el contenido
      * 4. Maneja posibles errores mostrando alertas informativas
      * 
@@ -331,8 +407,10 @@ public class VideoSelectionDialog {
      */
     private void playVideo(VideoManager.VideoInfo video) {
         String videoPath = videoManager.getVideoPath(video.getIndex());
+        CatalogoVideos.Entrada entrada = catalogo.getEntrada(videoPath);
         
-        if (videoPath != null && videoManager.videoFileExists(videoPath)) {
+        // Si el catálogo aún no examinó el video, VideoPlayer revisa el archivo por su cuenta
+        if (videoPath != null && (entrada == null || entrada.isValido())) {
             // Reproducir el video usando el reproductor integrado
             videoPlayer.playVideo(videoPath, video.getTitle(), dialogStage);
         } else {
@@ -341,12 +419,41 @@ public class VideoSelectionDialog {
                 javafx.scene.control.Alert.AlertType.ERROR);
             alert.setTitle("Video no encontrado");
             alert.setHeaderText(null);
-            alert.setContentText("El archivo de video no se encuentra disponible:\n" + 
-                                video.getFilename());
+            String motivo = entrada != null ? entrada.getMotivo() : "El archivo de video no se encuentra disponible";
+            alert.setContentText(motivo + ":\n" + video.getFilename());
             alert.showAndWait();
         }
     }
     
+    /**
+     * Aplica a su elemento de la lista una entrada que el catálogo terminó de preparar.
+     * 
+     * @param entrada Metadatos actualizados de un video
+     */
+    private void actualizarElemento(CatalogoVideos.Entrada entrada) {
+        Consumer<CatalogoVideos.Entrada> actualizador = elementosVideo.get(entrada.getRuta());
+        if (actualizador != null) {
+            actualizador.accept(entrada);
+        }
+        
+        // Si el video previsto acaba de quedar validado, precargarlo ahora
+        int latest = videoManager.getLatestUnlockedVideo();
+        if (latest >= 0 && entrada.getRuta().equals(videoManager.getVideoPath(latest))) {
+            prepareLatestVideo();
+        }
+    }
+    
+    /**
+     * Precarga en pausa el video de la última fórmula desbloqueada.
+     * No hace nada si no hay videos desbloqueados o el catálogo aún no lo validó.
+     */
+    private void prepareLatestVideo() {
+        int latest = videoManager.getLatestUnlockedVideo();
+        if (latest >= 0) {
+            videoPlayer.prepareVideo(videoManager.getVideoPath(latest));
+        }
+    }
+    
     // =====================================
     // MÉTODOS PRIVADOS - ESTILOS
     // =====================================
@@ -2,13 +2,24 @@ package Controlador.navigation;
 
 import Controlador.constants.GameConstants;
 import Controlador.MainController;
+import Controlador.QuizResultController;
+import Controlador.utils.AssetPreloader;
+import Controlador.utils.ErrorHandler;
 import Controlador.utils.SessionManager;
-import java.io.File;
+import Modelo.PaqueteRecursos;
+import Modelo.dto.QuizResult;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 /**
  * Gestor de navegación.
@@ -23,9 +34,61 @@ import javafx.stage.Stage;
  * - Manejo de sesiones de usuario
  * - Soporte para entorno de desarrollo
  * - Gestión de controladores específicos
+ * - Caché de pantallas reutilizables y precarga de la pantalla siguiente
+ * 
+ * El menú principal y el mapa se cargan una sola vez y se conservan con su
+ * controlador y su escena; al volver a ellas solo se llama a
+ * {@link ReusableView#onShow()} para refrescar su estado. Además, al mostrar
+ * una pantalla se precarga la que probablemente siga (el mapa después del
+ * menú, los resultados durante el quiz): el documento FXML y sus clases se leen
+ * en un hilo de fondo, y la vista se construye después en el hilo de JavaFX,
+ * una vez que la pantalla actual ya se pintó. Así los controladores nunca se
+ * inicializan fuera del hilo de JavaFX. La caché se vacía al cerrar sesión.
+ * 
+ * Todos los métodos de navegación deben llamarse desde el hilo de JavaFX.
  */
 public class NavigationManager {
     
+    // ===============================================
+    // === CACHÉ DE PANTALLAS ===
+    // ===============================================
+    
+    /** Vista cargada: raíz, controlador y, una vez mostrada, su escena */
+    private static final class CachedView {
+        final Parent root;
+        final Object controller;
+        Scene scene;
+        
+        CachedView(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
+    
+    /** Pantallas que se conservan entre navegaciones */
+    private static final Set<String> REUSABLE_VIEWS = Set.of(
+        GameConstants.FXML_PATH + GameConstants.MAIN_FXML,
+        GameConstants.FXML_PATH + GameConstants.MAP_FXML
+    );
+    
+    /** Pantalla que probablemente sigue a cada una, para precargarla */
+    private static final Map<String, String> PROBABLE_NEXT_VIEW = Map.of(
+        GameConstants.FXML_PATH + GameConstants.MAIN_FXML, GameConstants.FXML_PATH + GameConstants.MAP_FXML,
+        GameConstants.FXML_PATH + GameConstants.QUIZ_FXML, GameConstants.FXML_PATH + GameConstants.QUIZ_RESULT_FXML
+    );
+    
+    /** Pantallas reutilizables ya cargadas, por ruta del FXML (solo hilo de JavaFX) */
+    private static final Map<String, CachedView> viewCache = new HashMap<>();
+    
+    /** Pantallas precargadas sin usar, por ruta del FXML (solo hilo de JavaFX) */
+    private static final Map<String, CachedView> preloadedViews = new HashMap<>();
+    
+    /** Pantallas cuya precarga está programada pero aún no se construyó (solo hilo de JavaFX) */
+    private static final Set<String> pendingPreloads = new HashSet<>();
+    
+    /** Espera tras mostrar una pantalla antes de construir la siguiente, para no retrasar su primer fotograma */
+    private static final Duration PRELOAD_DELAY = Duration.millis(300);
+    
     /**
      * Constructor privado para prevenir la instanciación de esta clase de utilidades.
      */
@@ -55,38 +118,15 @@ public class NavigationManager {
      * 
      * Este método específico se utiliza cuando el usuario regresa del juego
      * para actualizar automáticamente el progreso y el estado de los botones
-     * en el mapa de aventuras.
+     * en el mapa de aventuras. Como el mapa se reutiliza desde la caché, la
+     * actualización la hace siempre MapController al mostrarse.
      * 
      * @param currentStage El escenario actual donde se cargará la vista
      * @throws IOException Si ocurre un error al cargar los recursos o al actualizar el estado
      */
     public static void navigateToMapWithRefresh(Stage currentStage) throws IOException {
-        // === Configuración de rutas de recursos ===
-        String fxmlPath = GameConstants.FXML_PATH + GameConstants.MAP_FXML;
-        String cssPath = GameConstants.CSS_PATH + GameConstants.MAP_CSS;
-        
-        // === Carga de recursos desde directorio de desarrollo ===
-        File fxmlFile = new File(fxmlPath);
-        File cssFile = new File(cssPath);
-        
-        FXMLLoader loader = new FXMLLoader(fxmlFile.toURI().toURL());
-        Parent root = loader.load();
-        
-        // === Actualización del estado del controlador ===
-        Object controller = loader.getController();
-        if (controller instanceof Controlador.MapController) {
-            Controlador.MapController mapController = (Controlador.MapController) controller;
-            mapController.refreshMapState();
-        }
-        
-        // === Configuración de la escena ===
-        String cssUrl = cssFile.toURI().toURL().toExternalForm();
-        Scene scene = new Scene(root, GameConstants.MAIN_WINDOW_WIDTH, GameConstants.MAIN_WINDOW_HEIGHT);
-        scene.getStylesheets().add(cssUrl);
-        
-        // === Aplicación al escenario ===
-        currentStage.setScene(scene);
-        currentStage.setTitle(GameConstants.MAP_TITLE);
+        // El mapa se conserva en caché: su onShow() ya llama a refreshMapState()
+        navigateToMap(currentStage);
     }
     
     /**
@@ -96,6 +136,8 @@ public class NavigationManager {
      * @throws IOException Si ocurre un error al cargar los recursos FXML o CSS
      */
     public static void navigateToLogin(Stage currentStage) throws IOException {
+        // Las pantallas en caché pertenecen a la sesión que termina
+        clearViewCache();
         loadScene(currentStage, GameConstants.FXML_PATH + GameConstants.LOGIN_FXML, 
                  GameConstants.CSS_PATH + GameConstants.LOGIN_CSS, 
                  GameConstants.LOGIN_TITLE, 
@@ -126,33 +168,18 @@ public class NavigationManager {
      * @throws IOException Si ocurre un error al cargar los recursos o configurar el usuario
      */
     public static void navigateToMainWithUser(Stage currentStage) throws IOException {
-        // === Configuración de rutas de recursos ===
-        String fxmlPath = GameConstants.FXML_PATH + GameConstants.MAIN_FXML;
-        String cssPath = GameConstants.CSS_PATH + GameConstants.MAIN_CSS;
-        
-        // === Carga de recursos desde directorio de desarrollo ===
-        File fxmlFile = new File(fxmlPath);
-        FXMLLoader loader = new FXMLLoader(fxmlFile.toURI().toURL());
-        Parent root = loader.load();
+        CachedView view = showView(currentStage, GameConstants.FXML_PATH + GameConstants.MAIN_FXML,
+                                   GameConstants.CSS_PATH + GameConstants.MAIN_CSS,
+                                   GameConstants.MAIN_TITLE,
+                                   GameConstants.MAIN_WINDOW_WIDTH, GameConstants.MAIN_WINDOW_HEIGHT);
         
         // === Configuración del controlador con datos de sesión ===
-        MainController mainController = loader.getController();
+        MainController mainController = (MainController) view.controller;
         SessionManager sessionManager = SessionManager.getInstance();
         
         if (sessionManager.isLoggedIn()) {
             mainController.setUsername(sessionManager.getCurrentUsername());
         }
-        
-        // === Configuración de la escena ===
-        File cssFile = new File(cssPath);
-        String cssUrl = cssFile.toURI().toURL().toExternalForm();
-        Scene scene = new Scene(root, GameConstants.MAIN_WINDOW_WIDTH, GameConstants.MAIN_WINDOW_HEIGHT);
-        scene.getStylesheets().add(cssUrl);
-        
-        // === Configuración del escenario ===
-        currentStage.setScene(scene);
-        currentStage.setTitle(GameConstants.MAIN_TITLE);
-        scene.getRoot().requestFocus();
     }
     
     /**
@@ -181,6 +208,23 @@ public class NavigationManager {
                  GameConstants.MAIN_WINDOW_WIDTH, GameConstants.MAIN_WINDOW_HEIGHT);
     }
     
+    /**
+     * Navega a la pantalla de resultados del quiz mostrando un resultado.
+     * 
+     * La pantalla normalmente ya se precargó mientras el usuario respondía el quiz.
+     * 
+     * @param currentStage El escenario actual donde se cargará la vista de resultados
+     * @param resultado Resultado del quiz a mostrar
+     * @throws IOException Si ocurre un error al cargar los recursos FXML o CSS
+     */
+    public static void navigateToQuizResult(Stage currentStage, QuizResult resultado) throws IOException {
+        CachedView view = showView(currentStage, GameConstants.FXML_PATH + GameConstants.QUIZ_RESULT_FXML,
+                                   GameConstants.CSS_PATH + GameConstants.QUIZ_CSS,
+                                   GameConstants.QUIZ_RESULT_TITLE,
+                                   GameConstants.MAIN_WINDOW_WIDTH, GameConstants.MAIN_WINDOW_HEIGHT);
+        ((QuizResultController) view.controller).setResultado(resultado);
+    }
+    
     /**
      * Navega a la pantalla del mapa usando un método alternativo.
      * 
@@ -221,16 +265,7 @@ public class NavigationManager {
     public static void navigateToMapEmergency() throws IOException {
         try {
             // Intentar cargar el FXML directamente
-            String fxmlPath = GameConstants.FXML_PATH + GameConstants.MAP_FXML;
-            File fxmlFile = new File(fxmlPath);
-            
-            Parent root;
-            if (fxmlFile.exists()) {
-                root = FXMLLoader.load(fxmlFile.toURI().toURL());
-            } else {
-                // Si no se encuentra en la ruta de desarrollo, intentar con el classloader
-                root = FXMLLoader.load(NavigationManager.class.getResource("/Vista/Map.fxml"));
-            }
+            Parent root = FXMLLoader.load(PaqueteRecursos.localizar(GameConstants.FXML_PATH + GameConstants.MAP_FXML));
             
             // Crear una nueva escena y stage
             Scene scene = new Scene(root, GameConstants.MAIN_WINDOW_WIDTH, GameConstants.MAIN_WINDOW_HEIGHT);
@@ -262,8 +297,9 @@ public class NavigationManager {
     /**
      * Método genérico para cargar una escena con configuración estándar.
      * 
-     * Este método centraliza la lógica común de carga de vistas desde el
-     * directorio de desarrollo, aplicación de estilos CSS y configuración del escenario.
+     * Este método centraliza la lógica común de carga de vistas (del paquete de
+     * recursos o del directorio de desarrollo), aplicación de estilos CSS y
+     * configuración del escenario.
      * 
      * @param stage El escenario donde se aplicará la nueva escena
      * @param fxmlPath Ruta del archivo FXML a cargar
@@ -275,29 +311,129 @@ public class NavigationManager {
      */
     private static void loadScene(Stage stage, String fxmlPath, String cssPath, 
                                  String title, int width, int height) throws IOException {
+        showView(stage, fxmlPath, cssPath, title, width, height);
+    }
+    
+    /**
+     * Muestra una vista: la toma de la caché o de la precarga si existe, y si no la carga.
+     * 
+     * La escena se crea y se le aplican los estilos solo la primera vez que se
+     * muestra la vista. Después se notifica al controlador si es reutilizable y
+     * se programa la precarga de la pantalla que probablemente siga.
+     * 
+     * @return La vista mostrada, con su controlador
+     * @throws IOException Si ocurre un error al cargar los recursos
+     */
+    private static CachedView showView(Stage stage, String fxmlPath, String cssPath,
+                                       String title, int width, int height) throws IOException {
+        CachedView view = obtainView(fxmlPath);
         
-        // === Carga de recursos desde directorio de desarrollo ===
-        File fxmlFile = new File(fxmlPath);
-        File cssFile = new File(cssPath);
-        
-        FXMLLoader loader = new FXMLLoader(fxmlFile.toURI().toURL());
-        Parent root = loader.load();
-        
-        // === Configuración de la escena ===
-        String cssUrl = cssFile.toURI().toURL().toExternalForm();
-        Scene scene = new Scene(root, width, height);
-        scene.getStylesheets().add(cssUrl);
+        // === Configuración de la escena (solo la primera vez) ===
+        if (view.scene == null) {
+            String cssUrl = PaqueteRecursos.localizar(cssPath).toExternalForm();
+            view.scene = new Scene(view.root, width, height);
+            view.scene.getStylesheets().add(cssUrl);
+        }
         
         // === Configuración del escenario ===
-        stage.setScene(scene);
+        stage.setScene(view.scene);
         stage.setTitle(title);
-        scene.getRoot().requestFocus();
+        if (view.controller instanceof ReusableView) {
+            ((ReusableView) view.controller).onShow();
+        }
+        view.scene.getRoot().requestFocus();
+        
+        // === Precarga de la pantalla siguiente ===
+        String next = PROBABLE_NEXT_VIEW.get(fxmlPath);
+        if (next != null) {
+            preloadView(next);
+        }
+        return view;
+    }
+    
+    /**
+     * Obtiene una vista de la caché, de la precarga o cargándola en el momento
+     * (cancelando su precarga si aún no se construyó). Las vistas reutilizables
+     * quedan en la caché.
+     */
+    private static CachedView obtainView(String fxmlPath) throws IOException {
+        CachedView view = viewCache.get(fxmlPath);
+        if (view != null) {
+            return view;
+        }
+        
+        pendingPreloads.remove(fxmlPath);
+        view = preloadedViews.remove(fxmlPath);
+        if (view == null) {
+            view = loadView(fxmlPath);
+        }
+        
+        if (REUSABLE_VIEWS.contains(fxmlPath)) {
+            viewCache.put(fxmlPath, view);
+        }
+        return view;
+    }
+    
+    /**
+     * Carga una vista del paquete de recursos o del directorio de desarrollo, en
+     * el hilo de JavaFX: el FXMLLoader ejecuta aquí el initialize() de los controladores.
+     */
+    private static CachedView loadView(String fxmlPath) throws IOException {
+        FXMLLoader loader = new FXMLLoader(PaqueteRecursos.localizar(fxmlPath));
+        Parent root = AssetPreloader.getInstance().cargarVista(loader);
+        return new CachedView(root, loader.getController());
+    }
+    
+    /**
+     * Programa la precarga de una vista que probablemente se mostrará pronto.
+     * No hace nada si ya está en caché, precargada o programada.
+     * 
+     * El FXML y sus clases se leen en segundo plano (AssetPreloader); la vista se
+     * construye luego en el hilo de JavaFX, tras PRELOAD_DELAY, salvo que mientras
+     * tanto se haya mostrado o se haya vaciado la caché.
+     * 
+     * @param fxmlPath Ruta del archivo FXML a precargar
+     */
+    public static void preloadView(String fxmlPath) {
+        if (viewCache.containsKey(fxmlPath) || preloadedViews.containsKey(fxmlPath)
+                || !pendingPreloads.add(fxmlPath)) {
+            return;
+        }
+        AssetPreloader.getInstance().precargarVista(fxmlPath).whenComplete((document, error) -> Platform.runLater(() -> {
+            PauseTransition delay = new PauseTransition(PRELOAD_DELAY);
+            delay.setOnFinished(e -> buildPreloadedView(fxmlPath));
+            delay.play();
+        }));
+    }
+    
+    /**
+     * Construye en el hilo de JavaFX una vista cuya precarga sigue vigente.
+     */
+    private static void buildPreloadedView(String fxmlPath) {
+        if (!pendingPreloads.remove(fxmlPath)) {
+            // Ya se mostró o se vació la caché mientras se leía
+            return;
+        }
+        try {
+            preloadedViews.put(fxmlPath, loadView(fxmlPath));
+        } catch (IOException e) {
+            ErrorHandler.logWarning("Falló la precarga de " + fxmlPath + ", se cargará al mostrarla: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Descarta las pantallas en caché y las precargas sin usar o programadas.
+     */
+    public static void clearViewCache() {
+        viewCache.clear();
+        preloadedViews.clear();
+        pendingPreloads.clear();
     }
     
     /**
      * Obtiene una instancia del controlador de una vista específica.
      * 
-     * Este método utilitario carga un archivo FXML desde el directorio de desarrollo
+     * Este método utilitario carga un archivo FXML (del paquete de recursos o del directorio de desarrollo)
      * y retorna su controlador asociado, útil para obtener referencias a controladores
      * específicos sin cambiar la escena actual.
      * 
@@ -309,8 +445,7 @@ public class NavigationManager {
      * @throws IOException Si ocurre un error al cargar el FXML
      */
     public static <T> T getController(Stage stage, String fxmlPath, Class<T> controllerClass) throws IOException {
-        File fxmlFile = new File(fxmlPath);
-        FXMLLoader loader = new FXMLLoader(fxmlFile.toURI().toURL());
+        FXMLLoader loader = new FXMLLoader(PaqueteRecursos.localizar(fxmlPath));
         loader.load();
         return loader.getController();
     }
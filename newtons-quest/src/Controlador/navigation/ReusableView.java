@@ -0,0 +1,19 @@
+package Controlador.navigation;
+
+/**
+ * Controlador de una pantalla que NavigationManager conserva en caché.
+ *
+ * Las pantallas reutilizables (menú principal y mapa) se cargan una sola vez:
+ * initialize() solo se ejecuta la primera vez, siempre en el hilo de JavaFX,
+ * pero puede hacerlo bastante antes de mostrarse si la pantalla se precargó.
+ * Todo lo que deba actualizarse en cada visita (o que no deba ocurrir hasta
+ * que la pantalla se vea, como la música) va en {@link #onShow()}.
+ */
+public interface ReusableView {
+
+    /**
+     * Se llama en el hilo de JavaFX cada vez que la pantalla se muestra,
+     * después de asignar su escena al escenario.
+     */
+    void onShow();
+}
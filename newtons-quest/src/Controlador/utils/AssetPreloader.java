@@ -0,0 +1,336 @@
+package Controlador.utils;
+
+import Controlador.componentes.CatalogoVideos;
+import Controlador.componentes.EfectosSonidoManager;
+import Controlador.componentes.MusicaManager;
+import Controlador.componentes.ResourceManager;
+import Controlador.constants.GameConstants;
+import Modelo.CargadorImagenes;
+import Modelo.PaqueteRecursos;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.media.Media;
+
+/**
+ * Precarga de recursos en segundo plano para Newton's Apple Quest.
+ *
+ * Mientras se muestra la pantalla de login, decodifica en paralelo todas las
+ * imágenes del juego, prepara los audios y lee las vistas FXML, para que al
+ * pulsar "Jugar" las pantallas encuentren todo listo en lugar de decodificar
+ * en el hilo de JavaFX:
+ *
+ *   - Imágenes: se decodifican con CargadorImagenes, así que las pantallas y
+ *     sprites que luego llaman a CargadorImagenes.obtener reciben la misma instancia
+ *   - Audio: se crean los objetos Media de la música (lectura de cabeceras y
+ *     metadatos) y se decodifican los efectos de sonido de EfectosSonidoManager
+ *   - FXML: se leen los documentos a memoria (del paquete recursos.pak si existe)
+ *     y se cargan las clases de los controles importados y del controlador,
+ *     sin construir la vista
+ *   - Videos: se inicia CatalogoVideos, que los examina en su propio hilo
+ *
+ * Si una pantalla pide un recurso que todavía se está preparando, espera a ese
+ * mismo trabajo; si nunca se precargó, se carga en el momento como antes.
+ *
+ * El progreso se notifica en el hilo de JavaFX a un único callback.
+ *
+ * Implementa el patrón Singleton: la precarga se hace una vez por ejecución.
+ */
+public class AssetPreloader {
+
+    // ================================================================================================
+    // RECURSOS A PRECARGAR
+    // ================================================================================================
+
+    /** Imágenes a tamaño original, relativas a src/ o al classpath */
+    private static final String[] IMAGENES = {
+        ResourceManager.HEART_IMAGE_PATH,
+        ResourceManager.EMPTY_HEART_IMAGE_PATH,
+        "recursos/sprites/newton/newton_1.png",
+        "recursos/sprites/newton/newton_2.png",
+        "recursos/sprites/newton/newton_3.png",
+        "recursos/sprites/newton/newton_4.png",
+        "recursos/sprites/newton/newton_5.png",
+        "recursos/sprites/newton/newton_6.png",
+        "recursos/sprites/newton/newton_7.png",
+        "recursos/sprites/manzanas/Apple_Red.png",
+        "recursos/sprites/manzanas/Apple_Green.png",
+        "recursos/sprites/pociones/pocion_lentitud.png",
+        "recursos/sprites/pociones/pocion_puntos.png",
+        "recursos/sprites/pociones/pocion_salud.png"
+    };
+
+    /** Audios largos (Media), en rutas de desarrollo; los efectos cortos los carga EfectosSonidoManager */
+    private static final String[] AUDIOS = {
+        MusicaManager.Pista.MAPA.getRuta(),
+        MusicaManager.Pista.JUEGO.getRuta(),
+        MusicaManager.Pista.QUIZ.getRuta()
+    };
+
+    /** Vistas FXML, en rutas de desarrollo */
+    private static final String[] VISTAS = {
+        GameConstants.FXML_PATH + GameConstants.MAIN_FXML,
+        GameConstants.FXML_PATH + GameConstants.MAP_FXML,
+        GameConstants.FXML_PATH + GameConstants.GAME_FXML,
+        GameConstants.FXML_PATH + GameConstants.QUIZ_FXML,
+        GameConstants.FXML_PATH + GameConstants.QUIZ_RESULT_FXML,
+        GameConstants.FXML_PATH + "Register.fxml"
+    };
+
+    /** Clases importadas (sin comodines) y controlador declarados en un FXML */
+    private static final Pattern CLASES_FXML = Pattern.compile("<\\?import\\s+([\\w.]+[A-Z]\\w*)\\s*\\?>|fx:controller=\"([\\w.]+)\"");
+
+    // ================================================================================================
+    // INSTANCIA SINGLETON Y ESTADO
+    // ================================================================================================
+
+    /** Instancia única del precargador */
+    private static AssetPreloader instance;
+
+    /** Hilos de decodificación */
+    private final ExecutorService ejecutor;
+
+    /** Audios preparados, por ruta */
+    private final Map<String, CompletableFuture<Media>> audios = new ConcurrentHashMap<>();
+
+    /** Documentos FXML leídos, por URL */
+    private final Map<String, CompletableFuture<byte[]>> vistas = new ConcurrentHashMap<>();
+
+    /** Recursos programados y terminados */
+    private final AtomicInteger totalRecursos = new AtomicInteger();
+    private final AtomicInteger recursosListos = new AtomicInteger();
+
+    /** Momento (System.nanoTime) en que empezó la precarga, o 0 si no ha empezado */
+    private volatile long inicio;
+
+    /** Callback de progreso (0.0 a 1.0), ejecutado en el hilo de JavaFX */
+    private volatile Consumer<Double> onProgreso;
+
+    /** Constructor privado para implementar patrón Singleton */
+    private AssetPreloader() {
+        int hilos = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        AtomicInteger numero = new AtomicInteger();
+        ejecutor = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "PrecargaRecursos-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Obtiene la instancia única del precargador.
+     * @return Instancia única del AssetPreloader
+     */
+    public static synchronized AssetPreloader getInstance() {
+        if (instance == null) {
+            instance = new AssetPreloader();
+        }
+        return instance;
+    }
+
+    // ================================================================================================
+    // PRECARGA
+    // ================================================================================================
+
+    /**
+     * Programa la precarga de todos los recursos. Las llamadas siguientes no hacen nada.
+     */
+    public synchronized void iniciar() {
+        if (inicio != 0) return;
+        inicio = System.nanoTime();
+
+        List<CompletableFuture<?>> trabajos = new ArrayList<>();
+        // Fondos al mismo tamaño con que los piden sus pantallas, para compartir la entrada de la caché
+        trabajos.add(CargadorImagenes.precargar(ResourceManager.BACKGROUND_IMAGE_PATH, ResourceManager.BACKGROUND_WIDTH,
+                                                ResourceManager.BACKGROUND_HEIGHT, ejecutor));
+        trabajos.add(CargadorImagenes.precargar(GameConstants.MAP_BACKGROUND_IMAGE, 0,
+                                                GameConstants.MAIN_WINDOW_HEIGHT, ejecutor));
+        for (String imagen : IMAGENES) {
+            trabajos.add(CargadorImagenes.precargar(imagen, ejecutor));
+        }
+        for (String audio : AUDIOS) {
+            trabajos.add(audios.computeIfAbsent(audio, ruta -> CompletableFuture.supplyAsync(() -> crearMedia(ruta), ejecutor)));
+        }
+        trabajos.add(CompletableFuture.runAsync(EfectosSonidoManager.getInstance()::precargar, ejecutor));
+        for (String vista : VISTAS) {
+            trabajos.add(vistas.computeIfAbsent(claveVista(vista), clave -> CompletableFuture.supplyAsync(() -> leerVista(vista), ejecutor)));
+        }
+
+        // Los videos se examinan en su propio hilo: pueden tardar y no cuentan para el progreso
+        CatalogoVideos.getInstance().iniciar();
+
+        totalRecursos.set(trabajos.size());
+        for (CompletableFuture<?> trabajo : trabajos) {
+            trabajo.whenComplete((resultado, error) -> recursoListo());
+        }
+    }
+
+    /**
+     * Registra un recurso terminado y notifica el progreso.
+     */
+    private void recursoListo() {
+        int listos = recursosListos.incrementAndGet();
+        int total = totalRecursos.get();
+        if (listos == total) {
+            ErrorHandler.logInfo(String.format("Precarga de recursos completada: %d recursos en %.0f ms (imágenes: %s)",
+                                 total, (System.nanoTime() - inicio) / 1e6, CargadorImagenes.resumenEstadisticas()));
+        }
+
+        Consumer<Double> callback = onProgreso;
+        if (callback != null) {
+            double progreso = (double) listos / total;
+            Platform.runLater(() -> callback.accept(progreso));
+        }
+    }
+
+    /**
+     * Fracción de recursos ya preparados.
+     * @return Valor entre 0.0 y 1.0 (0.0 si la precarga no ha empezado)
+     */
+    public double getProgreso() {
+        int total = totalRecursos.get();
+        return total == 0 ? 0.0 : (double) recursosListos.get() / total;
+    }
+
+    /**
+     * Indica si todos los recursos programados están listos.
+     * @return true si la precarga terminó
+     */
+    public boolean isCompletada() {
+        int total = totalRecursos.get();
+        return total > 0 && recursosListos.get() >= total;
+    }
+
+    /**
+     * Establece el callback de progreso. Pasar null para dejar de recibir avisos.
+     * @param callback Recibe la fracción completada en el hilo de JavaFX
+     */
+    public void setOnProgreso(Consumer<Double> callback) {
+        this.onProgreso = callback;
+    }
+
+    // ================================================================================================
+    // ACCESO A LOS RECURSOS
+    // ================================================================================================
+
+    /**
+     * Obtiene el Media de un audio, esperando su preparación si está en curso.
+     * @param ruta Ruta de desarrollo del audio
+     * @return Media listo para crear reproductores, o null si el archivo no existe
+     */
+    public Media getMedia(String ruta) {
+        CompletableFuture<Media> media = audios.get(ruta);
+        return media != null ? media.join() : crearMedia(ruta);
+    }
+
+    /**
+     * Lee en segundo plano una vista FXML y las clases que declara, si aún no se leyó.
+     * @param ruta Ruta de desarrollo del FXML
+     * @return Lectura en curso o terminada; su resultado es null si no se pudo leer
+     */
+    public CompletableFuture<byte[]> precargarVista(String ruta) {
+        return vistas.computeIfAbsent(claveVista(ruta), clave -> CompletableFuture.supplyAsync(() -> leerVista(ruta), ejecutor));
+    }
+
+    /**
+     * Carga una vista FXML usando el documento ya leído en memoria si se precargó.
+     * Las rutas relativas del documento (hojas de estilo, includes) se resuelven
+     * contra la ubicación del loader, igual que con loader.load().
+     *
+     * @param loader Loader con la ubicación del FXML ya configurada
+     * @return Raíz de la vista cargada
+     * @throws IOException Si ocurre un error al cargar el FXML
+     */
+    public Parent cargarVista(FXMLLoader loader) throws IOException {
+        CompletableFuture<byte[]> documento = vistas.get(loader.getLocation().toExternalForm());
+        byte[] contenido = documento != null ? documento.join() : null;
+        if (contenido == null) {
+            return loader.load();
+        }
+        return loader.load(new ByteArrayInputStream(contenido));
+    }
+
+    // ================================================================================================
+    // CARGA EN SEGUNDO PLANO
+    // ================================================================================================
+
+    /**
+     * Crea el Media de un audio, o null si el archivo no existe o no es válido.
+     */
+    private static Media crearMedia(String ruta) {
+        File archivo = new File(ruta);
+        if (!archivo.exists()) {
+            return null;
+        }
+        try {
+            return new Media(archivo.toURI().toString());
+        } catch (RuntimeException e) {
+            ErrorHandler.logWarning("No se pudo preparar el audio " + ruta + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Lee un FXML a memoria y carga las clases que declara, para que construir
+     * la vista más tarde no tenga que leer el disco ni resolver clases.
+     * @return Contenido del documento, o null si no se pudo leer
+     */
+    private static byte[] leerVista(String ruta) {
+        try {
+            // Las vistas empaquetadas se guardan relativas a src/, igual que las imágenes
+            ByteBuffer empaquetada = PaqueteRecursos.obtener(ruta.startsWith("src/") ? ruta.substring(4) : ruta);
+            byte[] contenido;
+            if (empaquetada != null) {
+                contenido = new byte[empaquetada.remaining()];
+                empaquetada.get(contenido);
+            } else {
+                try (InputStream entrada = PaqueteRecursos.localizar(ruta).openStream()) {
+                    contenido = entrada.readAllBytes();
+                }
+            }
+
+            Matcher clases = CLASES_FXML.matcher(new String(contenido, StandardCharsets.UTF_8));
+            ClassLoader cargador = AssetPreloader.class.getClassLoader();
+            while (clases.find()) {
+                String clase = clases.group(1) != null ? clases.group(1) : clases.group(2);
+                try {
+                    // Sin inicializar: los inicializadores estáticos de JavaFX corren luego en su hilo
+                    Class.forName(clase, false, cargador);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    // Clase no disponible: el FXMLLoader reportará el error al cargar la vista
+                }
+            }
+            return contenido;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Clave de una vista: la URL con la que los loaders la ubican (PaqueteRecursos.localizar).
+     */
+    private static String claveVista(String ruta) {
+        try {
+            return PaqueteRecursos.localizar(ruta).toExternalForm();
+        } catch (IOException e) {
+            return ruta;
+        }
+    }
+}
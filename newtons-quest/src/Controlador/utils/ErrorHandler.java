@@ -42,6 +42,7 @@ public class ErrorHandler {
     // Configurar el logger una sola vez
     static {
         setupLogger();
+        LineaTiempoArranque.marcar("logger");
     }
     
     // Prevenir instanciación
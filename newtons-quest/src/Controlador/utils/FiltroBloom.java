@@ -0,0 +1,106 @@
+package Controlador.utils;
+
+/**
+ * Filtro de Bloom para cadenas.
+ *
+ * Estructura probabilística que responde "seguro que no está" o "puede que esté"
+ * usando unos pocos bits por elemento. Nunca da falsos negativos; la tasa de
+ * falsos positivos se fija al crearlo según el número de elementos esperados.
+ *
+ * Las cadenas se normalizan a minúsculas, igual que compara MySQL los nombres
+ * de usuario con su collation por defecto.
+ *
+ * No es thread-safe: se construye en un hilo y, una vez publicado, solo debe
+ * consultarse y ampliarse desde un único hilo.
+ */
+public class FiltroBloom {
+
+    /** Bits del filtro, agrupados de 64 en 64 */
+    private final long[] bits;
+
+    /** Número total de bits */
+    private final int numeroBits;
+
+    /** Número de posiciones que marca cada elemento */
+    private final int numeroHashes;
+
+    /**
+     * Crea un filtro dimensionado para una cantidad de elementos y una tasa de error.
+     *
+     * @param elementosEsperados Número aproximado de elementos que se agregarán
+     * @param tasaFalsosPositivos Probabilidad deseada de falso positivo (entre 0 y 1)
+     */
+    public FiltroBloom(int elementosEsperados, double tasaFalsosPositivos) {
+        int n = Math.max(1, elementosEsperados);
+        double p = Math.min(Math.max(tasaFalsosPositivos, 1e-9), 0.5);
+
+        // m = -n ln p / (ln 2)^2 ; k = m/n ln 2
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, Math.min(m, Integer.MAX_VALUE - 63L));
+        this.numeroBits = (int) m;
+        this.numeroHashes = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        this.bits = new long[(numeroBits + 63) >>> 6];
+    }
+
+    /**
+     * Agrega una cadena al filtro.
+     * @param valor Cadena a agregar (se ignora si es null)
+     */
+    public void agregar(String valor) {
+        if (valor == null) return;
+
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < numeroHashes; i++) {
+            int posicion = ((h1 + i * h2) & Integer.MAX_VALUE) % numeroBits;
+            bits[posicion >>> 6] |= 1L << posicion;
+        }
+    }
+
+    /**
+     * Consulta si una cadena puede estar en el filtro.
+     * @param valor Cadena a consultar
+     * @return false si la cadena seguro no fue agregada; true si puede haberlo sido
+     */
+    public boolean podriaContener(String valor) {
+        if (valor == null) return false;
+
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < numeroHashes; i++) {
+            int posicion = ((h1 + i * h2) & Integer.MAX_VALUE) % numeroBits;
+            if ((bits[posicion >>> 6] & (1L << posicion)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tamaño del filtro en bytes.
+     * @return Memoria ocupada por los bits
+     */
+    public int getTamanoBytes() {
+        return bits.length * Long.BYTES;
+    }
+
+    /**
+     * Hash de 64 bits de la cadena en minúsculas (FNV-1a con mezcla final de MurmurHash3),
+     * del que se derivan las k posiciones por doble hashing.
+     */
+    private static long hash64(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= Character.toLowerCase(valor.charAt(i));
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -2,6 +2,7 @@ package Controlador.utils;
 
 import java.io.*;
 import java.util.Properties;
+import java.util.function.DoubleConsumer;
 
 /**
  * Gestor de configuraciones del juego Newton's Apple Quest.
@@ -36,6 +37,12 @@ public class GameSettings {
     
     private Properties properties;
     
+    /** Callback para aplicar en vivo los cambios del volumen de música */
+    private DoubleConsumer onMusicVolumeChanged;
+    
+    /** Callback para aplicar en vivo los cambios del volumen de efectos */
+    private DoubleConsumer onEffectVolumeChanged;
+    
     /**
      * Constructor privado para el patrón Singleton
      */
@@ -107,6 +114,17 @@ public class GameSettings {
     
     public void setMusicVolume(double musicVolume) {
         this.musicVolume = Math.max(0.0, Math.min(1.0, musicVolume));
+        if (onMusicVolumeChanged != null) {
+            onMusicVolumeChanged.accept(this.musicVolume);
+        }
+    }
+    
+    /**
+     * Establece el callback que recibe cada cambio del volumen de música,
+     * para que el servicio de música lo aplique mientras suena.
+     */
+    public void setOnMusicVolumeChanged(DoubleConsumer callback) {
+        this.onMusicVolumeChanged = callback;
     }
     
     public double getEffectVolume() {
@@ -115,6 +133,17 @@ public class GameSettings {
     
     public void setEffectVolume(double effectVolume) {
         this.effectVolume = Math.max(0.0, Math.min(1.0, effectVolume));
+        if (onEffectVolumeChanged != null) {
+            onEffectVolumeChanged.accept(this.effectVolume);
+        }
+    }
+    
+    /**
+     * Establece el callback que recibe cada cambio del volumen de efectos,
+     * para que el motor de efectos lo aplique desde cualquier pantalla de ajustes.
+     */
+    public void setOnEffectVolumeChanged(DoubleConsumer callback) {
+        this.onEffectVolumeChanged = callback;
     }
     
     public double getBrightness() {
@@ -137,8 +166,8 @@ public class GameSettings {
      * Restaura todas las configuraciones a sus valores por defecto
      */
     public void resetToDefaults() {
-        musicVolume = 0.5;
-        effectVolume = 0.7;
+        setMusicVolume(0.5);
+        setEffectVolume(0.7);
         brightness = 1.0;
         fullscreen = false;
         saveSettings();
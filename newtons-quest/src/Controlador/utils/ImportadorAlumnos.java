@@ -0,0 +1,158 @@
+package Controlador.utils;
+
+import Modelo.dto.AlumnoImportado;
+import Modelo.dto.ResultadoImportacion;
+import Modelo.repositorio.Repositorios;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Importador masivo de alumnos para Newton's Apple Quest.
+ *
+ * Permite a un docente crear las cuentas de toda una clase a partir de un
+ * archivo CSV, en lugar de registrar a cada alumno desde la pantalla de registro.
+ *
+ * Formato del archivo (UTF-8, separado por comas o punto y coma):
+ * - username,password,nombre_completo,correo
+ * - La primera línea puede ser un encabezado que empiece por "username"
+ * - nombre_completo y correo son opcionales
+ *
+ * Proceso:
+ * - Las líneas se validan en paralelo con ValidationUtils
+ * - Se descartan los usuarios repetidos dentro del mismo archivo
+ * - Las cuentas válidas se registran en lotes con el repositorio de usuarios (UsuarioDAO en MySQL),
+ *   que reporta como duplicados los usuarios que ya existían en la base de datos
+ *
+ * Uso desde consola:
+ * java -cp "lib/*:build/classes" Controlador.utils.ImportadorAlumnos alumnos.csv
+ */
+public class ImportadorAlumnos {
+
+    // Prevenir instanciación
+    private ImportadorAlumnos() {}
+
+    /**
+     * Importa los alumnos de un archivo CSV.
+     *
+     * @param archivo Archivo CSV con los alumnos
+     * @return Resumen con cuentas creadas, duplicados y errores por línea
+     * @throws IOException Si el archivo no se puede leer
+     */
+    public static ResultadoImportacion importar(File archivo) throws IOException {
+        List<String> lineas;
+        try (BufferedReader lector = Files.newBufferedReader(archivo.toPath(), StandardCharsets.UTF_8)) {
+            lineas = lector.lines().collect(Collectors.toList());
+        }
+        return importar(lineas);
+    }
+
+    /**
+     * Importa los alumnos a partir de las líneas de un CSV ya leído.
+     *
+     * @param lineas Líneas del archivo, incluido el encabezado si lo hay
+     * @return Resumen con cuentas creadas, duplicados y errores por línea
+     */
+    public static ResultadoImportacion importar(List<String> lineas) {
+        ResultadoImportacion resultado = new ResultadoImportacion();
+
+        // Validar todas las líneas en paralelo; cada elemento es un alumno o un mensaje de error
+        Object[] validadas = new Object[lineas.size()];
+        IntStream.range(0, lineas.size()).parallel()
+                 .forEach(i -> validadas[i] = validarLinea(i + 1, lineas.get(i)));
+
+        // Recorrer en orden para reportar errores y repetidos de forma determinista
+        List<AlumnoImportado> alumnos = new ArrayList<>();
+        Set<String> vistos = new HashSet<>();
+        for (Object validada : validadas) {
+            if (validada instanceof String) {
+                resultado.agregarError((String) validada);
+            } else if (validada instanceof AlumnoImportado) {
+                AlumnoImportado alumno = (AlumnoImportado) validada;
+                if (vistos.add(alumno.getUsername().toLowerCase())) {
+                    alumnos.add(alumno);
+                } else {
+                    resultado.agregarError("Línea " + alumno.getLinea() + ": usuario repetido en el archivo (" +
+                                           alumno.getUsername() + ")");
+                }
+            }
+        }
+
+        Repositorios.usuarios().registrarUsuariosEnLote(alumnos, resultado);
+
+        ErrorHandler.logInfo(String.format("Importación de alumnos: %d creados, %d duplicados, %d errores",
+                             resultado.getInsertados(), resultado.getDuplicados().size(),
+                             resultado.getErrores().size()));
+        return resultado;
+    }
+
+    /**
+     * Valida una línea del CSV.
+     *
+     * @param numeroLinea Número de línea (1-based)
+     * @param linea Contenido de la línea
+     * @return AlumnoImportado si es válida, un mensaje de error (String) si no,
+     *         o null si la línea debe ignorarse (vacía o encabezado)
+     */
+    private static Object validarLinea(int numeroLinea, String linea) {
+        String contenido = linea.trim();
+        if (contenido.isEmpty() || (numeroLinea == 1 && contenido.toLowerCase().startsWith("username"))) {
+            return null;
+        }
+
+        String[] campos = contenido.split("[,;]", -1);
+        if (campos.length < 2) {
+            return "Línea " + numeroLinea + ": se esperaban al menos usuario y contraseña";
+        }
+
+        String username = campos[0].trim();
+        String password = campos[1].trim();
+        String nombreCompleto = campos.length > 2 ? campos[2].trim() : "";
+        String correo = campos.length > 3 ? campos[3].trim() : "";
+
+        ValidationUtils.ValidationResult validacion = ValidationUtils.validateUsername(username);
+        if (validacion.isValid()) {
+            validacion = ValidationUtils.validatePassword(password);
+        }
+        if (validacion.isValid() && !correo.isEmpty()) {
+            validacion = ValidationUtils.validateEmail(correo);
+        }
+        if (!validacion.isValid()) {
+            return "Línea " + numeroLinea + " (" + username + "): " + validacion.getErrorMessage();
+        }
+
+        return new AlumnoImportado(numeroLinea, username, password, nombreCompleto, correo);
+    }
+
+    /**
+     * Punto de entrada para importar desde la consola.
+     *
+     * @param args Ruta del archivo CSV
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Uso: ImportadorAlumnos <archivo.csv>");
+            System.exit(1);
+        }
+
+        long inicio = System.nanoTime();
+        ResultadoImportacion resultado = importar(new File(args[0]));
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("Cuentas creadas: %d en %.2f s%n", resultado.getInsertados(), segundos);
+        if (!resultado.getDuplicados().isEmpty()) {
+            System.out.println("Usuarios que ya existían: " + String.join(", ", resultado.getDuplicados()));
+        }
+        for (String error : resultado.getErrores()) {
+            System.out.println(error);
+        }
+    }
+}
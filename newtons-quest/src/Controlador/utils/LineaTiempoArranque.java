@@ -0,0 +1,126 @@
+package Controlador.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+/**
+ * Registro de las fases del arranque de Newton's Apple Quest.
+ *
+ * Mide cuánto tarda la aplicación desde que arranca la JVM hasta que la
+ * pantalla de login es interactiva, anotando el instante de cada fase
+ * (entrada a main, inicialización de JavaFX, lectura de Login.fxml,
+ * configuración del logger, aplicación del CSS y primer fotograma).
+ * Los tiempos se expresan en milisegundos desde el inicio de la JVM.
+ *
+ * Propiedades de sistema:
+ *   - newtonsquest.arranque.informe=true  imprime la línea de tiempo al terminar el arranque
+ *   - newtonsquest.arranque.salir=true    además cierra la aplicación tras el primer
+ *     fotograma (para el benchmark de arranque y el entrenamiento del archivo CDS)
+ *
+ * El informe termina con una línea "ARRANQUE interactivo=<ms>" pensada para
+ * que la lea BenchmarkArranque.
+ */
+public final class LineaTiempoArranque {
+
+    /** Prefijo de la línea de resumen que leen las herramientas */
+    public static final String PREFIJO_RESUMEN = "ARRANQUE interactivo=";
+
+    private static final boolean INFORME = Boolean.getBoolean("newtonsquest.arranque.informe");
+    private static final boolean SALIR = Boolean.getBoolean("newtonsquest.arranque.salir");
+
+    /** Referencia de tiempo: nanoTime al cargar la clase y su distancia al inicio de la JVM */
+    private static final long BASE_NANOS = System.nanoTime();
+    private static final double BASE_DESDE_JVM_MS = calcularBaseDesdeJvm();
+
+    /** Fases anotadas, en orden */
+    private static final List<String> FASES = new ArrayList<>();
+    private static final List<Double> INSTANTES = new ArrayList<>();
+
+    /** Indica si el arranque ya terminó */
+    private static boolean terminado;
+
+    // Prevenir instanciación
+    private LineaTiempoArranque() {}
+
+    private static double calcularBaseDesdeJvm() {
+        try {
+            return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        } catch (RuntimeException | LinkageError e) {
+            // Sin java.management solo se miden las fases relativas a la carga de esta clase
+            return 0;
+        }
+    }
+
+    /**
+     * Anota el instante actual para una fase del arranque. Puede llamarse
+     * desde cualquier hilo; después de terminar el arranque no hace nada.
+     *
+     * @param fase Nombre corto de la fase
+     */
+    public static synchronized void marcar(String fase) {
+        if (terminado) return;
+        FASES.add(fase);
+        INSTANTES.add(BASE_DESDE_JVM_MS + (System.nanoTime() - BASE_NANOS) / 1e6);
+    }
+
+    /**
+     * Anota la fase de CSS y layout al terminar el primer pulso de la escena, y
+     * el primer fotograma cuando JavaFX vuelve a quedar libre; entonces cierra
+     * el registro, imprime el informe si se pidió y sale si se pidió.
+     *
+     * @param escena Escena de la pantalla de login, antes de mostrarla
+     */
+    public static void terminarAlPrimerFotograma(Scene escena) {
+        Runnable[] oyente = new Runnable[1];
+        oyente[0] = () -> {
+            escena.removePostLayoutPulseListener(oyente[0]);
+            marcar("css-layout");
+            Platform.runLater(() -> {
+                marcar("interactivo");
+                terminar();
+            });
+        };
+        escena.addPostLayoutPulseListener(oyente[0]);
+    }
+
+    /**
+     * Cierra el registro e imprime el informe si se pidió.
+     */
+    private static void terminar() {
+        List<String> lineas = new ArrayList<>();
+        synchronized (LineaTiempoArranque.class) {
+            if (terminado) return;
+            terminado = true;
+            double anterior = 0;
+            for (int i = 0; i < FASES.size(); i++) {
+                double instante = INSTANTES.get(i);
+                lineas.add(String.format("  %-14s %8.1f ms  (+%.1f)", FASES.get(i), instante, instante - anterior));
+                anterior = instante;
+            }
+        }
+
+        if (INFORME || SALIR) {
+            System.out.println("Línea de tiempo del arranque (ms desde el inicio de la JVM):");
+            lineas.forEach(System.out::println);
+            System.out.printf(Locale.ROOT, "%s%.1f%n", PREFIJO_RESUMEN, getInstante("interactivo"));
+        }
+        if (SALIR) {
+            // System.exit y no Platform.exit: los hilos de la base de datos no deben
+            // alargar la medición, y el archivo CDS se escribe igualmente al salir
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Obtiene el instante anotado para una fase.
+     * @return Milisegundos desde el inicio de la JVM, o -1 si la fase no se anotó
+     */
+    public static synchronized double getInstante(String fase) {
+        int indice = FASES.indexOf(fase);
+        return indice < 0 ? -1 : INSTANTES.get(indice);
+    }
+}
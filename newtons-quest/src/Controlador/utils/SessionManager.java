@@ -1,6 +1,6 @@
 package Controlador.utils;
 
-import Modelo.dao.UsuarioDAO;
+import Modelo.repositorio.Repositorios;
 
 /**
  * Gestor de sesión de usuario en Newton's Apple Quest.
@@ -46,10 +46,18 @@ public class SessionManager {
      */
     public void login(String username) {
         this.currentUsername = username;
-        this.currentUserId = UsuarioDAO.obtenerIdUsuario(username);
+        this.currentUserId = Repositorios.usuarios().obtenerIdUsuario(username);
         // Sesión iniciada silenciosamente
     }
     
+    /**
+     * Inicia sesión con un usuario ya autenticado, sin volver a consultar su ID
+     */
+    public void login(String username, int userId) {
+        this.currentUsername = username;
+        this.currentUserId = userId;
+    }
+    
     /**
      * Cierra la sesión actual
      */
@@ -1,6 +1,9 @@
 package Main;
 
-import java.io.File;
+import Controlador.utils.LineaTiempoArranque;
+import Modelo.MigradorDB;
+import Modelo.PaqueteRecursos;
+import Modelo.repositorio.Repositorios;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -11,8 +14,8 @@ import javafx.stage.Stage;
  * Clase principal de la aplicación
  * 
  * Esta clase extiende Application de JavaFX y es responsable de inicializar
- * la aplicación cargando la pantalla de inicio de sesión desde el entorno
- * de desarrollo.
+ * la aplicación cargando la pantalla de inicio de sesión desde el paquete de
+ * recursos (o desde src/ en desarrollo), sin depender del directorio de trabajo.
  */
 public class _Main extends Application {
     
@@ -21,14 +24,14 @@ public class _Main extends Application {
     private static final int WINDOW_HEIGHT = 700;
     private static final String WINDOW_TITLE = "Newton's Apple Quest - Inicio de Sesión";
     
-    // === Rutas de recursos (entorno de desarrollo) ===
+    // === Rutas de recursos (relativas a src/, ver PaqueteRecursos) ===
     private static final String LOGIN_FXML_PATH = "src/Vista/Login.fxml";
     private static final String LOGIN_CSS_PATH = "src/Vista/resources/login.css";
     
     /**
      * Método principal que inicializa el escenario primario de JavaFX.
      * 
-     * Carga la vista de login y su CSS desde el directorio de fuentes del proyecto.
+     * Carga la vista de login y su CSS con PaqueteRecursos.localizar.
      * Configura la ventana principal con un tamaño fijo y aplica los estilos CSS.
      * 
      * @param primaryStage El escenario principal de la aplicación
@@ -36,26 +39,35 @@ public class _Main extends Application {
      */
     @Override
     public void start(Stage primaryStage) throws Exception {
-        // === Carga de recursos desde directorio de desarrollo ===
-        File loginFxmlFile = new File(LOGIN_FXML_PATH);
-        File loginCssFile = new File(LOGIN_CSS_PATH);
+        LineaTiempoArranque.marcar("toolkit");
         
-        // Cargar la vista FXML
-        FXMLLoader loader = new FXMLLoader(loginFxmlFile.toURI().toURL());
+        // === Verificación del esquema en segundo plano (solo con MySQL) ===
+        if (Repositorios.usaBaseDeDatos()) {
+            MigradorDB.ejecutarEnSegundoPlano();
+        }
+        
+        // === Carga de recursos desde el paquete o el directorio de desarrollo ===
+        FXMLLoader loader = new FXMLLoader(PaqueteRecursos.localizar(LOGIN_FXML_PATH));
         Parent root = loader.load();
+        LineaTiempoArranque.marcar("fxml-login");
         
         // === Configuración de la escena ===
         Scene scene = new Scene(root, WINDOW_WIDTH, WINDOW_HEIGHT);
         
         // Aplicar estilos CSS
-        String cssPath = loginCssFile.toURI().toURL().toExternalForm();
+        String cssPath = PaqueteRecursos.localizar(LOGIN_CSS_PATH).toExternalForm();
         scene.getStylesheets().add(cssPath);
+        LineaTiempoArranque.marcar("escena");
+        
+        // El CSS se aplica en el primer pulso; ahí y en el primer fotograma termina el arranque
+        LineaTiempoArranque.terminarAlPrimerFotograma(scene);
 
         // === Configuración de la ventana principal ===
         primaryStage.setTitle(WINDOW_TITLE);
         primaryStage.setScene(scene);
         primaryStage.setResizable(false);
         primaryStage.show();
+        LineaTiempoArranque.marcar("ventana");
     }
 
     /**
@@ -65,6 +77,9 @@ public class _Main extends Application {
      * Este método es llamado automáticamente por la JVM al ejecutar la aplicación.
      */
     public static void main(String[] args) {
+        LineaTiempoArranque.marcar("main");
+        // Las hojas de estilo empaquetadas se pasan a JavaFX como URL nqpak en texto
+        PaqueteRecursos.registrarProtocolo();
         launch(args);
     }
 }
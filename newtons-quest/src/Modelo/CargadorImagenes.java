@@ -0,0 +1,332 @@
+package Modelo;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.scene.image.Image;
+
+/**
+ * Caché de imágenes de Newton's Apple Quest, compartida por todas las pantallas.
+ *
+ * Cada imagen se identifica por su ruta y por el tamaño al que se va a mostrar,
+ * y se decodifica directamente a ese tamaño con el constructor de Image que
+ * recibe el tamaño pedido: un fondo de 1536x1024 que se dibuja en un canvas de
+ * 900x700 ocupa en memoria 900x700 píxeles, no el original. Todas las pantallas
+ * y sprites que piden la misma imagen al mismo tamaño reciben la misma instancia
+ * (por ejemplo, todas las manzanas rojas dibujan el mismo Image).
+ *
+ * La memoria de las imágenes decodificadas (ancho x alto x 4 bytes) se limita
+ * con un presupuesto configurable, -Dnewtonsquest.imagenes.presupuestoMB=64:
+ *
+ *   - Las imágenes dentro del presupuesto se guardan con referencias fuertes,
+ *     en orden de uso (LRU)
+ *   - Al superarlo, las menos usadas pasan a referencias suaves: siguen
+ *     disponibles si se vuelven a pedir, pero el recolector puede liberarlas
+ *     cuando ya ninguna pantalla las muestra
+ *
+ * Las rutas son relativas a src/ y se leen del paquete recursos.pak si existe
+ * (ver PaqueteRecursos), de src/ en desarrollo o del classpath, igual que en
+ * BancoPreguntas. La decodificación puede adelantarse en hilos de fondo con
+ * precargar(); si una pantalla pide la imagen mientras se está decodificando,
+ * espera a ese mismo trabajo en lugar de repetirlo.
+ *
+ * @author Johann
+ * @version 1.0
+ */
+public class CargadorImagenes {
+
+    private static final Logger LOGGER = Logger.getLogger(CargadorImagenes.class.getName());
+
+    /** Bytes por píxel de una imagen decodificada (ARGB) */
+    private static final int BYTES_POR_PIXEL = 4;
+
+    /** Presupuesto de memoria para las imágenes con referencia fuerte */
+    private static final long PRESUPUESTO_BYTES =
+            Long.getLong("newtonsquest.imagenes.presupuestoMB", 64) * 1024 * 1024;
+
+    /** Imagen decodificada junto con la memoria que ocupa */
+    private static final class Entrada {
+        final Image imagen;
+        final long bytes;
+
+        Entrada(Image imagen) {
+            this.imagen = imagen;
+            this.bytes = (long) imagen.getWidth() * (long) imagen.getHeight() * BYTES_POR_PIXEL;
+        }
+    }
+
+    /** Imágenes dentro del presupuesto, de la menos a la más recientemente usada */
+    private static final LinkedHashMap<String, Entrada> EN_MEMORIA = new LinkedHashMap<>(32, 0.75f, true);
+
+    /** Imágenes expulsadas del presupuesto, que el recolector puede liberar */
+    private static final Map<String, SoftReference<Image>> FUERA_DE_PRESUPUESTO = new HashMap<>();
+
+    /** Decodificaciones en curso, por clave */
+    private static final Map<String, CompletableFuture<Image>> EN_CURSO = new ConcurrentHashMap<>();
+
+    /** Rutas que no existen o no se pudieron decodificar, para no reintentarlas */
+    private static final Set<String> NO_DISPONIBLES = ConcurrentHashMap.newKeySet();
+
+    /** Memoria ocupada por las imágenes con referencia fuerte */
+    private static long bytesEnMemoria;
+
+    // Estadísticas
+    private static final LongAdder aciertos = new LongAdder();
+    private static final LongAdder aciertosSuaves = new LongAdder();
+    private static final LongAdder decodificaciones = new LongAdder();
+    private static final LongAdder expulsiones = new LongAdder();
+
+    // Prevenir instanciación
+    private CargadorImagenes() {}
+
+    // ===================================
+    // CONSULTA
+    // ===================================
+
+    /**
+     * Obtiene una imagen a su tamaño original.
+     * @param ruta Ruta relativa, por ejemplo recursos/sprites/manzanas/Apple_Red.png
+     * @return Imagen compartida, o null si el recurso no existe o no se pudo decodificar
+     */
+    public static Image obtener(String ruta) {
+        return obtener(ruta, 0, 0);
+    }
+
+    /**
+     * Obtiene una imagen decodificada al tamaño en que se va a mostrar,
+     * decodificándola en el hilo actual si no está en la caché.
+     *
+     * Con ancho y alto positivos la imagen se escala exactamente a ese tamaño;
+     * si uno de los dos es 0, se escala por el otro conservando la proporción;
+     * si ambos son 0 se usa el tamaño original.
+     *
+     * @param ruta Ruta relativa, por ejemplo recursos/imagenes/fondo_juego.jpg
+     * @param ancho Ancho de destino en píxeles, o 0
+     * @param alto Alto de destino en píxeles, o 0
+     * @return Imagen compartida, o null si el recurso no existe o no se pudo decodificar
+     */
+    public static Image obtener(String ruta, int ancho, int alto) {
+        String clave = clave(ruta, ancho, alto);
+        Image imagen = buscar(clave);
+        if (imagen != null || NO_DISPONIBLES.contains(ruta)) {
+            return imagen;
+        }
+
+        CompletableFuture<Image> nueva = new CompletableFuture<>();
+        CompletableFuture<Image> enCurso = EN_CURSO.putIfAbsent(clave, nueva);
+        if (enCurso != null) {
+            return enCurso.join();
+        }
+        completar(clave, ruta, ancho, alto, nueva);
+        return nueva.join();
+    }
+
+    /**
+     * Programa la decodificación de una imagen a su tamaño original en un ejecutor de fondo.
+     * @see #precargar(String, int, int, Executor)
+     */
+    public static CompletableFuture<Image> precargar(String ruta, Executor ejecutor) {
+        return precargar(ruta, 0, 0, ejecutor);
+    }
+
+    /**
+     * Programa la decodificación de una imagen en un ejecutor de fondo.
+     * Si la imagen ya está en la caché o en camino, devuelve ese resultado.
+     *
+     * @param ruta Ruta relativa de la imagen
+     * @param ancho Ancho de destino en píxeles, o 0 (ver obtener)
+     * @param alto Alto de destino en píxeles, o 0 (ver obtener)
+     * @param ejecutor Hilos donde decodificar
+     * @return Trabajo que se completa con la imagen (o null si no existe)
+     */
+    public static CompletableFuture<Image> precargar(String ruta, int ancho, int alto, Executor ejecutor) {
+        String clave = clave(ruta, ancho, alto);
+        Image imagen = buscar(clave);
+        if (imagen != null || NO_DISPONIBLES.contains(ruta)) {
+            return CompletableFuture.completedFuture(imagen);
+        }
+
+        CompletableFuture<Image> nueva = new CompletableFuture<>();
+        CompletableFuture<Image> enCurso = EN_CURSO.putIfAbsent(clave, nueva);
+        if (enCurso != null) {
+            return enCurso;
+        }
+        ejecutor.execute(() -> completar(clave, ruta, ancho, alto, nueva));
+        return nueva;
+    }
+
+    // ===================================
+    // ESTADÍSTICAS
+    // ===================================
+
+    /** Consultas resueltas sin decodificar (incluye las recuperadas de referencias suaves) */
+    public static long getAciertos() {
+        return aciertos.sum();
+    }
+
+    /** Consultas resueltas con una imagen que ya había salido del presupuesto */
+    public static long getAciertosSuaves() {
+        return aciertosSuaves.sum();
+    }
+
+    /** Imágenes decodificadas desde el paquete, disco o classpath */
+    public static long getDecodificaciones() {
+        return decodificaciones.sum();
+    }
+
+    /** Imágenes pasadas a referencias suaves por superar el presupuesto */
+    public static long getExpulsiones() {
+        return expulsiones.sum();
+    }
+
+    /** Memoria ocupada por las imágenes dentro del presupuesto */
+    public static synchronized long getBytesEnMemoria() {
+        return bytesEnMemoria;
+    }
+
+    /** Número de imágenes dentro del presupuesto */
+    public static synchronized int getImagenesEnMemoria() {
+        return EN_MEMORIA.size();
+    }
+
+    public static long getPresupuestoBytes() {
+        return PRESUPUESTO_BYTES;
+    }
+
+    /**
+     * Resumen de las estadísticas para el log.
+     * @return Texto con uso de memoria, aciertos, decodificaciones y expulsiones
+     */
+    public static String resumenEstadisticas() {
+        return String.format("%d imágenes, %.1f/%d MB, %d aciertos (%d suaves), %d decodificadas, %d expulsadas",
+                             getImagenesEnMemoria(), getBytesEnMemoria() / (1024.0 * 1024.0),
+                             PRESUPUESTO_BYTES / (1024 * 1024), getAciertos(), getAciertosSuaves(),
+                             getDecodificaciones(), getExpulsiones());
+    }
+
+    // ===================================
+    // CACHÉ
+    // ===================================
+
+    /**
+     * Busca una imagen en la caché. Si estaba en una referencia suave que
+     * aún no se liberó, vuelve a entrar al presupuesto como la más reciente.
+     */
+    private static synchronized Image buscar(String clave) {
+        Entrada entrada = EN_MEMORIA.get(clave);
+        if (entrada != null) {
+            aciertos.increment();
+            return entrada.imagen;
+        }
+
+        SoftReference<Image> referencia = FUERA_DE_PRESUPUESTO.remove(clave);
+        Image imagen = referencia != null ? referencia.get() : null;
+        if (imagen != null) {
+            aciertos.increment();
+            aciertosSuaves.increment();
+            guardar(clave, imagen);
+        }
+        return imagen;
+    }
+
+    /**
+     * Guarda una imagen como la más reciente y expulsa las menos usadas
+     * hasta volver al presupuesto (siempre conserva al menos la recién guardada).
+     */
+    private static synchronized void guardar(String clave, Image imagen) {
+        Entrada anterior = EN_MEMORIA.put(clave, new Entrada(imagen));
+        if (anterior != null) {
+            bytesEnMemoria -= anterior.bytes;
+        }
+        bytesEnMemoria += EN_MEMORIA.get(clave).bytes;
+
+        if (bytesEnMemoria <= PRESUPUESTO_BYTES) {
+            return;
+        }
+        FUERA_DE_PRESUPUESTO.values().removeIf(referencia -> referencia.get() == null);
+        Iterator<Map.Entry<String, Entrada>> menosUsadas = EN_MEMORIA.entrySet().iterator();
+        while (bytesEnMemoria > PRESUPUESTO_BYTES && EN_MEMORIA.size() > 1) {
+            Map.Entry<String, Entrada> expulsada = menosUsadas.next();
+            menosUsadas.remove();
+            bytesEnMemoria -= expulsada.getValue().bytes;
+            FUERA_DE_PRESUPUESTO.put(expulsada.getKey(), new SoftReference<>(expulsada.getValue().imagen));
+            expulsiones.increment();
+        }
+    }
+
+    /**
+     * Decodifica una imagen reservada en EN_CURSO, la guarda en la caché y
+     * completa su trabajo. La caché se actualiza antes de liberar la reserva,
+     * para que otro hilo que no encuentre la reserva sí encuentre la imagen.
+     */
+    private static void completar(String clave, String ruta, int ancho, int alto, CompletableFuture<Image> trabajo) {
+        Image imagen = null;
+        try {
+            imagen = buscar(clave);
+            if (imagen == null && !NO_DISPONIBLES.contains(ruta)) {
+                imagen = decodificar(ruta, ancho, alto);
+                if (imagen != null) {
+                    guardar(clave, imagen);
+                } else {
+                    NO_DISPONIBLES.add(ruta);
+                }
+            }
+        } finally {
+            trabajo.complete(imagen);
+            EN_CURSO.remove(clave, trabajo);
+        }
+    }
+
+    /**
+     * Decodifica una imagen al tamaño pedido: primero desde el paquete de
+     * recursos (distribución), luego desde src/ (desarrollo) y por último
+     * desde el classpath.
+     */
+    private static Image decodificar(String ruta, int ancho, int alto) {
+        try (InputStream entrada = abrir(ruta)) {
+            if (entrada == null) {
+                LOGGER.warning("No se encontró la imagen: " + ruta);
+                return null;
+            }
+            boolean conservarProporcion = ancho == 0 || alto == 0;
+            Image imagen = new Image(entrada, ancho, alto, conservarProporcion, true);
+            decodificaciones.increment();
+            return imagen.isError() ? null : imagen;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se pudo decodificar la imagen: " + ruta, e);
+            return null;
+        }
+    }
+
+    /**
+     * Abre el contenido de una imagen desde la primera fuente que la tenga.
+     * @return Flujo de lectura, o null si la imagen no existe
+     */
+    private static InputStream abrir(String ruta) throws IOException {
+        InputStream empaquetada = PaqueteRecursos.abrir(ruta);
+        if (empaquetada != null) {
+            return empaquetada;
+        }
+        File archivo = new File("src/" + ruta);
+        return archivo.exists() ? new FileInputStream(archivo)
+                                : CargadorImagenes.class.getResourceAsStream("/" + ruta);
+    }
+
+    /** Clave de la caché: ruta y tamaño de destino */
+    private static String clave(String ruta, int ancho, int alto) {
+        return ruta + '@' + ancho + 'x' + alto;
+    }
+}
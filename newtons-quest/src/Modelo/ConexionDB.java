@@ -3,6 +3,13 @@ package Modelo;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 /**
  * Clase utilitaria para gestionar conexiones a la base de datos MySQL.
@@ -10,46 +17,356 @@ import java.sql.SQLException;
  * Proporciona métodos para establecer conexiones y cerrar recursos de forma segura,
  * evitando memory leaks.
  * 
+ * Incluye un circuit breaker: tras varios fallos consecutivos de conexión el
+ * circuito se abre y getConnection() devuelve null de inmediato, sin esperar
+ * el timeout del driver. Un hilo en segundo plano sondea la base de datos y
+ * cierra el circuito cuando vuelve a estar disponible.
+ * 
+ * Enrutamiento de lecturas y escrituras: si se configura una réplica con la
+ * propiedad de sistema newtonsquest.db.replica (URL JDBC), los DAO piden
+ * getConnectionLectura() para consultas que toleran un pequeño retraso
+ * (rankings, perfil, historial de quiz) y getConnectionEscritura() para
+ * escrituras, que siempre van al primario. Tras una escritura, las lecturas de
+ * esta sesión siguen yendo al primario durante una ventana de tiempo, para que
+ * el usuario vea sus propios cambios aunque la réplica vaya retrasada. Si la
+ * réplica no responde, las lecturas vuelven al primario temporalmente.
+ * 
+ * Para probarlo con dos instancias locales:
+ * -Dnewtonsquest.db.url=jdbc:mysql://localhost:3306/newtons_quest?... y
+ * -Dnewtonsquest.db.replica=jdbc:mysql://localhost:3307/newtons_quest?...
+ * 
  * @author Johann
  * @version 1.0
  */
 public class ConexionDB {
     
     // Constantes de configuración de base de datos
-    /** URL de conexión a la base de datos MySQL */
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/newtons_quest?useTimeZone=true&"
-                                       + "serverTimezone=America/Lima&autoReconnect=true";
+    /** URL de conexión a la base de datos MySQL (primario) */
+    private static final String DB_URL = System.getProperty("newtonsquest.db.url",
+                                         "jdbc:mysql://localhost:3306/newtons_quest?useTimeZone=true&"
+                                       + "serverTimezone=America/Lima&autoReconnect=true&connectTimeout=5000&"
+                                       + "rewriteBatchedStatements=true");
+    
+    /** URL de la réplica de lectura, o cadena vacía si todas las consultas van al primario */
+    private static final String DB_URL_REPLICA = System.getProperty("newtonsquest.db.replica", "").trim();
     
     /** Usuario de la base de datos */
-    private static final String DB_USER = "root";
+    private static final String DB_USER = System.getProperty("newtonsquest.db.user", "root");
     
     /** Contraseña de la base de datos */
-    private static final String DB_PASSWORD = "Johan12315912";
+    private static final String DB_PASSWORD = System.getProperty("newtonsquest.db.password", "Johan12315912");
     
     /** Driver JDBC para MySQL */
     private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
     
+    // Configuración del circuit breaker
+    /** Fallos consecutivos necesarios para abrir el circuito */
+    private static final int UMBRAL_FALLOS = 3;
+    
+    /** Intervalo entre sondeos de salud mientras el circuito está abierto */
+    private static final long INTERVALO_SONDEO_MS = 5000;
+    
+    /** Segundos que se espera a que una conexión sondeada responda */
+    private static final int TIMEOUT_VALIDACION_SEG = 2;
+    
+    // Configuración del enrutamiento de lecturas
+    /** Milisegundos tras una escritura en que las lecturas de la sesión siguen en el primario */
+    private static final long VENTANA_LECTURA_PROPIA_MS = Long.getLong("newtonsquest.db.lecturaPropiaMs", 5000);
+    
+    /** Milisegundos que se deja de usar la réplica tras un fallo de conexión */
+    private static final long PAUSA_REPLICA_MS = 30000;
+    
+    /**
+     * Timeout de conexión a la réplica si su URL no fija uno. Es menor que el del
+     * primario porque un fallo no deja al usuario sin datos: se lee del primario.
+     */
+    private static final String TIMEOUT_CONEXION_REPLICA_MS = "2000";
+    
     /**
-     * Establece una conexión a la base de datos MySQL.
+     * Estados posibles del circuito de conexión.
+     */
+    public enum EstadoCircuito {
+        /** La base de datos responde; las conexiones se intentan con normalidad */
+        CERRADO,
+        /** La base de datos no responde; las conexiones fallan de inmediato */
+        ABIERTO
+    }
+    
+    private static volatile EstadoCircuito estado = EstadoCircuito.CERRADO;
+    private static int fallosConsecutivos = 0;
+    private static ScheduledExecutorService sondeador;
+    private static ScheduledFuture<?> tareaSondeo;
+    
+    /** Callback ejecutado (en un hilo de fondo) cuando cambia el estado del circuito */
+    private static volatile Consumer<EstadoCircuito> onEstadoCambiado;
+    
+    /** Momento (System.nanoTime) de la última escritura de esta sesión */
+    private static volatile long ultimaEscritura;
+    
+    /** Indica si ya hubo alguna escritura en esta sesión */
+    private static volatile boolean huboEscritura = false;
+    
+    /** Momento (System.nanoTime) hasta el que no se usa la réplica tras un fallo */
+    private static volatile long replicaPausadaHasta = System.nanoTime();
+    
+    /** Lecturas servidas por la réplica */
+    private static final LongAdder lecturasReplica = new LongAdder();
+    
+    /** Lecturas servidas por el primario (sin réplica, por escritura reciente o por fallo) */
+    private static final LongAdder lecturasPrimario = new LongAdder();
+    
+    /**
+     * Establece una conexión con el primario.
+     * Si el circuito está abierto retorna null sin intentar conectar.
+     * 
+     * No marca la sesión como escritora: es para migraciones, herramientas y
+     * consultas que deben ver siempre el estado más reciente (autenticación,
+     * lecturas previas a una escritura). Las escrituras usan getConnectionEscritura().
+     * 
      * @return Connection a la base de datos, o null si hay error
      */
     public static Connection getConnection() {
+        if (estado == EstadoCircuito.ABIERTO) {
+            return null;
+        }
+        
         Connection cnx = null;
 
         try {
-            Class.forName(DB_DRIVER);
-            cnx = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+            cnx = abrirConexion();
+            registrarExito();
             
         } catch (ClassNotFoundException e) {
             // Driver MySQL no encontrado
             
         } catch (SQLException e) {
             // Error de conexión a la base de datos
+            registrarFallo();
         }
         
         return cnx;
     }
     
+    /**
+     * Obtiene una conexión para escribir. Siempre es el primario, y las lecturas
+     * de esta sesión seguirán yendo al primario durante la ventana de lectura propia.
+     * @return Connection al primario, o null si hay error
+     */
+    public static Connection getConnectionEscritura() {
+        // Marcar antes de escribir: las lecturas hechas dentro de la escritura también van al primario
+        ultimaEscritura = System.nanoTime();
+        huboEscritura = true;
+        return getConnection();
+    }
+    
+    /**
+     * Obtiene una conexión para consultas que toleran un pequeño retraso de replicación.
+     * 
+     * Usa la réplica salvo que no esté configurada, esté en pausa por un fallo
+     * reciente o esta sesión haya escrito hace menos de la ventana de lectura propia;
+     * en esos casos retorna una conexión al primario.
+     * 
+     * @return Connection a la réplica o al primario, o null si hay error
+     */
+    public static Connection getConnectionLectura() {
+        long ahora = System.nanoTime();
+        boolean escrituraReciente = huboEscritura
+                && ahora - ultimaEscritura < TimeUnit.MILLISECONDS.toNanos(VENTANA_LECTURA_PROPIA_MS);
+        
+        if (!DB_URL_REPLICA.isEmpty() && !escrituraReciente && ahora - replicaPausadaHasta >= 0) {
+            try {
+                Connection cnx = abrirConexionReplica();
+                lecturasReplica.increment();
+                return cnx;
+            } catch (ClassNotFoundException e) {
+                // Driver MySQL no encontrado
+                return null;
+            } catch (SQLException e) {
+                // Réplica no disponible: leer del primario hasta que termine la pausa
+                replicaPausadaHasta = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PAUSA_REPLICA_MS);
+            }
+        }
+        
+        lecturasPrimario.increment();
+        return getConnection();
+    }
+    
+    /**
+     * Indica si hay una réplica de lectura configurada.
+     * @return true si las lecturas pueden ir a la réplica
+     */
+    public static boolean isReplicaConfigurada() {
+        return !DB_URL_REPLICA.isEmpty();
+    }
+    
+    // Getters de estadísticas de enrutamiento
+    public static long getLecturasReplica() {
+        return lecturasReplica.sum();
+    }
+    
+    public static long getLecturasPrimario() {
+        return lecturasPrimario.sum();
+    }
+    
+    /**
+     * Comprueba la conexión una sola vez y, si falla, abre el circuito de inmediato
+     * para que el sondeo en segundo plano detecte cuándo vuelve la base de datos.
+     * Pensado para la verificación inicial de las pantallas.
+     * @return true si la base de datos respondió
+     */
+    public static boolean verificarDisponibilidad() {
+        if (estado == EstadoCircuito.ABIERTO) {
+            return false;
+        }
+        
+        try {
+            abrirConexion().close();
+            registrarExito();
+            return true;
+        } catch (ClassNotFoundException e) {
+            // Driver MySQL no encontrado
+            return false;
+        } catch (SQLException e) {
+            abrirCircuito();
+            return false;
+        }
+    }
+    
+    /**
+     * Indica si la base de datos se considera disponible.
+     * @return true si el circuito está cerrado
+     */
+    public static boolean isDisponible() {
+        return estado == EstadoCircuito.CERRADO;
+    }
+    
+    /**
+     * Obtiene el estado actual del circuito de conexión.
+     * @return Estado del circuito
+     */
+    public static EstadoCircuito getEstadoCircuito() {
+        return estado;
+    }
+    
+    /**
+     * Establece el callback para cuando cambia el estado del circuito.
+     * Se invoca desde un hilo de fondo; las pantallas deben usar
+     * Platform.runLater para actualizar la interfaz.
+     * @param callback Acción a ejecutar con el nuevo estado (null para quitarlo)
+     */
+    public static void setOnEstadoCambiado(Consumer<EstadoCircuito> callback) {
+        onEstadoCambiado = callback;
+    }
+    
+    /**
+     * Abre una conexión física con el driver, sin pasar por el circuito.
+     */
+    private static Connection abrirConexion() throws ClassNotFoundException, SQLException {
+        Class.forName(DB_DRIVER);
+        return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+    }
+    
+    /**
+     * Abre una conexión física con la réplica. La réplica tiene su propio corte
+     * (replicaPausadaHasta) en lugar del circuito del primario, y su intento de
+     * conexión está acotado por connectTimeout para que una réplica caída no
+     * retrase la lectura más que ese tiempo antes de volver al primario.
+     */
+    private static Connection abrirConexionReplica() throws ClassNotFoundException, SQLException {
+        Class.forName(DB_DRIVER);
+        Properties propiedades = new Properties();
+        propiedades.setProperty("user", DB_USER);
+        propiedades.setProperty("password", DB_PASSWORD);
+        if (!DB_URL_REPLICA.contains("connectTimeout=")) {
+            propiedades.setProperty("connectTimeout", TIMEOUT_CONEXION_REPLICA_MS);
+        }
+        return DriverManager.getConnection(DB_URL_REPLICA, propiedades);
+    }
+    
+    /**
+     * Reinicia el contador de fallos tras una conexión exitosa.
+     */
+    private static synchronized void registrarExito() {
+        fallosConsecutivos = 0;
+    }
+    
+    /**
+     * Cuenta un fallo de conexión y abre el circuito al alcanzar el umbral.
+     */
+    private static synchronized void registrarFallo() {
+        fallosConsecutivos++;
+        if (fallosConsecutivos >= UMBRAL_FALLOS) {
+            abrirCircuito();
+        }
+    }
+    
+    /**
+     * Abre el circuito y arranca el sondeo de salud.
+     */
+    private static synchronized void abrirCircuito() {
+        if (estado == EstadoCircuito.CERRADO) {
+            cambiarEstado(EstadoCircuito.ABIERTO);
+            iniciarSondeo();
+        }
+    }
+    
+    /**
+     * Programa el sondeo periódico de salud en un hilo daemon.
+     */
+    private static synchronized void iniciarSondeo() {
+        if (sondeador == null) {
+            sondeador = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread hilo = new Thread(r, "ConexionDB-sondeo");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+        if (tareaSondeo == null || tareaSondeo.isDone()) {
+            tareaSondeo = sondeador.scheduleWithFixedDelay(ConexionDB::sondearSalud,
+                    INTERVALO_SONDEO_MS, INTERVALO_SONDEO_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Intenta una conexión de prueba y cierra el circuito si la base de datos responde.
+     */
+    private static void sondearSalud() {
+        try (Connection cnx = abrirConexion()) {
+            if (cnx.isValid(TIMEOUT_VALIDACION_SEG)) {
+                cerrarCircuito();
+            }
+        } catch (ClassNotFoundException | SQLException e) {
+            // La base de datos sigue sin responder, se reintentará en el próximo sondeo
+        }
+    }
+    
+    /**
+     * Cierra el circuito y detiene el sondeo.
+     */
+    private static synchronized void cerrarCircuito() {
+        fallosConsecutivos = 0;
+        if (tareaSondeo != null) {
+            tareaSondeo.cancel(false);
+            tareaSondeo = null;
+        }
+        cambiarEstado(EstadoCircuito.CERRADO);
+    }
+    
+    /**
+     * Actualiza el estado y notifica al callback registrado.
+     */
+    private static void cambiarEstado(EstadoCircuito nuevoEstado) {
+        estado = nuevoEstado;
+        Consumer<EstadoCircuito> callback = onEstadoCambiado;
+        if (callback != null) {
+            try {
+                callback.accept(nuevoEstado);
+            } catch (RuntimeException e) {
+                // Error silencioso en el callback de estado
+            }
+        }
+    }
+    
     /**
      * Cierra recursos de base de datos de forma segura en el orden correcto.
      * Maneja excepciones individualmente para asegurar que todos los recursos se cierren.
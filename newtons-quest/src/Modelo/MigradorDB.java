@@ -0,0 +1,417 @@
+package Modelo;
+
+import Modelo.dao.PartidaDAO;
+import Modelo.dao.QuizDAO;
+import Modelo.dao.RankingDAO;
+import Modelo.dao.UsuarioDAO;
+import Modelo.dto.PeriodoRanking;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ejecutor de migraciones y verificador del esquema de newtons_quest.
+ *
+ * Al iniciar la aplicación aplica, en un hilo de fondo, las migraciones
+ * versionadas que falten (registradas en la tabla schema_version), comprueba
+ * que existan los índices de los que dependen las consultas frecuentes y
+ * ejecuta EXPLAIN sobre esas consultas para avisar si alguna recorre una
+ * tabla completa.
+ *
+ * Todas las migraciones son idempotentes: crean tablas con IF NOT EXISTS y
+ * solo crean un índice si no hay otro que ya empiece por las mismas columnas.
+ *
+ * @author Johann
+ * @version 1.0
+ */
+public class MigradorDB {
+
+    private static final Logger LOGGER = Logger.getLogger(MigradorDB.class.getName());
+
+    /** Filas estimadas a partir de las cuales un recorrido completo se reporta como advertencia */
+    private static final int FILAS_MINIMAS_AVISO = 1000;
+
+    /**
+     * Paso de una migración, ejecutado con la conexión del migrador.
+     */
+    private interface Paso {
+        void aplicar(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Migración versionada del esquema.
+     */
+    private static final class Migracion {
+        final int version;
+        final String descripcion;
+        final Paso paso;
+
+        Migracion(int version, String descripcion, Paso paso) {
+            this.version = version;
+            this.descripcion = descripcion;
+            this.paso = paso;
+        }
+    }
+
+    /** Migraciones en orden de versión; nunca modificar una ya publicada, solo añadir nuevas */
+    private static final List<Migracion> MIGRACIONES = Arrays.asList(
+        new Migracion(1, "Tablas base", MigradorDB::crearTablasBase),
+        new Migracion(2, "Índices de consultas frecuentes", MigradorDB::crearIndicesFrecuentes),
+        new Migracion(3, "Resumen de quiz por usuario", MigradorDB::crearResumenQuiz),
+        new Migracion(4, "Versión del ranking", MigradorDB::crearVersionRanking),
+        new Migracion(5, "Índice de orden completo del ranking", MigradorDB::crearIndiceOrdenRanking),
+        new Migracion(6, "Rankings diario y semanal", MigradorDB::crearRankingsPeriodo),
+        new Migracion(7, "Historial de partidas", MigradorDB::crearHistorialPartidas)
+    );
+
+    /**
+     * Consultas frecuentes verificadas con EXPLAIN y un valor de ejemplo para cada
+     * parámetro. Son las mismas constantes SQL que ejecutan los DAO, no copias, para
+     * que la verificación cubra siempre lo que realmente se ejecuta.
+     */
+    private static final Map<String, Object[]> CONSULTAS_FRECUENTES = new LinkedHashMap<>();
+
+    static {
+        Timestamp fecha = new Timestamp(System.currentTimeMillis());
+        CONSULTAS_FRECUENTES.put(UsuarioDAO.SQL_AUTENTICAR, new Object[]{"usuario"});
+        CONSULTAS_FRECUENTES.put(RankingDAO.SQL_PUNTAJE_USUARIO, new Object[]{1});
+        CONSULTAS_FRECUENTES.put(RankingDAO.SQL_TOP, new Object[]{20});
+        CONSULTAS_FRECUENTES.put(RankingDAO.SQL_POSICION, new Object[]{0});
+        CONSULTAS_FRECUENTES.put(RankingDAO.SQL_FILA_USUARIO, new Object[]{1});
+        CONSULTAS_FRECUENTES.put(RankingDAO.SQL_POSICION_UNICA, new Object[]{1000, 1000, fecha, fecha, 1});
+        CONSULTAS_FRECUENTES.put(RankingDAO.SQL_VECINOS_ENCIMA,
+                                 new Object[]{1000, fecha, 1, 5, 1000, fecha, 5, 1000, 5, 5});
+        CONSULTAS_FRECUENTES.put(RankingDAO.SQL_VECINOS_DEBAJO,
+                                 new Object[]{1000, fecha, 1, 5, 1000, fecha, 5, 1000, 5, 5});
+        CONSULTAS_FRECUENTES.put(RankingDAO.SQL_PAGINA_DESPLAZAMIENTO, new Object[]{50, 0});
+        CONSULTAS_FRECUENTES.put(RankingDAO.sqlTopPeriodo(PeriodoRanking.DIARIO), new Object[]{"D", 20});
+        CONSULTAS_FRECUENTES.put(QuizDAO.sqlPaginaResultados(false), new Object[]{1, 20});
+        CONSULTAS_FRECUENTES.put(QuizDAO.sqlPaginaResultados(true), new Object[]{1, fecha, fecha, 1, 20});
+        CONSULTAS_FRECUENTES.put(QuizDAO.SQL_USUARIO_APROBADO, new Object[]{1});
+    }
+
+    /**
+     * Constructor privado para prevenir la instanciación de esta clase de utilidades.
+     */
+    private MigradorDB() {
+    }
+
+    /**
+     * Lanza la migración y verificación del esquema en un hilo daemon,
+     * sin bloquear el arranque de la interfaz.
+     */
+    public static void ejecutarEnSegundoPlano() {
+        Thread hilo = new Thread(MigradorDB::ejecutar, "MigradorDB");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Aplica las migraciones pendientes, verifica los índices y revisa los planes de ejecución.
+     * @return true si el esquema quedó en la última versión
+     */
+    public static boolean ejecutar() {
+        try (Connection conn = ConexionDB.getConnection()) {
+            if (conn == null) {
+                LOGGER.warning("Migraciones omitidas: base de datos no disponible");
+                return false;
+            }
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                             "version INT NOT NULL PRIMARY KEY, " +
+                             "descripcion VARCHAR(200) NOT NULL, " +
+                             "aplicada_en DATETIME NOT NULL)");
+            }
+
+            int versionActual = obtenerVersionActual(conn);
+            for (Migracion migracion : MIGRACIONES) {
+                if (migracion.version > versionActual) {
+                    migracion.paso.aplicar(conn);
+                    registrarVersion(conn, migracion);
+                    LOGGER.info("Migración " + migracion.version + " aplicada: " + migracion.descripcion);
+                }
+            }
+
+            verificarIndices(conn);
+            verificarPlanes(conn);
+            limpiarRankingsPeriodo();
+            return true;
+
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error al migrar el esquema: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    // ===============================================
+    // === MIGRACIONES ===
+    // ===============================================
+
+    private static void crearTablasBase(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS usuarios (" +
+                         "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                         "username VARCHAR(50) NOT NULL, " +
+                         "password VARCHAR(64) NOT NULL, " +
+                         "nombre_completo VARCHAR(100), " +
+                         "correo VARCHAR(100), " +
+                         "fecha_registro DATETIME, " +
+                         "activo TINYINT(1) NOT NULL DEFAULT 1, " +
+                         "mejor_puntaje INT NOT NULL DEFAULT 0, " +
+                         "formulas_completadas INT NOT NULL DEFAULT 0, " +
+                         "ultima_partida DATETIME NULL)");
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS ranking (" +
+                         "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                         "usuario_id INT NOT NULL, " +
+                         "mejor_puntaje INT NOT NULL DEFAULT 0, " +
+                         "partidas_completadas INT NOT NULL DEFAULT 0, " +
+                         "fecha_mejor_puntaje DATETIME, " +
+                         "FOREIGN KEY (usuario_id) REFERENCES usuarios(id))");
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS quiz_results (" +
+                         "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                         "user_id INT NOT NULL, " +
+                         "total_questions INT NOT NULL, " +
+                         "correct_answers INT NOT NULL, " +
+                         "incorrect_answers INT NOT NULL, " +
+                         "percentage DOUBLE NOT NULL, " +
+                         "time_spent BIGINT NOT NULL, " +
+                         "passed BOOLEAN NOT NULL, " +
+                         "created_at DATETIME NOT NULL, " +
+                         "FOREIGN KEY (user_id) REFERENCES usuarios(id))");
+        }
+
+        if (!existeVista(conn, "ranking_completo")) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE VIEW ranking_completo AS " +
+                             "SELECT r.usuario_id, u.username, r.mejor_puntaje, r.fecha_mejor_puntaje " +
+                             "FROM ranking r INNER JOIN usuarios u ON r.usuario_id = u.id");
+            }
+        }
+    }
+
+    private static void crearIndicesFrecuentes(Connection conn) throws SQLException {
+        asegurarIndice(conn, "usuarios", "uk_usuarios_username", true, "username");
+        asegurarIndice(conn, "ranking", "uk_ranking_usuario", true, "usuario_id");
+        asegurarIndice(conn, "ranking", "idx_ranking_puntaje", false, "mejor_puntaje");
+        asegurarIndice(conn, "quiz_results", "idx_quiz_usuario_fecha", false, "user_id", "created_at");
+    }
+
+    private static void crearResumenQuiz(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(QuizDAO.DDL_RESUMEN);
+        }
+        // Llenar el resumen con el historial existente
+        if (QuizDAO.reconstruirResumenQuiz() < 0) {
+            throw new SQLException("No se pudo reconstruir quiz_summary");
+        }
+    }
+
+    private static void crearVersionRanking(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(RankingDAO.DDL_VERSION);
+            stmt.execute(RankingDAO.SQL_INICIALIZAR_VERSION);
+        }
+    }
+
+    /**
+     * Índice en el orden completo del ranking (puntaje descendente, fecha, usuario) para
+     * las consultas de vecinos. Se crea directamente porque asegurarIndice no distingue
+     * columnas descendentes; en MySQL anteriores a 8.0 el DESC se ignora.
+     */
+    private static void crearIndiceOrdenRanking(Connection conn) throws SQLException {
+        if (existeIndice(conn, "ranking", false, "mejor_puntaje", "fecha_mejor_puntaje", "usuario_id")) {
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX idx_ranking_orden ON ranking " +
+                         "(mejor_puntaje DESC, fecha_mejor_puntaje ASC, usuario_id ASC)");
+            LOGGER.info("Índice creado: idx_ranking_orden");
+        }
+    }
+
+    private static void crearRankingsPeriodo(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(RankingDAO.DDL_PERIODOS);
+        }
+    }
+
+    private static void crearHistorialPartidas(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(PartidaDAO.DDL_PARTIDAS);
+            stmt.execute(PartidaDAO.DDL_EVENTOS);
+        }
+    }
+
+    // ===============================================
+    // === VERIFICACIONES ===
+    // ===============================================
+
+    /**
+     * Comprueba en cada arranque que los índices de las consultas frecuentes sigan existiendo.
+     * Las claves únicas se exigen únicas: el registro de usuarios y el guardado del
+     * ranking dependen del error de clave duplicada que producen.
+     */
+    private static void verificarIndices(Connection conn) throws SQLException {
+        String[][] unicos = {
+            {"usuarios", "username"},
+            {"ranking", "usuario_id"}
+        };
+        String[][] requeridos = {
+            {"ranking", "mejor_puntaje"},
+            {"ranking", "mejor_puntaje", "fecha_mejor_puntaje", "usuario_id"},
+            {"quiz_results", "user_id", "created_at"}
+        };
+
+        for (String[] unico : unicos) {
+            verificarIndice(conn, true, unico);
+        }
+        for (String[] requerido : requeridos) {
+            verificarIndice(conn, false, requerido);
+        }
+    }
+
+    /**
+     * Avisa si falta un índice.
+     * @param tablaYColumnas Tabla seguida de las columnas del índice, en orden
+     */
+    private static void verificarIndice(Connection conn, boolean unico, String[] tablaYColumnas) throws SQLException {
+        String tabla = tablaYColumnas[0];
+        String[] columnas = Arrays.copyOfRange(tablaYColumnas, 1, tablaYColumnas.length);
+        if (!existeIndice(conn, tabla, unico, columnas)) {
+            LOGGER.warning("Falta un índice " + (unico ? "único " : "") + "en " + tabla +
+                           " (" + String.join(", ", columnas) + ")");
+        }
+    }
+
+    /**
+     * Ejecuta EXPLAIN sobre cada consulta frecuente y avisa de los recorridos completos.
+     */
+    private static void verificarPlanes(Connection conn) {
+        for (Map.Entry<String, Object[]> consulta : CONSULTAS_FRECUENTES.entrySet()) {
+            try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + consulta.getKey())) {
+                Object[] parametros = consulta.getValue();
+                for (int i = 0; i < parametros.length; i++) {
+                    stmt.setObject(i + 1, parametros[i]);
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        String tipo = rs.getString("type");
+                        long filas = rs.getLong("rows");
+                        if ("ALL".equalsIgnoreCase(tipo) && filas >= FILAS_MINIMAS_AVISO) {
+                            LOGGER.warning("Recorrido completo de " + rs.getString("table") +
+                                           " (~" + filas + " filas) en: " + consulta.getKey());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                LOGGER.warning("No se pudo ejecutar EXPLAIN para: " + consulta.getKey() + " (" + e.getMessage() + ")");
+            }
+        }
+    }
+
+    /**
+     * Borra en cada arranque los rankings diarios y semanales vencidos.
+     */
+    private static void limpiarRankingsPeriodo() {
+        int eliminadas = RankingDAO.limpiarRankingsPeriodoVencidos();
+        if (eliminadas > 0) {
+            LOGGER.info("Rankings por periodo vencidos eliminados: " + eliminadas + " filas");
+        }
+    }
+
+    // ===============================================
+    // === UTILIDADES ===
+    // ===============================================
+
+    private static int obtenerVersionActual(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void registrarVersion(Connection conn, Migracion migracion) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "INSERT INTO schema_version (version, descripcion, aplicada_en) VALUES (?, ?, NOW())")) {
+            stmt.setInt(1, migracion.version);
+            stmt.setString(2, migracion.descripcion);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static boolean existeVista(Connection conn, String vista) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT 1 FROM information_schema.VIEWS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?")) {
+            stmt.setString(1, vista);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Crea el índice si no existe ya uno que empiece por las mismas columnas.
+     * Un índice único puede fallar si la tabla tiene duplicados; en ese caso solo se avisa.
+     */
+    private static void asegurarIndice(Connection conn, String tabla, String nombre, boolean unico,
+                                       String... columnas) throws SQLException {
+        if (existeIndice(conn, tabla, unico, columnas)) {
+            return;
+        }
+
+        String sql = "CREATE " + (unico ? "UNIQUE " : "") + "INDEX " + nombre +
+                     " ON " + tabla + " (" + String.join(", ", columnas) + ")";
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+            LOGGER.info("Índice creado: " + nombre);
+        } catch (SQLException e) {
+            LOGGER.warning("No se pudo crear el índice " + nombre + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Indica si algún índice de la tabla tiene como columnas iniciales las indicadas.
+     * Si se pide un índice único, solo cuentan los índices únicos con exactamente esas columnas.
+     */
+    private static boolean existeIndice(Connection conn, String tabla, boolean unico,
+                                        String... columnas) throws SQLException {
+        Map<String, List<String>> indices = new LinkedHashMap<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT INDEX_NAME, COLUMN_NAME FROM information_schema.STATISTICS " +
+                 "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? " +
+                 (unico ? "AND NON_UNIQUE = 0 " : "") +
+                 "ORDER BY INDEX_NAME, SEQ_IN_INDEX")) {
+            stmt.setString(1, tabla);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    indices.computeIfAbsent(rs.getString(1), k -> new ArrayList<>()).add(rs.getString(2));
+                }
+            }
+        }
+
+        List<String> buscadas = Arrays.asList(columnas);
+        for (List<String> columnasIndice : indices.values()) {
+            boolean tamanoValido = unico ? columnasIndice.size() == buscadas.size()
+                                         : columnasIndice.size() >= buscadas.size();
+            if (tamanoValido && columnasIndice.subList(0, buscadas.size()).equals(buscadas)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,365 @@
+package Modelo;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Paquete de recursos de Newton's Apple Quest, leído con memoria mapeada.
+ *
+ * El build (objetivo -post-jar de build.xml, con EmpaquetarRecursos) junta
+ * recursos/ y Vista/ en un único archivo recursos.pak junto al jar. Al primer
+ * uso el paquete se abre una sola vez, se mapea completo en memoria y se lee
+ * su índice; desde entonces cada recurso se sirve como una porción del mapa,
+ * sin abrir ni leer archivos y sin copiar bytes.
+ *
+ * Formato (enteros big-endian):
+ *   - Cabecera: "NQPK", versión (short), número de entradas (int)
+ *   - Índice: por entrada, la ruta (largo en short y bytes UTF-8), el desplazamiento
+ *     (long) y la longitud (int)
+ *   - Datos: el contenido de cada recurso, en el orden del índice
+ *
+ * Las rutas son relativas a src/, igual que en CargadorImagenes y BancoPreguntas.
+ * El paquete se busca en -Dnewtonsquest.recursos.paquete, junto al jar de la
+ * aplicación o en el directorio de trabajo. Si no existe (por ejemplo en
+ * desarrollo) los recursos se siguen leyendo de src/ o del classpath.
+ *
+ * Las vistas FXML y las hojas de estilo necesitan una URL, porque JavaFX
+ * resuelve contra ella las rutas relativas que contienen (@resources/quiz.css,
+ * url(...)). localizar() devuelve para cada recurso empaquetado una URL del
+ * protocolo nqpak (por ejemplo nqpak:/Vista/Login.fxml) que se lee del mapa;
+ * registrarProtocolo() hace que JavaFX también entienda esas URL cuando las
+ * recibe como texto, como en Scene.getStylesheets(). Así las pantallas no
+ * dependen del directorio de trabajo.
+ *
+ * @author Johann
+ * @version 1.0
+ */
+public class PaqueteRecursos {
+
+    private static final Logger LOGGER = Logger.getLogger(PaqueteRecursos.class.getName());
+
+    /** Nombre del archivo del paquete */
+    public static final String NOMBRE_ARCHIVO = "recursos.pak";
+
+    /** Firma al inicio del archivo: "NQPK" */
+    public static final int FIRMA = 0x4E51504B;
+
+    /** Versión del formato */
+    public static final short VERSION = 1;
+
+    /** Protocolo de las URL de recursos empaquetados */
+    public static final String PROTOCOLO = "nqpak";
+
+    /** Manejador de las URL nqpak */
+    private static final URLStreamHandler MANEJADOR = new ManejadorPaquete();
+
+    /** Carga diferida y segura entre hilos del paquete (null si no hay paquete) */
+    private static final class Contenedor {
+        static final PaqueteRecursos INSTANCIA = abrirPaquete();
+    }
+
+    /** Contenido completo del paquete, mapeado en memoria */
+    private final MappedByteBuffer mapa;
+
+    /** Posición y longitud de cada recurso en el mapa, por ruta */
+    private final Map<String, long[]> indice;
+
+    private PaqueteRecursos(MappedByteBuffer mapa, Map<String, long[]> indice) {
+        this.mapa = mapa;
+        this.indice = indice;
+    }
+
+    // ===================================
+    // CONSULTA
+    // ===================================
+
+    /**
+     * Indica si hay un paquete de recursos disponible.
+     * @return true si los recursos se sirven desde recursos.pak
+     */
+    public static boolean isDisponible() {
+        return Contenedor.INSTANCIA != null;
+    }
+
+    /**
+     * Obtiene el contenido de un recurso como porción de solo lectura del mapa, sin copiarlo.
+     * @param ruta Ruta relativa a src/, por ejemplo recursos/imagenes/fondo_juego.jpg
+     * @return Porción con el contenido, o null si no hay paquete o no contiene la ruta
+     */
+    public static ByteBuffer obtener(String ruta) {
+        PaqueteRecursos paquete = Contenedor.INSTANCIA;
+        if (paquete == null) {
+            return null;
+        }
+        long[] entrada = paquete.indice.get(ruta);
+        if (entrada == null) {
+            return null;
+        }
+        // slice con posición absoluta: no modifica el mapa compartido entre hilos
+        return paquete.mapa.slice((int) entrada[0], (int) entrada[1]).asReadOnlyBuffer();
+    }
+
+    /**
+     * Abre un recurso como flujo de lectura sobre el mapa, para decodificadores
+     * que reciben un InputStream (Image, FXMLLoader, lectores de texto).
+     * @param ruta Ruta relativa a src/
+     * @return Flujo sobre el contenido, o null si no hay paquete o no contiene la ruta
+     */
+    public static InputStream abrir(String ruta) {
+        ByteBuffer contenido = obtener(ruta);
+        return contenido == null ? null : new FlujoBuffer(contenido);
+    }
+
+    /**
+     * Ubica un recurso y devuelve la URL con la que leerlo: la del paquete si lo
+     * contiene, la del archivo en src/ si existe (desarrollo) o la del classpath.
+     * @param ruta Ruta relativa a src/; se acepta también con el prefijo src/
+     * @return URL del recurso
+     * @throws FileNotFoundException Si el recurso no está en ninguna de las fuentes
+     */
+    public static URL localizar(String ruta) throws FileNotFoundException {
+        String relativa = ruta.startsWith("src/") ? ruta.substring(4) : ruta;
+        try {
+            if (obtener(relativa) != null) {
+                return new URL(PROTOCOLO, null, -1, "/" + relativa, MANEJADOR);
+            }
+            File archivo = new File("src/" + relativa);
+            if (archivo.isFile()) {
+                return archivo.toURI().toURL();
+            }
+        } catch (MalformedURLException e) {
+            // Ruta no representable como URL: probar el classpath
+        }
+        URL recurso = PaqueteRecursos.class.getResource("/" + relativa);
+        if (recurso == null) {
+            throw new FileNotFoundException("Recurso no encontrado: " + relativa);
+        }
+        return recurso;
+    }
+
+    /**
+     * Registra el protocolo nqpak para toda la JVM, de modo que las URL
+     * recibidas como texto (hojas de estilo, imágenes de los FXML) también se
+     * lean del paquete. Debe llamarse antes de cargar la primera vista.
+     */
+    public static void registrarProtocolo() {
+        try {
+            URL.setURLStreamHandlerFactory(protocolo -> PROTOCOLO.equals(protocolo) ? MANEJADOR : null);
+        } catch (Error e) {
+            // Otra biblioteca ya registró su fábrica: las URL creadas con localizar() siguen funcionando
+            LOGGER.warning("No se pudo registrar el protocolo " + PROTOCOLO + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Número de recursos del paquete.
+     * @return Entradas del índice, o 0 si no hay paquete
+     */
+    public static int getCantidad() {
+        PaqueteRecursos paquete = Contenedor.INSTANCIA;
+        return paquete == null ? 0 : paquete.indice.size();
+    }
+
+    // ===================================
+    // APERTURA
+    // ===================================
+
+    /**
+     * Busca el paquete, lo mapea y lee su índice.
+     * @return Paquete abierto, o null si no existe o no es válido
+     */
+    private static PaqueteRecursos abrirPaquete() {
+        File archivo = buscarArchivo();
+        if (archivo == null) {
+            return null;
+        }
+
+        try (FileChannel canal = FileChannel.open(archivo.toPath(), StandardOpenOption.READ)) {
+            // El mapa sigue siendo válido después de cerrar el canal
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+
+            if (mapa.getInt(0) != FIRMA || mapa.getShort(4) != VERSION) {
+                LOGGER.warning("Paquete de recursos con formato no reconocido: " + archivo);
+                return null;
+            }
+
+            int cantidad = mapa.getInt(6);
+            Map<String, long[]> indice = new HashMap<>(cantidad * 2);
+            int posicion = 10;
+            for (int i = 0; i < cantidad; i++) {
+                int largoRuta = Short.toUnsignedInt(mapa.getShort(posicion));
+                byte[] ruta = new byte[largoRuta];
+                mapa.get(posicion + 2, ruta);
+                posicion += 2 + largoRuta;
+
+                long desplazamiento = mapa.getLong(posicion);
+                int longitud = mapa.getInt(posicion + 8);
+                posicion += 12;
+
+                if (desplazamiento < 0 || desplazamiento + longitud > mapa.capacity()) {
+                    LOGGER.warning("Paquete de recursos dañado: " + archivo);
+                    return null;
+                }
+                indice.put(new String(ruta, StandardCharsets.UTF_8), new long[] {desplazamiento, longitud});
+            }
+
+            LOGGER.info("Paquete de recursos abierto: " + archivo + " (" + cantidad + " recursos, "
+                        + mapa.capacity() / 1024 + " KB)");
+            return new PaqueteRecursos(mapa, indice);
+
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se pudo abrir el paquete de recursos: " + archivo, e);
+            return null;
+        }
+    }
+
+    /**
+     * Ubica recursos.pak: propiedad de sistema, carpeta del jar o directorio de trabajo.
+     * @return Archivo existente, o null si no hay paquete
+     */
+    private static File buscarArchivo() {
+        String configurado = System.getProperty("newtonsquest.recursos.paquete");
+        if (configurado != null) {
+            File archivo = new File(configurado);
+            return archivo.isFile() ? archivo : null;
+        }
+
+        try {
+            CodeSource origen = PaqueteRecursos.class.getProtectionDomain().getCodeSource();
+            if (origen != null) {
+                File codigo = new File(origen.getLocation().toURI());
+                if (codigo.isFile()) {
+                    File junto = new File(codigo.getParentFile(), NOMBRE_ARCHIVO);
+                    if (junto.isFile()) {
+                        return junto;
+                    }
+                }
+            }
+        } catch (URISyntaxException | SecurityException | IllegalArgumentException e) {
+            // Ubicación del código no disponible: probar el directorio de trabajo
+        }
+
+        File local = new File(NOMBRE_ARCHIVO);
+        return local.isFile() ? local : null;
+    }
+
+    // ===================================
+    // PROTOCOLO NQPAK
+    // ===================================
+
+    /**
+     * Abre las URL nqpak sobre el paquete. Las rutas relativas se resuelven con
+     * el comportamiento estándar de URLStreamHandler.
+     */
+    private static final class ManejadorPaquete extends URLStreamHandler {
+
+        @Override
+        protected URLConnection openConnection(URL url) {
+            return new ConexionPaquete(url);
+        }
+    }
+
+    /**
+     * Conexión de solo lectura a un recurso del paquete.
+     */
+    private static final class ConexionPaquete extends URLConnection {
+
+        ConexionPaquete(URL url) {
+            super(url);
+        }
+
+        private String ruta() {
+            String ruta = getURL().getPath();
+            return ruta.startsWith("/") ? ruta.substring(1) : ruta;
+        }
+
+        @Override
+        public void connect() {
+            connected = true;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            InputStream contenido = abrir(ruta());
+            if (contenido == null) {
+                throw new FileNotFoundException("Recurso no empaquetado: " + ruta());
+            }
+            return contenido;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            ByteBuffer contenido = obtener(ruta());
+            return contenido == null ? -1 : contenido.remaining();
+        }
+
+        @Override
+        public String getContentType() {
+            String tipo = guessContentTypeFromName(ruta());
+            return tipo != null ? tipo : ruta().endsWith(".css") ? "text/css" : "application/octet-stream";
+        }
+    }
+
+    // ===================================
+    // FLUJO SOBRE EL MAPA
+    // ===================================
+
+    /**
+     * InputStream que lee directamente de una porción del mapa.
+     */
+    private static final class FlujoBuffer extends InputStream {
+
+        private final ByteBuffer contenido;
+
+        FlujoBuffer(ByteBuffer contenido) {
+            this.contenido = contenido;
+        }
+
+        @Override
+        public int read() {
+            return contenido.hasRemaining() ? contenido.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destino, int desde, int cantidad) {
+            if (cantidad == 0) {
+                return 0;
+            }
+            if (!contenido.hasRemaining()) {
+                return -1;
+            }
+            int leidos = Math.min(cantidad, contenido.remaining());
+            contenido.get(destino, desde, leidos);
+            return leidos;
+        }
+
+        @Override
+        public long skip(long cantidad) {
+            int saltados = (int) Math.max(0, Math.min(cantidad, contenido.remaining()));
+            contenido.position(contenido.position() + saltados);
+            return saltados;
+        }
+
+        @Override
+        public int available() {
+            return contenido.remaining();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package Modelo.benchmark;
+
+import Modelo.ConexionDB;
+import Modelo.repositorio.RepositorioUsuarios;
+import Modelo.repositorio.Repositorios;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de inicio de sesión simultáneo ("30 alumnos entran a la vez").
+ *
+ * Lanza una ráfaga de logins concurrentes y compara el flujo anterior
+ * (existeUsuario + validarCredenciales + obtenerIdUsuario dos veces, cuatro
+ * conexiones) con UsuarioDAO.authenticate (una conexión, una consulta).
+ * Reporta logins/segundo y latencias p50/p95 por login. Crea usuarios
+ * temporales con prefijo "bench_login_" y los elimina al terminar.
+ *
+ * Con -Dnewtonsquest.almacenamiento=memoria se ejecuta sin servidor MySQL,
+ * midiendo solo el costo en proceso (hash y búsqueda) de cada flujo.
+ *
+ * Uso: java -cp "lib/*:build/classes" Modelo.benchmark.LoginBenchmark [alumnos=30] [rondas=20]
+ */
+public class LoginBenchmark {
+
+    /** Prefijo de los usuarios sintéticos creados por el benchmark */
+    private static final String PREFIJO = "bench_login_";
+
+    /** Contraseña común de los usuarios sintéticos */
+    private static final String PASSWORD = "manzana123";
+
+    /**
+     * Un intento de login medible.
+     */
+    private interface Login {
+        boolean ejecutar(String username);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int alumnos = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int rondas = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        try {
+            limpiarDatos();
+            RepositorioUsuarios usuarios = Repositorios.usuarios();
+            for (int i = 0; i < alumnos; i++) {
+                usuarios.registrarUsuario(PREFIJO + i, PASSWORD);
+            }
+
+            medir("4 consultas", alumnos, rondas, username ->
+                usuarios.existeUsuario(username)
+                    && usuarios.validarCredenciales(username, PASSWORD)
+                    && usuarios.obtenerIdUsuario(username) > 0
+                    && usuarios.obtenerIdUsuario(username) > 0);
+
+            medir("authenticate", alumnos, rondas, username ->
+                usuarios.authenticate(username, PASSWORD).isExitoso());
+        } finally {
+            limpiarDatos();
+        }
+    }
+
+    /**
+     * Ejecuta las rondas de ráfagas y muestra el resumen.
+     */
+    private static void medir(String nombre, int alumnos, int rondas, Login login) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(alumnos);
+        long[] latencias = new long[alumnos * rondas];
+        int[] fallos = {0};
+        long inicio = System.nanoTime();
+
+        for (int ronda = 0; ronda < rondas; ronda++) {
+            CountDownLatch salida = new CountDownLatch(1);
+            CountDownLatch fin = new CountDownLatch(alumnos);
+            int base = ronda * alumnos;
+
+            for (int i = 0; i < alumnos; i++) {
+                int alumno = i;
+                pool.execute(() -> {
+                    try {
+                        salida.await();
+                        long t0 = System.nanoTime();
+                        if (!login.ejecutar(PREFIJO + alumno)) {
+                            synchronized (fallos) {
+                                fallos[0]++;
+                            }
+                        }
+                        latencias[base + alumno] = System.nanoTime() - t0;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        fin.countDown();
+                    }
+                });
+            }
+
+            salida.countDown();
+            fin.await();
+        }
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        Arrays.sort(latencias);
+        System.out.printf("%-13s %,d logins en %.2f s (%,.0f logins/s) | p50 %.1f ms | p95 %.1f ms | fallos %d%n",
+                          nombre, latencias.length, segundos, latencias.length / segundos,
+                          latencias[latencias.length / 2] / 1e6,
+                          latencias[(int) (latencias.length * 0.95)] / 1e6,
+                          fallos[0]);
+    }
+
+    /**
+     * Elimina los usuarios sintéticos.
+     */
+    private static void limpiarDatos() throws SQLException {
+        if (!Repositorios.usaBaseDeDatos()) {
+            return; // En memoria los datos desaparecen con el proceso
+        }
+        Connection conn = ConexionDB.getConnection();
+        if (conn == null) {
+            throw new SQLException("No se pudo conectar a la base de datos local");
+        }
+        try (conn; PreparedStatement stmt = conn.prepareStatement("DELETE FROM usuarios WHERE username LIKE ?")) {
+            stmt.setString(1, PREFIJO + "%");
+            stmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package Modelo.benchmark;
+
+import Modelo.ConexionDB;
+import Modelo.dao.UsuarioDAO;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Benchmark de UsuarioDAO.sincronizarTodosLosDatosRanking.
+ *
+ * Compara la implementación anterior (un UPDATE por fila en autocommit) con la
+ * actual (UPDATE ... JOIN por tramos) y muestra filas/segundo para cada tamaño.
+ * Debe ejecutarse contra una base de datos local de desarrollo: crea usuarios
+ * temporales con prefijo "bench_sync_" y los elimina al terminar.
+ *
+ * Uso: java -cp "lib/*:build/classes" Modelo.benchmark.SincronizacionRankingBenchmark [10000 100000]
+ */
+public class SincronizacionRankingBenchmark {
+
+    /** Prefijo de los usuarios sintéticos creados por el benchmark */
+    private static final String PREFIJO = "bench_sync_";
+
+    /** Filas insertadas por lote al preparar los datos */
+    private static final int LOTE_INSERCION = 1000;
+
+    public static void main(String[] args) throws SQLException {
+        int[] tamanos = args.length > 0 ? new int[args.length] : new int[]{10_000, 100_000};
+        for (int i = 0; i < args.length; i++) {
+            tamanos[i] = Integer.parseInt(args[i]);
+        }
+
+        for (int filas : tamanos) {
+            try {
+                prepararDatos(filas);
+
+                long inicio = System.nanoTime();
+                int legacy = sincronizarFilaPorFila();
+                double segundosLegacy = (System.nanoTime() - inicio) / 1e9;
+
+                reiniciarUsuarios();
+
+                inicio = System.nanoTime();
+                int actual = UsuarioDAO.sincronizarTodosLosDatosRanking();
+                double segundosActual = (System.nanoTime() - inicio) / 1e9;
+
+                System.out.printf("%,d filas | fila por fila: %,d actualizadas en %.2f s (%,.0f filas/s) | " +
+                                  "por tramos: %,d actualizadas en %.2f s (%,.0f filas/s)%n",
+                                  filas, legacy, segundosLegacy, filas / segundosLegacy,
+                                  actual, segundosActual, filas / segundosActual);
+            } finally {
+                limpiarDatos();
+            }
+        }
+    }
+
+    /**
+     * Inserta usuarios sintéticos desincronizados y su fila de ranking.
+     */
+    private static void prepararDatos(int filas) throws SQLException {
+        limpiarDatos();
+        try (Connection conn = obtenerConexion()) {
+            conn.setAutoCommit(false);
+            String sqlUsuario = "INSERT INTO usuarios (username, password, nombre_completo, correo, fecha_registro, " +
+                                "activo, mejor_puntaje, formulas_completadas) VALUES (?, '', '', '', NOW(), 1, 0, 0)";
+            try (PreparedStatement stmt = conn.prepareStatement(sqlUsuario)) {
+                for (int i = 0; i < filas; i++) {
+                    stmt.setString(1, PREFIJO + i);
+                    stmt.addBatch();
+                    if ((i + 1) % LOTE_INSERCION == 0) {
+                        stmt.executeBatch();
+                        conn.commit();
+                    }
+                }
+                stmt.executeBatch();
+                conn.commit();
+            }
+
+            String sqlRanking = "INSERT INTO ranking (usuario_id, mejor_puntaje, partidas_completadas, fecha_mejor_puntaje) " +
+                                "SELECT id, FLOOR(1 + RAND() * 5000), 5, NOW() FROM usuarios WHERE username LIKE ?";
+            try (PreparedStatement stmt = conn.prepareStatement(sqlRanking)) {
+                stmt.setString(1, PREFIJO + "%");
+                stmt.executeUpdate();
+            }
+            conn.commit();
+        }
+    }
+
+    /**
+     * Devuelve los usuarios sintéticos a su estado desincronizado.
+     */
+    private static void reiniciarUsuarios() throws SQLException {
+        try (Connection conn = obtenerConexion();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE usuarios SET mejor_puntaje = 0, formulas_completadas = 0 WHERE username LIKE ?")) {
+            stmt.setString(1, PREFIJO + "%");
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Elimina los datos sintéticos de ambas tablas.
+     */
+    private static void limpiarDatos() throws SQLException {
+        try (Connection conn = obtenerConexion()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     "DELETE r FROM ranking r INNER JOIN usuarios u ON r.usuario_id = u.id WHERE u.username LIKE ?")) {
+                stmt.setString(1, PREFIJO + "%");
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM usuarios WHERE username LIKE ?")) {
+                stmt.setString(1, PREFIJO + "%");
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Implementación anterior: lee todo el ranking y emite un UPDATE por fila en autocommit.
+     */
+    private static int sincronizarFilaPorFila() throws SQLException {
+        int usuariosSincronizados = 0;
+        String sqlUsuarios = "UPDATE usuarios SET mejor_puntaje = ?, formulas_completadas = 5 " +
+                             "WHERE id = ? AND (mejor_puntaje < ? OR formulas_completadas < 5)";
+        try (Connection conn = obtenerConexion();
+             PreparedStatement stmtRanking = conn.prepareStatement("SELECT usuario_id, mejor_puntaje FROM ranking");
+             PreparedStatement stmtUsuarios = conn.prepareStatement(sqlUsuarios);
+             ResultSet rs = stmtRanking.executeQuery()) {
+            while (rs.next()) {
+                int puntajeRanking = rs.getInt("mejor_puntaje");
+                stmtUsuarios.setInt(1, puntajeRanking);
+                stmtUsuarios.setInt(2, rs.getInt("usuario_id"));
+                stmtUsuarios.setInt(3, puntajeRanking);
+                if (stmtUsuarios.executeUpdate() > 0) {
+                    usuariosSincronizados++;
+                }
+            }
+        }
+        return usuariosSincronizados;
+    }
+
+    private static Connection obtenerConexion() throws SQLException {
+        Connection conn = ConexionDB.getConnection();
+        if (conn == null) {
+            throw new SQLException("No se pudo conectar a la base de datos local");
+        }
+        return conn;
+    }
+}
@@ -0,0 +1,333 @@
+package Modelo.dao;
+
+import Modelo.PaqueteRecursos;
+import Modelo.dto.QuizQuestion;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Banco de preguntas del quiz, cargado una sola vez desde archivos de recursos.
+ *
+ * Las preguntas se leen de recursos/quiz/preguntas.txt la primera vez que se
+ * usa el banco y se guardan en un arreglo inmutable indexado. Las instancias de
+ * QuizQuestion se comparten entre todos los quizzes; un quiz aleatorio es solo
+ * una permutación de índices sobre ese arreglo, sin copiar ni mezclar objetos.
+ *
+ * Las pistas y explicaciones están en recursos/quiz/detalles.txt y se cargan
+ * la primera vez que alguna pregunta las pide.
+ *
+ * Los formatos de ambos archivos se describen en sus propios comentarios.
+ *
+ * @author Johann
+ * @version 1.0
+ */
+public class BancoPreguntas {
+
+    private static final Logger LOGGER = Logger.getLogger(BancoPreguntas.class.getName());
+
+    /** Archivo de preguntas, relativo a src/ en desarrollo o a la raíz del classpath */
+    private static final String ARCHIVO_PREGUNTAS = "recursos/quiz/preguntas.txt";
+
+    /** Archivo de pistas y explicaciones */
+    private static final String ARCHIVO_DETALLES = "recursos/quiz/detalles.txt";
+
+    /** Carga diferida y segura entre hilos de la instancia única */
+    private static final class Contenedor {
+        static final BancoPreguntas INSTANCIA = new BancoPreguntas();
+    }
+
+    /** Preguntas en el orden del archivo */
+    private final QuizQuestion[] preguntas;
+
+    /** Vista de solo lectura sobre el arreglo de preguntas */
+    private final List<QuizQuestion> vistaPreguntas;
+
+    /** Posición en el arreglo de cada id de pregunta */
+    private final Map<Integer, Integer> indicePorId = new HashMap<>();
+
+    /** Pistas por índice de pregunta, o null hasta la primera consulta */
+    private volatile String[] pistas;
+
+    /** Explicaciones por índice de pregunta, o null hasta la primera consulta */
+    private volatile String[] explicaciones;
+
+    /** Constructor privado: carga el archivo de preguntas */
+    private BancoPreguntas() {
+        List<QuizQuestion> cargadas = cargarPreguntas();
+        preguntas = cargadas.toArray(new QuizQuestion[0]);
+        vistaPreguntas = Collections.unmodifiableList(Arrays.asList(preguntas));
+        LOGGER.info("Banco de preguntas cargado: " + preguntas.length + " preguntas");
+    }
+
+    /**
+     * Obtiene el banco de preguntas, cargándolo en el primer uso.
+     * @return Instancia única del banco
+     */
+    public static BancoPreguntas getInstance() {
+        return Contenedor.INSTANCIA;
+    }
+
+    // ===================================
+    // CONSULTA
+    // ===================================
+
+    /**
+     * Número de preguntas del banco.
+     * @return Total de preguntas
+     */
+    public int getTamano() {
+        return preguntas.length;
+    }
+
+    /**
+     * Obtiene una pregunta por su posición en el banco.
+     * @param indice Posición (0 a getTamano() - 1)
+     * @return Pregunta compartida (inmutable)
+     */
+    public QuizQuestion getPregunta(int indice) {
+        return preguntas[indice];
+    }
+
+    /**
+     * Obtiene todas las preguntas en el orden del archivo.
+     * @return Lista de solo lectura respaldada por el banco, sin copias
+     */
+    public List<QuizQuestion> getPreguntas() {
+        return vistaPreguntas;
+    }
+
+    /**
+     * Genera una selección aleatoria de preguntas como índices del banco.
+     * Usa Fisher-Yates parcial, así que solo se mezclan las posiciones elegidas.
+     *
+     * @param cantidad Número de preguntas (se limita al tamaño del banco)
+     * @return Índices distintos en orden aleatorio
+     */
+    public int[] permutacionAleatoria(int cantidad) {
+        int n = preguntas.length;
+        int elegidas = Math.max(0, Math.min(cantidad, n));
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        for (int i = 0; i < elegidas; i++) {
+            int j = i + aleatorio.nextInt(n - i);
+            int temporal = indices[i];
+            indices[i] = indices[j];
+            indices[j] = temporal;
+        }
+        return Arrays.copyOf(indices, elegidas);
+    }
+
+    /**
+     * Presenta una permutación de índices como lista de preguntas, sin copiarlas.
+     * @param indices Índices del banco, por ejemplo de permutacionAleatoria
+     * @return Lista de solo lectura que resuelve cada posición contra el banco
+     */
+    public List<QuizQuestion> vistaPorIndices(int[] indices) {
+        int[] orden = indices.clone();
+        return new AbstractList<QuizQuestion>() {
+            @Override
+            public QuizQuestion get(int posicion) {
+                return preguntas[orden[posicion]];
+            }
+
+            @Override
+            public int size() {
+                return orden.length;
+            }
+        };
+    }
+
+    // ===================================
+    // CARGA
+    // ===================================
+
+    /**
+     * Lee y valida el archivo de preguntas. Las preguntas mal formadas se
+     * omiten con una advertencia en lugar de invalidar todo el banco.
+     */
+    private List<QuizQuestion> cargarPreguntas() {
+        List<QuizQuestion> cargadas = new ArrayList<>();
+
+        try (BufferedReader lector = abrir(ARCHIVO_PREGUNTAS)) {
+            if (lector == null) {
+                LOGGER.severe("No se encontró el archivo de preguntas: " + ARCHIVO_PREGUNTAS);
+                return cargadas;
+            }
+
+            int id = -1;
+            String enunciado = null;
+            List<String> opciones = new ArrayList<>();
+            int correcta = -1;
+            String linea;
+
+            while ((linea = lector.readLine()) != null) {
+                linea = linea.trim();
+                if (linea.startsWith("#")) {
+                    continue;
+                }
+                if (linea.isEmpty()) {
+                    agregarPregunta(cargadas, id, enunciado, opciones, correcta);
+                    id = -1;
+                    enunciado = null;
+                    opciones.clear();
+                    correcta = -1;
+                } else if (linea.startsWith("- ") || linea.startsWith("* ")) {
+                    if (linea.charAt(0) == '*') {
+                        correcta = correcta == -1 ? opciones.size() : -2;
+                    }
+                    opciones.add(linea.substring(2).trim());
+                } else {
+                    int punto = linea.indexOf(". ");
+                    try {
+                        id = Integer.parseInt(linea.substring(0, Math.max(punto, 0)));
+                        enunciado = linea.substring(punto + 2).trim();
+                    } catch (NumberFormatException e) {
+                        LOGGER.warning("Línea de pregunta no reconocida: " + linea);
+                    }
+                }
+            }
+            agregarPregunta(cargadas, id, enunciado, opciones, correcta);
+
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error al leer el archivo de preguntas", e);
+        }
+
+        return cargadas;
+    }
+
+    /**
+     * Valida una pregunta leída y la agrega al banco.
+     * @param correcta Índice de la opción correcta, -1 si no hay ninguna o -2 si hay varias
+     */
+    private void agregarPregunta(List<QuizQuestion> cargadas, int id, String enunciado,
+                                 List<String> opciones, int correcta) {
+        if (enunciado == null && opciones.isEmpty()) {
+            return;
+        }
+        if (enunciado == null || opciones.size() < 2 || correcta < 0 || indicePorId.containsKey(id)) {
+            LOGGER.warning("Pregunta " + id + " omitida: requiere id único, enunciado, " +
+                           "al menos dos opciones y exactamente una correcta");
+            return;
+        }
+
+        int indice = cargadas.size();
+        indicePorId.put(id, indice);
+        cargadas.add(new QuizQuestion(id, enunciado, opciones.toArray(new String[0]), correcta,
+                                      () -> getPistas()[indice], () -> getExplicaciones()[indice]));
+    }
+
+    /**
+     * Pistas por índice, cargando el archivo de detalles si hace falta.
+     */
+    private String[] getPistas() {
+        if (pistas == null) {
+            cargarDetalles();
+        }
+        return pistas;
+    }
+
+    /**
+     * Explicaciones por índice, cargando el archivo de detalles si hace falta.
+     */
+    private String[] getExplicaciones() {
+        if (explicaciones == null) {
+            cargarDetalles();
+        }
+        return explicaciones;
+    }
+
+    /**
+     * Lee el archivo de detalles una sola vez. Las preguntas sin detalles
+     * quedan con pista y explicación vacías.
+     */
+    private synchronized void cargarDetalles() {
+        if (pistas != null) {
+            return;
+        }
+
+        String[] nuevasPistas = new String[preguntas.length];
+        String[] nuevasExplicaciones = new String[preguntas.length];
+        Arrays.fill(nuevasPistas, "");
+        Arrays.fill(nuevasExplicaciones, "");
+
+        try (BufferedReader lector = abrir(ARCHIVO_DETALLES)) {
+            if (lector == null) {
+                LOGGER.warning("No se encontró el archivo de detalles: " + ARCHIVO_DETALLES);
+            } else {
+                Integer indice = null;
+                String linea;
+                while ((linea = lector.readLine()) != null) {
+                    linea = linea.trim();
+                    if (linea.isEmpty() || linea.startsWith("#")) {
+                        continue;
+                    }
+                    if (linea.startsWith("[") && linea.endsWith("]")) {
+                        try {
+                            indice = indicePorId.get(Integer.parseInt(linea.substring(1, linea.length() - 1).trim()));
+                        } catch (NumberFormatException e) {
+                            indice = null;
+                        }
+                        continue;
+                    }
+
+                    int igual = linea.indexOf('=');
+                    if (indice == null || igual < 0) {
+                        continue;
+                    }
+                    String clave = linea.substring(0, igual).trim();
+                    String valor = linea.substring(igual + 1).trim();
+                    if (clave.equals("pista")) {
+                        nuevasPistas[indice] = valor;
+                    } else if (clave.equals("explicacion")) {
+                        nuevasExplicaciones[indice] = valor;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error al leer el archivo de detalles", e);
+        }
+
+        explicaciones = nuevasExplicaciones;
+        pistas = nuevasPistas;
+    }
+
+    /**
+     * Abre un recurso del quiz: primero desde el paquete de recursos, luego
+     * desde src/ (desarrollo) y si no existe desde el classpath (distribución).
+     * @return Lector UTF-8, o null si el recurso no existe
+     */
+    private static BufferedReader abrir(String ruta) throws IOException {
+        InputStream empaquetado = PaqueteRecursos.abrir(ruta);
+        if (empaquetado != null) {
+            return new BufferedReader(new InputStreamReader(empaquetado, StandardCharsets.UTF_8));
+        }
+
+        File archivo = new File("src/" + ruta);
+        if (archivo.exists()) {
+            return Files.newBufferedReader(archivo.toPath(), StandardCharsets.UTF_8);
+        }
+
+        InputStream recurso = BancoPreguntas.class.getResourceAsStream("/" + ruta);
+        return recurso == null ? null
+                               : new BufferedReader(new InputStreamReader(recurso, StandardCharsets.UTF_8));
+    }
+}
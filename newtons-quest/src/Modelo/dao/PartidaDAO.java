@@ -0,0 +1,132 @@
+package Modelo.dao;
+
+import Modelo.ConexionDB;
+import Modelo.dto.EventosPartida;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+/**
+ * Data Access Object para el historial de partidas.
+ * 
+ * Cada partida terminada se guarda como una fila en partidas y sus eventos
+ * (manzanas, pociones, vidas, fórmulas) como filas de solo inserción en
+ * partida_eventos. Durante el juego los eventos se acumulan en memoria
+ * (EventosPartida) y se escriben aquí una sola vez al terminar, en una
+ * transacción con inserciones por lotes.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+public class PartidaDAO {
+    
+    /** Definición de partidas: una fila por partida terminada */
+    public static final String DDL_PARTIDAS =
+        "CREATE TABLE IF NOT EXISTS partidas (" +
+        "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+        "usuario_id INT NOT NULL, " +
+        "inicio DATETIME NOT NULL, " +
+        "duracion_ms INT NOT NULL, " +
+        "puntaje_final INT NOT NULL, " +
+        "formulas_desbloqueadas TINYINT NOT NULL, " +
+        "eventos_descartados INT NOT NULL DEFAULT 0, " +
+        "INDEX idx_partidas_usuario_inicio (usuario_id, inicio), " +
+        "FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE)";
+    
+    /**
+     * Definición de partida_eventos. La clave (partida_id, seq) deja los eventos de
+     * una partida contiguos y en orden cronológico; tipo es el código de
+     * TipoEventoPartida y tiempo_ms se cuenta desde el inicio de la partida.
+     */
+    public static final String DDL_EVENTOS =
+        "CREATE TABLE IF NOT EXISTS partida_eventos (" +
+        "partida_id BIGINT NOT NULL, " +
+        "seq INT NOT NULL, " +
+        "tipo TINYINT NOT NULL, " +
+        "tiempo_ms INT NOT NULL, " +
+        "valor INT NOT NULL, " +
+        "PRIMARY KEY (partida_id, seq), " +
+        "FOREIGN KEY (partida_id) REFERENCES partidas(id) ON DELETE CASCADE)";
+    
+    /** Filas por lote; la conexión reescribe cada lote como un único INSERT multi-fila */
+    private static final int TAMANO_LOTE = 500;
+    
+    // Prevenir instanciación
+    private PartidaDAO() {}
+    
+    /**
+     * Guarda una partida terminada con todos sus eventos en una sola transacción.
+     * 
+     * @param userId ID del usuario
+     * @param eventos Eventos registrados durante la partida
+     * @param puntajeFinal Puntaje al terminar
+     * @param formulasDesbloqueadas Fórmulas desbloqueadas al terminar
+     * @return ID de la partida guardada, o -1 si no se pudo guardar
+     */
+    public static long guardarPartida(int userId, EventosPartida eventos, int puntajeFinal,
+                                      int formulasDesbloqueadas) {
+        String sqlPartida = "INSERT INTO partidas (usuario_id, inicio, duracion_ms, puntaje_final, " +
+                           "formulas_desbloqueadas, eventos_descartados) VALUES (?, ?, ?, ?, ?, ?)";
+        String sqlEvento = "INSERT INTO partida_eventos (partida_id, seq, tipo, tiempo_ms, valor) " +
+                          "VALUES (?, ?, ?, ?, ?)";
+        
+        try (Connection conn = ConexionDB.getConnectionEscritura()) {
+            if (conn == null) return -1;
+            
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmtPartida = conn.prepareStatement(sqlPartida, Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement stmtEvento = conn.prepareStatement(sqlEvento)) {
+                
+                stmtPartida.setInt(1, userId);
+                stmtPartida.setTimestamp(2, new Timestamp(eventos.getInicio()));
+                stmtPartida.setInt(3, (int) Math.min(eventos.getDuracion(), Integer.MAX_VALUE));
+                stmtPartida.setInt(4, puntajeFinal);
+                stmtPartida.setInt(5, formulasDesbloqueadas);
+                stmtPartida.setInt(6, eventos.getDescartados());
+                
+                if (stmtPartida.executeUpdate() == 0) {
+                    conn.rollback();
+                    return -1;
+                }
+                
+                long partidaId;
+                try (ResultSet keys = stmtPartida.getGeneratedKeys()) {
+                    if (!keys.next()) {
+                        conn.rollback();
+                        return -1;
+                    }
+                    partidaId = keys.getLong(1);
+                }
+                
+                // seq continúa tras los descartados para que la numeración refleje el orden real
+                int primeraSecuencia = eventos.getDescartados();
+                for (int i = 0; i < eventos.getCantidad(); i++) {
+                    stmtEvento.setLong(1, partidaId);
+                    stmtEvento.setInt(2, primeraSecuencia + i);
+                    stmtEvento.setByte(3, eventos.getCodigo(i));
+                    stmtEvento.setInt(4, eventos.getTiempo(i));
+                    stmtEvento.setInt(5, eventos.getValor(i));
+                    stmtEvento.addBatch();
+                    
+                    if ((i + 1) % TAMANO_LOTE == 0) {
+                        stmtEvento.executeBatch();
+                    }
+                }
+                stmtEvento.executeBatch();
+                
+                conn.commit();
+                return partidaId;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                return -1;
+            }
+        } catch (SQLException e) {
+            // Error silencioso
+            return -1;
+        }
+    }
+}
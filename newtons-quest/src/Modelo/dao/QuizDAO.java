@@ -6,249 +6,130 @@ import Modelo.dto.QuizResult;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object para la gestión del sistema de quiz.
  * 
- * Maneja las preguntas del quiz sobre física (energía cinética, potencial, etc.)
- * y gestiona los resultados de los usuarios. Actualmente las preguntas están
- * hardcodeadas pero puede expandirse para usar base de datos.
+ * Da acceso a las preguntas del quiz sobre física (energía cinética, potencial, etc.),
+ * que se leen de archivos de recursos a través de BancoPreguntas, y gestiona
+ * los resultados de los usuarios.
  * 
  * @author Johann
  * @version 1.0
  */
 public class QuizDAO {
     
+    /** Columnas leídas de quiz_results al construir un QuizResult */
+    private static final String COLUMNAS_RESULTADO =
+        "id, user_id, total_questions, correct_answers, time_spent, created_at";
+    
+    /** Las mismas columnas calificadas con el alias q, para consultas que parten de quiz_summary */
+    private static final String COLUMNAS_RESULTADO_RESUMEN =
+        "q.id, q.user_id, q.total_questions, q.correct_answers, q.time_spent, q.created_at";
+    
+    /**
+     * Definición de quiz_summary: una fila por usuario con su mejor intento, su último
+     * intento, el número de intentos y si aprobó alguna vez. Se mantiene en
+     * guardarResultadoQuiz para que las consultas de resumen sean lecturas por clave primaria.
+     */
+    public static final String DDL_RESUMEN =
+        "CREATE TABLE IF NOT EXISTS quiz_summary (" +
+        "user_id INT NOT NULL PRIMARY KEY, " +
+        "best_percentage DOUBLE NOT NULL, " +
+        "best_result_id INT NOT NULL, " +
+        "last_result_id INT NOT NULL, " +
+        "attempts INT NOT NULL DEFAULT 0, " +
+        "passed BOOLEAN NOT NULL DEFAULT FALSE)";
+    
+    /** Indica si el usuario aprobó alguna vez, leído del resumen */
+    public static final String SQL_USUARIO_APROBADO = "SELECT passed FROM quiz_summary WHERE user_id = ?";
+    
+    /** Indica si ya se comprobó en esta ejecución que quiz_summary existe */
+    private static volatile boolean resumenAsegurado = false;
+    
+    /** Tamaño máximo de página para el historial de quiz */
+    public static final int TAMANO_PAGINA_MAXIMO = 100;
+    
     /**
-     * Obtiene todas las preguntas del quiz
+     * Obtiene todas las preguntas del quiz.
+     * Las preguntas viven en el {@link BancoPreguntas}, cargado una sola vez;
+     * la lista devuelta es de solo lectura y no copia las preguntas.
      * @return Lista de preguntas del quiz
      */
     public static List<QuizQuestion> obtenerTodasLasPreguntas() {
-        List<QuizQuestion> preguntas = new ArrayList<>();
-        
-        // Preguntas hardcodeadas
-        preguntas.add(new QuizQuestion(1, 
-            "¿Qué es la energía cinética?",
-            new String[]{
-                "Es la energía que un objeto tiene cuando está en reposo.",
-                "Es la energía que un objeto tiene debido a su movimiento.",
-                "Es la energía que se libera cuando algo explota.",
-                "Es la energía almacenada en una batería."
-            },
-            1, // Respuesta correcta: B
-            "Piensa en lo que hace que una bicicleta se mueva.",
-            "La energía cinética es la energía asociada al movimiento de un objeto."
-        ));
-        
-        preguntas.add(new QuizQuestion(2,
-            "¿Qué es la energía potencial?",
-            new String[]{
-                "Es la energía que un objeto tiene por estar caliente.",
-                "Es la energía que un objeto tiene debido a su movimiento.",
-                "Es la energía que un objeto tiene debido a su posición o altura.",
-                "Es la energía que hace que las luces se enciendan."
-            },
-            2, // Respuesta correcta: C
-            "Imagina una pelota en lo alto de una colina.",
-            "La energía potencial es energía almacenada debido a la posición de un objeto en un campo de fuerza, como la gravedad."
-        ));
-        
-        preguntas.add(new QuizQuestion(3,
-            "¿Qué significa la aceleración en física?",
-            new String[]{
-                "Moverse a una velocidad constante.",
-                "Cambiar la velocidad o la dirección de un objeto.",
-                "Estar completamente quieto.",
-                "Ser muy rápido."
-            },
-            1, // Respuesta correcta: B
-            "Piensa en lo que hace un coche cuando arranca o frena.",
-            "Aceleración es cualquier cambio en la velocidad o dirección del movimiento."
-        ));
-        
-        preguntas.add(new QuizQuestion(4,
-            "¿Cuál es la diferencia principal entre masa y peso?",
-            new String[]{
-                "La masa es lo mismo que el peso.",
-                "La masa cambia si vas a otro planeta, pero el peso no.",
-                "La masa es la cantidad de 'materia' en algo, y el peso es la fuerza de la gravedad sobre esa masa.",
-                "El peso es la cantidad de 'materia' en algo, y la masa es la fuerza de la gravedad."
-            },
-            2, // Respuesta correcta: C
-            "Piensa en lo que te haría pesar menos en la Luna.",
-            "La masa es constante; el peso varía según la gravedad."
-        ));
-        
-        preguntas.add(new QuizQuestion(5,
-            "¿Cómo calculas la velocidad media de un objeto?",
-            new String[]{
-                "Multiplicando la distancia por el tiempo.",
-                "Dividiendo el tiempo por la distancia.",
-                "Dividiendo la distancia recorrida por el tiempo que tardó.",
-                "Restando el tiempo de la distancia."
-            },
-            2, // Respuesta correcta: C
-            "Recuerda la fórmula 'v = d / t'.",
-            "La velocidad media se obtiene dividiendo la distancia entre el tiempo."
-        ));
-        
-        preguntas.add(new QuizQuestion(6,
-            "¿Cuál es la unidad de medida para la energía cinética y la energía potencial?",
-            new String[]{
-                "Metros por segundo (m/s).",
-                "Kilogramos (kg).",
-                "Julios (Joules).",
-                "Newtons (N)."
-            },
-            2, // Respuesta correcta: C
-            "Es una unidad que también se usa para medir trabajo.",
-            "El julio (J) es la unidad estándar para medir energía."
-        ));
-        
-        preguntas.add(new QuizQuestion(7,
-            "¿Qué le sucede a la energía potencial de un objeto cuando lo levantas más alto?",
-            new String[]{
-                "Disminuye.",
-                "Se mantiene igual.",
-                "Aumenta.",
-                "Se convierte en energía cinética."
-            },
-            2, // Respuesta correcta: C
-            "Piensa en la energía de una pelota antes de caer.",
-            "Cuanta más altura, mayor energía potencial gravitatoria."
-        ));
-        
-        preguntas.add(new QuizQuestion(8,
-            "Si un objeto se mueve a velocidad constante y en línea recta, ¿está acelerando?",
-            new String[]{
-                "Sí, porque siempre hay una fuerza actuando sobre él.",
-                "No, porque su velocidad y dirección no cambian.",
-                "Solo si se mueve muy rápido.",
-                "Solo si está cayendo."
-            },
-            1, // Respuesta correcta: B
-            "La aceleración implica cambio, ¿lo hay?",
-            "Sin cambio de velocidad ni dirección, no hay aceleración."
-        ));
-        
-        preguntas.add(new QuizQuestion(9,
-            "¿Qué fuerza nos mantiene 'pegados' al suelo?",
-            new String[]{
-                "La fuerza del viento.",
-                "La fuerza magnética.",
-                "La fuerza de gravedad.",
-                "La fuerza de fricción."
-            },
-            2, // Respuesta correcta: C
-            "Es la fuerza que hace que las cosas caigan.",
-            "La gravedad es la atracción entre masas, como tú y la Tierra."
-        ));
-        
-        preguntas.add(new QuizQuestion(10,
-            "¿Cuál es la energía que tiene un objeto por estar en movimiento?",
-            new String[]{
-                "Energía potencial.",
-                "Energía térmica.",
-                "Energía cinética.",
-                "Energía química."
-            },
-            2, // Respuesta correcta: C
-            "Piensa en el opuesto de la energía almacenada.",
-            "La energía cinética depende del movimiento."
-        ));
-        
-        preguntas.add(new QuizQuestion(11,
-            "Si una mochila tiene una masa de 2 kg y la gravedad en la Tierra es 10 m/s², ¿cuál es su peso?",
-            new String[]{
-                "2 Newtons",
-                "5 Newtons",
-                "20 Newtons",
-                "10 Newtons"
-            },
-            2, // Respuesta correcta: C
-            "Usa la fórmula: F = m × g",
-            "F = 2 kg × 10 m/s² = 20 N"
-        ));
-        
-        preguntas.add(new QuizQuestion(12,
-            "Si un caracol recorre 5 metros en 10 segundos, ¿cuál es su velocidad media?",
-            new String[]{
-                "0.5 m/s",
-                "2 m/s",
-                "50 m/s",
-                "10 m/s"
-            },
-            0, // Respuesta correcta: A
-            "v = d / t",
-            "v = 5 m / 10 s = 0.5 m/s"
-        ));
-        
-        preguntas.add(new QuizQuestion(13,
-            "Un pájaro de 0.5 kg está en una rama a 4 m de altura. ¿Cuánta energía potencial tiene?",
-            new String[]{
-                "20 Julios",
-                "2 Julios",
-                "4 Julios",
-                "50 Julios"
-            },
-            0, // Respuesta correcta: A
-            "U = m × g × h",
-            "U = 0.5 × 10 × 4 = 20 J"
-        ));
-        
-        preguntas.add(new QuizQuestion(14,
-            "Una pelota de 2 kg rueda a 2 m/s. ¿Cuánta energía cinética tiene?",
-            new String[]{
-                "2 Julios",
-                "4 Julios",
-                "8 Julios",
-                "16 Julios"
-            },
-            1, // Respuesta correcta: B
-            "K = ½ × m × v²",
-            "K = ½ × 2 × (2)² = 4 J"
-        ));
-        
-        preguntas.add(new QuizQuestion(15,
-            "Un coche de juguete pasa de 0 m/s a 10 m/s en 5 segundos. ¿Cuál fue su aceleración?",
-            new String[]{
-                "0.5 m/s²",
-                "2 m/s²",
-                "10 m/s²",
-                "50 m/s²"
-            },
-            1, // Respuesta correcta: B
-            "a = (vf - vi) / t",
-            "a = (10 - 0) / 5 = 2 m/s²"
-        ));
-        
-        return preguntas;
+        return BancoPreguntas.getInstance().getPreguntas();
     }
     
     /**
-     * Guarda el resultado de un quiz en la base de datos
+     * Guarda el resultado de un quiz en la base de datos.
+     * En la misma transacción actualiza la fila del usuario en quiz_summary.
      * @param result Resultado del quiz a guardar
      * @return true si se guardó correctamente, false en caso contrario
      */
     public static boolean guardarResultadoQuiz(QuizResult result) {
+        if (!asegurarResumen()) {
+            return false;
+        }
+        
         String sql = "INSERT INTO quiz_results (user_id, total_questions, correct_answers, " +
                     "incorrect_answers, percentage, time_spent, passed, created_at) " +
                     "VALUES (?, ?, ?, ?, ?, ?, ?, NOW())";
         
-        try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, result.getUserId());
-            stmt.setInt(2, result.getTotalQuestions());
-            stmt.setInt(3, result.getCorrectAnswers());
-            stmt.setInt(4, result.getIncorrectAnswers());
-            stmt.setDouble(5, result.getPercentage());
-            stmt.setLong(6, result.getTimeSpent());
-            stmt.setBoolean(7, result.isPassed());
-            
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+        // El orden de las asignaciones importa: best_result_id se evalúa con el best_percentage anterior.
+        // Con porcentajes iguales gana el intento más reciente, igual que ORDER BY percentage DESC, created_at DESC
+        String sqlResumen = "INSERT INTO quiz_summary (user_id, best_percentage, best_result_id, " +
+                           "last_result_id, attempts, passed) VALUES (?, ?, ?, ?, 1, ?) " +
+                           "ON DUPLICATE KEY UPDATE " +
+                           "best_result_id = IF(VALUES(best_percentage) >= best_percentage, VALUES(best_result_id), best_result_id), " +
+                           "best_percentage = GREATEST(best_percentage, VALUES(best_percentage)), " +
+                           "last_result_id = VALUES(last_result_id), " +
+                           "attempts = attempts + 1, " +
+                           "passed = passed OR VALUES(passed)";
+        
+        try (Connection conn = ConexionDB.getConnectionEscritura()) {
+            if (conn == null) return false;
             
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement stmtResumen = conn.prepareStatement(sqlResumen)) {
+                
+                stmt.setInt(1, result.getUserId());
+                stmt.setInt(2, result.getTotalQuestions());
+                stmt.setInt(3, result.getCorrectAnswers());
+                stmt.setInt(4, result.getIncorrectAnswers());
+                stmt.setDouble(5, result.getPercentage());
+                stmt.setLong(6, result.getTimeSpent());
+                stmt.setBoolean(7, result.isPassed());
+                
+                if (stmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                
+                int resultId;
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (!keys.next()) {
+                        conn.rollback();
+                        return false;
+                    }
+                    resultId = keys.getInt(1);
+                }
+                
+                stmtResumen.setInt(1, result.getUserId());
+                stmtResumen.setDouble(2, result.getPercentage());
+                stmtResumen.setInt(3, resultId);
+                stmtResumen.setInt(4, resultId);
+                stmtResumen.setBoolean(5, result.isPassed());
+                stmtResumen.executeUpdate();
+                
+                conn.commit();
+                return true;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                return false;
+            }
         } catch (SQLException e) {
             // Error silencioso
             return false;
@@ -261,60 +142,117 @@ public class QuizDAO {
      * @return Mejor resultado del usuario o null si no tiene resultados
      */
     public static QuizResult obtenerMejorResultadoUsuario(int userId) {
-        String sql = "SELECT * FROM quiz_results WHERE user_id = ? ORDER BY percentage DESC, created_at DESC LIMIT 1";
+        String sql = "SELECT " + COLUMNAS_RESULTADO_RESUMEN + " FROM quiz_summary s " +
+                    "INNER JOIN quiz_results q ON q.id = s.best_result_id WHERE s.user_id = ?";
+        return obtenerResultadoUnico(sql, userId);
+    }
+    
+    /**
+     * Obtiene todos los resultados de quiz de un usuario.
+     * Carga el historial completo en memoria; para historiales largos usar
+     * {@link #obtenerPaginaResultadosUsuario} o {@link #recorrerResultadosUsuario}.
+     * @param userId ID del usuario
+     * @return Lista de resultados del usuario
+     */
+    public static List<QuizResult> obtenerResultadosUsuario(int userId) {
+        List<QuizResult> resultados = new ArrayList<>();
+        recorrerResultadosUsuario(userId, resultados::add);
+        return resultados;
+    }
+    
+    /**
+     * Obtiene una página del historial de quiz de un usuario, del más reciente al más antiguo.
+     * 
+     * Usa paginación por clave (created_at, id): la siguiente página se pide pasando
+     * la fecha e id del último resultado de la página anterior, de modo que el costo
+     * no crece con la profundidad del historial como ocurriría con OFFSET.
+     * 
+     * @param userId ID del usuario
+     * @param despuesDeFecha created_at del último resultado ya mostrado, o null para la primera página
+     * @param despuesDeId id del último resultado ya mostrado (ignorado si despuesDeFecha es null)
+     * @param tamanoPagina Número máximo de resultados (entre 1 y {@value #TAMANO_PAGINA_MAXIMO})
+     * @return Lista con como máximo tamanoPagina resultados; vacía al llegar al final
+     */
+    public static List<QuizResult> obtenerPaginaResultadosUsuario(int userId, Timestamp despuesDeFecha,
+                                                                  int despuesDeId, int tamanoPagina) {
+        List<QuizResult> pagina = new ArrayList<>();
+        int limite = Math.max(1, Math.min(tamanoPagina, TAMANO_PAGINA_MAXIMO));
         
-        try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
+        try (Connection conn = ConexionDB.getConnectionLectura()) {
+            if (conn == null) return pagina;
             
-            if (rs.next()) {
-                return new QuizResult(
-                    rs.getInt("user_id"),
-                    rs.getInt("total_questions"),
-                    rs.getInt("correct_answers"),
-                    rs.getLong("time_spent")
-                );
+            try (PreparedStatement stmt = conn.prepareStatement(sqlPaginaResultados(despuesDeFecha != null))) {
+                int indice = 1;
+                stmt.setInt(indice++, userId);
+                if (despuesDeFecha != null) {
+                    stmt.setTimestamp(indice++, despuesDeFecha);
+                    stmt.setTimestamp(indice++, despuesDeFecha);
+                    stmt.setInt(indice++, despuesDeId);
+                }
+                stmt.setInt(indice, limite);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        pagina.add(mapearResultado(rs));
+                    }
+                }
             }
-            
         } catch (SQLException e) {
             // Error silencioso
         }
         
-        return null;
+        return pagina;
+    }
+    
+    /**
+     * Consulta de una página del historial de quiz de un usuario.
+     * Parámetros: user_id, el cursor (fecha, fecha, id) si se indica, y el límite.
+     * 
+     * @param conCursor Si la página continúa después de un resultado ya leído
+     */
+    public static String sqlPaginaResultados(boolean conCursor) {
+        return "SELECT " + COLUMNAS_RESULTADO + " FROM quiz_results WHERE user_id = ? " +
+               (conCursor ? "AND (created_at < ? OR (created_at = ? AND id < ?)) " : "") +
+               "ORDER BY created_at DESC, id DESC LIMIT ?";
     }
     
     /**
-     * Obtiene todos los resultados de quiz de un usuario
+     * Recorre todo el historial de quiz de un usuario sin cargarlo en memoria.
+     * 
+     * Las filas se leen en streaming desde el servidor (fetch size de Connector/J
+     * Integer.MIN_VALUE) y se entregan una a una al consumidor, por lo que la memoria
+     * usada no depende del tamaño del historial. Pensado para exportaciones y
+     * estadísticas; el consumidor no debe hacer otras consultas con la misma conexión.
+     * 
      * @param userId ID del usuario
-     * @return Lista de resultados del usuario
+     * @param consumidor Recibe cada resultado, del más reciente al más antiguo
+     * @return Número de resultados recorridos
      */
-    public static List<QuizResult> obtenerResultadosUsuario(int userId) {
-        List<QuizResult> resultados = new ArrayList<>();
-        String sql = "SELECT * FROM quiz_results WHERE user_id = ? ORDER BY created_at DESC";
+    public static int recorrerResultadosUsuario(int userId, Consumer<QuizResult> consumidor) {
+        String sql = "SELECT " + COLUMNAS_RESULTADO + " FROM quiz_results WHERE user_id = ? " +
+                    "ORDER BY created_at DESC, id DESC";
+        int recorridos = 0;
         
-        try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConexionDB.getConnectionLectura()) {
+            if (conn == null) return 0;
             
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                QuizResult result = new QuizResult(
-                    rs.getInt("user_id"),
-                    rs.getInt("total_questions"),
-                    rs.getInt("correct_answers"),
-                    rs.getLong("time_spent")
-                );
-                resultados.add(result);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                                                                ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(Integer.MIN_VALUE);
+                stmt.setInt(1, userId);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        consumidor.accept(mapearResultado(rs));
+                        recorridos++;
+                    }
+                }
             }
-            
         } catch (SQLException e) {
             // Error silencioso
         }
         
-        return resultados;
+        return recorridos;
     }
     
     /**
@@ -323,18 +261,18 @@ public class QuizDAO {
      * @return true si el usuario ha aprobado al menos una vez
      */
     public static boolean usuarioHaAprobado(int userId) {
-        String sql = "SELECT COUNT(*) FROM quiz_results WHERE user_id = ? AND passed = true";
-        
-        try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
+        try (Connection conn = ConexionDB.getConnectionLectura()) {
+            if (conn == null) return false;
             
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
+            try (PreparedStatement stmt = conn.prepareStatement(SQL_USUARIO_APROBADO)) {
+                stmt.setInt(1, userId);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getBoolean("passed");
+                    }
+                }
             }
-            
         } catch (SQLException e) {
             // Error silencioso
         }
@@ -348,27 +286,120 @@ public class QuizDAO {
      * @return Último resultado del usuario o null si no tiene resultados
      */
     public static QuizResult obtenerUltimoResultadoQuiz(int userId) {
-        String sql = "SELECT * FROM quiz_results WHERE user_id = ? ORDER BY created_at DESC LIMIT 1";
+        String sql = "SELECT " + COLUMNAS_RESULTADO_RESUMEN + " FROM quiz_summary s " +
+                    "INNER JOIN quiz_results q ON q.id = s.last_result_id WHERE s.user_id = ?";
+        return obtenerResultadoUnico(sql, userId);
+    }
+    
+    /**
+     * Garantiza que quiz_summary exista antes de la primera escritura de esta ejecución.
+     * 
+     * En una base de datos anterior al resumen (o mientras el migrador aún no llega a
+     * su migración) la tabla falta y el upsert de guardarResultadoQuiz haría fallar
+     * toda la transacción. En ese caso se crea y se llena con el historial mediante
+     * reconstruirResumenQuiz, para que el resumen parta de datos completos.
+     * 
+     * @return true si la tabla existe o se creó
+     */
+    private static synchronized boolean asegurarResumen() {
+        if (resumenAsegurado) return true;
         
-        try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConexionDB.getConnection()) {
+            if (conn == null) return false;
             
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
+            try (ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), null, "quiz_summary",
+                                                             new String[]{"TABLE"})) {
+                resumenAsegurado = rs.next();
+            }
+        } catch (SQLException e) {
+            // Error silencioso
+            return false;
+        }
+        
+        if (!resumenAsegurado) {
+            resumenAsegurado = reconstruirResumenQuiz() >= 0;
+        }
+        return resumenAsegurado;
+    }
+    
+    /**
+     * Reconstruye la tabla quiz_summary a partir de quiz_results.
+     * 
+     * Crea la tabla si no existe y recalcula el resumen de todos los usuarios en una
+     * sola transacción. Se usa tras importar datos o si el resumen se desincroniza.
+     * 
+     * @return Número de usuarios resumidos, o -1 si hubo un error
+     */
+    public static int reconstruirResumenQuiz() {
+        String sqlBorrar = "DELETE FROM quiz_summary";
+        String sqlReconstruir = "INSERT INTO quiz_summary (user_id, best_percentage, best_result_id, " +
+                               "last_result_id, attempts, passed) " +
+                               "SELECT q.user_id, MAX(q.percentage), " +
+                               "(SELECT b.id FROM quiz_results b WHERE b.user_id = q.user_id " +
+                               "ORDER BY b.percentage DESC, b.created_at DESC, b.id DESC LIMIT 1), " +
+                               "(SELECT l.id FROM quiz_results l WHERE l.user_id = q.user_id " +
+                               "ORDER BY l.created_at DESC, l.id DESC LIMIT 1), " +
+                               "COUNT(*), MAX(q.passed) " +
+                               "FROM quiz_results q GROUP BY q.user_id";
+        
+        try (Connection conn = ConexionDB.getConnectionEscritura()) {
+            if (conn == null) return -1;
             
-            if (rs.next()) {
-                return new QuizResult(
-                    rs.getInt("user_id"),
-                    rs.getInt("total_questions"),
-                    rs.getInt("correct_answers"),
-                    rs.getLong("time_spent")
-                );
+            // El DDL provoca un commit implícito en MySQL, por eso va antes de la transacción
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(DDL_RESUMEN);
             }
             
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(sqlBorrar);
+                int usuarios = stmt.executeUpdate(sqlReconstruir);
+                conn.commit();
+                return usuarios;
+            } catch (SQLException e) {
+                conn.rollback();
+                return -1;
+            }
+        } catch (SQLException e) {
+            // Error silencioso
+            return -1;
+        }
+    }
+    
+    /**
+     * Ejecuta una consulta de resultados parametrizada por usuario y retorna la primera fila
+     */
+    private static QuizResult obtenerResultadoUnico(String sql, int userId) {
+        try (Connection conn = ConexionDB.getConnectionLectura()) {
+            if (conn == null) return null;
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, userId);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return mapearResultado(rs);
+                    }
+                }
+            }
         } catch (SQLException e) {
             // Error silencioso
         }
         
         return null;
     }
+    
+    /**
+     * Construye un QuizResult a partir de la fila actual (columnas de COLUMNAS_RESULTADO)
+     */
+    private static QuizResult mapearResultado(ResultSet rs) throws SQLException {
+        return new QuizResult(
+            rs.getInt("id"),
+            rs.getInt("user_id"),
+            rs.getInt("total_questions"),
+            rs.getInt("correct_answers"),
+            rs.getLong("time_spent"),
+            rs.getTimestamp("created_at")
+        );
+    }
 }
@@ -1,6 +1,7 @@
 package Modelo.dao;
 
 import Modelo.ConexionDB;
+import Modelo.dto.PeriodoRanking;
 import Modelo.dto.RankingEntry;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -16,17 +17,150 @@ import java.util.List;
  * los 5 niveles del juego. Incluye operaciones para guardar puntajes,
  * obtener rankings y gestionar estadísticas de jugadores.
  * 
+ * Además del ranking histórico (tabla ranking) mantiene rankings diarios y
+ * semanales en ranking_periodo: una fila por periodo, inicio del periodo y
+ * usuario con su mejor puntaje en ese periodo. Se actualizan en la misma
+ * escritura que el ranking histórico, así que leerlos no requiere agrupar
+ * partidas.
+ * 
  * @author Johann
  * @version 1.0
  */
 public class RankingDAO {
     
     /**
-     * Guarda o actualiza el puntaje de un usuario que completó los 5 niveles
+     * Definición de ranking_version: una sola fila (id = 1) cuyo contador aumenta
+     * con cada escritura en ranking. Los clientes sondean este valor y solo vuelven
+     * a leer el top cuando cambia.
+     */
+    public static final String DDL_VERSION =
+        "CREATE TABLE IF NOT EXISTS ranking_version (" +
+        "id TINYINT NOT NULL PRIMARY KEY, " +
+        "version BIGINT NOT NULL DEFAULT 0)";
+    
+    /** Crea la fila única de ranking_version si aún no existe */
+    public static final String SQL_INICIALIZAR_VERSION =
+        "INSERT IGNORE INTO ranking_version (id, version) VALUES (1, 0)";
+    
+    /**
+     * Definición de ranking_periodo. El índice secundario sigue el orden del ranking
+     * dentro de cada periodo para que el top sea una lectura acotada del índice.
+     */
+    public static final String DDL_PERIODOS =
+        "CREATE TABLE IF NOT EXISTS ranking_periodo (" +
+        "tipo CHAR(1) NOT NULL, " +
+        "inicio DATE NOT NULL, " +
+        "usuario_id INT NOT NULL, " +
+        "mejor_puntaje INT NOT NULL, " +
+        "fecha_mejor_puntaje DATETIME NOT NULL, " +
+        "PRIMARY KEY (tipo, inicio, usuario_id), " +
+        "INDEX idx_ranking_periodo_orden (tipo, inicio, mejor_puntaje DESC, fecha_mejor_puntaje, usuario_id))";
+    
+    /** Inicio del periodo diario en curso, según el reloj del servidor */
+    private static final String SQL_INICIO_DIA = "CURDATE()";
+    
+    /** Inicio del periodo semanal en curso (lunes), según el reloj del servidor */
+    private static final String SQL_INICIO_SEMANA = "DATE_SUB(CURDATE(), INTERVAL WEEKDAY(CURDATE()) DAY)";
+    
+    /** Días que se conservan los rankings diarios */
+    private static final int DIAS_RETENCION_DIARIO = 14;
+    
+    /** Semanas que se conservan los rankings semanales */
+    private static final int SEMANAS_RETENCION_SEMANAL = 12;
+    
+    /** Mejor puntaje histórico de un usuario */
+    public static final String SQL_PUNTAJE_USUARIO = "SELECT mejor_puntaje FROM ranking WHERE usuario_id = ?";
+    
+    /** Top del ranking histórico */
+    public static final String SQL_TOP =
+        "SELECT r.usuario_id, u.username, r.mejor_puntaje, r.fecha_mejor_puntaje " +
+        "FROM ranking r " +
+        "INNER JOIN usuarios u ON r.usuario_id = u.id " +
+        "ORDER BY r.mejor_puntaje DESC " +
+        "LIMIT ?";
+    
+    /** Posición de un puntaje: uno más que los jugadores con puntaje estrictamente mayor */
+    public static final String SQL_POSICION =
+        "SELECT COUNT(*) + 1 as posicion " +
+        "FROM ranking " +
+        "WHERE mejor_puntaje > ?";
+    
+    /** Puntaje y fecha de un usuario en el ranking, con su nombre */
+    public static final String SQL_FILA_USUARIO =
+        "SELECT r.usuario_id, u.username, r.mejor_puntaje, r.fecha_mejor_puntaje " +
+        "FROM ranking r INNER JOIN usuarios u ON r.usuario_id = u.id WHERE r.usuario_id = ?";
+    
+    /**
+     * Posición única de (puntaje, fecha, usuario_id) en el orden completo del ranking:
+     * uno más que las filas que la preceden en idx_ranking_orden. Recorre todas esas
+     * entradas del índice, así que su costo crece con la posición (O(posición)).
+     */
+    public static final String SQL_POSICION_UNICA =
+        "SELECT (SELECT COUNT(*) FROM ranking WHERE mejor_puntaje > ?) + " +
+        "(SELECT COUNT(*) FROM ranking WHERE mejor_puntaje = ? AND " +
+        "(fecha_mejor_puntaje < ? OR (fecha_mejor_puntaje = ? AND usuario_id < ?))) + 1";
+    
+    /** Página del ranking histórico completo por desplazamiento, para saltos sin cursor */
+    public static final String SQL_PAGINA_DESPLAZAMIENTO =
+        "SELECT r.usuario_id, u.username, r.mejor_puntaje, r.fecha_mejor_puntaje " +
+        "FROM ranking r INNER JOIN usuarios u ON r.usuario_id = u.id " +
+        "ORDER BY r.mejor_puntaje DESC, r.fecha_mejor_puntaje ASC, r.usuario_id ASC " +
+        "LIMIT ? OFFSET ?";
+    
+    /**
+     * Jugadores inmediatamente por encima de (puntaje, fecha, usuario_id), del más cercano
+     * al más lejano. Cada tramo del UNION es una búsqueda acotada sobre idx_ranking_orden
+     * recorrida hacia atrás.
+     */
+    public static final String SQL_VECINOS_ENCIMA =
+        "SELECT v.usuario_id, u.username, v.mejor_puntaje, v.fecha_mejor_puntaje FROM (" +
+        "(SELECT usuario_id, mejor_puntaje, fecha_mejor_puntaje FROM ranking " +
+        " WHERE mejor_puntaje = ? AND fecha_mejor_puntaje = ? AND usuario_id < ? " +
+        " ORDER BY usuario_id DESC LIMIT ?) " +
+        "UNION ALL " +
+        "(SELECT usuario_id, mejor_puntaje, fecha_mejor_puntaje FROM ranking " +
+        " WHERE mejor_puntaje = ? AND fecha_mejor_puntaje < ? " +
+        " ORDER BY fecha_mejor_puntaje DESC, usuario_id DESC LIMIT ?) " +
+        "UNION ALL " +
+        "(SELECT usuario_id, mejor_puntaje, fecha_mejor_puntaje FROM ranking " +
+        " WHERE mejor_puntaje > ? " +
+        " ORDER BY mejor_puntaje ASC, fecha_mejor_puntaje DESC, usuario_id DESC LIMIT ?)" +
+        ") v INNER JOIN usuarios u ON u.id = v.usuario_id " +
+        "ORDER BY v.mejor_puntaje ASC, v.fecha_mejor_puntaje DESC, v.usuario_id DESC LIMIT ?";
+    
+    /**
+     * Jugadores inmediatamente por debajo de (puntaje, fecha, usuario_id), del más cercano
+     * al más lejano. Cada tramo del UNION es una búsqueda acotada sobre idx_ranking_orden
+     * recorrida hacia adelante.
+     */
+    public static final String SQL_VECINOS_DEBAJO =
+        "SELECT v.usuario_id, u.username, v.mejor_puntaje, v.fecha_mejor_puntaje FROM (" +
+        "(SELECT usuario_id, mejor_puntaje, fecha_mejor_puntaje FROM ranking " +
+        " WHERE mejor_puntaje = ? AND fecha_mejor_puntaje = ? AND usuario_id > ? " +
+        " ORDER BY usuario_id ASC LIMIT ?) " +
+        "UNION ALL " +
+        "(SELECT usuario_id, mejor_puntaje, fecha_mejor_puntaje FROM ranking " +
+        " WHERE mejor_puntaje = ? AND fecha_mejor_puntaje > ? " +
+        " ORDER BY fecha_mejor_puntaje ASC, usuario_id ASC LIMIT ?) " +
+        "UNION ALL " +
+        "(SELECT usuario_id, mejor_puntaje, fecha_mejor_puntaje FROM ranking " +
+        " WHERE mejor_puntaje < ? " +
+        " ORDER BY mejor_puntaje DESC, fecha_mejor_puntaje ASC, usuario_id ASC LIMIT ?)" +
+        ") v INNER JOIN usuarios u ON u.id = v.usuario_id " +
+        "ORDER BY v.mejor_puntaje DESC, v.fecha_mejor_puntaje ASC, v.usuario_id ASC LIMIT ?";
+    
+    /**
+     * Guarda o actualiza el puntaje de un usuario que completó los 5 niveles.
+     * 
+     * El ranking histórico y los rankings del día y de la semana se escriben en
+     * una sola transacción, para que no puedan quedar desalineados. La versión
+     * del ranking solo aumenta si alguno de ellos cambió de verdad, así una
+     * partida que no mejora nada no obliga a los clientes a releer el ranking.
+     * 
      * @param userId ID del usuario
      * @param score Puntaje obtenido
      * @param formulasCompleted Número de fórmulas completadas (debe ser 5)
-     * @return true si se guardó exitosamente
+     * @return true si se guardó o el puntaje anterior era mayor
      */
     public static boolean guardarPuntajeCompleto(int userId, int score, int formulasCompleted) {
         if (formulasCompleted < 5) {
@@ -34,158 +168,220 @@ public class RankingDAO {
             return false;
         }
         
-        Connection conn = null;
-        PreparedStatement stmt = null;
-        
-        try {
-            conn = ConexionDB.getConnection();
-            if (conn == null) {
-                // Error: No se pudo establecer la conexión
+        try (Connection conn = ConexionDB.getConnectionEscritura()) {
+            if (conn == null) return false;
+            
+            conn.setAutoCommit(false);
+            try {
+                // Rankings diario y semanal: pueden mejorar aunque no se supere el histórico
+                boolean cambio = actualizarRankingsPeriodo(conn, userId, score);
+                cambio |= actualizarRankingHistorico(conn, userId, score, formulasCompleted);
+                if (cambio) {
+                    incrementarVersion(conn);
+                }
+                conn.commit();
+                return true;
+                
+            } catch (SQLException e) {
+                conn.rollback();
                 return false;
             }
-              // Verificar si el usuario ya tiene un registro
-            if (existeUsuarioEnRanking(userId)) {
-                // Actualizar solo si el nuevo puntaje es mayor
-                int puntajeActual = obtenerMejorPuntajeInterno(userId);
-                if (score > puntajeActual) {
-                    return actualizarPuntaje(userId, score);
-                } else {
-                    // El puntaje actual es mayor o igual al nuevo
-                    return true;
+        } catch (SQLException e) {
+            // Error silencioso
+            return false;
+        }
+    }
+    
+    /**
+     * Inserta al usuario en el ranking histórico o mejora su puntaje. La fila se
+     * lee con FOR UPDATE para que dos partidas simultáneas no se pisen.
+     * @return true si el ranking histórico cambió
+     */
+    private static boolean actualizarRankingHistorico(Connection conn, int userId, int score,
+                                                      int formulasCompleted) throws SQLException {
+        Integer puntajeActual = null;
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_PUNTAJE_USUARIO + " FOR UPDATE")) {
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    puntajeActual = rs.getInt("mejor_puntaje");
                 }
-            } else {                
-                // Insertar nuevo registro
-                String sql = "INSERT INTO ranking (usuario_id, mejor_puntaje, partidas_completadas, fecha_mejor_puntaje) VALUES (?, ?, ?, NOW())";
-                stmt = conn.prepareStatement(sql);
+            }
+        }
+        
+        if (puntajeActual == null) {
+            // Nuevo jugador en el ranking
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     "INSERT INTO ranking (usuario_id, mejor_puntaje, partidas_completadas, fecha_mejor_puntaje) " +
+                     "VALUES (?, ?, ?, NOW())")) {
                 stmt.setInt(1, userId);
                 stmt.setInt(2, score);
                 stmt.setInt(3, formulasCompleted);
-                
-                int filasAfectadas = stmt.executeUpdate();
-                
-                if (filasAfectadas > 0) {
-                    // Nuevo jugador añadido al ranking
-                    return true;
-                }
-            }
-            
-        } catch (SQLException e) {
-            // Error al guardar puntaje en ranking
-        } finally {
-            try {
-                if (stmt != null) stmt.close();
-                if (conn != null) conn.close();
-            } catch (SQLException e) {
-                // Error al cerrar conexión
+                return stmt.executeUpdate() > 0;
             }
         }
         
-        return false;
+        if (score <= puntajeActual) {
+            // El puntaje actual es mayor o igual al nuevo
+            return false;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE ranking SET mejor_puntaje = ?, fecha_mejor_puntaje = NOW() WHERE usuario_id = ?")) {
+            stmt.setInt(1, score);
+            stmt.setInt(2, userId);
+            return stmt.executeUpdate() > 0;
+        }
     }
     
     /**
-     * Verifica si un usuario ya existe en el ranking
+     * Registra el puntaje en los rankings del día y de la semana en curso, conservando
+     * en cada uno el mejor puntaje del usuario y la fecha en que lo logró.
+     * 
+     * Se hace con un INSERT IGNORE y un UPDATE condicionado al puntaje en vez de
+     * un ON DUPLICATE KEY UPDATE: con la opción CLIENT_FOUND_ROWS, que Connector/J
+     * activa por defecto, este último cuenta como afectada una fila sin cambios,
+     * y aquí hace falta saber si algo cambió.
+     * 
+     * @return true si alguno de los dos rankings cambió
      */
-    private static boolean existeUsuarioEnRanking(int userId) {
-        Connection conn = null;
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
+    private static boolean actualizarRankingsPeriodo(Connection conn, int userId, int score) throws SQLException {
+        int cambios;
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "INSERT IGNORE INTO ranking_periodo (tipo, inicio, usuario_id, mejor_puntaje, fecha_mejor_puntaje) " +
+                 "VALUES (?, " + SQL_INICIO_DIA + ", ?, ?, NOW()), (?, " + SQL_INICIO_SEMANA + ", ?, ?, NOW())")) {
+            stmt.setString(1, codigoPeriodo(PeriodoRanking.DIARIO));
+            stmt.setInt(2, userId);
+            stmt.setInt(3, score);
+            stmt.setString(4, codigoPeriodo(PeriodoRanking.SEMANAL));
+            stmt.setInt(5, userId);
+            stmt.setInt(6, score);
+            cambios = stmt.executeUpdate();
+        }
         
-        try {
-            conn = ConexionDB.getConnection();
-            if (conn == null) return false;
-              String sql = "SELECT COUNT(*) FROM ranking WHERE usuario_id = ?";
-            stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, userId);
+        // Las filas que ya existían solo se tocan si el puntaje las mejora
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE ranking_periodo SET mejor_puntaje = ?, fecha_mejor_puntaje = NOW() " +
+                 "WHERE usuario_id = ? AND mejor_puntaje < ? AND " +
+                 "((tipo = ? AND inicio = " + SQL_INICIO_DIA + ") OR (tipo = ? AND inicio = " + SQL_INICIO_SEMANA + "))")) {
+            stmt.setInt(1, score);
+            stmt.setInt(2, userId);
+            stmt.setInt(3, score);
+            stmt.setString(4, codigoPeriodo(PeriodoRanking.DIARIO));
+            stmt.setString(5, codigoPeriodo(PeriodoRanking.SEMANAL));
+            cambios += stmt.executeUpdate();
+        }
+        return cambios > 0;
+    }
+    
+    /**
+     * Consulta del top del periodo en curso (diario o semanal).
+     * Parámetros: código del periodo y límite.
+     */
+    public static String sqlTopPeriodo(PeriodoRanking periodo) {
+        return "SELECT p.usuario_id, u.username, p.mejor_puntaje, p.fecha_mejor_puntaje " +
+               "FROM ranking_periodo p INNER JOIN usuarios u ON p.usuario_id = u.id " +
+               "WHERE p.tipo = ? AND p.inicio = " +
+               (periodo == PeriodoRanking.DIARIO ? SQL_INICIO_DIA : SQL_INICIO_SEMANA) + " " +
+               "ORDER BY p.mejor_puntaje DESC, p.fecha_mejor_puntaje ASC, p.usuario_id ASC LIMIT ?";
+    }
+    
+    /**
+     * Obtiene el top del periodo en curso.
+     * @param periodo Periodo del ranking
+     * @param limite Número máximo de resultados
+     * @return Lista de entradas ordenadas por puntaje y, en empate, por quien lo logró primero
+     */
+    public static List<RankingEntry> obtenerTopRankingPeriodo(PeriodoRanking periodo, int limite) {
+        if (periodo == PeriodoRanking.HISTORICO) {
+            return obtenerTopRanking(limite);
+        }
+        
+        List<RankingEntry> ranking = new ArrayList<>();
+        
+        try (Connection conn = ConexionDB.getConnectionLectura()) {
+            if (conn == null) return ranking;
             
-            rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
+            try (PreparedStatement stmt = conn.prepareStatement(sqlTopPeriodo(periodo))) {
+                stmt.setString(1, codigoPeriodo(periodo));
+                stmt.setInt(2, limite);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    int posicion = 1;
+                    while (rs.next()) {
+                        ranking.add(mapearEntrada(rs, posicion++));
+                    }
+                }
             }
-            
         } catch (SQLException e) {
-            // Error al verificar usuario en ranking
-        } finally {
-            try {
-                if (rs != null) rs.close();
-                if (stmt != null) stmt.close();
-                if (conn != null) conn.close();
-            } catch (SQLException e) {
-                // Error al cerrar conexión
-            }
+            // Error silencioso
         }
         
-        return false;
+        return ranking;
     }
-      /**
-     * Obtiene el mejor puntaje actual de un usuario (método interno)
+    
+    /**
+     * Elimina los rankings diarios y semanales vencidos (más de
+     * {@value #DIAS_RETENCION_DIARIO} días y {@value #SEMANAS_RETENCION_SEMANAL}
+     * semanas respectivamente). Cada borrado es un rango de la clave primaria.
+     * @return Número de filas eliminadas, o -1 si hubo un error
      */
-    private static int obtenerMejorPuntajeInterno(int userId) {
-        Connection conn = null;
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        
-        try {
-            conn = ConexionDB.getConnection();
-            if (conn == null) return 0;
-              String sql = "SELECT mejor_puntaje FROM ranking WHERE usuario_id = ?";
-            stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, userId);
+    public static int limpiarRankingsPeriodoVencidos() {
+        try (Connection conn = ConexionDB.getConnectionEscritura()) {
+            if (conn == null) return -1;
             
-            rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt("mejor_puntaje");
+            int eliminadas = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     "DELETE FROM ranking_periodo WHERE tipo = ? AND inicio < DATE_SUB(CURDATE(), INTERVAL ? DAY)")) {
+                stmt.setString(1, codigoPeriodo(PeriodoRanking.DIARIO));
+                stmt.setInt(2, DIAS_RETENCION_DIARIO);
+                eliminadas += stmt.executeUpdate();
+                
+                stmt.setString(1, codigoPeriodo(PeriodoRanking.SEMANAL));
+                stmt.setInt(2, SEMANAS_RETENCION_SEMANAL * 7);
+                eliminadas += stmt.executeUpdate();
             }
-            
+            return eliminadas;
         } catch (SQLException e) {
-            // Error al obtener mejor puntaje
-        } finally {
-            try {
-                if (rs != null) rs.close();
-                if (stmt != null) stmt.close();
-                if (conn != null) conn.close();
-            } catch (SQLException e) {
-                // Error al cerrar conexión
-            }
+            return -1;
         }
-        
-        return 0;
     }
     
     /**
-     * Actualiza el puntaje de un usuario existente
+     * Código de una sola letra con el que se guarda cada periodo en ranking_periodo.
      */
-    private static boolean actualizarPuntaje(int userId, int nuevoPuntaje) {
-        Connection conn = null;
-        PreparedStatement stmt = null;
-        
-        try {
-            conn = ConexionDB.getConnection();
-            if (conn == null) return false;
-              String sql = "UPDATE ranking SET mejor_puntaje = ?, fecha_mejor_puntaje = NOW() WHERE usuario_id = ?";
-            stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, nuevoPuntaje);
-            stmt.setInt(2, userId);
-            
-            int filasAfectadas = stmt.executeUpdate();
+    private static String codigoPeriodo(PeriodoRanking periodo) {
+        return periodo == PeriodoRanking.DIARIO ? "D" : "S";
+    }
+    
+    /**
+     * Incrementa la versión del ranking dentro de la transacción que lo cambió,
+     * para que los clientes que la sondean vuelvan a leer el top.
+     */
+    private static void incrementarVersion(Connection conn) {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE ranking_version SET version = version + 1 WHERE id = 1")) {
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            // Error silencioso: sin la tabla de versión los clientes no reciben avisos
+        }
+    }
+    
+    /**
+     * Obtiene la versión actual del ranking. Es una lectura por clave primaria
+     * pensada para sondearse cada pocos segundos desde cada cliente.
+     * @return Versión del ranking, o -1 si no se pudo consultar
+     */
+    public static long obtenerVersionRanking() {
+        try (Connection conn = ConexionDB.getConnectionLectura()) {
+            if (conn == null) return -1;
             
-            if (filasAfectadas > 0) {
-                // Puntaje actualizado silenciosamente
-                return true;
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT version FROM ranking_version WHERE id = 1");
+                 ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : -1;
             }
-            
         } catch (SQLException e) {
-            // Error silencioso
-        } finally {
-            try {
-                if (stmt != null) stmt.close();
-                if (conn != null) conn.close();
-            } catch (SQLException e) {
-                // Error silencioso al cerrar conexión
-            }
+            return -1;
         }
-        
-        return false;
     }
     
     /**
@@ -200,18 +396,12 @@ public class RankingDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) {
                 // No se pudo establecer conexión
                 return ranking;
             }
-              String sql = "SELECT r.usuario_id, u.username, r.mejor_puntaje, r.fecha_mejor_puntaje " +
-                        "FROM ranking r " +
-                        "INNER JOIN usuarios u ON r.usuario_id = u.id " +
-                        "ORDER BY r.mejor_puntaje DESC " +
-                        "LIMIT ?";
-            
-            stmt = conn.prepareStatement(sql);
+            stmt = conn.prepareStatement(SQL_TOP);
             stmt.setInt(1, limite);
             
             rs = stmt.executeQuery();
@@ -253,7 +443,7 @@ public class RankingDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) return -1;
             
             // Primero verificar si el usuario existe en el ranking
@@ -272,11 +462,7 @@ public class RankingDAO {
             stmt.close();
             
             // Ahora calcular la posición contando cuántos usuarios tienen mejor puntaje
-            String positionSql = "SELECT COUNT(*) + 1 as posicion " +
-                               "FROM ranking " +
-                               "WHERE mejor_puntaje > ?";
-            
-            stmt = conn.prepareStatement(positionSql);
+            stmt = conn.prepareStatement(SQL_POSICION);
             stmt.setInt(1, userScore);
             rs = stmt.executeQuery();
             
@@ -299,6 +485,215 @@ public class RankingDAO {
         return -1;
     }
     
+    /**
+     * Obtiene los jugadores alrededor de un usuario: los {@code vecinos} inmediatamente
+     * por encima, el propio usuario y los {@code vecinos} inmediatamente por debajo.
+     * 
+     * El orden del ranking es mejor_puntaje descendente y, en empate, quien lo logró
+     * primero (fecha_mejor_puntaje) y luego usuario_id, de modo que cada jugador tiene
+     * una posición única. Cada vecindario se lee con búsquedas sobre el índice
+     * idx_ranking_orden en un sentido u otro (una por tramo: mismo puntaje y fecha,
+     * mismo puntaje, puntaje distinto), leyendo como máximo {@code vecinos} filas por
+     * tramo, sin OFFSET. La posición absoluta del usuario, en cambio, se cuenta con
+     * SQL_POSICION_UNICA, que recorre todas las entradas del índice por encima del
+     * usuario: esa parte cuesta O(posición) y no es constante al crecer la tabla.
+     * Quien la llame a menudo debe guardar el resultado en vez de repetirla.
+     * 
+     * @param userId ID del usuario central
+     * @param vecinos Número de jugadores a cada lado
+     * @return Entradas en orden de ranking con su posición, o lista vacía si el
+     *         usuario no está en el ranking
+     */
+    public static List<RankingEntry> obtenerRankingAlrededor(int userId, int vecinos) {
+        List<RankingEntry> ventana = new ArrayList<>();
+        int k = Math.max(0, vecinos);
+        
+        try (Connection conn = ConexionDB.getConnectionLectura()) {
+            if (conn == null) return ventana;
+            
+            // Datos del usuario central
+            RankingEntry central = leerFilaUsuario(conn, userId);
+            if (central == null) {
+                return ventana;
+            }
+            
+            int puntaje = central.getPuntaje();
+            java.sql.Timestamp fecha = central.getFechaCompletado();
+            
+            // Posición única según el orden completo del ranking
+            int posicion = contarPosicionUnica(conn, central);
+            
+            if (k > 0) {
+                // Por encima: recorrer el índice hacia atrás desde el usuario
+                List<RankingEntry> encima = leerVecinos(conn, SQL_VECINOS_ENCIMA, puntaje, fecha, userId, k, 0);
+                for (int i = encima.size() - 1; i >= 0; i--) {
+                    RankingEntry entrada = encima.get(i);
+                    ventana.add(new RankingEntry(posicion - i - 1, entrada.getUserId(), entrada.getUsername(),
+                                                 entrada.getPuntaje(), entrada.getFechaCompletado()));
+                }
+            }
+            
+            ventana.add(new RankingEntry(posicion, central.getUserId(), central.getUsername(),
+                                         puntaje, fecha));
+            
+            if (k > 0) {
+                // Por debajo: recorrer el índice hacia adelante desde el usuario
+                ventana.addAll(leerVecinos(conn, SQL_VECINOS_DEBAJO, puntaje, fecha, userId, k, posicion + 1));
+            }
+            
+        } catch (SQLException e) {
+            // Error silencioso
+            ventana.clear();
+        }
+        
+        return ventana;
+    }
+    
+    /**
+     * Obtiene la posición única de un usuario en el ranking histórico: la fila que
+     * ocupa en el orden completo (puntaje, fecha, usuario_id), el mismo con que se
+     * leen las páginas en obtenerPaginaRanking. A diferencia de
+     * obtenerPosicionUsuario, los empates no comparten posición.
+     * 
+     * Cuenta las filas que preceden al usuario en idx_ranking_orden, así que su
+     * costo es O(posición): conviene leerla una vez y no en cada refresco.
+     * 
+     * @param userId ID del usuario
+     * @return Posición (1-based) o -1 si no está en el ranking o hubo un error
+     */
+    public static int obtenerPosicionUnicaUsuario(int userId) {
+        try (Connection conn = ConexionDB.getConnectionLectura()) {
+            if (conn == null) return -1;
+            
+            RankingEntry fila = leerFilaUsuario(conn, userId);
+            return fila != null ? contarPosicionUnica(conn, fila) : -1;
+            
+        } catch (SQLException e) {
+            // Error silencioso
+            return -1;
+        }
+    }
+    
+    /**
+     * Lee la fila de ranking de un usuario, sin posición.
+     * @return Entrada del usuario, o null si no está en el ranking
+     */
+    private static RankingEntry leerFilaUsuario(Connection conn, int userId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_FILA_USUARIO)) {
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapearEntrada(rs, 0) : null;
+            }
+        }
+    }
+    
+    /**
+     * Cuenta la posición única de una fila del ranking con SQL_POSICION_UNICA.
+     */
+    private static int contarPosicionUnica(Connection conn, RankingEntry fila) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_POSICION_UNICA)) {
+            stmt.setInt(1, fila.getPuntaje());
+            stmt.setInt(2, fila.getPuntaje());
+            stmt.setTimestamp(3, fila.getFechaCompletado());
+            stmt.setTimestamp(4, fila.getFechaCompletado());
+            stmt.setInt(5, fila.getUserId());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 1;
+            }
+        }
+    }
+    
+    /**
+     * Ejecuta una de las consultas de vecinos.
+     * @param posicionInicial Posición del primer vecino, o 0 si las posiciones las asigna el llamador
+     */
+    private static List<RankingEntry> leerVecinos(Connection conn, String sql, int puntaje,
+                                                  java.sql.Timestamp fecha, int userId, int k,
+                                                  int posicionInicial) throws SQLException {
+        List<RankingEntry> vecinos = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, puntaje);
+            stmt.setTimestamp(2, fecha);
+            stmt.setInt(3, userId);
+            stmt.setInt(4, k);
+            stmt.setInt(5, puntaje);
+            stmt.setTimestamp(6, fecha);
+            stmt.setInt(7, k);
+            stmt.setInt(8, puntaje);
+            stmt.setInt(9, k);
+            stmt.setInt(10, k);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                int posicion = posicionInicial;
+                while (rs.next()) {
+                    vecinos.add(mapearEntrada(rs, posicion));
+                    if (posicionInicial > 0) posicion++;
+                }
+            }
+        }
+        return vecinos;
+    }
+    
+    /**
+     * Obtiene una página del ranking histórico completo, en el orden del ranking
+     * (puntaje descendente, fecha y usuario_id ascendentes).
+     * 
+     * Si se conoce la última entrada de la página anterior, la página se lee por
+     * keyset: las filas inmediatamente por debajo de ella con la misma consulta
+     * acotada sobre idx_ranking_orden que usa obtenerRankingAlrededor, sin OFFSET,
+     * así que su costo no depende de qué tan abajo esté la página. Sin esa entrada
+     * (primera página, o un salto a una zona aún no recorrida) se lee con OFFSET.
+     * 
+     * @param despuesDe Última entrada de la página anterior, o null si no se conoce
+     * @param posicionInicial Posición (1-based) de la primera entrada de la página
+     * @param limite Tamaño de la página
+     * @return Entradas con su posición, lista vacía si no hay más, o null si hubo
+     *         un error (para que quien pagina pueda reintentar en vez de dar la
+     *         página por vacía)
+     */
+    public static List<RankingEntry> obtenerPaginaRanking(RankingEntry despuesDe, int posicionInicial, int limite) {
+        List<RankingEntry> pagina = new ArrayList<>();
+        if (limite <= 0) return pagina;
+        
+        try (Connection conn = ConexionDB.getConnectionLectura()) {
+            if (conn == null) return null;
+            
+            if (despuesDe != null) {
+                return leerVecinos(conn, SQL_VECINOS_DEBAJO, despuesDe.getPuntaje(), despuesDe.getFechaCompletado(),
+                                   despuesDe.getUserId(), limite, despuesDe.getPosicion() + 1);
+            }
+            
+            try (PreparedStatement stmt = conn.prepareStatement(SQL_PAGINA_DESPLAZAMIENTO)) {
+                stmt.setInt(1, limite);
+                stmt.setInt(2, Math.max(0, posicionInicial - 1));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    int posicion = Math.max(1, posicionInicial);
+                    while (rs.next()) {
+                        pagina.add(mapearEntrada(rs, posicion++));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            // Error silencioso
+            return null;
+        }
+        
+        return pagina;
+    }
+    
+    /**
+     * Construye una entrada de ranking a partir de la fila actual.
+     */
+    private static RankingEntry mapearEntrada(ResultSet rs, int posicion) throws SQLException {
+        return new RankingEntry(
+            posicion,
+            rs.getInt("usuario_id"),
+            rs.getString("username"),
+            rs.getInt("mejor_puntaje"),
+            rs.getTimestamp("fecha_mejor_puntaje")
+        );
+    }
+    
     /**
      * Obtiene el total de jugadores que han completado todas las fórmulas
      */
@@ -308,7 +703,7 @@ public class RankingDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) return 0;
             
             String sql = "SELECT COUNT(*) FROM ranking_completo";
@@ -343,10 +738,9 @@ public class RankingDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) return 0;
-              String sql = "SELECT mejor_puntaje FROM ranking WHERE usuario_id = ?";
-            stmt = conn.prepareStatement(sql);
+            stmt = conn.prepareStatement(SQL_PUNTAJE_USUARIO);
             stmt.setInt(1, userId);
             rs = stmt.executeQuery();
             
@@ -372,7 +766,7 @@ public class RankingDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) return null;
               String sql = "SELECT fecha_mejor_puntaje FROM ranking WHERE usuario_id = ?";
             stmt = conn.prepareStatement(sql);
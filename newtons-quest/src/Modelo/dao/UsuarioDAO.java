@@ -1,14 +1,20 @@
 package Modelo.dao;
 
 import Modelo.ConexionDB;
+import Modelo.dto.AlumnoImportado;
 import Modelo.dto.Player;
+import Modelo.dto.ResultadoAutenticacion;
+import Modelo.dto.ResultadoImportacion;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
 
 /**
  * Data Access Object para la gestión de usuarios.
@@ -22,6 +28,33 @@ import java.math.BigInteger;
  */
 public class UsuarioDAO {
     
+    /** Dígitos para codificar los hashes en hexadecimal */
+    private static final char[] DIGITOS_HEX = "0123456789abcdef".toCharArray();
+    
+    /** Longitud mínima de los hashes guardados (formato histórico) */
+    private static final int LONGITUD_MINIMA_HASH = 32;
+    
+    /** MessageDigest SHA-256 reutilizable, confinado a cada hilo porque no es thread-safe */
+    private static final ThreadLocal<MessageDigest> DIGEST_SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    });
+    
+    /** Filas por lote (y por transacción) en la importación masiva */
+    private static final int TAMANO_LOTE_IMPORTACION = 500;
+    
+    /** Código de error de MySQL para una clave única duplicada */
+    private static final int ERROR_CLAVE_DUPLICADA = 1062;
+    
+    /** Cantidad de ids de usuario que se sincronizan por transacción */
+    private static final int TAMANO_TRAMO_SINCRONIZACION = 5000;
+    
+    /** Datos de autenticación de un usuario por su username */
+    public static final String SQL_AUTENTICAR = "SELECT id, password, nombre_completo FROM usuarios WHERE username = ?";
+    
     /**
      * Registra un nuevo usuario con username y contraseña.
      * @param username Nombre de usuario único
@@ -45,7 +78,7 @@ public class UsuarioDAO {
         PreparedStatement stmt = null;
 
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionEscritura();
             if (conn == null) {
                 return false;
             }
@@ -77,6 +110,118 @@ public class UsuarioDAO {
         }
     }
 
+    /**
+     * Registra muchos usuarios a la vez (importación de una lista de clase).
+     * 
+     * Las contraseñas se hashean en paralelo y las filas se insertan con JDBC batch
+     * en transacciones de {@value #TAMANO_LOTE_IMPORTACION} filas. No se consulta
+     * antes si cada usuario existe: si un lote choca con el índice único de username,
+     * ese lote se revierte y se reintenta fila por fila para identificar qué nombres
+     * estaban repetidos, que se reportan como duplicados.
+     * 
+     * @param alumnos Alumnos ya validados a registrar
+     * @param resultado Resumen donde se acumulan insertados, duplicados y errores
+     */
+    public static void registrarUsuariosEnLote(List<AlumnoImportado> alumnos, ResultadoImportacion resultado) {
+        if (alumnos.isEmpty()) {
+            return;
+        }
+        
+        // El hash es lo más costoso por fila en CPU; se reparte entre los hilos del pool común
+        String[] hashes = alumnos.parallelStream()
+                                 .map(alumno -> hashPassword(alumno.getPassword()))
+                                 .toArray(String[]::new);
+        
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        
+        try {
+            conn = ConexionDB.getConnectionEscritura();
+            if (conn == null) {
+                resultado.agregarError("No se pudo conectar a la base de datos");
+                return;
+            }
+            
+            String sql = "INSERT INTO usuarios (username, password, nombre_completo, correo, fecha_registro, activo) VALUES (?, ?, ?, ?, NOW(), 1)";
+            stmt = conn.prepareStatement(sql);
+            conn.setAutoCommit(false);
+            
+            for (int inicio = 0; inicio < alumnos.size(); inicio += TAMANO_LOTE_IMPORTACION) {
+                int fin = Math.min(inicio + TAMANO_LOTE_IMPORTACION, alumnos.size());
+                
+                try {
+                    for (int i = inicio; i < fin; i++) {
+                        asignarParametrosRegistro(stmt, alumnos.get(i), hashes[i]);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    conn.commit();
+                    resultado.sumarInsertados(fin - inicio);
+                    
+                } catch (SQLException e) {
+                    conn.rollback();
+                    stmt.clearBatch();
+                    if (!esUsuarioDuplicado(e)) {
+                        throw e;
+                    }
+                    
+                    // El lote tenía al menos un duplicado: reintentar fila por fila
+                    for (int i = inicio; i < fin; i++) {
+                        try {
+                            asignarParametrosRegistro(stmt, alumnos.get(i), hashes[i]);
+                            stmt.executeUpdate();
+                            resultado.sumarInsertados(1);
+                        } catch (SQLException ex) {
+                            if (!esUsuarioDuplicado(ex)) {
+                                throw ex;
+                            }
+                            resultado.agregarDuplicado(alumnos.get(i).getUsername());
+                        }
+                    }
+                    conn.commit();
+                }
+            }
+            
+        } catch (SQLException e) {
+            try {
+                if (conn != null) conn.rollback();
+            } catch (SQLException ex) {
+                // Error al revertir el lote en curso
+            }
+            resultado.agregarError("Error de base de datos durante la importación: " + e.getMessage());
+        } finally {
+            try {
+                if (stmt != null) stmt.close();
+                if (conn != null) conn.close();
+            } catch (SQLException e) {
+                // Error al cerrar recursos
+            }
+        }
+    }
+    
+    /**
+     * Asigna los parámetros del INSERT de registro para un alumno importado.
+     */
+    private static void asignarParametrosRegistro(PreparedStatement stmt, AlumnoImportado alumno,
+                                                  String hashedPassword) throws SQLException {
+        stmt.setString(1, alumno.getUsername());
+        stmt.setString(2, hashedPassword);
+        stmt.setString(3, alumno.getNombreCompleto() != null ? alumno.getNombreCompleto() : "");
+        stmt.setString(4, alumno.getCorreo() != null ? alumno.getCorreo() : "");
+    }
+    
+    /**
+     * Indica si la excepción (o su causa, en un BatchUpdateException) es una
+     * violación de clave única (error MySQL 1062, ER_DUP_ENTRY).
+     */
+    private static boolean esUsuarioDuplicado(SQLException e) {
+        if (e.getErrorCode() == ERROR_CLAVE_DUPLICADA) {
+            return true;
+        }
+        Throwable causa = e.getCause();
+        return causa instanceof SQLException && ((SQLException) causa).getErrorCode() == ERROR_CLAVE_DUPLICADA;
+    }
+
     /**
      * Verifica si un usuario existe en la base de datos.
      * @param username Nombre de usuario a verificar
@@ -88,7 +233,7 @@ public class UsuarioDAO {
         ResultSet rs = null;
 
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) {
                 return false;
             }
@@ -123,6 +268,58 @@ public class UsuarioDAO {
         }
     }
 
+    /**
+     * Cuenta los usuarios registrados.
+     * @return Número de usuarios, o -1 si no se pudo consultar la base de datos
+     */
+    public static int contarUsuarios() {
+        try (Connection conn = ConexionDB.getConnectionLectura()) {
+            if (conn == null) return -1;
+
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM usuarios");
+                 ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Recorre todos los nombres de usuario sin cargarlos en memoria.
+     *
+     * Las filas se leen en streaming desde el servidor (fetch size de Connector/J
+     * Integer.MIN_VALUE), de modo que la memoria usada no depende del número de
+     * usuarios. El consumidor no debe hacer otras consultas con la misma conexión.
+     *
+     * @param consumidor Recibe cada nombre de usuario
+     * @return Número de usuarios recorridos, o -1 si la consulta falló
+     */
+    public static int recorrerUsernames(Consumer<String> consumidor) {
+        int recorridos = 0;
+
+        try (Connection conn = ConexionDB.getConnectionLectura()) {
+            if (conn == null) return -1;
+
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT username FROM usuarios",
+                                                                ResultSet.TYPE_FORWARD_ONLY,
+                                                                ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(Integer.MIN_VALUE);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        consumidor.accept(rs.getString(1));
+                        recorridos++;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            return -1;
+        }
+
+        return recorridos;
+    }
+
     /**
      * Valida las credenciales de un usuario.
      * @param username Nombre de usuario
@@ -165,6 +362,58 @@ public class UsuarioDAO {
         }
     }
 
+    /**
+     * Autentica a un usuario con una sola consulta.
+     * 
+     * Reemplaza la secuencia existeUsuario + validarCredenciales + obtenerIdUsuario:
+     * lee id, hash y nombre completo en un único viaje a la base de datos y
+     * distingue usuario inexistente, contraseña incorrecta y falta de conexión.
+     * 
+     * @param username Nombre de usuario
+     * @param password Contraseña en texto plano
+     * @return Resultado con estado, ID y nombre a mostrar del usuario
+     */
+    public static ResultadoAutenticacion authenticate(String username, String password) {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = ConexionDB.getConnection();
+            if (conn == null) {
+                return ResultadoAutenticacion.fallido(ResultadoAutenticacion.Estado.SIN_CONEXION);
+            }
+
+            stmt = conn.prepareStatement(SQL_AUTENTICAR);
+            stmt.setString(1, username);
+            rs = stmt.executeQuery();
+
+            if (!rs.next()) {
+                return ResultadoAutenticacion.fallido(ResultadoAutenticacion.Estado.USUARIO_NO_EXISTE);
+            }
+            
+            if (!verificarPassword(password, rs.getString("password"))) {
+                return ResultadoAutenticacion.fallido(ResultadoAutenticacion.Estado.PASSWORD_INCORRECTA);
+            }
+            
+            String nombreCompleto = rs.getString("nombre_completo");
+            String nombreMostrado = (nombreCompleto != null && !nombreCompleto.trim().isEmpty()) ?
+                                    nombreCompleto : username;
+            return new ResultadoAutenticacion(ResultadoAutenticacion.Estado.EXITOSO, rs.getInt("id"), nombreMostrado);
+
+        } catch (SQLException e) {
+            return ResultadoAutenticacion.fallido(ResultadoAutenticacion.Estado.SIN_CONEXION);
+        } finally {
+            try {
+                if (rs != null) rs.close();
+                if (stmt != null) stmt.close();
+                if (conn != null) conn.close();
+            } catch (SQLException e) {
+                // Error al cerrar recursos
+            }
+        }
+    }
+
     /**
      * Obtiene el ID de un usuario basado en su nombre de usuario.
      * @param username Nombre de usuario
@@ -215,7 +464,7 @@ public class UsuarioDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) return "Usuario desconocido";
             
             String sql = "SELECT nombre_completo, username FROM usuarios WHERE id = ?";
@@ -253,7 +502,7 @@ public class UsuarioDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) return "";
             
             String sql = "SELECT correo FROM usuarios WHERE id = ?";
@@ -290,7 +539,7 @@ public class UsuarioDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) return "Fecha no disponible";
             
             String sql = "SELECT fecha_registro FROM usuarios WHERE id = ?";
@@ -331,7 +580,7 @@ public class UsuarioDAO {
         PreparedStatement stmt = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionEscritura();
             if (conn == null) return false;
             
             String sql = "UPDATE usuarios SET nombre_completo = ?, correo = ? WHERE id = ?";
@@ -367,7 +616,7 @@ public class UsuarioDAO {
         PreparedStatement stmt = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionEscritura();
             if (conn == null) return false;
             
             int puntajeActual = obtenerMejorPuntajeUsuario(userId);
@@ -408,7 +657,7 @@ public class UsuarioDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) return 0;
             
             String sql = "SELECT mejor_puntaje FROM usuarios WHERE id = ?";
@@ -444,7 +693,7 @@ public class UsuarioDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) return 0;
             
             String sql = "SELECT formulas_completadas FROM usuarios WHERE id = ?";
@@ -480,7 +729,7 @@ public class UsuarioDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) return "Nunca";
             
             String sql = "SELECT ultima_partida FROM usuarios WHERE id = ?";
@@ -511,23 +760,38 @@ public class UsuarioDAO {
 
     /**
      * Genera un hash SHA-256 de la contraseña proporcionada.
+     * 
+     * Conserva el formato histórico (hexadecimal sin ceros a la izquierda, con un
+     * mínimo de 32 caracteres) para que los hashes ya guardados sigan siendo válidos,
+     * pero reutiliza un MessageDigest por hilo y codifica sin BigInteger.
+     * Es público para que el almacenamiento en memoria guarde los mismos hashes.
+     * 
+     * La contraseña se codifica en UTF-8, que es lo que ya hacía getBytes() sin
+     * argumentos: desde Java 18 el charset por defecto es UTF-8 en todo sistema.
+     * 
      * @param password Contraseña a hashear
      * @return Hash de la contraseña o null si hay error
      */
-    private static String hashPassword(String password) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] messageDigest = md.digest(password.getBytes());
-            BigInteger no = new BigInteger(1, messageDigest);
-            String hashtext = no.toString(16);
-
-            while (hashtext.length() < 32) {
-                hashtext = "0" + hashtext;
-            }
-            return hashtext;
-        } catch (NoSuchAlgorithmException e) {
+    public static String hashPassword(String password) {
+        MessageDigest md = DIGEST_SHA256.get();
+        if (md == null) {
             return null;
         }
+        
+        byte[] messageDigest = md.digest(password.getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[messageDigest.length * 2];
+        for (int i = 0; i < messageDigest.length; i++) {
+            int valor = messageDigest[i] & 0xFF;
+            hex[i * 2] = DIGITOS_HEX[valor >>> 4];
+            hex[i * 2 + 1] = DIGITOS_HEX[valor & 0x0F];
+        }
+        
+        // Equivalente a BigInteger.toString(16) rellenado hasta 32 caracteres
+        int inicio = 0;
+        while (inicio < LONGITUD_MINIMA_HASH && hex[inicio] == '0') {
+            inicio++;
+        }
+        return new String(hex, inicio, hex.length - inicio);
     }
 
     /**
@@ -554,7 +818,7 @@ public class UsuarioDAO {
         ResultSet rs = null;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionEscritura();
             if (conn == null) return false;
             
             String sqlRanking = "SELECT mejor_puntaje FROM ranking WHERE usuario_id = ?";
@@ -594,42 +858,76 @@ public class UsuarioDAO {
      * @return Número de usuarios sincronizados
      */
     public static int sincronizarTodosLosDatosRanking() {
+        return sincronizarTodosLosDatosRanking(null);
+    }
+    
+    /**
+     * Sincroniza todos los datos del ranking con la tabla de usuarios reportando el avance.
+     * 
+     * En lugar de un UPDATE por fila, recorre el rango de usuario_id del ranking en
+     * tramos de {@value #TAMANO_TRAMO_SINCRONIZACION} ids y aplica un único
+     * UPDATE ... JOIN por tramo, confirmando cada tramo en su propia transacción.
+     * Si ocurre un error, los tramos ya confirmados se conservan; la operación
+     * es idempotente y puede relanzarse.
+     * 
+     * @param progreso Recibe el avance entre 0.0 y 1.0 tras cada tramo (puede ser null)
+     * @return Número de usuarios sincronizados
+     */
+    public static int sincronizarTodosLosDatosRanking(DoubleConsumer progreso) {
         Connection conn = null;
-        PreparedStatement stmtRanking = null;
+        PreparedStatement stmtRango = null;
         PreparedStatement stmtUsuarios = null;
         ResultSet rs = null;
         int usuariosSincronizados = 0;
         
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionEscritura();
             if (conn == null) return 0;
             
-            String sqlRanking = "SELECT usuario_id, mejor_puntaje FROM ranking";
-            stmtRanking = conn.prepareStatement(sqlRanking);
-            rs = stmtRanking.executeQuery();
+            String sqlRango = "SELECT MIN(usuario_id), MAX(usuario_id) FROM ranking";
+            stmtRango = conn.prepareStatement(sqlRango);
+            rs = stmtRango.executeQuery();
+            
+            if (!rs.next() || rs.getObject(1) == null) {
+                // Ranking vacío, no hay nada que sincronizar
+                if (progreso != null) progreso.accept(1.0);
+                return 0;
+            }
             
-            String sqlUsuarios = "UPDATE usuarios SET mejor_puntaje = ?, formulas_completadas = 5 WHERE id = ? AND (mejor_puntaje < ? OR formulas_completadas < 5)";
+            long idMinimo = rs.getLong(1);
+            long idMaximo = rs.getLong(2);
+            long totalIds = idMaximo - idMinimo + 1;
+            
+            String sqlUsuarios = "UPDATE usuarios u INNER JOIN ranking r ON r.usuario_id = u.id " +
+                                "SET u.mejor_puntaje = r.mejor_puntaje, u.formulas_completadas = 5 " +
+                                "WHERE r.usuario_id BETWEEN ? AND ? " +
+                                "AND (u.mejor_puntaje < r.mejor_puntaje OR u.formulas_completadas < 5)";
             stmtUsuarios = conn.prepareStatement(sqlUsuarios);
+            conn.setAutoCommit(false);
             
-            while (rs.next()) {
-                int userId = rs.getInt("usuario_id");
-                int puntajeRanking = rs.getInt("mejor_puntaje");
+            for (long desde = idMinimo; desde <= idMaximo; desde += TAMANO_TRAMO_SINCRONIZACION) {
+                long hasta = Math.min(desde + TAMANO_TRAMO_SINCRONIZACION - 1, idMaximo);
                 
-                stmtUsuarios.setInt(1, puntajeRanking);
-                stmtUsuarios.setInt(2, userId);
-                stmtUsuarios.setInt(3, puntajeRanking);
+                stmtUsuarios.setLong(1, desde);
+                stmtUsuarios.setLong(2, hasta);
+                usuariosSincronizados += stmtUsuarios.executeUpdate();
+                conn.commit();
                 
-                int filasActualizadas = stmtUsuarios.executeUpdate();
-                if (filasActualizadas > 0) {
-                    usuariosSincronizados++;
+                if (progreso != null) {
+                    progreso.accept((double) (hasta - idMinimo + 1) / totalIds);
                 }
             }
         } catch (SQLException e) {
             // Error al sincronizar datos de ranking a usuarios
+            try {
+                if (conn != null) conn.rollback();
+            } catch (SQLException ex) {
+                // Error al revertir el tramo en curso
+            }
         } finally {
             try {
                 if (rs != null) rs.close();
-                if (stmtRanking != null) stmtRanking.close();
+                if (stmtRango != null) stmtRango.close();
                 if (stmtUsuarios != null) stmtUsuarios.close();
                 if (conn != null) conn.close();
             } catch (SQLException e) {
@@ -650,7 +948,7 @@ public class UsuarioDAO {
         ResultSet rs = null;
 
         try {
-            conn = ConexionDB.getConnection();
+            conn = ConexionDB.getConnectionLectura();
             if (conn == null) {
                 return null;
             }
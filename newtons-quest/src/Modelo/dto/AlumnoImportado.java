@@ -0,0 +1,70 @@
+package Modelo.dto;
+
+/**
+ * Representa un alumno leído de un archivo de importación masiva.
+ *
+ * Contiene los datos necesarios para registrar la cuenta y el número de
+ * línea del archivo de origen, para poder reportar errores al docente.
+ *
+ * @author Johann
+ * @version 1.0
+ */
+public class AlumnoImportado {
+
+    /** Línea del archivo CSV (1-based) de la que proviene el alumno */
+    private final int linea;
+    /** Nombre de usuario único */
+    private final String username;
+    /** Contraseña en texto plano (se hashea al registrar) */
+    private final String password;
+    /** Nombre completo del alumno */
+    private final String nombreCompleto;
+    /** Correo electrónico del alumno */
+    private final String correo;
+
+    /**
+     * Constructor de un alumno importado.
+     *
+     * @param linea Línea del archivo de origen
+     * @param username Nombre de usuario
+     * @param password Contraseña en texto plano
+     * @param nombreCompleto Nombre completo
+     * @param correo Correo electrónico
+     */
+    public AlumnoImportado(int linea, String username, String password, String nombreCompleto, String correo) {
+        this.linea = linea;
+        this.username = username;
+        this.password = password;
+        this.nombreCompleto = nombreCompleto;
+        this.correo = correo;
+    }
+
+    // Getters
+    public int getLinea() {
+        return linea;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getNombreCompleto() {
+        return nombreCompleto;
+    }
+
+    public String getCorreo() {
+        return correo;
+    }
+
+    @Override
+    public String toString() {
+        return "AlumnoImportado{" +
+                "linea=" + linea +
+                ", username='" + username + '\'' +
+                '}';
+    }
+}
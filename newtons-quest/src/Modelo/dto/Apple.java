@@ -1,10 +1,8 @@
 package Modelo.dto;
 
+import Modelo.CargadorImagenes;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 
 /**
  * Representación de las manzanas en el juego.
@@ -61,16 +59,15 @@ public class Apple {
      * Carga el sprite apropiado según el tipo de manzana.
      */
     private void loadSprite() {
-        try {
-            String path = isRed ? 
-                "src/recursos/sprites/manzanas/Apple_Red.png" : 
-                "src/recursos/sprites/manzanas/Apple_Green.png";
-            
-            File file = new File(path);
-            sprite = new Image(new FileInputStream(file));
-        } catch (FileNotFoundException e) {
+        String path = isRed ? 
+            "recursos/sprites/manzanas/Apple_Red.png" : 
+            "recursos/sprites/manzanas/Apple_Green.png";
+        
+        // Todas las manzanas del mismo color comparten la imagen decodificada
+        sprite = CargadorImagenes.obtener(path);
+        if (sprite == null) {
             throw new RuntimeException("Error: No se pudo cargar el sprite de manzana: " + 
-                (isRed ? "Apple_Red.png" : "Apple_Green.png"), e);
+                (isRed ? "Apple_Red.png" : "Apple_Green.png"));
         }
     }
     
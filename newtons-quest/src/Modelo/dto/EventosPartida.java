@@ -0,0 +1,143 @@
+package Modelo.dto;
+
+/**
+ * Registro de eventos de una partida en un búfer circular preasignado.
+ *
+ * Los gestores del juego registran eventos desde el bucle de frames, así que
+ * registrar no reserva memoria: cada evento ocupa una posición de tres arreglos
+ * de primitivos creados al construir el registro (código, milisegundos desde el
+ * inicio y valor). Si la partida produce más eventos que la capacidad, los más
+ * antiguos se sobrescriben y se cuentan como descartados.
+ *
+ * Al terminar la partida el registro se guarda de una vez con
+ * PartidaDAO.guardarPartida. No es thread-safe: se escribe desde el hilo de
+ * JavaFX y solo debe leerse desde otro hilo cuando ya no se registran eventos.
+ *
+ * @author Johann
+ * @version 1.0
+ */
+public class EventosPartida {
+
+    /** Código de cada evento */
+    private final byte[] codigos;
+    /** Milisegundos desde el inicio de la partida */
+    private final int[] tiempos;
+    /** Valor asociado a cada evento */
+    private final int[] valores;
+
+    /** Posición donde se escribirá el siguiente evento */
+    private int siguiente;
+    /** Eventos retenidos (como máximo la capacidad) */
+    private int cantidad;
+    /** Eventos sobrescritos por falta de capacidad */
+    private int descartados;
+    /** Momento de inicio de la partida (epoch en milisegundos) */
+    private long inicio;
+
+    /**
+     * Crea un registro con capacidad fija.
+     * @param capacidad Número máximo de eventos retenidos
+     */
+    public EventosPartida(int capacidad) {
+        codigos = new byte[capacidad];
+        tiempos = new int[capacidad];
+        valores = new int[capacidad];
+        iniciar();
+    }
+
+    /**
+     * Vacía el registro y toma el momento actual como inicio de la partida.
+     */
+    public void iniciar() {
+        siguiente = 0;
+        cantidad = 0;
+        descartados = 0;
+        inicio = System.currentTimeMillis();
+    }
+
+    /**
+     * Registra un evento sin reservar memoria.
+     * @param tipo Tipo de evento
+     * @param valor Valor asociado (ver TipoEventoPartida)
+     */
+    public void registrar(TipoEventoPartida tipo, int valor) {
+        codigos[siguiente] = tipo.getCodigo();
+        tiempos[siguiente] = (int) (System.currentTimeMillis() - inicio);
+        valores[siguiente] = valor;
+
+        siguiente++;
+        if (siguiente == codigos.length) {
+            siguiente = 0;
+        }
+        if (cantidad < codigos.length) {
+            cantidad++;
+        } else {
+            descartados++;
+        }
+    }
+
+    /**
+     * Posición en los arreglos del i-ésimo evento retenido, en orden cronológico.
+     */
+    private int posicion(int i) {
+        int primero = cantidad < codigos.length ? 0 : siguiente;
+        int posicion = primero + i;
+        return posicion >= codigos.length ? posicion - codigos.length : posicion;
+    }
+
+    /**
+     * Código del i-ésimo evento retenido.
+     * @param i Índice cronológico (0 a getCantidad() - 1)
+     * @return Código del tipo de evento
+     */
+    public byte getCodigo(int i) {
+        return codigos[posicion(i)];
+    }
+
+    /**
+     * Tiempo del i-ésimo evento retenido.
+     * @param i Índice cronológico (0 a getCantidad() - 1)
+     * @return Milisegundos desde el inicio de la partida
+     */
+    public int getTiempo(int i) {
+        return tiempos[posicion(i)];
+    }
+
+    /**
+     * Valor del i-ésimo evento retenido.
+     * @param i Índice cronológico (0 a getCantidad() - 1)
+     * @return Valor asociado al evento
+     */
+    public int getValor(int i) {
+        return valores[posicion(i)];
+    }
+
+    // Getters
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public int getDescartados() {
+        return descartados;
+    }
+
+    public long getInicio() {
+        return inicio;
+    }
+
+    /**
+     * Duración de la partida hasta ahora.
+     * @return Milisegundos desde el inicio
+     */
+    public long getDuracion() {
+        return System.currentTimeMillis() - inicio;
+    }
+
+    @Override
+    public String toString() {
+        return "EventosPartida{" +
+                "cantidad=" + cantidad +
+                ", descartados=" + descartados +
+                '}';
+    }
+}
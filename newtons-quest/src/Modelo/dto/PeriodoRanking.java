@@ -0,0 +1,33 @@
+package Modelo.dto;
+
+/**
+ * Periodos de los rankings de Newton's Apple Quest.
+ *
+ * El ranking histórico guarda el mejor puntaje de siempre de cada jugador;
+ * los rankings diario y semanal solo consideran las partidas del día o de la
+ * semana (de lunes a domingo) en curso, para que los jugadores nuevos también
+ * puedan competir por los primeros puestos.
+ *
+ * @author Johann
+ * @version 1.0
+ */
+public enum PeriodoRanking {
+
+    /** Partidas del día en curso */
+    DIARIO("Hoy"),
+    /** Partidas de la semana en curso, desde el lunes */
+    SEMANAL("Esta semana"),
+    /** Mejor puntaje de siempre */
+    HISTORICO("Histórico");
+
+    /** Nombre para mostrar en la interfaz */
+    private final String nombre;
+
+    PeriodoRanking(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+}
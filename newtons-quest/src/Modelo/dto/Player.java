@@ -1,10 +1,8 @@
 package Modelo.dto;
 
+import Modelo.CargadorImagenes;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -153,16 +151,16 @@ public class Player {
         
         // Rutas de los sprites
         String[] spritePaths = {
-            "src/recursos/sprites/newton/newton_1.png",
-            "src/recursos/sprites/newton/newton_2.png",
-            "src/recursos/sprites/newton/newton_3.png",
-            "src/recursos/sprites/newton/newton_4.png",
-            "src/recursos/sprites/newton/newton_5.png",
-            "src/recursos/sprites/newton/newton_6.png", // Para manzana verde
-            "src/recursos/sprites/newton/newton_7.png"  // Para game over
+            "recursos/sprites/newton/newton_1.png",
+            "recursos/sprites/newton/newton_2.png",
+            "recursos/sprites/newton/newton_3.png",
+            "recursos/sprites/newton/newton_4.png",
+            "recursos/sprites/newton/newton_5.png",
+            "recursos/sprites/newton/newton_6.png", // Para manzana verde
+            "recursos/sprites/newton/newton_7.png"  // Para game over
         };
         
-        // Cargar sprites usando FileInputStream
+        // Cargar sprites (compartidos entre partidas y posiblemente ya precargados)
         idleRightSprite = loadImageSafely(spritePaths[0]);
         idleLeftSprite = idleRightSprite; // Lo invertiremos al dibujar
         
@@ -181,16 +179,15 @@ public class Player {
     
     /**
      * Carga una imagen de forma segura.
-     * @param path Ruta de la imagen
+     * @param path Ruta de la imagen, relativa a src/ o al classpath
      * @return Imagen cargada
      */
     private Image loadImageSafely(String path) {
-        try {
-            File file = new File(path);
-            return new Image(new FileInputStream(file));
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException("Error: No se pudo cargar el sprite: " + path, e);
+        Image image = CargadorImagenes.obtener(path);
+        if (image == null) {
+            throw new RuntimeException("Error: No se pudo cargar el sprite: " + path);
         }
+        return image;
     }
     
     /**
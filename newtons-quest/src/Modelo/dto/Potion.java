@@ -1,10 +1,8 @@
 package Modelo.dto;
 
+import Modelo.CargadorImagenes;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 
 /**
  * Representación de las pociones en el juego.
@@ -87,12 +85,10 @@ public class Potion {
      * Carga la imagen de la poción según su tipo
      */
     private void loadSprite() {
-        try {
-            String path = "src/recursos/sprites/pociones/" + type.getFilename();
-            File file = new File(path);
-            sprite = new Image(new FileInputStream(file));
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException("Error: No se pudo cargar el sprite de poción: " + type.getFilename(), e);
+        // Todas las pociones del mismo tipo comparten la imagen decodificada
+        sprite = CargadorImagenes.obtener("recursos/sprites/pociones/" + type.getFilename());
+        if (sprite == null) {
+            throw new RuntimeException("Error: No se pudo cargar el sprite de poción: " + type.getFilename());
         }
     }
     
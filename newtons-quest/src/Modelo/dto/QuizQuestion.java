@@ -1,17 +1,20 @@
 package Modelo.dto;
 
+import java.util.function.Supplier;
+
 /**
  * Clase que representa una pregunta del quiz.
  * Contiene toda la información necesaria para una pregunta de opción múltiple.
+ * Es inmutable: el banco de preguntas comparte las mismas instancias entre quizzes.
  */
 public class QuizQuestion {
     
-    private int id;
-    private String question;
-    private String[] options;
-    private int correctAnswerIndex; // Índice de la respuesta correcta (0-3)
-    private String hint;
-    private String explanation;
+    private final int id;
+    private final String question;
+    private final String[] options;
+    private final int correctAnswerIndex; // Índice de la respuesta correcta (0-3)
+    private final Supplier<String> hint;
+    private final Supplier<String> explanation;
     
     /**
      * Constructor completo para una pregunta del quiz
@@ -23,9 +26,24 @@ public class QuizQuestion {
      * @param explanation Explicación de la respuesta correcta
      */
     public QuizQuestion(int id, String question, String[] options, int correctAnswerIndex, String hint, String explanation) {
+        this(id, question, options, correctAnswerIndex, () -> hint, () -> explanation);
+    }
+    
+    /**
+     * Constructor con pista y explicación diferidas, que se obtienen solo
+     * cuando se piden (por ejemplo, leyéndolas del archivo de detalles).
+     * @param id Identificador único de la pregunta
+     * @param question Enunciado de la pregunta
+     * @param options Array de 4 opciones (A, B, C, D)
+     * @param correctAnswerIndex Índice de la respuesta correcta (0-3)
+     * @param hint Proveedor de la pista
+     * @param explanation Proveedor de la explicación
+     */
+    public QuizQuestion(int id, String question, String[] options, int correctAnswerIndex,
+                        Supplier<String> hint, Supplier<String> explanation) {
         this.id = id;
         this.question = question;
-        this.options = options;
+        this.options = options.clone();
         this.correctAnswerIndex = correctAnswerIndex;
         this.hint = hint;
         this.explanation = explanation;
@@ -41,7 +59,7 @@ public class QuizQuestion {
     }
     
     public String[] getOptions() {
-        return options;
+        return options.clone();
     }
     
     public String getOption(int index) {
@@ -60,11 +78,11 @@ public class QuizQuestion {
     }
     
     public String getHint() {
-        return hint;
+        return hint.get();
     }
     
     public String getExplanation() {
-        return explanation;
+        return explanation.get();
     }
     
     /**
@@ -1,11 +1,15 @@
 package Modelo.dto;
 
+import java.sql.Timestamp;
+
 /**
  * Clase que representa el resultado de un quiz.
  * Almacena información sobre el desempeño del usuario en el quiz.
  */
 public class QuizResult {
     
+    private int id = -1; // -1 mientras no se haya guardado en la base de datos
+    private Timestamp createdAt;
     private int userId;
     private int totalQuestions;
     private int correctAnswers;
@@ -31,7 +35,30 @@ public class QuizResult {
         this.passed = percentage >= 85.0;
     }
     
+    /**
+     * Constructor para un resultado leído de la base de datos
+     * @param id ID del resultado en la tabla quiz_results
+     * @param userId ID del usuario que realizó el quiz
+     * @param totalQuestions Número total de preguntas
+     * @param correctAnswers Número de respuestas correctas
+     * @param timeSpent Tiempo total empleado en segundos
+     * @param createdAt Fecha en que se guardó el resultado
+     */
+    public QuizResult(int id, int userId, int totalQuestions, int correctAnswers, long timeSpent, Timestamp createdAt) {
+        this(userId, totalQuestions, correctAnswers, timeSpent);
+        this.id = id;
+        this.createdAt = createdAt;
+    }
+    
     // Getters
+    public int getId() {
+        return id;
+    }
+    
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+    
     public int getUserId() {
         return userId;
     }
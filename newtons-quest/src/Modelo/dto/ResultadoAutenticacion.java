@@ -0,0 +1,88 @@
+package Modelo.dto;
+
+/**
+ * Resultado de un intento de inicio de sesión.
+ *
+ * Reúne en un solo objeto el estado de la autenticación y los datos del
+ * usuario que las pantallas necesitan tras un login exitoso, para que no
+ * tengan que volver a consultar la base de datos.
+ *
+ * @author Johann
+ * @version 1.0
+ */
+public class ResultadoAutenticacion {
+
+    /**
+     * Estados posibles de un intento de inicio de sesión.
+     */
+    public enum Estado {
+        /** Credenciales válidas */
+        EXITOSO,
+        /** No existe un usuario con ese nombre */
+        USUARIO_NO_EXISTE,
+        /** El usuario existe pero la contraseña no coincide */
+        PASSWORD_INCORRECTA,
+        /** No se pudo consultar la base de datos */
+        SIN_CONEXION
+    }
+
+    /** Estado del intento */
+    private final Estado estado;
+    /** ID del usuario, o -1 si la autenticación no fue exitosa */
+    private final int userId;
+    /** Nombre completo del usuario, o su username si no tiene uno */
+    private final String nombreMostrado;
+
+    /**
+     * Constructor para un resultado de autenticación.
+     *
+     * @param estado Estado del intento
+     * @param userId ID del usuario (-1 si no aplica)
+     * @param nombreMostrado Nombre a mostrar (null si no aplica)
+     */
+    public ResultadoAutenticacion(Estado estado, int userId, String nombreMostrado) {
+        this.estado = estado;
+        this.userId = userId;
+        this.nombreMostrado = nombreMostrado;
+    }
+
+    /**
+     * Crea un resultado fallido sin datos de usuario.
+     *
+     * @param estado Estado del fallo
+     * @return Resultado con userId -1
+     */
+    public static ResultadoAutenticacion fallido(Estado estado) {
+        return new ResultadoAutenticacion(estado, -1, null);
+    }
+
+    // Getters
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getNombreMostrado() {
+        return nombreMostrado;
+    }
+
+    /**
+     * Verifica si la autenticación fue exitosa
+     * @return true si las credenciales eran válidas
+     */
+    public boolean isExitoso() {
+        return estado == Estado.EXITOSO;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoAutenticacion{" +
+                "estado=" + estado +
+                ", userId=" + userId +
+                ", nombreMostrado='" + nombreMostrado + '\'' +
+                '}';
+    }
+}
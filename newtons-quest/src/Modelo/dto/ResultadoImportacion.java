@@ -0,0 +1,70 @@
+package Modelo.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resumen de una importación masiva de alumnos.
+ *
+ * Acumula cuántas cuentas se crearon, qué nombres de usuario ya existían
+ * y qué líneas del archivo no pasaron la validación.
+ *
+ * @author Johann
+ * @version 1.0
+ */
+public class ResultadoImportacion {
+
+    /** Número de cuentas creadas */
+    private int insertados;
+    /** Nombres de usuario rechazados por ya existir */
+    private final List<String> duplicados = new ArrayList<>();
+    /** Mensajes de error por línea inválida */
+    private final List<String> errores = new ArrayList<>();
+
+    /**
+     * Suma cuentas creadas al total.
+     * @param cantidad Cuentas creadas
+     */
+    public void sumarInsertados(int cantidad) {
+        insertados += cantidad;
+    }
+
+    /**
+     * Registra un nombre de usuario duplicado.
+     * @param username Nombre de usuario que ya existía
+     */
+    public void agregarDuplicado(String username) {
+        duplicados.add(username);
+    }
+
+    /**
+     * Registra un error de validación o de base de datos.
+     * @param mensaje Descripción del error, idealmente con su número de línea
+     */
+    public void agregarError(String mensaje) {
+        errores.add(mensaje);
+    }
+
+    // Getters
+    public int getInsertados() {
+        return insertados;
+    }
+
+    public List<String> getDuplicados() {
+        return Collections.unmodifiableList(duplicados);
+    }
+
+    public List<String> getErrores() {
+        return Collections.unmodifiableList(errores);
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoImportacion{" +
+                "insertados=" + insertados +
+                ", duplicados=" + duplicados.size() +
+                ", errores=" + errores.size() +
+                '}';
+    }
+}
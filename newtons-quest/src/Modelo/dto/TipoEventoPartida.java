@@ -0,0 +1,48 @@
+package Modelo.dto;
+
+/**
+ * Tipos de evento que se registran durante una partida.
+ *
+ * Cada tipo tiene un código fijo que es el que se guarda en partida_eventos;
+ * nunca reutilizar ni cambiar un código ya publicado, solo añadir nuevos.
+ * El significado del valor asociado depende del tipo.
+ *
+ * @author Johann
+ * @version 1.0
+ */
+public enum TipoEventoPartida {
+
+    /** Manzana roja atrapada; valor = puntos obtenidos */
+    MANZANA_ROJA_ATRAPADA(1),
+    /** Manzana verde atrapada; valor = puntos (negativos) */
+    MANZANA_VERDE_ATRAPADA(2),
+    /** Manzana roja que llegó al suelo; valor = puntos (negativos) */
+    MANZANA_ROJA_PERDIDA(3),
+    /** Poción de lentitud usada; valor sin uso (0) */
+    POCION_LENTITUD(10),
+    /** Poción de puntos dobles usada; valor sin uso (0) */
+    POCION_PUNTOS(11),
+    /** Poción de salud usada; valor = 1 si dio una vida, 0 si ya tenía el máximo */
+    POCION_SALUD(12),
+    /** Poción que llegó al suelo sin ser atrapada; valor sin uso (0) */
+    POCION_PERDIDA(13),
+    /** Vida perdida; valor = vidas restantes */
+    VIDA_PERDIDA(20),
+    /** Vida ganada; valor = vidas tras ganarla */
+    VIDA_GANADA(21),
+    /** Fórmula desbloqueada; valor = índice de la fórmula (0-4) */
+    FORMULA_DESBLOQUEADA(30),
+    /** Fin de la partida por quedarse sin vidas; valor = puntaje final */
+    FIN_PARTIDA(40);
+
+    /** Código persistido en la base de datos */
+    private final byte codigo;
+
+    TipoEventoPartida(int codigo) {
+        this.codigo = (byte) codigo;
+    }
+
+    public byte getCodigo() {
+        return codigo;
+    }
+}
@@ -0,0 +1,170 @@
+package Modelo.herramientas;
+
+import Controlador.utils.LineaTiempoArranque;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Herramienta que mide el tiempo de arranque de la aplicación con y sin el
+ * archivo de Class Data Sharing (AppCDS) generado por el objetivo cds-archive.
+ *
+ * Lanza el jar varias veces en cada modo con -Dnewtonsquest.arranque.salir=true,
+ * para que la aplicación se cierre sola tras el primer fotograma de la pantalla
+ * de login, y lee de su salida el instante "interactivo" que imprime
+ * Controlador.utils.LineaTiempoArranque. Antes de cada modo se hace un
+ * lanzamiento de calentamiento que no se cuenta.
+ *
+ * Se ejecuta con el objetivo benchmark-arranque de build.xml, o a mano:
+ * java -cp build/classes Modelo.herramientas.BenchmarkArranque dist/newtons-quest.jar 10 dist/newtons-quest.jsa [argumentos JVM...]
+ */
+public class BenchmarkArranque {
+
+    /** Tiempo máximo de un lanzamiento */
+    private static final long ESPERA_MAXIMA_S = 120;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Uso: BenchmarkArranque <jar> <iteraciones> <archivo.jsa> [argumentos JVM...]");
+            System.exit(1);
+        }
+
+        String jar = args[0];
+        int iteraciones = Integer.parseInt(args[1]);
+        File archivoCds = new File(args[2]);
+        List<String> argumentosJvm = separarArgumentos(Arrays.copyOfRange(args, 3, args.length));
+
+        double[] sinArchivo = medir(jar, iteraciones, argumentosJvm, null);
+        informar("Sin archivo CDS", sinArchivo);
+
+        if (!archivoCds.isFile()) {
+            System.out.println("No existe " + archivoCds + ": ejecuta primero el objetivo cds-archive");
+            return;
+        }
+        double[] conArchivo = medir(jar, iteraciones, argumentosJvm, archivoCds);
+        informar("Con archivo CDS", conArchivo);
+
+        double mejora = 1 - mediana(conArchivo) / mediana(sinArchivo);
+        System.out.printf(Locale.ROOT, "Mejora de la mediana con CDS: %.1f %%%n", mejora * 100);
+    }
+
+    /**
+     * Lanza la aplicación las veces indicadas más una de calentamiento.
+     * @return Instante "interactivo" de cada lanzamiento, en ms desde el inicio de la JVM
+     */
+    private static double[] medir(String jar, int iteraciones, List<String> argumentosJvm, File archivoCds)
+            throws IOException, InterruptedException {
+        List<String> comando = new ArrayList<>();
+        comando.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        comando.addAll(argumentosJvm);
+        if (archivoCds != null) {
+            comando.add("-XX:SharedArchiveFile=" + archivoCds.getPath());
+        }
+        comando.add("-Dnewtonsquest.arranque.salir=true");
+        comando.add("-jar");
+        comando.add(jar);
+
+        lanzar(comando);
+        double[] tiempos = new double[iteraciones];
+        for (int i = 0; i < iteraciones; i++) {
+            tiempos[i] = lanzar(comando);
+        }
+        return tiempos;
+    }
+
+    /**
+     * Lanza la aplicación una vez y espera a que se cierre, como mucho
+     * ESPERA_MAXIMA_S. La salida se lee en otro hilo para que un lanzamiento
+     * colgado no bloquee la espera.
+     * @return Instante "interactivo" informado por la aplicación
+     */
+    private static double lanzar(List<String> comando) throws IOException, InterruptedException {
+        Process proceso = new ProcessBuilder(comando).redirectErrorStream(true).start();
+        double[] interactivo = {-1};
+        IOException[] errorLectura = new IOException[1];
+        Thread lector = new Thread(() -> {
+            try (BufferedReader salida = new BufferedReader(
+                    new InputStreamReader(proceso.getInputStream(), StandardCharsets.UTF_8))) {
+                String linea;
+                while ((linea = salida.readLine()) != null) {
+                    if (linea.startsWith(LineaTiempoArranque.PREFIJO_RESUMEN)) {
+                        interactivo[0] = Double.parseDouble(
+                            linea.substring(LineaTiempoArranque.PREFIJO_RESUMEN.length()).trim());
+                    }
+                }
+            } catch (IOException e) {
+                errorLectura[0] = e;
+            }
+        }, "SalidaArranque");
+        lector.setDaemon(true);
+        lector.start();
+
+        if (!proceso.waitFor(ESPERA_MAXIMA_S, TimeUnit.SECONDS)) {
+            proceso.destroyForcibly().waitFor();
+            lector.join();
+            throw new IOException("La aplicación no terminó en " + ESPERA_MAXIMA_S + " s");
+        }
+        // Al terminar el proceso su salida llega a fin de archivo y el lector acaba
+        lector.join();
+        if (errorLectura[0] != null) {
+            throw errorLectura[0];
+        }
+        if (interactivo[0] < 0) {
+            throw new IOException("La aplicación terminó sin informar el arranque (código " + proceso.exitValue() + ")");
+        }
+        return interactivo[0];
+    }
+
+    private static void informar(String modo, double[] tiempos) {
+        double suma = 0;
+        double minimo = Double.MAX_VALUE;
+        for (double tiempo : tiempos) {
+            suma += tiempo;
+            minimo = Math.min(minimo, tiempo);
+        }
+        System.out.printf(Locale.ROOT, "%s: %d lanzamientos, mínimo %.0f ms, mediana %.0f ms, media %.0f ms%n",
+                          modo, tiempos.length, minimo, mediana(tiempos), suma / tiempos.length);
+    }
+
+    private static double mediana(double[] tiempos) {
+        double[] ordenados = tiempos.clone();
+        Arrays.sort(ordenados);
+        int medio = ordenados.length / 2;
+        return ordenados.length % 2 == 1 ? ordenados[medio] : (ordenados[medio - 1] + ordenados[medio]) / 2;
+    }
+
+    /**
+     * Separa los argumentos JVM, que Ant puede pasar juntos en una sola línea
+     * (respetando las comillas de rutas con espacios).
+     */
+    private static List<String> separarArgumentos(String[] args) {
+        List<String> resultado = new ArrayList<>();
+        for (String arg : args) {
+            StringBuilder actual = new StringBuilder();
+            boolean entreComillas = false;
+            for (char c : arg.toCharArray()) {
+                if (c == '"') {
+                    entreComillas = !entreComillas;
+                } else if (Character.isWhitespace(c) && !entreComillas) {
+                    if (actual.length() > 0) {
+                        resultado.add(actual.toString());
+                        actual.setLength(0);
+                    }
+                } else {
+                    actual.append(c);
+                }
+            }
+            if (actual.length() > 0) {
+                resultado.add(actual.toString());
+            }
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,141 @@
+package Modelo.herramientas;
+
+import Modelo.PaqueteRecursos;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Herramienta de build que genera el paquete de recursos recursos.pak.
+ *
+ * Junta todos los archivos de recursos/ y Vista/ en el formato que lee
+ * PaqueteRecursos: cabecera, índice con la ruta, desplazamiento y longitud
+ * de cada recurso, y a continuación los datos. Se omiten las capturas de
+ * recursos/readme y los archivos de audio y video, que JavaFX solo puede
+ * reproducir desde una URL de archivo.
+ *
+ * Se ejecuta en el objetivo -post-jar de build.xml, o a mano:
+ * java -cp build/classes Modelo.herramientas.EmpaquetarRecursos src dist/recursos.pak
+ */
+public class EmpaquetarRecursos {
+
+    /** Carpetas de src/ que se empaquetan */
+    private static final String[] CARPETAS = {"recursos", "Vista"};
+
+    /** Carpeta con documentación que no usa la aplicación */
+    private static final String CARPETA_EXCLUIDA = "recursos/readme/";
+
+    /** Extensiones que se reproducen desde archivo y no se empaquetan */
+    private static final String[] EXTENSIONES_EXCLUIDAS = {".mp3", ".wav", ".mp4", ".m4a", ".flv"};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: EmpaquetarRecursos <directorio src> <archivo de salida>");
+            System.exit(1);
+        }
+
+        long inicio = System.nanoTime();
+        Path origen = new File(args[0]).toPath();
+        Path salida = new File(args[1]).toPath();
+
+        List<String> rutas = listarRecursos(origen);
+        long bytes = escribirPaquete(origen, rutas, salida);
+
+        System.out.printf("%s generado: %d recursos, %d KB en %.2f s%n", salida, rutas.size(), bytes / 1024,
+                          (System.nanoTime() - inicio) / 1e9);
+    }
+
+    /**
+     * Lista las rutas a empaquetar, relativas al directorio src y ordenadas.
+     */
+    private static List<String> listarRecursos(Path origen) throws IOException {
+        List<String> rutas = new ArrayList<>();
+        for (String carpeta : CARPETAS) {
+            Path directorio = origen.resolve(carpeta);
+            if (!Files.isDirectory(directorio)) {
+                continue;
+            }
+            try (Stream<Path> archivos = Files.walk(directorio)) {
+                rutas.addAll(archivos.filter(Files::isRegularFile)
+                                     .map(archivo -> origen.relativize(archivo).toString().replace(File.separatorChar, '/'))
+                                     .filter(EmpaquetarRecursos::debeEmpaquetarse)
+                                     .collect(Collectors.toList()));
+            }
+        }
+        rutas.sort(null);
+        return rutas;
+    }
+
+    private static boolean debeEmpaquetarse(String ruta) {
+        if (ruta.startsWith(CARPETA_EXCLUIDA)) {
+            return false;
+        }
+        String minusculas = ruta.toLowerCase(Locale.ROOT);
+        for (String extension : EXTENSIONES_EXCLUIDAS) {
+            if (minusculas.endsWith(extension)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Escribe el paquete en un archivo temporal y lo mueve al destino al terminar,
+     * para que la aplicación nunca encuentre un paquete a medio escribir.
+     * @return Tamaño del paquete en bytes
+     */
+    private static long escribirPaquete(Path origen, List<String> rutas, Path salida) throws IOException {
+        byte[][] nombres = new byte[rutas.size()][];
+        long[] longitudes = new long[rutas.size()];
+        long tamanoIndice = 0;
+        for (int i = 0; i < rutas.size(); i++) {
+            nombres[i] = rutas.get(i).getBytes(StandardCharsets.UTF_8);
+            longitudes[i] = Files.size(origen.resolve(rutas.get(i)));
+            if (longitudes[i] > Integer.MAX_VALUE) {
+                throw new IOException("Recurso demasiado grande para el paquete: " + rutas.get(i));
+            }
+            tamanoIndice += 2 + nombres[i].length + 8 + 4;
+        }
+
+        Path carpetaSalida = salida.toAbsolutePath().getParent();
+        Files.createDirectories(carpetaSalida);
+        Path temporal = Files.createTempFile(carpetaSalida, "recursos", ".tmp");
+        try {
+            try (DataOutputStream datos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+                // Cabecera
+                datos.writeInt(PaqueteRecursos.FIRMA);
+                datos.writeShort(PaqueteRecursos.VERSION);
+                datos.writeInt(rutas.size());
+
+                // Índice
+                long desplazamiento = 4 + 2 + 4 + tamanoIndice;
+                for (int i = 0; i < rutas.size(); i++) {
+                    datos.writeShort(nombres[i].length);
+                    datos.write(nombres[i]);
+                    datos.writeLong(desplazamiento);
+                    datos.writeInt((int) longitudes[i]);
+                    desplazamiento += longitudes[i];
+                }
+
+                // Datos
+                for (String ruta : rutas) {
+                    Files.copy(origen.resolve(ruta), datos);
+                }
+            }
+            Files.move(temporal, salida, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+        return Files.size(salida);
+    }
+}
@@ -0,0 +1,29 @@
+package Modelo.herramientas;
+
+import Modelo.dao.QuizDAO;
+
+/**
+ * Herramienta de mantenimiento que reconstruye la tabla quiz_summary.
+ *
+ * Recalcula el mejor intento, el último intento, el número de intentos y el
+ * estado de aprobación de cada usuario a partir de quiz_results. Útil tras
+ * importar resultados directamente en la base de datos o si el resumen se
+ * desincroniza.
+ *
+ * Uso: java -cp "lib/*:build/classes" Modelo.herramientas.ReconstruirResumenQuiz
+ */
+public class ReconstruirResumenQuiz {
+
+    public static void main(String[] args) {
+        long inicio = System.nanoTime();
+        int usuarios = QuizDAO.reconstruirResumenQuiz();
+
+        if (usuarios < 0) {
+            System.err.println("No se pudo reconstruir quiz_summary (revisa la conexión a la base de datos)");
+            System.exit(1);
+        }
+
+        System.out.printf("quiz_summary reconstruida: %d usuarios en %.2f s%n",
+                          usuarios, (System.nanoTime() - inicio) / 1e9);
+    }
+}
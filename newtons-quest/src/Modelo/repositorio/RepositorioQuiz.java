@@ -0,0 +1,55 @@
+package Modelo.repositorio;
+
+import Modelo.dto.QuizResult;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Operaciones de almacenamiento de los resultados del quiz.
+ * 
+ * Implementaciones: RepositorioQuizJdbc (MySQL, vía QuizDAO) y
+ * RepositorioQuizMemoria (en proceso). Se obtiene con Repositorios.quiz().
+ * Las preguntas no dependen del almacenamiento: están en BancoPreguntas.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+public interface RepositorioQuiz {
+    
+    boolean guardarResultadoQuiz(QuizResult result);
+    
+    /**
+     * @return Mejor resultado (en empate, el más reciente) o null si no tiene resultados
+     */
+    QuizResult obtenerMejorResultadoUsuario(int userId);
+    
+    /**
+     * @return Último resultado o null si no tiene resultados
+     */
+    QuizResult obtenerUltimoResultadoQuiz(int userId);
+    
+    /**
+     * Carga el historial completo, del más reciente al más antiguo.
+     */
+    List<QuizResult> obtenerResultadosUsuario(int userId);
+    
+    /**
+     * Página del historial, del más reciente al más antiguo, continuando tras
+     * (despuesDeFecha, despuesDeId); despuesDeFecha null pide la primera página.
+     */
+    List<QuizResult> obtenerPaginaResultadosUsuario(int userId, Timestamp despuesDeFecha,
+                                                    int despuesDeId, int tamanoPagina);
+    
+    /**
+     * @return Número de resultados recorridos
+     */
+    int recorrerResultadosUsuario(int userId, Consumer<QuizResult> consumidor);
+    
+    boolean usuarioHaAprobado(int userId);
+    
+    /**
+     * @return Número de usuarios resumidos, o -1 si hubo un error
+     */
+    int reconstruirResumenQuiz();
+}
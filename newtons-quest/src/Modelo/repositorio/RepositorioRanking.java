@@ -0,0 +1,74 @@
+package Modelo.repositorio;
+
+import Modelo.dto.PeriodoRanking;
+import Modelo.dto.RankingEntry;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Operaciones de almacenamiento del ranking.
+ * 
+ * Implementaciones: RepositorioRankingJdbc (MySQL, vía RankingDAO) y
+ * RepositorioRankingMemoria (en proceso). Se obtiene con Repositorios.ranking().
+ * El orden del ranking es puntaje descendente, luego quien lo logró primero y
+ * luego el ID de usuario.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+public interface RepositorioRanking {
+    
+    /**
+     * Guarda el puntaje de una partida completa (5 fórmulas) en el ranking
+     * histórico y en los rankings del día y la semana.
+     * @return true si se guardó o el puntaje anterior era mayor
+     */
+    boolean guardarPuntajeCompleto(int userId, int score, int formulasCompleted);
+    
+    List<RankingEntry> obtenerTopRanking(int limite);
+    
+    List<RankingEntry> obtenerTopRankingPeriodo(PeriodoRanking periodo, int limite);
+    
+    /**
+     * @return Filas eliminadas, o -1 si hubo un error
+     */
+    int limpiarRankingsPeriodoVencidos();
+    
+    /**
+     * @return Versión actual del ranking, o -1 si no se pudo consultar
+     */
+    long obtenerVersionRanking();
+    
+    /**
+     * @return Posición (1-based, compartida en empates de puntaje) o -1 si no está en el ranking
+     */
+    int obtenerPosicionUsuario(int userId);
+    
+    /**
+     * Su costo crece con la posición (cuenta las filas que preceden al usuario).
+     * @return Posición (1-based, única: desempata por fecha y usuario_id, como las
+     *         páginas de obtenerPaginaRanking) o -1 si no está en el ranking
+     */
+    int obtenerPosicionUnicaUsuario(int userId);
+    
+    /**
+     * Los vecinos se leen con recorridos acotados; la posición absoluta del usuario
+     * cuesta, como en obtenerPosicionUnicaUsuario, O(posición).
+     * @return Los vecinos por encima, el usuario y los vecinos por debajo, o lista
+     *         vacía si el usuario no está en el ranking
+     */
+    List<RankingEntry> obtenerRankingAlrededor(int userId, int vecinos);
+    
+    /**
+     * Página del ranking histórico en el orden del ranking. Con la última entrada
+     * de la página anterior se lee por keyset; sin ella, desde la posición indicada.
+     * @return Entradas con su posición, lista vacía si no hay más, o null si hubo un error
+     */
+    List<RankingEntry> obtenerPaginaRanking(RankingEntry despuesDe, int posicionInicial, int limite);
+    
+    int obtenerTotalJugadoresCompletos();
+    
+    int obtenerMejorPuntaje(int userId);
+    
+    Timestamp obtenerFechaCompletacion(int userId);
+}
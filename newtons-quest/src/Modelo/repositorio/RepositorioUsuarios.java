@@ -0,0 +1,101 @@
+package Modelo.repositorio;
+
+import Modelo.dto.AlumnoImportado;
+import Modelo.dto.Player;
+import Modelo.dto.ResultadoAutenticacion;
+import Modelo.dto.ResultadoImportacion;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Operaciones de almacenamiento de usuarios.
+ * 
+ * Implementaciones: RepositorioUsuariosJdbc (MySQL, vía UsuarioDAO) y
+ * RepositorioUsuariosMemoria (en proceso). Se obtiene con Repositorios.usuarios().
+ * Los métodos no lanzan excepciones: ante un error retornan el mismo valor por
+ * defecto que documenta UsuarioDAO.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+public interface RepositorioUsuarios {
+    
+    /**
+     * Registra un nuevo usuario con username y contraseña.
+     * @return true si el registro fue exitoso
+     */
+    default boolean registrarUsuario(String username, String password) {
+        return registrarUsuario(username, password, "", "");
+    }
+    
+    /**
+     * Registra un nuevo usuario con información completa.
+     * @return true si el registro fue exitoso, false si ya existe o hubo un error
+     */
+    boolean registrarUsuario(String username, String password, String nombreCompleto, String email);
+    
+    /**
+     * Registra muchos usuarios a la vez, reportando duplicados y errores en el resultado.
+     */
+    void registrarUsuariosEnLote(List<AlumnoImportado> alumnos, ResultadoImportacion resultado);
+    
+    boolean existeUsuario(String username);
+    
+    /**
+     * @return Número de usuarios, o -1 si hubo un error
+     */
+    int contarUsuarios();
+    
+    /**
+     * Entrega cada username al consumidor sin cargar la lista completa.
+     * @return Número de usernames recorridos, o -1 si hubo un error
+     */
+    int recorrerUsernames(Consumer<String> consumidor);
+    
+    boolean validarCredenciales(String username, String password);
+    
+    ResultadoAutenticacion authenticate(String username, String password);
+    
+    /**
+     * @return ID del usuario o -1 si no se encuentra
+     */
+    int obtenerIdUsuario(String username);
+    
+    String obtenerNombreCompleto(int userId);
+    
+    String obtenerCorreo(int userId);
+    
+    String obtenerFechaRegistro(int userId);
+    
+    boolean actualizarPerfilUsuario(int userId, String nombreCompleto, String correo);
+    
+    boolean actualizarProgresoUsuario(int userId, int mejorPuntaje, int formulasCompletadas);
+    
+    int obtenerMejorPuntajeUsuario(int userId);
+    
+    int obtenerFormulasCompletadasUsuario(int userId);
+    
+    String obtenerUltimaPartidaUsuario(int userId);
+    
+    boolean sincronizarDatosRankingAUsuarios(int userId);
+    
+    /**
+     * Sincroniza el ranking con la tabla de usuarios.
+     * @return Número de usuarios sincronizados
+     */
+    default int sincronizarTodosLosDatosRanking() {
+        return sincronizarTodosLosDatosRanking(null);
+    }
+    
+    /**
+     * @param progreso Recibe el avance entre 0.0 y 1.0 (puede ser null)
+     * @return Número de usuarios sincronizados
+     */
+    int sincronizarTodosLosDatosRanking(DoubleConsumer progreso);
+    
+    /**
+     * @return Datos del jugador o null si no existe
+     */
+    Player obtenerDatosJugador(int userId);
+}
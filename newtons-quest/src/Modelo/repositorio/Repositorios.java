@@ -0,0 +1,127 @@
+package Modelo.repositorio;
+
+import Modelo.ConexionDB;
+import Modelo.repositorio.jdbc.RepositorioQuizJdbc;
+import Modelo.repositorio.jdbc.RepositorioRankingJdbc;
+import Modelo.repositorio.jdbc.RepositorioUsuariosJdbc;
+import Modelo.repositorio.memoria.RepositorioQuizMemoria;
+import Modelo.repositorio.memoria.RepositorioRankingMemoria;
+import Modelo.repositorio.memoria.RepositorioUsuariosMemoria;
+import java.util.logging.Logger;
+
+/**
+ * Punto de acceso a los repositorios de la aplicación.
+ * 
+ * El almacenamiento se elige al arrancar con la propiedad de sistema
+ * newtonsquest.almacenamiento:
+ * 
+ *   - mysql (por defecto): los repositorios delegan en los DAO JDBC
+ *   - memoria: estructuras en proceso, sin servidor de base de datos;
+ *     los datos se pierden al cerrar la aplicación
+ * 
+ * Ejemplo: java -Dnewtonsquest.almacenamiento=memoria ... Main._Main
+ * 
+ * Los benchmarks y herramientas pueden llamar a configurar() antes del
+ * primer uso. El resto del código obtiene los repositorios con usuarios(),
+ * ranking() y quiz() en lugar de llamar a los DAO directamente.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+public class Repositorios {
+    
+    private static final Logger LOGGER = Logger.getLogger(Repositorios.class.getName());
+    
+    /**
+     * Tipos de almacenamiento disponibles.
+     */
+    public enum TipoAlmacenamiento {
+        /** Servidor MySQL a través de ConexionDB */
+        MYSQL,
+        /** Estructuras en memoria dentro del proceso */
+        MEMORIA
+    }
+    
+    private static TipoAlmacenamiento tipo;
+    private static RepositorioUsuarios usuarios;
+    private static RepositorioRanking ranking;
+    private static RepositorioQuiz quiz;
+    
+    // Prevenir instanciación
+    private Repositorios() {}
+    
+    /**
+     * Selecciona el almacenamiento. Pensado para llamarse una vez al arrancar;
+     * si no se llama, se usa el indicado por newtonsquest.almacenamiento.
+     * @param nuevoTipo Almacenamiento a usar
+     */
+    public static synchronized void configurar(TipoAlmacenamiento nuevoTipo) {
+        tipo = nuevoTipo;
+        if (nuevoTipo == TipoAlmacenamiento.MEMORIA) {
+            usuarios = new RepositorioUsuariosMemoria();
+            ranking = new RepositorioRankingMemoria();
+            quiz = new RepositorioQuizMemoria();
+        } else {
+            usuarios = new RepositorioUsuariosJdbc();
+            ranking = new RepositorioRankingJdbc();
+            quiz = new RepositorioQuizJdbc();
+        }
+        LOGGER.info("Almacenamiento: " + nuevoTipo);
+    }
+    
+    /**
+     * Inicializa con la propiedad de sistema si aún no se configuró.
+     */
+    private static synchronized void asegurarConfigurado() {
+        if (tipo == null) {
+            String valor = System.getProperty("newtonsquest.almacenamiento", "mysql");
+            configurar("memoria".equalsIgnoreCase(valor.trim()) ? TipoAlmacenamiento.MEMORIA
+                                                               : TipoAlmacenamiento.MYSQL);
+        }
+    }
+    
+    public static RepositorioUsuarios usuarios() {
+        asegurarConfigurado();
+        return usuarios;
+    }
+    
+    public static RepositorioRanking ranking() {
+        asegurarConfigurado();
+        return ranking;
+    }
+    
+    public static RepositorioQuiz quiz() {
+        asegurarConfigurado();
+        return quiz;
+    }
+    
+    public static TipoAlmacenamiento getTipo() {
+        asegurarConfigurado();
+        return tipo;
+    }
+    
+    /**
+     * Indica si el almacenamiento es un servidor MySQL (migraciones, réplica,
+     * historial de partidas y herramientas SQL solo aplican en ese caso).
+     * @return true si se usa MySQL
+     */
+    public static boolean usaBaseDeDatos() {
+        return getTipo() == TipoAlmacenamiento.MYSQL;
+    }
+    
+    /**
+     * Indica si el almacenamiento está disponible sin esperar a la red.
+     * @return true si se usa memoria o el circuito de ConexionDB está cerrado
+     */
+    public static boolean isDisponible() {
+        return !usaBaseDeDatos() || ConexionDB.isDisponible();
+    }
+    
+    /**
+     * Comprueba activamente la disponibilidad (ver ConexionDB.verificarDisponibilidad).
+     * @return true si se usa memoria o la base de datos respondió
+     */
+    public static boolean verificarDisponibilidad() {
+        return !usaBaseDeDatos() || ConexionDB.verificarDisponibilidad();
+    }
+}
@@ -0,0 +1,58 @@
+package Modelo.repositorio.jdbc;
+
+import Modelo.dao.QuizDAO;
+import Modelo.dto.QuizResult;
+import Modelo.repositorio.RepositorioQuiz;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Repositorio de resultados del quiz sobre MySQL. Delega en QuizDAO.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+public class RepositorioQuizJdbc implements RepositorioQuiz {
+    
+    @Override
+    public boolean guardarResultadoQuiz(QuizResult result) {
+        return QuizDAO.guardarResultadoQuiz(result);
+    }
+    
+    @Override
+    public QuizResult obtenerMejorResultadoUsuario(int userId) {
+        return QuizDAO.obtenerMejorResultadoUsuario(userId);
+    }
+    
+    @Override
+    public QuizResult obtenerUltimoResultadoQuiz(int userId) {
+        return QuizDAO.obtenerUltimoResultadoQuiz(userId);
+    }
+    
+    @Override
+    public List<QuizResult> obtenerResultadosUsuario(int userId) {
+        return QuizDAO.obtenerResultadosUsuario(userId);
+    }
+    
+    @Override
+    public List<QuizResult> obtenerPaginaResultadosUsuario(int userId, Timestamp despuesDeFecha,
+                                                           int despuesDeId, int tamanoPagina) {
+        return QuizDAO.obtenerPaginaResultadosUsuario(userId, despuesDeFecha, despuesDeId, tamanoPagina);
+    }
+    
+    @Override
+    public int recorrerResultadosUsuario(int userId, Consumer<QuizResult> consumidor) {
+        return QuizDAO.recorrerResultadosUsuario(userId, consumidor);
+    }
+    
+    @Override
+    public boolean usuarioHaAprobado(int userId) {
+        return QuizDAO.usuarioHaAprobado(userId);
+    }
+    
+    @Override
+    public int reconstruirResumenQuiz() {
+        return QuizDAO.reconstruirResumenQuiz();
+    }
+}
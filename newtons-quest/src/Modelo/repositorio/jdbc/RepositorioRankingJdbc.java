@@ -0,0 +1,77 @@
+package Modelo.repositorio.jdbc;
+
+import Modelo.dao.RankingDAO;
+import Modelo.dto.PeriodoRanking;
+import Modelo.dto.RankingEntry;
+import Modelo.repositorio.RepositorioRanking;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Repositorio del ranking sobre MySQL. Delega en RankingDAO.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+public class RepositorioRankingJdbc implements RepositorioRanking {
+    
+    @Override
+    public boolean guardarPuntajeCompleto(int userId, int score, int formulasCompleted) {
+        return RankingDAO.guardarPuntajeCompleto(userId, score, formulasCompleted);
+    }
+    
+    @Override
+    public List<RankingEntry> obtenerTopRanking(int limite) {
+        return RankingDAO.obtenerTopRanking(limite);
+    }
+    
+    @Override
+    public List<RankingEntry> obtenerTopRankingPeriodo(PeriodoRanking periodo, int limite) {
+        return RankingDAO.obtenerTopRankingPeriodo(periodo, limite);
+    }
+    
+    @Override
+    public int limpiarRankingsPeriodoVencidos() {
+        return RankingDAO.limpiarRankingsPeriodoVencidos();
+    }
+    
+    @Override
+    public long obtenerVersionRanking() {
+        return RankingDAO.obtenerVersionRanking();
+    }
+    
+    @Override
+    public int obtenerPosicionUsuario(int userId) {
+        return RankingDAO.obtenerPosicionUsuario(userId);
+    }
+    
+    @Override
+    public int obtenerPosicionUnicaUsuario(int userId) {
+        return RankingDAO.obtenerPosicionUnicaUsuario(userId);
+    }
+    
+    @Override
+    public List<RankingEntry> obtenerRankingAlrededor(int userId, int vecinos) {
+        return RankingDAO.obtenerRankingAlrededor(userId, vecinos);
+    }
+    
+    @Override
+    public List<RankingEntry> obtenerPaginaRanking(RankingEntry despuesDe, int posicionInicial, int limite) {
+        return RankingDAO.obtenerPaginaRanking(despuesDe, posicionInicial, limite);
+    }
+    
+    @Override
+    public int obtenerTotalJugadoresCompletos() {
+        return RankingDAO.obtenerTotalJugadoresCompletos();
+    }
+    
+    @Override
+    public int obtenerMejorPuntaje(int userId) {
+        return RankingDAO.obtenerMejorPuntaje(userId);
+    }
+    
+    @Override
+    public Timestamp obtenerFechaCompletacion(int userId) {
+        return RankingDAO.obtenerFechaCompletacion(userId);
+    }
+}
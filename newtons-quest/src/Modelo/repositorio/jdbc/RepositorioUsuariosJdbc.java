@@ -0,0 +1,116 @@
+package Modelo.repositorio.jdbc;
+
+import Modelo.dao.UsuarioDAO;
+import Modelo.dto.AlumnoImportado;
+import Modelo.dto.Player;
+import Modelo.dto.ResultadoAutenticacion;
+import Modelo.dto.ResultadoImportacion;
+import Modelo.repositorio.RepositorioUsuarios;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Repositorio de usuarios sobre MySQL. Delega en UsuarioDAO, que conserva
+ * las consultas y el enrutamiento entre primario y réplica.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+public class RepositorioUsuariosJdbc implements RepositorioUsuarios {
+    
+    @Override
+    public boolean registrarUsuario(String username, String password, String nombreCompleto, String email) {
+        return UsuarioDAO.registrarUsuario(username, password, nombreCompleto, email);
+    }
+    
+    @Override
+    public void registrarUsuariosEnLote(List<AlumnoImportado> alumnos, ResultadoImportacion resultado) {
+        UsuarioDAO.registrarUsuariosEnLote(alumnos, resultado);
+    }
+    
+    @Override
+    public boolean existeUsuario(String username) {
+        return UsuarioDAO.existeUsuario(username);
+    }
+    
+    @Override
+    public int contarUsuarios() {
+        return UsuarioDAO.contarUsuarios();
+    }
+    
+    @Override
+    public int recorrerUsernames(Consumer<String> consumidor) {
+        return UsuarioDAO.recorrerUsernames(consumidor);
+    }
+    
+    @Override
+    public boolean validarCredenciales(String username, String password) {
+        return UsuarioDAO.validarCredenciales(username, password);
+    }
+    
+    @Override
+    public ResultadoAutenticacion authenticate(String username, String password) {
+        return UsuarioDAO.authenticate(username, password);
+    }
+    
+    @Override
+    public int obtenerIdUsuario(String username) {
+        return UsuarioDAO.obtenerIdUsuario(username);
+    }
+    
+    @Override
+    public String obtenerNombreCompleto(int userId) {
+        return UsuarioDAO.obtenerNombreCompleto(userId);
+    }
+    
+    @Override
+    public String obtenerCorreo(int userId) {
+        return UsuarioDAO.obtenerCorreo(userId);
+    }
+    
+    @Override
+    public String obtenerFechaRegistro(int userId) {
+        return UsuarioDAO.obtenerFechaRegistro(userId);
+    }
+    
+    @Override
+    public boolean actualizarPerfilUsuario(int userId, String nombreCompleto, String correo) {
+        return UsuarioDAO.actualizarPerfilUsuario(userId, nombreCompleto, correo);
+    }
+    
+    @Override
+    public boolean actualizarProgresoUsuario(int userId, int mejorPuntaje, int formulasCompletadas) {
+        return UsuarioDAO.actualizarProgresoUsuario(userId, mejorPuntaje, formulasCompletadas);
+    }
+    
+    @Override
+    public int obtenerMejorPuntajeUsuario(int userId) {
+        return UsuarioDAO.obtenerMejorPuntajeUsuario(userId);
+    }
+    
+    @Override
+    public int obtenerFormulasCompletadasUsuario(int userId) {
+        return UsuarioDAO.obtenerFormulasCompletadasUsuario(userId);
+    }
+    
+    @Override
+    public String obtenerUltimaPartidaUsuario(int userId) {
+        return UsuarioDAO.obtenerUltimaPartidaUsuario(userId);
+    }
+    
+    @Override
+    public boolean sincronizarDatosRankingAUsuarios(int userId) {
+        return UsuarioDAO.sincronizarDatosRankingAUsuarios(userId);
+    }
+    
+    @Override
+    public int sincronizarTodosLosDatosRanking(DoubleConsumer progreso) {
+        return UsuarioDAO.sincronizarTodosLosDatosRanking(progreso);
+    }
+    
+    @Override
+    public Player obtenerDatosJugador(int userId) {
+        return UsuarioDAO.obtenerDatosJugador(userId);
+    }
+}
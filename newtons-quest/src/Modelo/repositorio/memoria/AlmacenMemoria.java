@@ -0,0 +1,199 @@
+package Modelo.repositorio.memoria;
+
+import Modelo.dto.PeriodoRanking;
+import Modelo.dto.QuizResult;
+import Modelo.dto.RankingEntry;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Estado compartido del almacenamiento en memoria.
+ * 
+ * Reproduce en estructuras de Java las tablas que usan los repositorios
+ * (usuarios, ranking, ranking_periodo, ranking_version y quiz_results) para
+ * ejecutar la aplicación y los benchmarks sin un servidor MySQL. Los datos
+ * viven mientras dure el proceso.
+ * 
+ * Los tres repositorios en memoria comparten una instancia y sincronizan
+ * sobre ella cada operación, de modo que cada método equivale a una
+ * transacción. Los nombres de usuario se comparan sin distinguir mayúsculas,
+ * igual que con la collation por defecto de MySQL.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+class AlmacenMemoria {
+    
+    /** Formato de fechas que muestran los perfiles, igual que UsuarioDAO */
+    static final String FORMATO_FECHA = "dd/MM/yyyy HH:mm";
+    
+    /** Orden del ranking: puntaje descendente, luego quien lo logró primero, luego usuario */
+    static final Comparator<FilaRanking> ORDEN_RANKING = Comparator
+        .comparingInt((FilaRanking fila) -> -fila.puntaje)
+        .thenComparing(fila -> fila.fecha)
+        .thenComparingInt(fila -> fila.usuarioId);
+    
+    /**
+     * Fila de la tabla usuarios.
+     */
+    static final class Usuario {
+        final int id;
+        final String username;
+        final String hashPassword;
+        final Timestamp fechaRegistro;
+        String nombreCompleto;
+        String correo;
+        int mejorPuntaje;
+        int formulasCompletadas;
+        Timestamp ultimaPartida;
+        
+        Usuario(int id, String username, String hashPassword, String nombreCompleto, String correo) {
+            this.id = id;
+            this.username = username;
+            this.hashPassword = hashPassword;
+            this.nombreCompleto = nombreCompleto;
+            this.correo = correo;
+            this.fechaRegistro = ahora();
+        }
+    }
+    
+    /**
+     * Fila inmutable de un ranking (histórico o de periodo). Se reemplaza al
+     * mejorar el puntaje para no alterar su posición dentro de un TreeSet.
+     */
+    static final class FilaRanking {
+        final int usuarioId;
+        final int puntaje;
+        final Timestamp fecha;
+        final int partidas;
+        
+        FilaRanking(int usuarioId, int puntaje, Timestamp fecha, int partidas) {
+            this.usuarioId = usuarioId;
+            this.puntaje = puntaje;
+            this.fecha = fecha;
+            this.partidas = partidas;
+        }
+    }
+    
+    /**
+     * Ranking ordenado con acceso por usuario.
+     */
+    static final class Ranking {
+        final TreeSet<FilaRanking> orden = new TreeSet<>(ORDEN_RANKING);
+        final Map<Integer, FilaRanking> porUsuario = new HashMap<>();
+        
+        void poner(FilaRanking fila) {
+            FilaRanking anterior = porUsuario.put(fila.usuarioId, fila);
+            if (anterior != null) {
+                orden.remove(anterior);
+            }
+            orden.add(fila);
+        }
+    }
+    
+    /** Instancia única compartida por los repositorios en memoria */
+    private static final AlmacenMemoria INSTANCIA = new AlmacenMemoria();
+    
+    // Tabla usuarios
+    final Map<Integer, Usuario> usuarios = new LinkedHashMap<>();
+    final Map<String, Usuario> usuariosPorNombre = new HashMap<>();
+    int siguienteIdUsuario = 1;
+    
+    // Tablas ranking, ranking_periodo y ranking_version
+    final Ranking rankingHistorico = new Ranking();
+    final Map<PeriodoRanking, Map<LocalDate, Ranking>> rankingsPeriodo = new EnumMap<>(PeriodoRanking.class);
+    long versionRanking = 0;
+    
+    // Tabla quiz_results, por usuario en orden de inserción (que es el de fecha e id)
+    final Map<Integer, List<QuizResult>> resultadosQuiz = new HashMap<>();
+    int siguienteIdResultado = 1;
+    
+    private AlmacenMemoria() {
+        rankingsPeriodo.put(PeriodoRanking.DIARIO, new HashMap<>());
+        rankingsPeriodo.put(PeriodoRanking.SEMANAL, new HashMap<>());
+    }
+    
+    static AlmacenMemoria getInstance() {
+        return INSTANCIA;
+    }
+    
+    // ===================================
+    // UTILIDADES
+    // ===================================
+    
+    Usuario buscarUsuario(String username) {
+        return username == null ? null : usuariosPorNombre.get(username.toLowerCase());
+    }
+    
+    Usuario agregarUsuario(String username, String hashPassword, String nombreCompleto, String correo) {
+        Usuario usuario = new Usuario(siguienteIdUsuario++, username, hashPassword, nombreCompleto, correo);
+        usuarios.put(usuario.id, usuario);
+        usuariosPorNombre.put(username.toLowerCase(), usuario);
+        return usuario;
+    }
+    
+    /**
+     * Ranking del día o de la semana (desde el lunes) en curso.
+     * @param crear true para crearlo si aún no existe
+     * @return Ranking del periodo, o null si no existe y no se pidió crearlo
+     */
+    Ranking rankingPeriodo(PeriodoRanking periodo, boolean crear) {
+        LocalDate hoy = LocalDate.now();
+        LocalDate inicio = periodo == PeriodoRanking.DIARIO ? hoy
+                         : hoy.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Map<LocalDate, Ranking> rankings = rankingsPeriodo.get(periodo);
+        return crear ? rankings.computeIfAbsent(inicio, clave -> new Ranking()) : rankings.get(inicio);
+    }
+    
+    /**
+     * Elimina los rankings de periodo que empezaron antes de la fecha límite.
+     * @return Filas eliminadas
+     */
+    int eliminarPeriodosAntesDe(PeriodoRanking periodo, LocalDate limite) {
+        int eliminadas = 0;
+        Iterator<Map.Entry<LocalDate, Ranking>> iterador = rankingsPeriodo.get(periodo).entrySet().iterator();
+        while (iterador.hasNext()) {
+            Map.Entry<LocalDate, Ranking> entrada = iterador.next();
+            if (entrada.getKey().isBefore(limite)) {
+                eliminadas += entrada.getValue().porUsuario.size();
+                iterador.remove();
+            }
+        }
+        return eliminadas;
+    }
+    
+    static Timestamp ahora() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+    
+    static String formatearFecha(Timestamp fecha) {
+        return new SimpleDateFormat(FORMATO_FECHA).format(fecha);
+    }
+    
+    /**
+     * Convierte filas de ranking en entradas numeradas desde una posición.
+     */
+    List<RankingEntry> aEntradas(Iterable<FilaRanking> filas, int primeraPosicion, int limite) {
+        List<RankingEntry> entradas = new ArrayList<>();
+        int posicion = primeraPosicion;
+        for (FilaRanking fila : filas) {
+            if (entradas.size() >= limite) break;
+            Usuario usuario = usuarios.get(fila.usuarioId);
+            if (usuario == null) continue;
+            entradas.add(new RankingEntry(posicion++, fila.usuarioId, usuario.username, fila.puntaje, fila.fecha));
+        }
+        return entradas;
+    }
+}
@@ -0,0 +1,122 @@
+package Modelo.repositorio.memoria;
+
+import Modelo.dao.QuizDAO;
+import Modelo.dto.QuizResult;
+import Modelo.repositorio.RepositorioQuiz;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Repositorio de resultados del quiz en memoria.
+ * 
+ * Los resultados de cada usuario se guardan en orden de inserción, que coincide
+ * con el orden por (created_at, id) de QuizDAO, así que el historial y sus
+ * páginas se recorren del final hacia el principio. El mejor y el último
+ * resultado se calculan al consultarlos en lugar de mantener quiz_summary.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+public class RepositorioQuizMemoria implements RepositorioQuiz {
+    
+    private final AlmacenMemoria almacen = AlmacenMemoria.getInstance();
+    
+    @Override
+    public boolean guardarResultadoQuiz(QuizResult result) {
+        synchronized (almacen) {
+            QuizResult guardado = new QuizResult(almacen.siguienteIdResultado++, result.getUserId(),
+                                                 result.getTotalQuestions(), result.getCorrectAnswers(),
+                                                 result.getTimeSpent(), AlmacenMemoria.ahora());
+            almacen.resultadosQuiz.computeIfAbsent(result.getUserId(), id -> new ArrayList<>()).add(guardado);
+            return true;
+        }
+    }
+    
+    @Override
+    public QuizResult obtenerMejorResultadoUsuario(int userId) {
+        synchronized (almacen) {
+            QuizResult mejor = null;
+            // Recorrer del más antiguo al más reciente: con porcentajes iguales gana el más reciente
+            for (QuizResult resultado : resultados(userId)) {
+                if (mejor == null || resultado.getPercentage() >= mejor.getPercentage()) {
+                    mejor = resultado;
+                }
+            }
+            return mejor;
+        }
+    }
+    
+    @Override
+    public QuizResult obtenerUltimoResultadoQuiz(int userId) {
+        synchronized (almacen) {
+            List<QuizResult> resultados = resultados(userId);
+            return resultados.isEmpty() ? null : resultados.get(resultados.size() - 1);
+        }
+    }
+    
+    @Override
+    public List<QuizResult> obtenerResultadosUsuario(int userId) {
+        List<QuizResult> resultados = new ArrayList<>();
+        recorrerResultadosUsuario(userId, resultados::add);
+        return resultados;
+    }
+    
+    @Override
+    public List<QuizResult> obtenerPaginaResultadosUsuario(int userId, Timestamp despuesDeFecha,
+                                                           int despuesDeId, int tamanoPagina) {
+        int limite = Math.max(1, Math.min(tamanoPagina, QuizDAO.TAMANO_PAGINA_MAXIMO));
+        List<QuizResult> pagina = new ArrayList<>();
+        
+        synchronized (almacen) {
+            List<QuizResult> resultados = resultados(userId);
+            for (int i = resultados.size() - 1; i >= 0 && pagina.size() < limite; i--) {
+                QuizResult resultado = resultados.get(i);
+                if (despuesDeFecha == null
+                        || resultado.getCreatedAt().before(despuesDeFecha)
+                        || (resultado.getCreatedAt().equals(despuesDeFecha) && resultado.getId() < despuesDeId)) {
+                    pagina.add(resultado);
+                }
+            }
+        }
+        return pagina;
+    }
+    
+    @Override
+    public int recorrerResultadosUsuario(int userId, Consumer<QuizResult> consumidor) {
+        List<QuizResult> copia;
+        synchronized (almacen) {
+            copia = new ArrayList<>(resultados(userId));
+        }
+        for (int i = copia.size() - 1; i >= 0; i--) {
+            consumidor.accept(copia.get(i));
+        }
+        return copia.size();
+    }
+    
+    @Override
+    public boolean usuarioHaAprobado(int userId) {
+        synchronized (almacen) {
+            for (QuizResult resultado : resultados(userId)) {
+                if (resultado.isPassed()) return true;
+            }
+            return false;
+        }
+    }
+    
+    @Override
+    public int reconstruirResumenQuiz() {
+        // No hay resumen materializado que reconstruir
+        synchronized (almacen) {
+            return almacen.resultadosQuiz.size();
+        }
+    }
+    
+    /**
+     * Resultados de un usuario en orden de inserción (vacío si no tiene).
+     */
+    private List<QuizResult> resultados(int userId) {
+        return almacen.resultadosQuiz.getOrDefault(userId, new ArrayList<>());
+    }
+}
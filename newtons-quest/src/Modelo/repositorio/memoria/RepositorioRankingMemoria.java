@@ -0,0 +1,195 @@
+package Modelo.repositorio.memoria;
+
+import Modelo.dto.PeriodoRanking;
+import Modelo.dto.RankingEntry;
+import Modelo.repositorio.RepositorioRanking;
+import Modelo.repositorio.memoria.AlmacenMemoria.FilaRanking;
+import Modelo.repositorio.memoria.AlmacenMemoria.Ranking;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Repositorio del ranking en memoria. Cada ranking es un TreeSet en el orden
+ * del ranking, así que el top y los vecinos de un jugador son recorridos
+ * acotados del árbol, como los recorridos de índice de RankingDAO.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+public class RepositorioRankingMemoria implements RepositorioRanking {
+    
+    /** Días que se conservan los rankings diarios, igual que en RankingDAO */
+    private static final int DIAS_RETENCION_DIARIO = 14;
+    
+    /** Semanas que se conservan los rankings semanales, igual que en RankingDAO */
+    private static final int SEMANAS_RETENCION_SEMANAL = 12;
+    
+    private final AlmacenMemoria almacen = AlmacenMemoria.getInstance();
+    
+    @Override
+    public boolean guardarPuntajeCompleto(int userId, int score, int formulasCompleted) {
+        if (formulasCompleted < 5) {
+            return false;
+        }
+        
+        synchronized (almacen) {
+            Timestamp ahora = AlmacenMemoria.ahora();
+            boolean cambio = mejorar(almacen.rankingPeriodo(PeriodoRanking.DIARIO, true), userId, score, ahora);
+            cambio |= mejorar(almacen.rankingPeriodo(PeriodoRanking.SEMANAL, true), userId, score, ahora);
+            cambio |= mejorar(almacen.rankingHistorico, userId, score, ahora);
+            if (cambio) {
+                almacen.versionRanking++;
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Inserta o mejora la fila del usuario en un ranking.
+     * @return true si el ranking cambió
+     */
+    private static boolean mejorar(Ranking ranking, int userId, int score, Timestamp ahora) {
+        FilaRanking actual = ranking.porUsuario.get(userId);
+        if (actual != null && actual.puntaje >= score) {
+            return false;
+        }
+        ranking.poner(new FilaRanking(userId, score, ahora, actual != null ? actual.partidas : 5));
+        return true;
+    }
+    
+    @Override
+    public List<RankingEntry> obtenerTopRanking(int limite) {
+        synchronized (almacen) {
+            return almacen.aEntradas(almacen.rankingHistorico.orden, 1, limite);
+        }
+    }
+    
+    @Override
+    public List<RankingEntry> obtenerTopRankingPeriodo(PeriodoRanking periodo, int limite) {
+        if (periodo == PeriodoRanking.HISTORICO) {
+            return obtenerTopRanking(limite);
+        }
+        synchronized (almacen) {
+            Ranking ranking = almacen.rankingPeriodo(periodo, false);
+            return ranking == null ? new ArrayList<>() : almacen.aEntradas(ranking.orden, 1, limite);
+        }
+    }
+    
+    @Override
+    public int limpiarRankingsPeriodoVencidos() {
+        LocalDate hoy = LocalDate.now();
+        synchronized (almacen) {
+            return almacen.eliminarPeriodosAntesDe(PeriodoRanking.DIARIO, hoy.minusDays(DIAS_RETENCION_DIARIO))
+                 + almacen.eliminarPeriodosAntesDe(PeriodoRanking.SEMANAL, hoy.minusWeeks(SEMANAS_RETENCION_SEMANAL));
+        }
+    }
+    
+    @Override
+    public long obtenerVersionRanking() {
+        synchronized (almacen) {
+            return almacen.versionRanking;
+        }
+    }
+    
+    @Override
+    public int obtenerPosicionUsuario(int userId) {
+        synchronized (almacen) {
+            FilaRanking fila = almacen.rankingHistorico.porUsuario.get(userId);
+            if (fila == null) return -1;
+            
+            // Igual que RankingDAO: los empates de puntaje comparten posición
+            int mejores = 0;
+            for (FilaRanking otra : almacen.rankingHistorico.orden) {
+                if (otra.puntaje <= fila.puntaje) break;
+                mejores++;
+            }
+            return mejores + 1;
+        }
+    }
+    
+    @Override
+    public int obtenerPosicionUnicaUsuario(int userId) {
+        synchronized (almacen) {
+            Ranking ranking = almacen.rankingHistorico;
+            FilaRanking fila = ranking.porUsuario.get(userId);
+            return fila != null ? ranking.orden.headSet(fila, false).size() + 1 : -1;
+        }
+    }
+    
+    @Override
+    public List<RankingEntry> obtenerRankingAlrededor(int userId, int vecinos) {
+        int k = Math.max(0, vecinos);
+        synchronized (almacen) {
+            Ranking ranking = almacen.rankingHistorico;
+            FilaRanking central = ranking.porUsuario.get(userId);
+            if (central == null) return new ArrayList<>();
+            
+            int posicion = ranking.orden.headSet(central, false).size() + 1;
+            
+            List<FilaRanking> encima = new ArrayList<>(k);
+            Iterator<FilaRanking> haciaArriba = ranking.orden.headSet(central, false).descendingIterator();
+            while (encima.size() < k && haciaArriba.hasNext()) {
+                encima.add(haciaArriba.next());
+            }
+            Collections.reverse(encima);
+            
+            List<FilaRanking> ventana = new ArrayList<>(encima);
+            ventana.add(central);
+            Iterator<FilaRanking> haciaAbajo = ranking.orden.tailSet(central, false).iterator();
+            for (int i = 0; i < k && haciaAbajo.hasNext(); i++) {
+                ventana.add(haciaAbajo.next());
+            }
+            return almacen.aEntradas(ventana, posicion - encima.size(), ventana.size());
+        }
+    }
+    
+    @Override
+    public List<RankingEntry> obtenerPaginaRanking(RankingEntry despuesDe, int posicionInicial, int limite) {
+        synchronized (almacen) {
+            Ranking ranking = almacen.rankingHistorico;
+            if (despuesDe != null) {
+                // Keyset: recorrido del árbol a partir de la última entrada de la página anterior
+                FilaRanking cursor = new FilaRanking(despuesDe.getUserId(), despuesDe.getPuntaje(),
+                                                     despuesDe.getFechaCompletado(), 0);
+                return almacen.aEntradas(ranking.orden.tailSet(cursor, false), despuesDe.getPosicion() + 1, limite);
+            }
+            
+            Iterator<FilaRanking> filas = ranking.orden.iterator();
+            for (int i = 1; i < posicionInicial && filas.hasNext(); i++) {
+                filas.next();
+            }
+            List<FilaRanking> pagina = new ArrayList<>(Math.max(0, limite));
+            while (pagina.size() < limite && filas.hasNext()) {
+                pagina.add(filas.next());
+            }
+            return almacen.aEntradas(pagina, Math.max(1, posicionInicial), limite);
+        }
+    }
+    
+    @Override
+    public int obtenerTotalJugadoresCompletos() {
+        synchronized (almacen) {
+            return almacen.rankingHistorico.porUsuario.size();
+        }
+    }
+    
+    @Override
+    public int obtenerMejorPuntaje(int userId) {
+        synchronized (almacen) {
+            FilaRanking fila = almacen.rankingHistorico.porUsuario.get(userId);
+            return fila != null ? fila.puntaje : 0;
+        }
+    }
+    
+    @Override
+    public Timestamp obtenerFechaCompletacion(int userId) {
+        synchronized (almacen) {
+            FilaRanking fila = almacen.rankingHistorico.porUsuario.get(userId);
+            return fila != null ? fila.fecha : null;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package Modelo.repositorio.memoria;
+
+import Modelo.dao.UsuarioDAO;
+import Modelo.dto.AlumnoImportado;
+import Modelo.dto.Player;
+import Modelo.dto.ResultadoAutenticacion;
+import Modelo.dto.ResultadoImportacion;
+import Modelo.repositorio.RepositorioUsuarios;
+import Modelo.repositorio.memoria.AlmacenMemoria.FilaRanking;
+import Modelo.repositorio.memoria.AlmacenMemoria.Usuario;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Repositorio de usuarios en memoria, con el mismo comportamiento observable
+ * que UsuarioDAO (incluidos los valores por defecto y el formato de fechas).
+ * Las contraseñas se guardan con el mismo hash que en MySQL.
+ * 
+ * @author Johann
+ * @version 1.0
+ */
+public class RepositorioUsuariosMemoria implements RepositorioUsuarios {
+    
+    private final AlmacenMemoria almacen = AlmacenMemoria.getInstance();
+    
+    @Override
+    public boolean registrarUsuario(String username, String password, String nombreCompleto, String email) {
+        String hash = UsuarioDAO.hashPassword(password);
+        synchronized (almacen) {
+            if (hash == null || almacen.buscarUsuario(username) != null) {
+                return false;
+            }
+            almacen.agregarUsuario(username, hash, nombreCompleto != null ? nombreCompleto : "",
+                                   email != null ? email : "");
+            return true;
+        }
+    }
+    
+    @Override
+    public void registrarUsuariosEnLote(List<AlumnoImportado> alumnos, ResultadoImportacion resultado) {
+        String[] hashes = alumnos.parallelStream()
+                                 .map(alumno -> UsuarioDAO.hashPassword(alumno.getPassword()))
+                                 .toArray(String[]::new);
+        
+        synchronized (almacen) {
+            for (int i = 0; i < alumnos.size(); i++) {
+                AlumnoImportado alumno = alumnos.get(i);
+                if (almacen.buscarUsuario(alumno.getUsername()) != null) {
+                    resultado.agregarDuplicado(alumno.getUsername());
+                } else {
+                    almacen.agregarUsuario(alumno.getUsername(), hashes[i],
+                                           alumno.getNombreCompleto() != null ? alumno.getNombreCompleto() : "",
+                                           alumno.getCorreo() != null ? alumno.getCorreo() : "");
+                    resultado.sumarInsertados(1);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public boolean existeUsuario(String username) {
+        synchronized (almacen) {
+            return almacen.buscarUsuario(username) != null;
+        }
+    }
+    
+    @Override
+    public int contarUsuarios() {
+        synchronized (almacen) {
+            return almacen.usuarios.size();
+        }
+    }
+    
+    @Override
+    public int recorrerUsernames(Consumer<String> consumidor) {
+        // Copiar los nombres para no llamar al consumidor con el almacén bloqueado
+        List<String> usernames;
+        synchronized (almacen) {
+            usernames = new ArrayList<>(almacen.usuarios.size());
+            for (Usuario usuario : almacen.usuarios.values()) {
+                usernames.add(usuario.username);
+            }
+        }
+        usernames.forEach(consumidor);
+        return usernames.size();
+    }
+    
+    @Override
+    public boolean validarCredenciales(String username, String password) {
+        return authenticate(username, password).isExitoso();
+    }
+    
+    @Override
+    public ResultadoAutenticacion authenticate(String username, String password) {
+        Usuario usuario;
+        synchronized (almacen) {
+            usuario = almacen.buscarUsuario(username);
+        }
+        if (usuario == null) {
+            return ResultadoAutenticacion.fallido(ResultadoAutenticacion.Estado.USUARIO_NO_EXISTE);
+        }
+        
+        String hash = UsuarioDAO.hashPassword(password);
+        if (hash == null || !hash.equals(usuario.hashPassword)) {
+            return ResultadoAutenticacion.fallido(ResultadoAutenticacion.Estado.PASSWORD_INCORRECTA);
+        }
+        return new ResultadoAutenticacion(ResultadoAutenticacion.Estado.EXITOSO, usuario.id,
+                                          nombreMostrado(usuario));
+    }
+    
+    @Override
+    public int obtenerIdUsuario(String username) {
+        synchronized (almacen) {
+            Usuario usuario = almacen.buscarUsuario(username);
+            return usuario != null ? usuario.id : -1;
+        }
+    }
+    
+    @Override
+    public String obtenerNombreCompleto(int userId) {
+        synchronized (almacen) {
+            Usuario usuario = almacen.usuarios.get(userId);
+            return usuario != null ? nombreMostrado(usuario) : "Usuario desconocido";
+        }
+    }
+    
+    @Override
+    public String obtenerCorreo(int userId) {
+        synchronized (almacen) {
+            Usuario usuario = almacen.usuarios.get(userId);
+            return usuario != null && usuario.correo != null ? usuario.correo : "";
+        }
+    }
+    
+    @Override
+    public String obtenerFechaRegistro(int userId) {
+        synchronized (almacen) {
+            Usuario usuario = almacen.usuarios.get(userId);
+            return usuario != null ? AlmacenMemoria.formatearFecha(usuario.fechaRegistro) : "Fecha no disponible";
+        }
+    }
+    
+    @Override
+    public boolean actualizarPerfilUsuario(int userId, String nombreCompleto, String correo) {
+        synchronized (almacen) {
+            Usuario usuario = almacen.usuarios.get(userId);
+            if (usuario == null) return false;
+            usuario.nombreCompleto = nombreCompleto.isEmpty() ? null : nombreCompleto;
+            usuario.correo = correo.isEmpty() ? null : correo;
+            return true;
+        }
+    }
+    
+    @Override
+    public boolean actualizarProgresoUsuario(int userId, int mejorPuntaje, int formulasCompletadas) {
+        synchronized (almacen) {
+            Usuario usuario = almacen.usuarios.get(userId);
+            if (usuario == null) return false;
+            usuario.mejorPuntaje = Math.max(usuario.mejorPuntaje, mejorPuntaje);
+            usuario.formulasCompletadas = Math.max(usuario.formulasCompletadas, formulasCompletadas);
+            usuario.ultimaPartida = AlmacenMemoria.ahora();
+            return true;
+        }
+    }
+    
+    @Override
+    public int obtenerMejorPuntajeUsuario(int userId) {
+        synchronized (almacen) {
+            Usuario usuario = almacen.usuarios.get(userId);
+            return usuario != null ? usuario.mejorPuntaje : 0;
+        }
+    }
+    
+    @Override
+    public int obtenerFormulasCompletadasUsuario(int userId) {
+        synchronized (almacen) {
+            Usuario usuario = almacen.usuarios.get(userId);
+            return usuario != null ? usuario.formulasCompletadas : 0;
+        }
+    }
+    
+    @Override
+    public String obtenerUltimaPartidaUsuario(int userId) {
+        synchronized (almacen) {
+            Usuario usuario = almacen.usuarios.get(userId);
+            return usuario != null && usuario.ultimaPartida != null
+                   ? AlmacenMemoria.formatearFecha(usuario.ultimaPartida) : "Nunca";
+        }
+    }
+    
+    @Override
+    public boolean sincronizarDatosRankingAUsuarios(int userId) {
+        synchronized (almacen) {
+            FilaRanking fila = almacen.rankingHistorico.porUsuario.get(userId);
+            Usuario usuario = almacen.usuarios.get(userId);
+            if (fila == null || usuario == null) return false;
+            usuario.mejorPuntaje = fila.puntaje;
+            usuario.formulasCompletadas = 5;
+            return true;
+        }
+    }
+    
+    @Override
+    public int sincronizarTodosLosDatosRanking(DoubleConsumer progreso) {
+        int sincronizados = 0;
+        synchronized (almacen) {
+            for (FilaRanking fila : almacen.rankingHistorico.orden) {
+                Usuario usuario = almacen.usuarios.get(fila.usuarioId);
+                if (usuario != null && (usuario.mejorPuntaje < fila.puntaje || usuario.formulasCompletadas < 5)) {
+                    usuario.mejorPuntaje = fila.puntaje;
+                    usuario.formulasCompletadas = 5;
+                    sincronizados++;
+                }
+            }
+        }
+        if (progreso != null) {
+            progreso.accept(1.0);
+        }
+        return sincronizados;
+    }
+    
+    @Override
+    public Player obtenerDatosJugador(int userId) {
+        String username;
+        String nombreCompleto;
+        String correo;
+        synchronized (almacen) {
+            Usuario usuario = almacen.usuarios.get(userId);
+            if (usuario == null) return null;
+            username = usuario.username;
+            nombreCompleto = usuario.nombreCompleto;
+            correo = usuario.correo;
+        }
+        
+        try {
+            Player player = new Player();
+            player.setId(userId);
+            player.setUsername(username);
+            player.setFullName(nombreCompleto);
+            player.setEmail(correo);
+            return player;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Nombre completo si lo tiene, o el username.
+     */
+    private static String nombreMostrado(Usuario usuario) {
+        return usuario.nombreCompleto != null && !usuario.nombreCompleto.trim().isEmpty()
+               ? usuario.nombreCompleto : usuario.username;
+    }
+}